@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Builds an AppCDS archive for the backend.
+#
+# Usage: scripts/create-cds-archive.sh <boot jar> <output dir>
+#
+# CDS only archives classes loaded from plain jar files, so the boot jar is unpacked to
+# <output dir>/app first and the application classes are packed into app/application.jar. The application is then started once with
+# -Dspring.context.exit=onRefresh: every class needed to refresh the context is loaded, and the
+# JVM writes them to <output dir>/app.jsa when it exits. The training run does not need a
+# database; Liquibase, schema validation and JDBC metadata lookups are switched off for it.
+#
+# Start the result with scripts/start-fast.sh <output dir>.
+set -euo pipefail
+
+JAR=$(realpath "${1:?usage: create-cds-archive.sh <boot jar> <output dir>}")
+OUT=${2:?usage: create-cds-archive.sh <boot jar> <output dir>}
+MAIN_CLASS=com.showvault.ShowVaultApplication
+
+rm -rf "$OUT"
+mkdir -p "$OUT/app"
+cd "$OUT"
+(cd app && jar -xf "$JAR")
+jar -cf app/application.jar -C app/BOOT-INF/classes .
+
+# Relative paths, in the boot jar's order; the archive is only used with this exact classpath
+{
+  printf 'app/application.jar'
+  sed -n 's/^- "\(.*\)"$/:app\/\1/p' app/BOOT-INF/classpath.idx | tr -d '\n'
+} > classpath.txt
+
+if [ -f "app/BOOT-INF/classes/com/showvault/ShowVaultApplication__ApplicationContextInitializer.class" ]; then
+  touch aot
+fi
+
+java -XX:ArchiveClassesAtExit=app.jsa \
+  -Dspring.context.exit=onRefresh \
+  -Dspring.profiles.active=prod \
+  -Dspring.liquibase.enabled=false \
+  -Dspring.jpa.hibernate.ddl-auto=none \
+  -Dspring.jpa.database=MYSQL \
+  -Dspring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false \
+  -cp "$(cat classpath.txt)" "$MAIN_CLASS"
+
+echo "CDS archive written to $OUT/app.jsa"
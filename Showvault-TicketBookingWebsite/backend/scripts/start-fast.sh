@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Starts the backend from the output of create-cds-archive.sh (mvn -Pfast-startup package writes it
+# to target/fast-startup) with the prod profile, the AppCDS archive and, when the jar was built
+# with AOT processing, the generated bean definitions.
+#
+# Usage: scripts/start-fast.sh <dir> [application arguments...]
+set -euo pipefail
+
+DIR=${1:?usage: start-fast.sh <dir> [application arguments...]}
+shift
+cd "$DIR"
+
+AOT_OPTS=()
+if [ -f aot ]; then
+  AOT_OPTS=(-Dspring.aot.enabled=true)
+fi
+
+# AOT bean definitions were generated for the prod profile
+exec java -XX:SharedArchiveFile=app.jsa \
+  "${AOT_OPTS[@]}" \
+  -Dspring.profiles.active=prod \
+  ${JAVA_OPTS:-} \
+  -cp "$(cat classpath.txt)" com.showvault.ShowVaultApplication "$@"
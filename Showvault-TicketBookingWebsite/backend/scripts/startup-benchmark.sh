@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Measures backend cold start, as reported by Spring Boot's "Started ShowVaultApplication ...
+# (process running for N)" line, for each startup mode:
+#
+#   default - java -jar with the default configuration (ddl-auto=update)
+#   prod    - java -jar with the prod profile (Liquibase changelog, ddl-auto=validate)
+#   fast    - scripts/start-fast.sh: prod profile, AOT bean definitions and the AppCDS archive
+#
+# Usage: scripts/startup-benchmark.sh [runs per mode] [modes...]
+#
+# Build first with: mvn -Pfast-startup -DskipTests package
+# Every mode connects to the database configured for it (SPRING_DATASOURCE_* overrides apply).
+set -uo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+shift || true
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+  MODES=(default prod fast)
+fi
+
+JAR=$(ls target/showvault-*.jar 2>/dev/null | grep -v original | head -1)
+FAST_DIR=target/fast-startup
+TIMEOUT=${STARTUP_TIMEOUT:-180}
+# Random port, and no background consistency check competing with the next run
+APP_ARGS=(--server.port=0 --showvault.consistency.check-on-startup=false)
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+start() {
+  case "$1" in
+    default) java -jar "$JAR" "${APP_ARGS[@]}" ;;
+    prod) java -jar "$JAR" --spring.profiles.active=prod "${APP_ARGS[@]}" ;;
+    fast) scripts/start-fast.sh "$FAST_DIR" "${APP_ARGS[@]}" ;;
+  esac
+}
+
+# Seconds from JVM start to application started, or empty on failure
+measure() {
+  start "$1" > "$LOG" 2>&1 &
+  local pid=$! started=""
+  for ((i = 0; i < TIMEOUT * 10; i++)); do
+    started=$(sed -n 's/.*Started ShowVaultApplication in .* (process running for \([0-9.]*\)).*/\1/p' "$LOG")
+    if [ -n "$started" ] || ! kill -0 "$pid" 2>/dev/null; then
+      break
+    fi
+    sleep 0.1
+  done
+  kill "$pid" 2>/dev/null
+  wait "$pid" 2>/dev/null
+  echo "$started"
+}
+
+if [ -z "$JAR" ]; then
+  echo "No boot jar in target/; run mvn -Pfast-startup -DskipTests package first" >&2
+  exit 1
+fi
+
+printf '%-8s %8s %8s %8s\n' mode min median max
+for mode in "${MODES[@]}"; do
+  if [ "$mode" = fast ] && [ ! -f "$FAST_DIR/app.jsa" ]; then
+    echo "$mode: no CDS archive in $FAST_DIR, skipped" >&2
+    continue
+  fi
+  times=()
+  for ((run = 1; run <= RUNS; run++)); do
+    t=$(measure "$mode")
+    if [ -z "$t" ]; then
+      echo "$mode: run $run did not start, last log lines:" >&2
+      tail -5 "$LOG" >&2
+      continue
+    fi
+    times+=("$t")
+  done
+  if [ ${#times[@]} -gt 0 ]; then
+    printf '%s\n' "${times[@]}" | sort -n | awk -v mode="$mode" \
+      '{ t[NR] = $1 } END { printf "%-8s %8.2f %8.2f %8.2f\n", mode, t[1], t[int((NR + 1) / 2)], t[NR] }'
+  fi
+done
@@ -0,0 +1,42 @@
+package com.showvault.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the reference data caches.
+ * Each cache is a bounded Caffeine store that records hit and miss statistics.
+ * Evictions made inside a transaction are applied once it commits, so a concurrent
+ * reader cannot put the old values back before the change is visible.
+ * The TTL picks up changes made on other nodes.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String GENRES = "genres";
+    public static final String LANGUAGES = "languages";
+    public static final String CITIES = "cities";
+    public static final String COUNTRIES = "countries";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${showvault.cache.reference-data.max-size:1000}") long maxSize,
+            @Value("${showvault.cache.reference-data.ttl-minutes:10}") long ttlMinutes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(GENRES, LANGUAGES, CITIES, COUNTRIES);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,38 @@
+package com.showvault.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for capacity reconciliation.
+ * Venue partitions are reconciled on their own small pool; each worker holds at most one
+ * connection at a time, so the pool size must stay well below the connection pool size.
+ * Background consistency checks get a single thread of their own so that they never wait
+ * behind, or block, the partitions they hand to the reconciliation pool.
+ */
+@Configuration
+public class CapacityReconciliationConfig {
+
+    @Bean(name = "capacityReconciliationExecutor")
+    public ThreadPoolTaskExecutor capacityReconciliationExecutor(
+            @Value("${showvault.capacity.reconciliation.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("capacity-reconcile-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "consistencyCheckExecutor")
+    public ThreadPoolTaskExecutor consistencyCheckExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("consistency-check-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,72 @@
+package com.showvault.config;
+
+import com.showvault.util.ConnectionPoolMetrics;
+import com.showvault.util.QueryMetrics;
+import com.showvault.util.TimedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Configuration for database metrics.
+ * Installs ConnectionPoolMetrics on the Hikari pool, wraps the DataSource so that statement
+ * execution times reach QueryMetrics, and registers QueryMetrics as a Hibernate post-load
+ * listener to count entity loads per endpoint.
+ */
+@Configuration
+public class DatabaseMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceMetricsPostProcessor(ObjectProvider<ConnectionPoolMetrics> connectionPoolMetrics,
+                                                                   ObjectProvider<QueryMetrics> queryMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // Must be set before the pool starts
+                if (bean instanceof HikariDataSource && ((HikariDataSource) bean).getMetricsTrackerFactory() == null) {
+                    ((HikariDataSource) bean).setMetricsTrackerFactory(connectionPoolMetrics.getObject());
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof TimedDataSource)) {
+                    return new TimedDataSource((DataSource) bean, queryMetrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateMetricsCustomizer(QueryMetrics queryMetrics) {
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+                sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class)
+                        .appendListeners(EventType.POST_LOAD, queryMetrics);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(integrator));
+    }
+}
@@ -0,0 +1,72 @@
+package com.showvault.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for the Hibernate second-level and query caches.
+ * Regions are bounded Caffeine caches created up front so that each gets its own
+ * size limit and TTL. Venue, seat and role rows change rarely and are kept longer;
+ * shows, schedules and query results expire sooner so that changes made on other
+ * nodes are picked up. Writes through Hibernate invalidate the affected entries.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String VENUE_REGION = "venue";
+    public static final String SEAT_REGION = "seat";
+    public static final String ROLE_REGION = "role";
+    public static final String SHOW_REGION = "show";
+    public static final String SHOW_SCHEDULE_REGION = "show-schedule";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${showvault.hibernate-cache.geometry-ttl-minutes:60}") long geometryTtlMinutes,
+            @Value("${showvault.hibernate-cache.ttl-minutes:10}") long ttlMinutes) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("showvault-hibernate"), getClass().getClassLoader());
+
+        createRegion(cacheManager, VENUE_REGION, 1000, geometryTtlMinutes);
+        createRegion(cacheManager, SEAT_REGION, 200000, geometryTtlMinutes);
+        createRegion(cacheManager, ROLE_REGION, 100, geometryTtlMinutes);
+        createRegion(cacheManager, SHOW_REGION, 5000, ttlMinutes);
+        createRegion(cacheManager, SHOW_SCHEDULE_REGION, 20000, ttlMinutes);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, 10000, ttlMinutes);
+        // Update timestamps hold one entry per table and must never be evicted before the query results
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, long maxSize, long ttlMinutes) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlMinutes > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes)));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
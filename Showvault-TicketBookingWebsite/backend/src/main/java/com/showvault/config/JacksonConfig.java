@@ -15,6 +15,8 @@ public class JacksonConfig {
         return Jackson2ObjectMapperBuilder.json()
                 .featuresToDisable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
                 .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                // With @JsonView, fields without a view are left out (list endpoints use Views.Summary)
+                .defaultViewInclusion(false)
                 .modules(new JavaTimeModule())
                 .build();
     }
@@ -0,0 +1,29 @@
+package com.showvault.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for payment gateway calls.
+ * Gateway calls run on their own bounded pool so a slow gateway cannot exhaust
+ * request threads or database connections.
+ */
+@Configuration
+public class PaymentGatewayConfig {
+
+    @Bean(name = "paymentGatewayExecutor")
+    public ThreadPoolTaskExecutor paymentGatewayExecutor(
+            @Value("${showvault.payment.gateway.core-pool-size:16}") int corePoolSize,
+            @Value("${showvault.payment.gateway.max-pool-size:64}") int maxPoolSize,
+            @Value("${showvault.payment.gateway.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("payment-gateway-");
+        executor.initialize();
+        return executor;
+    }
+}
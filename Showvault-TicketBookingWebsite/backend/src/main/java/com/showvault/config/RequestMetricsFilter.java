@@ -0,0 +1,44 @@
+package com.showvault.config;
+
+import com.showvault.util.RequestMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Times every request and records it in RequestMetrics under its matched route.
+ * Runs ahead of the security filters so that authentication time and rejected requests are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RequestMetrics requestMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        requestMetrics.requestStarted();
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            // The pattern is set by the handler mapping, so it is only known once the request has been handled
+            String route = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            requestMetrics.requestCompleted(request.getMethod(), route, status, System.nanoTime() - start);
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.showvault.config;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +29,18 @@ public class WebConfig implements WebMvcConfigurer {
         "http://localhost"           // General localhost
     );
     
+    @Value("${showvault.web.streaming.threads:8}")
+    private int streamingThreads;
+    
+    @Value("${showvault.web.open-in-view.enabled:true}")
+    private boolean openInView;
+    
+    @Value("${showvault.web.open-in-view.excluded-paths:}")
+    private String[] openInViewExcludedPaths;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
     @Bean
     public CorsFilter corsFilter() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -51,4 +70,39 @@ public class WebConfig implements WebMvcConfigurer {
         
         return new CorsFilter(source);
     }
-}
\ No newline at end of file
+
+    /**
+     * Streamed response bodies (StreamingResponseBody) are written on this bounded pool
+     * instead of a new thread per request
+     */
+    @Bean(name = "responseStreamingExecutor")
+    public ThreadPoolTaskExecutor responseStreamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamingThreads);
+        executor.setMaxPoolSize(streamingThreads);
+        executor.setThreadNamePrefix("response-stream-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(responseStreamingExecutor());
+    }
+
+    /**
+     * Open-session-in-view, in place of spring.jpa.open-in-view, so that paths can be left out.
+     * Under it a request's EntityManager keeps its JDBC connection from the first lazy load
+     * until the response is written, which for the payment endpoints would include the whole
+     * payment gateway call.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!openInView) {
+            return;
+        }
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(openInViewExcludedPaths);
+    }
+}
@@ -1,13 +1,19 @@
 package com.showvault.config;
 
 import com.showvault.security.websocket.WebSocketAuthChannelInterceptor;
+import com.showvault.websocket.OutboundMessageCoalescer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 import java.util.Arrays;
 import java.util.List;
 
@@ -25,13 +31,83 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         "http://localhost"           // General localhost
     );
 
+    // Destinations used to share user sessions and unresolved user messages between nodes
+    static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+    static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+
     @Autowired
     private WebSocketAuthChannelInterceptor webSocketAuthChannelInterceptor;
 
+    @Autowired
+    private OutboundMessageCoalescer outboundMessageCoalescer;
+
+    // Outbound (server -> client) executor sizing; a bounded queue sheds load instead of growing without limit
+    @Value("${showvault.websocket.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${showvault.websocket.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${showvault.websocket.outbound.queue-capacity:100000}")
+    private int outboundQueueCapacity;
+
+    // Per-session limits; a session that exceeds them is closed instead of stalling the sender
+    @Value("${showvault.websocket.outbound.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${showvault.websocket.outbound.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+
+    @Value("${showvault.websocket.inbound.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${showvault.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${showvault.websocket.broker.relay-host:localhost}")
+    private String relayHost;
+
+    @Value("${showvault.websocket.broker.relay-port:61613}")
+    private int relayPort;
+
+    @Value("${showvault.websocket.broker.client-login:guest}")
+    private String clientLogin;
+
+    @Value("${showvault.websocket.broker.client-passcode:guest}")
+    private String clientPasscode;
+
+    @Value("${showvault.websocket.broker.system-login:guest}")
+    private String systemLogin;
+
+    @Value("${showvault.websocket.broker.system-passcode:guest}")
+    private String systemPasscode;
+
+    @Value("${showvault.websocket.broker.virtual-host:}")
+    private String virtualHost;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple in-memory message broker for topics
-        config.enableSimpleBroker("/topic", "/queue");
+        // "simple" keeps the in-memory broker (single node); "relay" forwards to an external STOMP broker
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // Relay STOMP frames to an external broker so subscriptions are shared by all app nodes
+            var relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(clientLogin)
+                    .setClientPasscode(clientPasscode)
+                    .setSystemLogin(systemLogin)
+                    .setSystemPasscode(systemPasscode)
+                    // Broadcast user sessions and unresolved user messages so that
+                    // /user destinations resolve to sessions connected to any node
+                    .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST)
+                    .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST);
+            if (!virtualHost.isEmpty()) {
+                relay.setVirtualHost(virtualHost);
+            }
+        } else {
+            // Enable a simple in-memory message broker for topics
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         
         // Set prefix for application destinations
         config.setApplicationDestinationPrefixes("/app");
@@ -54,4 +130,30 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // Add our custom authentication channel interceptor
         registration.interceptors(webSocketAuthChannelInterceptor);
     }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(outboundCorePoolSize)
+                .maxPoolSize(outboundMaxPoolSize)
+                .queueCapacity(outboundQueueCapacity);
+        registration.interceptors(outboundMessageCoalescer);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+                    @Override
+                    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                        // SESSION_NOT_RELIABLE is used when a session exceeds the send time or buffer limit
+                        if (CloseStatus.SESSION_NOT_RELIABLE.equals(closeStatus)) {
+                            outboundMessageCoalescer.recordSlowConsumerDisconnect();
+                        }
+                        super.afterConnectionClosed(session, closeStatus);
+                    }
+                });
+    }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.showvault.model.Booking;
 import com.showvault.model.BookingStatus;
 import com.showvault.service.BookingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,28 +31,44 @@ public class AdminBookingController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(required = false) String status,
-            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date) {
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeBookingDate,
+            @RequestParam(required = false) Long beforeId) {
         
-        // Log the received parameters
-        System.out.println("AdminBookingController: Received request with parameters:");
-        System.out.println("Page: " + page);
-        System.out.println("Limit: " + limit);
-        System.out.println("Status: " + status);
-        System.out.println("Date: " + date);
+        limit = Math.min(Math.max(limit, 1), 100);
+        Map<String, Object> response = new HashMap<>();
+        
+        if (beforeBookingDate != null && beforeId != null) {
+            // Keyset pagination: continue after the last booking of the previous page
+            List<Booking> bookings = bookingService.getBookingsBefore(beforeBookingDate, beforeId, limit, status, date);
+            response.put("bookings", bookings);
+            response.put("total", bookingService.countBookingsWithFilters(status, date));
+            putNextCursor(response, bookings, bookings.size() == limit);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
         
         // Calculate offset for pagination
-        int offset = (page - 1) * limit;
+        int offset = (Math.max(page, 1) - 1) * limit;
         
-        // Get bookings with pagination and filters
-        List<Booking> bookings = bookingService.getBookingsWithFilters(offset, limit, status, date);
-        long totalBookings = bookingService.countBookingsWithFilters(status, date);
+        // Filtering, paging and counting all run in the database
+        Page<Booking> bookings = bookingService.getBookingsPage(offset, limit, status, date);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("bookings", bookings);
-        response.put("total", totalBookings);
+        response.put("bookings", bookings.getContent());
+        response.put("total", bookings.getTotalElements());
+        // Lets the client switch to keyset pagination for the following pages
+        putNextCursor(response, bookings.getContent(), bookings.hasNext());
         
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+    
+    private void putNextCursor(Map<String, Object> response, List<Booking> bookings, boolean hasMore) {
+        response.put("hasMore", hasMore);
+        if (hasMore && !bookings.isEmpty()) {
+            Booking last = bookings.get(bookings.size() - 1);
+            response.put("nextBeforeBookingDate", last.getBookingDate());
+            response.put("nextBeforeId", last.getId());
+        }
+    }
 
     @GetMapping("/{id}")
     public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
@@ -3,6 +3,7 @@ package com.showvault.controller;
 import com.showvault.model.User;
 import com.showvault.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -30,18 +31,38 @@ public class AdminUserController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String sortBy,
-            @RequestParam(required = false) String sortOrder) {
+            @RequestParam(required = false) String sortOrder,
+            @RequestParam(required = false) Long afterId) {
+        
+        limit = Math.min(Math.max(limit, 1), 100);
+        Map<String, Object> response = new HashMap<>();
+        
+        if (afterId != null) {
+            // Keyset pagination: continue after the last user of the previous page
+            List<User> users;
+            try {
+                users = userService.getUsersAfter(afterId, limit, role, status, search, sortBy, sortOrder);
+            } catch (IllegalArgumentException e) {
+                return new ResponseEntity<>(Map.of("message", e.getMessage()), HttpStatus.BAD_REQUEST);
+            }
+            response.put("users", users);
+            response.put("total", userService.countUsersWithFilters(role, status, search));
+            response.put("nextCursor", users.size() == limit ? users.get(users.size() - 1).getId() : null);
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
         
         // Calculate offset for pagination
-        int offset = (page - 1) * limit;
+        int offset = (Math.max(page, 1) - 1) * limit;
         
-        // Get users with pagination and filters
-        List<User> users = userService.getUsersWithFilters(offset, limit, role, status, search, sortBy, sortOrder);
-        long totalUsers = userService.countUsersWithFilters(role, status, search);
+        // Filtering, sorting, paging and counting all run in the database
+        Page<User> users = userService.getUsersPage(offset, limit, role, status, search, sortBy, sortOrder);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("users", users);
-        response.put("total", totalUsers);
+        response.put("users", users.getContent());
+        response.put("total", users.getTotalElements());
+        // Lets the client switch to keyset pagination for the following pages
+        if (users.hasNext() && userService.supportsCursorPagination(sortBy)) {
+            response.put("nextCursor", users.getContent().get(users.getContent().size() - 1).getId());
+        }
         
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
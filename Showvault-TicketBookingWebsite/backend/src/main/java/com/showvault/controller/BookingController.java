@@ -2,6 +2,7 @@ package com.showvault.controller;
 
 import com.showvault.dto.BookingDTO;
 import com.showvault.dto.BookingRequestDTO;
+import com.showvault.dto.Views;
 import com.showvault.model.Booking;
 import com.showvault.model.BookingPayment;
 import com.showvault.model.BookingStatus;
@@ -24,16 +25,23 @@ import com.showvault.service.ShowScheduleService;
 import com.showvault.service.ShowService;
 import com.showvault.service.TicketService;
 import com.showvault.service.UserService;
+import com.showvault.util.StreamingJsonWriter;
+import com.showvault.util.TimeOrderedIdGenerator;
 
+import com.fasterxml.jackson.annotation.JsonView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.persistence.EntityManager;
 
 import java.time.LocalDateTime;
@@ -51,6 +59,8 @@ import java.util.UUID;
 @RequestMapping("/api/bookings")
 public class BookingController {
 
+    private static final Logger logger = LoggerFactory.getLogger(BookingController.class);
+
     @Autowired
     private BookingService bookingService;
 
@@ -80,6 +90,12 @@ public class BookingController {
     
     @Autowired
     private TicketService ticketService;
+    
+    @Autowired
+    private TimeOrderedIdGenerator idGenerator;
+    
+    @Autowired
+    private StreamingJsonWriter streamingJsonWriter;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -149,34 +165,31 @@ public class BookingController {
         }
     }
 
+    /**
+     * Get the current user's bookings, newest first, using keyset pagination.
+     * The first call returns the newest bookings; pass the bookingDate and id of the last
+     * booking received to fetch the next page. Each page costs the same however old it is.
+     * @param beforeBookingDate Booking date of the last booking already seen (optional)
+     * @param beforeId ID of the last booking already seen (optional)
+     * @param size Page size, at most 100
+     * @return ResponseEntity containing the bookings, with the fields of the Summary view
+     */
     @GetMapping("/my-bookings")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<BookingDTO>> getMyBookings() {
+    @JsonView(Views.Summary.class)
+    public ResponseEntity<List<BookingDTO>> getMyBookings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeBookingDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "100") int size) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         
-        System.out.println("Getting bookings for user ID: " + userDetails.getId());
-        
-        // Get the user from the database
-        Optional<User> userOpt = userService.getUserById(userDetails.getId());
-        if (!userOpt.isPresent()) {
-            System.out.println("User not found with ID: " + userDetails.getId());
-            return new ResponseEntity<>(new ArrayList<>(), HttpStatus.OK);
-        }
-        
-        User user = userOpt.get();
-        System.out.println("Found user: " + user.getUsername() + " (ID: " + user.getId() + ")");
+        logger.debug("Getting bookings for user ID: {}", userDetails.getId());
         
-        List<Booking> bookings = bookingService.getBookingsByUserId(user.getId());
-        System.out.println("Found " + bookings.size() + " bookings for user");
-        
-        // Print details of each booking for debugging
-        for (Booking booking : bookings) {
-            System.out.println("Booking ID: " + booking.getId() + 
-                               ", Number: " + booking.getBookingNumber() + 
-                               ", Status: " + booking.getStatus() + 
-                               ", User ID: " + (booking.getUser() != null ? booking.getUser().getId() : "null"));
-        }
+        int limit = Math.max(1, Math.min(size, 100));
+        List<Booking> bookings = bookingService.getBookingsByUserIdBefore(
+                userDetails.getId(), beforeBookingDate, beforeId, limit);
+        logger.debug("Found {} bookings for user", bookings.size());
         
         // Convert to DTOs to avoid circular references
         List<BookingDTO> bookingDTOs = bookings.stream()
@@ -198,9 +211,15 @@ public class BookingController {
         return new ResponseEntity<>(bookings, HttpStatus.OK);
     }
 
+    /**
+     * Get the bookings of a show schedule, newest first.
+     * The array is streamed as it is read, with the fields of the Summary view.
+     * @param scheduleId The show schedule ID
+     * @return ResponseEntity streaming the bookings
+     */
     @GetMapping("/schedule/{scheduleId}")
     @PreAuthorize("hasRole('ORGANIZER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Booking>> getBookingsBySchedule(@PathVariable Long scheduleId) {
+    public ResponseEntity<StreamingResponseBody> getBookingsBySchedule(@PathVariable Long scheduleId) {
         // Check if the user is authorized to view these bookings
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
@@ -218,16 +237,24 @@ public class BookingController {
                 schedule.getShow().getCreatedBy().getId().equals(userDetails.getId());
         
         if (isAdmin || isShowCreator) {
-            List<Booking> bookings = bookingService.getBookingsByShowScheduleId(scheduleId);
-            return new ResponseEntity<>(bookings, HttpStatus.OK);
+            StreamingResponseBody body = streamingJsonWriter.<Booking>array(Views.Summary.class,
+                    consumer -> bookingService.forEachBookingByShowScheduleId(scheduleId, consumer),
+                    BookingDTO::new);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
         } else {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
     }
 
+    /**
+     * Get the bookings of every schedule of a show, newest first.
+     * The array is streamed as it is read, with the fields of the Summary view.
+     * @param showId The show ID
+     * @return ResponseEntity streaming the bookings
+     */
     @GetMapping("/show/{showId}")
     @PreAuthorize("hasRole('ORGANIZER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Booking>> getBookingsByShow(@PathVariable Long showId) {
+    public ResponseEntity<StreamingResponseBody> getBookingsByShow(@PathVariable Long showId) {
         // Check if the user is authorized to view these bookings
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
@@ -245,8 +272,10 @@ public class BookingController {
                 show.getCreatedBy().getId().equals(userDetails.getId());
         
         if (isAdmin || isShowCreator) {
-            List<Booking> bookings = bookingService.getBookingsByShowId(showId);
-            return new ResponseEntity<>(bookings, HttpStatus.OK);
+            StreamingResponseBody body = streamingJsonWriter.<Booking>array(Views.Summary.class,
+                    consumer -> bookingService.forEachBookingByShowId(showId, consumer),
+                    BookingDTO::new);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
         } else {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
@@ -263,12 +292,12 @@ public class BookingController {
         }
         
         // Log the received booking request for debugging
-        System.out.println("Received booking request: " + bookingRequest);
+        logger.debug("Received booking request: {}", bookingRequest);
         
         // Check if a session ID was provided for seat reservations
         String sessionId = bookingRequest.getSessionId();
         if (sessionId != null && !sessionId.isEmpty()) {
-            System.out.println("Session ID provided: " + sessionId + ". Will release reservations after booking.");
+            logger.debug("Session ID provided: {}. Will release reservations after booking.", sessionId);
         }
         
         List<Long> seatIds = bookingRequest.getSeatIds();
@@ -317,7 +346,7 @@ public class BookingController {
             // Check if promotion code is provided
             String promotionCode = bookingRequest.getPromotionCode();
             if (promotionCode != null && !promotionCode.trim().isEmpty()) {
-                System.out.println("Creating booking with promotion code: " + promotionCode);
+                logger.debug("Creating booking with promotion code: {}", promotionCode);
                 // Use promotion-aware booking creation
                 booking = bookingService.createBookingWithPromotion(
                     userOpt.get(), 
@@ -333,16 +362,16 @@ public class BookingController {
                     : bookingService.createBooking(userOpt.get(), scheduleOpt.get(), seats);
             }
             
-            System.out.println("Created booking with ID: " + booking.getId() + " for user ID: " + userOpt.get().getId());
-            System.out.println("Booking number: " + booking.getBookingNumber());
+            logger.debug("Created booking with ID: {} for user ID: {}", booking.getId(), userOpt.get().getId());
+            logger.debug("Booking number: {}", booking.getBookingNumber());
             
             // If a session ID was provided, release the reservations
             if (bookingRequest.getSessionId() != null && !bookingRequest.getSessionId().isEmpty()) {
                 try {
                     seatReservationService.releaseReservations(bookingRequest.getSessionId());
-                    System.out.println("Released seat reservations for session ID: " + bookingRequest.getSessionId());
+                    logger.debug("Released seat reservations for session ID: {}", bookingRequest.getSessionId());
                 } catch (Exception e) {
-                    System.err.println("Error releasing seat reservations: " + e.getMessage());
+                    logger.error("Error releasing seat reservations: {}", e.getMessage());
                     // Don't fail the booking if reservation release fails
                 }
             }
@@ -350,20 +379,20 @@ public class BookingController {
             // Verify the booking was saved correctly
             Optional<Booking> savedBooking = bookingService.getBookingById(booking.getId());
             if (savedBooking.isPresent()) {
-                System.out.println("Successfully retrieved saved booking with ID: " + booking.getId());
-                System.out.println("Verified booking number: " + savedBooking.get().getBookingNumber());
+                logger.debug("Successfully retrieved saved booking with ID: {}", booking.getId());
+                logger.debug("Verified booking number: {}", savedBooking.get().getBookingNumber());
                 
                 // Ensure all relationships are loaded
                 Booking fullBooking = savedBooking.get();
                 
                 // Force initialization of lazy-loaded collections
                 if (fullBooking.getSeatBookings() != null) {
-                    System.out.println("Booking has " + fullBooking.getSeatBookings().size() + " seat bookings");
+                    logger.debug("Booking has {} seat bookings", fullBooking.getSeatBookings().size());
                     
                     // Force initialization of each seat in seat bookings
                     for (SeatBooking sb : fullBooking.getSeatBookings()) {
                         if (sb.getSeat() != null) {
-                            System.out.println("Seat booking has seat ID: " + sb.getSeat().getId());
+                            logger.debug("Seat booking has seat ID: {}", sb.getSeat().getId());
                         }
                     }
                 }
@@ -374,16 +403,16 @@ public class BookingController {
                 // Ensure the booking number is properly set in the DTO
                 if (bookingDTO.getBookingNumber() == null || bookingDTO.getBookingNumber().isEmpty()) {
                     bookingDTO.setBookingNumber(fullBooking.getBookingNumber());
-                    System.out.println("Set booking number in DTO: " + bookingDTO.getBookingNumber());
+                    logger.debug("Set booking number in DTO: {}", bookingDTO.getBookingNumber());
                 }
                 
                 // Log the final DTO that will be returned to the client
-                System.out.println("Returning booking DTO with ID: " + bookingDTO.getId() + 
-                                  ", Number: " + bookingDTO.getBookingNumber());
+                logger.debug("Returning booking DTO with ID: {}, Number: {}",
+                        bookingDTO.getId(), bookingDTO.getBookingNumber());
                 
                 return new ResponseEntity<>(bookingDTO, HttpStatus.CREATED);
             } else {
-                System.out.println("WARNING: Could not retrieve saved booking with ID: " + booking.getId());
+                logger.warn("Could not retrieve saved booking with ID: {}", booking.getId());
                 
                 // Create a DTO manually with the booking data we have
                 BookingDTO bookingDTO = new BookingDTO();
@@ -393,14 +422,13 @@ public class BookingController {
                 bookingDTO.setTotalAmount(booking.getTotalAmount());
                 bookingDTO.setBookingDate(booking.getBookingDate());
                 
-                System.out.println("Returning manually created booking DTO with ID: " + bookingDTO.getId() + 
-                                  ", Number: " + bookingDTO.getBookingNumber());
+                logger.debug("Returning manually created booking DTO with ID: {}, Number: {}",
+                        bookingDTO.getId(), bookingDTO.getBookingNumber());
                 
                 return new ResponseEntity<>(bookingDTO, HttpStatus.CREATED);
             }
         } catch (Exception e) {
-            System.err.println("Error creating booking: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error creating booking: {}", e.getMessage(), e);
             return new ResponseEntity<>("Failed to create booking: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
@@ -615,8 +643,8 @@ public class BookingController {
             @RequestBody Map<String, Object> paymentRequest) {
         
         try {
-            System.out.println("Processing payment for booking ID: " + bookingId);
-            System.out.println("Payment request: " + paymentRequest);
+            logger.debug("Processing payment for booking ID: {}", bookingId);
+            logger.debug("Payment request: {}", paymentRequest);
             
             // Get the current user
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -625,23 +653,24 @@ public class BookingController {
             // Get the booking
             Optional<Booking> bookingOpt = bookingService.getBookingById(bookingId);
             if (!bookingOpt.isPresent()) {
-                System.out.println("Booking not found with ID: " + bookingId);
+                logger.debug("Booking not found with ID: {}", bookingId);
                 return new ResponseEntity<>("Booking not found", HttpStatus.NOT_FOUND);
             }
             
             Booking booking = bookingOpt.get();
-            System.out.println("Found booking: " + booking.getId() + ", Number: " + booking.getBookingNumber());
+            logger.debug("Found booking: {}, Number: {}", booking.getId(), booking.getBookingNumber());
             
             // Check if the user is authorized to process this payment
             if (!booking.getUser().getId().equals(userDetails.getId())) {
-                System.out.println("User " + userDetails.getId() + " is not authorized to process payment for booking " + bookingId);
+                logger.debug("User {} is not authorized to process payment for booking {}",
+                        userDetails.getId(), bookingId);
                 return new ResponseEntity<>("You are not authorized to process this payment", HttpStatus.FORBIDDEN);
             }
             
             // Get the payment method ID
             String paymentMethodId = (String) paymentRequest.get("paymentMethodId");
             if (paymentMethodId == null || paymentMethodId.isEmpty()) {
-                System.out.println("Payment method ID is required");
+                logger.debug("Payment method ID is required");
                 return new ResponseEntity<>("Payment method ID is required", HttpStatus.BAD_REQUEST);
             }
             
@@ -652,12 +681,12 @@ public class BookingController {
             
             // Update customer details in the booking if provided
             if (customerName != null || customerEmail != null || customerPhone != null) {
-                System.out.println("Updating booking with customer details");
+                logger.debug("Updating booking with customer details");
                 
                 // Get the user to update - make sure to get a fresh copy from the database
                 Optional<User> userOpt = userService.getUserById(booking.getUser().getId());
                 if (!userOpt.isPresent()) {
-                    System.out.println("User not found with ID: " + booking.getUser().getId());
+                    logger.debug("User not found with ID: {}", booking.getUser().getId());
                     return new ResponseEntity<>("User not found", HttpStatus.NOT_FOUND);
                 }
                 
@@ -667,38 +696,34 @@ public class BookingController {
                 // Update user details if needed
                 if (customerName != null && !customerName.isEmpty()) {
                     user.setFirstName(customerName);
-                    System.out.println("Updated customer name: " + customerName);
+                    logger.debug("Updated customer name: {}", customerName);
                     userUpdated = true;
                 }
                 
                 if (customerEmail != null && !customerEmail.isEmpty() && !customerEmail.equals(user.getEmail())) {
                     user.setEmail(customerEmail);
-                    System.out.println("Updated customer email: " + customerEmail);
+                    logger.debug("Updated customer email: {}", customerEmail);
                     userUpdated = true;
                 }
                 
                 if (customerPhone != null && !customerPhone.isEmpty()) {
                     user.setPhoneNumber(customerPhone);
-                    System.out.println("Updated customer phone: " + customerPhone);
+                    logger.debug("Updated customer phone: {}", customerPhone);
                     userUpdated = true;
                 }
                 
                 // Save the updated user if changes were made
                 if (userUpdated) {
                     User updatedUser = userService.updateUser(user);
-                    System.out.println("User details updated in database: " + 
-                                      "Name: " + updatedUser.getFirstName() + ", " +
-                                      "Email: " + updatedUser.getEmail() + ", " +
-                                      "Phone: " + updatedUser.getPhoneNumber());
+                    logger.debug("User details updated in database: Name: {}, Email: {}, Phone: {}",
+                            updatedUser.getFirstName(), updatedUser.getEmail(), updatedUser.getPhoneNumber());
                     
                     // Verify the user was updated correctly
                     Optional<User> verifiedUserOpt = userService.getUserById(updatedUser.getId());
                     if (verifiedUserOpt.isPresent()) {
                         User verifiedUser = verifiedUserOpt.get();
-                        System.out.println("Verified user update: " + 
-                                          "Name: " + verifiedUser.getFirstName() + ", " +
-                                          "Email: " + verifiedUser.getEmail() + ", " +
-                                          "Phone: " + verifiedUser.getPhoneNumber());
+                        logger.debug("Verified user update: Name: {}, Email: {}, Phone: {}",
+                                verifiedUser.getFirstName(), verifiedUser.getEmail(), verifiedUser.getPhoneNumber());
                     }
                     
                     // Update the user in the booking object to ensure consistency
@@ -708,7 +733,7 @@ public class BookingController {
             
             // Process the payment (in a real implementation, this would integrate with a payment gateway)
             // For now, create a mock payment intent
-            String paymentIntentId = "pi_" + UUID.randomUUID().toString().substring(0, 8);
+            String paymentIntentId = idGenerator.nextId("pi_");
             Map<String, Object> paymentIntent = new HashMap<>();
             paymentIntent.put("id", paymentIntentId);
             paymentIntent.put("bookingId", bookingId);
@@ -748,13 +773,13 @@ public class BookingController {
                 BookingPaymentRepository paymentRepository = applicationContext.getBean(BookingPaymentRepository.class);
                 BookingPayment savedPayment = paymentRepository.save(payment);
                 
-                System.out.println("Payment record created and saved with ID: " + savedPayment.getId() + 
-                                  ", Transaction ID: " + savedPayment.getTransactionId());
+                logger.debug("Payment record created and saved with ID: {}, Transaction ID: {}",
+                        savedPayment.getId(), savedPayment.getTransactionId());
                 
                 // Verify the payment was saved correctly
                 Optional<BookingPayment> verifiedPayment = paymentRepository.findById(savedPayment.getId());
                 if (verifiedPayment.isPresent()) {
-                    System.out.println("Successfully verified payment record with ID: " + verifiedPayment.get().getId());
+                    logger.debug("Successfully verified payment record with ID: {}", verifiedPayment.get().getId());
                     
                     // Add the payment to the booking's payment list to ensure bidirectional relationship
                     if (booking.getPayments() == null) {
@@ -764,19 +789,19 @@ public class BookingController {
                     
                     // Save the updated booking to ensure the relationship is persisted
                     Booking updatedBooking = bookingRepository.save(booking);
-                    System.out.println("Updated booking with payment relationship, booking ID: " + updatedBooking.getId());
+                    logger.debug("Updated booking with payment relationship, booking ID: {}", updatedBooking.getId());
                 } else {
-                    System.out.println("WARNING: Could not verify payment record with ID: " + savedPayment.getId());
+                    logger.warn("Could not verify payment record with ID: {}", savedPayment.getId());
                     
                     // Try to save again with a different approach
                     try {
-                        System.out.println("Attempting to save payment record again with EntityManager...");
+                        logger.debug("Attempting to save payment record again with EntityManager...");
                         EntityManager entityManager = applicationContext.getBean(EntityManager.class);
                         entityManager.persist(payment);
                         entityManager.flush();
-                        System.out.println("Payment record saved using EntityManager with ID: " + payment.getId());
+                        logger.debug("Payment record saved using EntityManager with ID: {}", payment.getId());
                     } catch (Exception em_ex) {
-                        System.out.println("Error saving payment with EntityManager: " + em_ex.getMessage());
+                        logger.error("Error saving payment with EntityManager: {}", em_ex.getMessage());
                     }
                 }
                 
@@ -787,47 +812,47 @@ public class BookingController {
                 paymentIntent.put("paymentDate", savedPayment.getPaymentDate());
                 
             } catch (Exception e) {
-                System.out.println("Error creating payment record: " + e.getMessage());
-                e.printStackTrace();
+                logger.error("Error creating payment record: {}", e.getMessage(), e);
                 // Continue processing even if payment record creation fails
             }
             
             // Update the booking status
-            System.out.println("Updating booking status to CONFIRMED for booking ID: " + bookingId);
+            logger.debug("Updating booking status to CONFIRMED for booking ID: {}", bookingId);
             
             // Get a fresh copy of the booking from the database
             Optional<Booking> freshBookingOpt = bookingService.getBookingById(bookingId);
             if (!freshBookingOpt.isPresent()) {
-                System.out.println("ERROR: Could not find booking with ID: " + bookingId);
+                logger.error("Could not find booking with ID: {}", bookingId);
                 return new ResponseEntity<>("Booking not found", HttpStatus.NOT_FOUND);
             }
             
             Booking freshBooking = freshBookingOpt.get();
-            System.out.println("Current booking status: " + freshBooking.getStatus());
+            logger.debug("Current booking status: {}", freshBooking.getStatus());
             
             // Update the booking status
             Optional<Booking> updatedBookingOpt = bookingService.updateBookingStatus(bookingId, BookingStatus.CONFIRMED);
             if (updatedBookingOpt.isPresent()) {
                 Booking updatedBooking = updatedBookingOpt.get();
-                System.out.println("Booking status updated to: " + updatedBooking.getStatus());
+                logger.debug("Booking status updated to: {}", updatedBooking.getStatus());
                 
                 // Verify the booking was updated correctly by fetching it again
                 Optional<Booking> verifiedBookingOpt = bookingService.getBookingById(bookingId);
                 if (verifiedBookingOpt.isPresent()) {
                     Booking verifiedBooking = verifiedBookingOpt.get();
-                    System.out.println("Verified booking status: " + verifiedBooking.getStatus());
+                    logger.debug("Verified booking status: {}", verifiedBooking.getStatus());
                     
                     if (verifiedBooking.getStatus() != BookingStatus.CONFIRMED) {
-                        System.out.println("WARNING: Booking status verification failed. Expected CONFIRMED but got: " + verifiedBooking.getStatus());
+                        logger.warn("Booking status verification failed. Expected CONFIRMED but got: {}",
+                                verifiedBooking.getStatus());
                         
                         // Try to update the status again
-                        System.out.println("Attempting to update booking status again...");
+                        logger.debug("Attempting to update booking status again...");
                         bookingService.updateBookingStatus(bookingId, BookingStatus.CONFIRMED);
                         
                         // Verify one more time
                         Optional<Booking> reVerifiedBookingOpt = bookingService.getBookingById(bookingId);
                         if (reVerifiedBookingOpt.isPresent()) {
-                            System.out.println("Re-verified booking status: " + reVerifiedBookingOpt.get().getStatus());
+                            logger.debug("Re-verified booking status: {}", reVerifiedBookingOpt.get().getStatus());
                             verifiedBooking = reVerifiedBookingOpt.get();
                         }
                     }
@@ -849,17 +874,16 @@ public class BookingController {
                     
                     paymentIntent.put("booking", bookingDTO);
                 } else {
-                    System.out.println("ERROR: Could not verify booking status update");
+                    logger.error("Could not verify booking status update");
                 }
             } else {
-                System.out.println("ERROR: Failed to update booking status");
+                logger.error("Failed to update booking status");
             }
             
-            System.out.println("Payment processing completed successfully");
+            logger.debug("Payment processing completed successfully");
             return new ResponseEntity<>(paymentIntent, HttpStatus.OK);
         } catch (Exception e) {
-            System.out.println("Error processing payment: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error processing payment: {}", e.getMessage(), e);
             return new ResponseEntity<>("Error processing payment: " + e.getMessage(), 
                     HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -1021,21 +1045,21 @@ public class BookingController {
                 if (now.isAfter(cutoffTime)) {
                     long minutesAfterStart = java.time.Duration.between(showDateTime, now).toMinutes();
                     return String.format("Booking not allowed. The movie started %d minutes ago. " +
-                            "Bookings are only allowed up to 15 minutes after the movie starts.", 
+                            "Bookings are only allowed up to 15 minutes after the movie starts.",
                             minutesAfterStart);
                 }
                 
                 // Show warning but allow booking
                 long minutesAfterStart = java.time.Duration.between(showDateTime, now).toMinutes();
-                System.out.println(String.format("Warning: Movie started %d minutes ago, but booking is still allowed " +
-                        "(within 15-minute grace period)", minutesAfterStart));
+                logger.debug("Movie started {} minutes ago, but booking is still allowed (within 15-minute grace period)",
+                        minutesAfterStart);
                 
                 return null; // Allow booking
             } else {
                 // For all other show types (Theater, Concert, Event, Other), don't allow booking after start
                 long minutesAfterStart = java.time.Duration.between(showDateTime, now).toMinutes();
                 return String.format("Booking not allowed. The %s started %d minutes ago. " +
-                        "Bookings are not allowed after %s events have started.", 
+                        "Bookings are not allowed after %s events have started.",
                         showType.toLowerCase(), minutesAfterStart, showType.toLowerCase());
             }
         }
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,6 +18,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -87,6 +89,63 @@ public class ConsolidatedNotificationController {
         }
     }
 
+    /**
+     * Get notifications for the current user using keyset pagination.
+     * Pass the createdAt and id of the last notification received to fetch the next page;
+     * unlike /paged this never runs an OFFSET or COUNT query.
+     * @param beforeCreatedAt Creation date of the last notification already seen (optional)
+     * @param beforeId ID of the last notification already seen (optional)
+     * @param size Page size
+     * @return ResponseEntity containing the notifications and the cursor for the next page
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('USER') or hasRole('ORGANIZER') or hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getUserNotificationsByCursor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        
+        int limit = Math.max(1, Math.min(size, 100));
+        List<ConsolidatedNotification> notifications = notificationService.getUserNotificationsBefore(
+                userDetails.getId(), beforeCreatedAt, beforeId, limit);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("notifications", notifications);
+        response.put("hasMore", notifications.size() == limit);
+        if (!notifications.isEmpty()) {
+            ConsolidatedNotification last = notifications.get(notifications.size() - 1);
+            response.put("nextBeforeCreatedAt", last.getCreatedAt());
+            response.put("nextBeforeId", last.getId());
+        }
+        
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Replay notifications created after a given ID.
+     * WebSocket clients call this on reconnect with the last ID they received
+     * on /user/queue/notifications, instead of polling for new notifications.
+     * @param afterId ID of the last notification received (optional)
+     * @param size Maximum number of notifications to return
+     * @return ResponseEntity containing the missed notifications, oldest first
+     */
+    @GetMapping("/since")
+    @PreAuthorize("hasRole('USER') or hasRole('ORGANIZER') or hasRole('ADMIN')")
+    public ResponseEntity<List<ConsolidatedNotification>> getNotificationsSince(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int size) {
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        
+        List<ConsolidatedNotification> notifications = notificationService.getNotificationsSince(
+                userDetails.getId(), afterId, size);
+        return new ResponseEntity<>(notifications, HttpStatus.OK);
+    }
+
     /**
      * Get unread notifications for the current user
      * @return ResponseEntity containing the list of unread notifications
@@ -116,14 +175,10 @@ public class ConsolidatedNotificationController {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         
-        Optional<User> userOpt = userService.getUserById(userDetails.getId());
-        if (userOpt.isPresent()) {
-            long count = notificationService.getUnreadCount(userOpt.get());
-            Map<String, Long> response = Map.of("count", count);
-            return new ResponseEntity<>(response, HttpStatus.OK);
-        } else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
+        // Served from the in-memory counter; no user lookup needed for an authenticated principal
+        long count = notificationService.getUnreadCount(userDetails.getId());
+        Map<String, Long> response = Map.of("count", count);
+        return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
     /**
@@ -8,6 +8,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
@@ -30,26 +31,37 @@ public class DatabaseMaintenanceController {
 
     /**
      * Endpoint to check and fix seat count inconsistencies
-     * @return A response indicating the result of the operation
+     * The check runs in the background; its progress is reported by GET /consistency-check
+     * @param full Check every venue instead of only those changed since the last check
+     * @return A response indicating whether the check was started
      */
     @PostMapping("/fix-seat-counts")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> fixSeatCounts() {
+    public ResponseEntity<Map<String, Object>> fixSeatCounts(@RequestParam(defaultValue = "false") boolean full) {
         Map<String, Object> response = new HashMap<>();
         
-        try {
-            databaseConsistencyChecker.run();
+        if (databaseConsistencyChecker.startCheck(full, "manual")) {
             response.put("success", true);
-            response.put("message", "Seat count consistency check completed successfully");
-        } catch (Exception e) {
+            response.put("message", "Seat count consistency check started");
+        } else {
             response.put("success", false);
-            response.put("message", "Error during seat count consistency check: " + e.getMessage());
-            response.put("error", e.getMessage());
+            response.put("message", "A seat count consistency check is already running");
         }
+        response.put("status", databaseConsistencyChecker.getStatus());
         
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Endpoint to get the progress of the running consistency check, or the result of the last one
+     * @return Consistency check status
+     */
+    @GetMapping("/consistency-check")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getConsistencyCheckStatus() {
+        return ResponseEntity.ok(databaseConsistencyChecker.getStatus());
+    }
+    
     /**
      * Endpoint to get database statistics
      * @return Statistics about the database
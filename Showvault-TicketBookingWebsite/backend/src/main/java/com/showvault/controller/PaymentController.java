@@ -1,7 +1,7 @@
 package com.showvault.controller;
 
+import com.showvault.exception.ResourceNotFoundException;
 import com.showvault.model.BookingPayment;
-import com.showvault.model.BookingStatus;
 import com.showvault.model.PaymentMethod;
 import com.showvault.model.PaymentStatus;
 import com.showvault.security.services.UserDetailsImpl;
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -115,6 +116,8 @@ public class PaymentController {
         return new ResponseEntity<>(Map.of("revenue", revenue != null ? revenue : 0.0), HttpStatus.OK);
     }
 
+    // Not under open-session-in-view (see WebConfig): these endpoints pass ids to PaymentService and
+    // touch no lazy associations, so no connection is held while the gateway is called
     @PostMapping("/process/{bookingId}")
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<?> processPayment(
@@ -123,30 +126,24 @@ public class PaymentController {
             @RequestParam BigDecimal amount) {
         
         try {
-            // Check if the user is authorized to process this payment
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
             
-            return bookingService.getBookingById(bookingId)
-                    .map(booking -> {
-                        if (!booking.getUser().getId().equals(userDetails.getId())) {
-                            return new ResponseEntity<>("You are not authorized to process this payment", HttpStatus.FORBIDDEN);
-                        }
-                        
-                        if (booking.getStatus() != BookingStatus.PENDING) {
-                            return new ResponseEntity<>("This booking is not in a valid state for payment", HttpStatus.BAD_REQUEST);
-                        }
-                        
-                        BookingPayment payment = paymentService.processPayment(bookingId, paymentMethod, amount);
-                        
-                        if (payment.getStatus() == PaymentStatus.COMPLETED) {
-                            return new ResponseEntity<>(payment, HttpStatus.OK);
-                        } else {
-                            return new ResponseEntity<>("Payment processing failed", HttpStatus.INTERNAL_SERVER_ERROR);
-                        }
-                    })
-                    .orElse(new ResponseEntity<>("Booking not found", HttpStatus.NOT_FOUND));
-        } catch (IllegalArgumentException e) {
+            BookingPayment payment = paymentService.processPayment(bookingId, userDetails.getId(), paymentMethod, amount);
+            
+            if (payment.getStatus() == PaymentStatus.COMPLETED) {
+                return new ResponseEntity<>(payment, HttpStatus.OK);
+            } else if (payment.getStatus() == PaymentStatus.UNKNOWN) {
+                // The gateway did not answer in time; the payment is settled by reconciliation
+                return new ResponseEntity<>(payment, HttpStatus.ACCEPTED);
+            } else {
+                return new ResponseEntity<>("Payment processing failed", HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>("Booking not found", HttpStatus.NOT_FOUND);
+        } catch (AccessDeniedException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.FORBIDDEN);
+        } catch (IllegalArgumentException | IllegalStateException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>("An error occurred while processing the payment: " + e.getMessage(), 
@@ -158,22 +155,22 @@ public class PaymentController {
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> processRefund(@PathVariable Long paymentId) {
         try {
-            // Check if the user is authorized to process this refund
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
             boolean isAdmin = authentication.getAuthorities().stream()
                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
             
-            return paymentService.getPaymentById(paymentId)
-                    .map(payment -> {
-                        if (!isAdmin && !payment.getBooking().getUser().getId().equals(userDetails.getId())) {
-                            return new ResponseEntity<>("You are not authorized to process this refund", HttpStatus.FORBIDDEN);
-                        }
-                        
-                        BookingPayment refundedPayment = paymentService.processRefund(paymentId);
-                        return new ResponseEntity<>(refundedPayment, HttpStatus.OK);
-                    })
-                    .orElse(new ResponseEntity<>("Payment not found", HttpStatus.NOT_FOUND));
+            BookingPayment payment = paymentService.processRefund(paymentId, userDetails.getId(), isAdmin);
+            
+            if (payment.getStatus() == PaymentStatus.REFUNDING) {
+                // The gateway did not answer in time; the refund is settled by reconciliation
+                return new ResponseEntity<>(payment, HttpStatus.ACCEPTED);
+            }
+            return new ResponseEntity<>(payment, HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>("Payment not found", HttpStatus.NOT_FOUND);
+        } catch (AccessDeniedException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.FORBIDDEN);
         } catch (IllegalArgumentException | IllegalStateException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
@@ -181,4 +178,4 @@ public class PaymentController {
                     HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+}
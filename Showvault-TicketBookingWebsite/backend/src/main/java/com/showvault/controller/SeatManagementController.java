@@ -6,9 +6,12 @@ import com.showvault.model.Venue;
 import com.showvault.repository.SeatRepository;
 import com.showvault.repository.ShowScheduleRepository;
 import com.showvault.repository.VenueRepository;
+import com.showvault.dto.SeatLayoutTemplateDTO;
+import com.showvault.service.SeatLayoutService;
 import com.showvault.service.SeatManagementService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -25,6 +29,9 @@ public class SeatManagementController {
     @Autowired
     private SeatManagementService seatManagementService;
 
+    @Autowired
+    private SeatLayoutService seatLayoutService;
+
     @Autowired
     private VenueRepository venueRepository;
 
@@ -113,6 +120,45 @@ public class SeatManagementController {
         }
     }
 
+    /**
+     * Create the seats of a venue from a JSON layout template
+     */
+    @PostMapping(value = "/venue/{venueId}/layout", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('ORGANIZER')")
+    public ResponseEntity<?> importSeatLayout(@PathVariable Long venueId, @RequestBody SeatLayoutTemplateDTO template) {
+        return importLayout(venueId, () -> template);
+    }
+
+    /**
+     * Create the seats of a venue from a CSV layout template
+     * (section,row,seats,first_seat,category,price_multiplier)
+     */
+    @PostMapping(value = "/venue/{venueId}/layout", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('ORGANIZER')")
+    public ResponseEntity<?> importSeatLayoutCsv(@PathVariable Long venueId, @RequestBody String csv) {
+        return importLayout(venueId, () -> seatLayoutService.parseCsv(csv));
+    }
+
+    private ResponseEntity<?> importLayout(Long venueId, Supplier<SeatLayoutTemplateDTO> template) {
+        try {
+            long start = System.currentTimeMillis();
+            int seatsGenerated = seatLayoutService.importLayout(venueId, template.get());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("venueId", venueId);
+            response.put("seatsGenerated", seatsGenerated);
+            response.put("durationMs", System.currentTimeMillis() - start);
+            response.put("message", "Successfully generated " + seatsGenerated + " seats");
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("Error importing seat layout: " + e.getMessage());
+        }
+    }
+
     /**
      * Validate seat allocation for a venue
      */
@@ -1,5 +1,7 @@
 package com.showvault.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,45 +11,65 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.showvault.dto.SeatMapDTO;
 import com.showvault.service.SeatMapService;
+import com.showvault.util.ConditionalGet;
+import com.showvault.util.PrecompressedJson;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/seat-maps")
 public class SeatMapController {
 
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapController.class);
+
     @Autowired
     private SeatMapService seatMapService;
     
+    @Autowired
+    private ConditionalGet conditionalGet;
+    
     /**
-     * Get the seat map for a specific show schedule
+     * Get the seat map for a specific show schedule.
+     * The ETag follows the seat map cached on this node, so a client polling an unchanged map
+     * gets a 304 instead of the whole layout again; the client must revalidate on every use.
      * 
      * @param showId The ID of the show
      * @param scheduleId The ID of the show schedule
-     * @return The seat map
+     * @param request The request, for its If-None-Match header
+     * @return The seat map, or 304 if the client's copy is current
      */
     @GetMapping("/shows/{showId}/schedules/{scheduleId}")
-    public ResponseEntity<SeatMapDTO> getSeatMap(
+    public ResponseEntity<?> getSeatMap(
             @PathVariable Long showId,
-            @PathVariable Long scheduleId) {
+            @PathVariable Long scheduleId,
+            WebRequest request) {
         try {
-            System.out.println("Generating seat map for show " + showId + ", schedule " + scheduleId);
+            logger.debug("Getting seat map for show {}, schedule {}", showId, scheduleId);
             SeatMapDTO seatMap = seatMapService.generateSeatMap(showId, scheduleId);
-            System.out.println("Successfully generated seat map with " + 
-                              (seatMap.getRows() != null ? seatMap.getRows().size() : 0) + " rows");
             
             // Check if this is an error seat map
             if (seatMap.getMetadata() != null && seatMap.getMetadata().containsKey("error")) {
-                System.out.println("Returning error seat map: " + seatMap.getMetadata().get("error"));
+                logger.warn("Returning error seat map for schedule {}: {}", scheduleId, seatMap.getMetadata().get("error"));
             }
             
-            return new ResponseEntity<>(seatMap, HttpStatus.OK);
+            // Error maps are not cached and have no version, so they are sent without an ETag
+            String etag = seatMap.getVersion() != null ? "W/\"m" + scheduleId + "-" + seatMap.getVersion() + "\"" : null;
+            // The gzip and plain bodies share the URL and ETag, so every answer varies by Accept-Encoding
+            return PrecompressedJson.varyByEncoding(conditionalGet.<Object>revalidated(request, etag, () -> {
+                // Large venue maps are sent from the compressed copy kept with the cached map
+                if (PrecompressedJson.acceptsGzip(request)) {
+                    byte[] gzipped = seatMapService.getGzippedSeatMapJson(showId, scheduleId, seatMap);
+                    if (gzipped != null) {
+                        return new ResponseEntity<>(gzipped, PrecompressedJson.headers(), HttpStatus.OK);
+                    }
+                }
+                return new ResponseEntity<>(seatMap, HttpStatus.OK);
+            }));
         } catch (Exception e) {
-            // Log the error
-            System.err.println("Error generating seat map for show " + showId + ", schedule " + scheduleId + ": " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error generating seat map for show {}, schedule {}: {}", showId, scheduleId, e.getMessage(), e);
             
             // Create a minimal seat map with error information
             SeatMapDTO errorSeatMap = SeatMapDTO.createErrorSeatMap(
@@ -60,7 +82,7 @@ public class SeatMapController {
             errorSeatMap.getMetadata().put("errorType", e.getClass().getSimpleName());
             
             // Return the error seat map with OK status to avoid frontend errors
-            return new ResponseEntity<>(errorSeatMap, HttpStatus.OK);
+            return PrecompressedJson.varyByEncoding(new ResponseEntity<>(errorSeatMap, HttpStatus.OK));
         }
     }
     
@@ -3,6 +3,7 @@ package com.showvault.controller;
 import com.showvault.dto.ShowDTO;
 import com.showvault.dto.ShowReviewDTO;
 import com.showvault.dto.ShowCreateRequestDTO;
+import com.showvault.dto.ShowScheduleSummaryDTO;
 import com.showvault.model.Show;
 import com.showvault.model.ShowReview;
 import com.showvault.model.ShowSchedule;
@@ -17,6 +18,8 @@ import com.showvault.service.UserService;
 import com.showvault.service.VenueService;
 import com.showvault.service.ScheduleValidationService;
 import com.showvault.service.ShowTypeService;
+import com.showvault.service.CatalogVersionService;
+import com.showvault.util.ConditionalGet;
 import com.showvault.model.Show.ShowStatus;
 import com.showvault.payload.response.ApiResponse;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -37,6 +40,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.ArrayList;
@@ -73,38 +77,47 @@ public class ShowController {
     
     @Autowired
     private ShowTypeService showTypeService;
+    
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+    
+    @Autowired
+    private ConditionalGet conditionalGet;
 
     @GetMapping
     public ResponseEntity<List<ShowDTO>> getAllShows(
-            @RequestParam(required = false) String excludeStatus) {
-        try {
-            List<Show> shows;
-            if (excludeStatus != null && !excludeStatus.isEmpty()) {
-                System.out.println("Excluding shows with status: " + excludeStatus);
-                try {
-                    Show.ShowStatus statusToExclude = Show.ShowStatus.valueOf(excludeStatus.toUpperCase());
-                    shows = showService.getAllShowsExcept(statusToExclude);
-                } catch (IllegalArgumentException e) {
-                    System.out.println("Invalid excludeStatus: " + excludeStatus + ", returning all shows");
+            @RequestParam(required = false) String excludeStatus, WebRequest request) {
+        return conditionalGet.revalidated(request, catalogVersionService.getShowsETag(), () -> {
+            try {
+                List<Show> shows;
+                if (excludeStatus != null && !excludeStatus.isEmpty()) {
+                    System.out.println("Excluding shows with status: " + excludeStatus);
+                    try {
+                        Show.ShowStatus statusToExclude = Show.ShowStatus.valueOf(excludeStatus.toUpperCase());
+                        shows = showService.getAllShowsExcept(statusToExclude);
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Invalid excludeStatus: " + excludeStatus + ", returning all shows");
+                        shows = showService.getAllShows();
+                    }
+                } else {
                     shows = showService.getAllShows();
                 }
-            } else {
-                shows = showService.getAllShows();
+                List<ShowDTO> showDTOs = dtoConverterService.convertShowsToDTO(shows);
+                return new ResponseEntity<>(showDTOs, HttpStatus.OK);
+            } catch (Exception e) {
+                System.err.println("Error fetching all shows: " + e.getMessage());
+                e.printStackTrace();
+                return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
             }
-            List<ShowDTO> showDTOs = dtoConverterService.convertShowsToDTO(shows);
-            return new ResponseEntity<>(showDTOs, HttpStatus.OK);
-        } catch (Exception e) {
-            System.err.println("Error fetching all shows: " + e.getMessage());
-            e.printStackTrace();
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-        }
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ShowDTO> getShowById(@PathVariable Long id) {
-        return showService.getShowById(id)
-                .map(show -> new ResponseEntity<>(dtoConverterService.convertToShowDTO(show), HttpStatus.OK))
-                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<ShowDTO> getShowById(@PathVariable Long id, WebRequest request) {
+        return conditionalGet.revalidated(request, catalogVersionService.getShowETag(id), () ->
+                showService.getShowById(id)
+                        .map(show -> new ResponseEntity<>(dtoConverterService.convertToShowDTO(show), HttpStatus.OK))
+                        .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
     @GetMapping("/status/{status}")
@@ -189,15 +202,19 @@ public class ShowController {
     }
 
     @GetMapping("/genres")
-    public ResponseEntity<List<String>> getAllGenres() {
-        List<String> genres = showService.getAllGenres();
-        return new ResponseEntity<>(genres, HttpStatus.OK);
+    public ResponseEntity<List<String>> getAllGenres(WebRequest request) {
+        return conditionalGet.catalog(request, catalogVersionService.getShowFiltersETag(), () -> {
+            List<String> genres = showService.getAllGenres();
+            return new ResponseEntity<>(genres, HttpStatus.OK);
+        });
     }
 
     @GetMapping("/languages")
-    public ResponseEntity<List<String>> getAllLanguages() {
-        List<String> languages = showService.getAllLanguages();
-        return new ResponseEntity<>(languages, HttpStatus.OK);
+    public ResponseEntity<List<String>> getAllLanguages(WebRequest request) {
+        return conditionalGet.catalog(request, catalogVersionService.getShowFiltersETag(), () -> {
+            List<String> languages = showService.getAllLanguages();
+            return new ResponseEntity<>(languages, HttpStatus.OK);
+        });
     }
     
     /**
@@ -796,7 +813,7 @@ public class ShowController {
 
     // Schedule management endpoints for shows
     @GetMapping("/{id}/schedules")
-    public ResponseEntity<List<ShowSchedule>> getShowSchedules(@PathVariable Long id) {
+    public ResponseEntity<List<ShowScheduleSummaryDTO>> getShowSchedules(@PathVariable Long id) {
         try {
             // Verify show exists
             Optional<Show> showOpt = showService.getShowById(id);
@@ -804,9 +821,9 @@ public class ShowController {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
 
-            // Get schedules for this show
+            // Get schedules for this show, without the show and venue graphs of the entities
             List<ShowSchedule> schedules = showScheduleService.getShowSchedulesByShowId(id);
-            return new ResponseEntity<>(schedules, HttpStatus.OK);
+            return new ResponseEntity<>(dtoConverterService.convertShowSchedulesToSummaryDTO(schedules), HttpStatus.OK);
         } catch (Exception e) {
             System.err.println("Error fetching schedules for show " + id + ": " + e.getMessage());
             e.printStackTrace();
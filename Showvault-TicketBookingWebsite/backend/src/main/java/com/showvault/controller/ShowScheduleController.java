@@ -6,6 +6,8 @@ import com.showvault.model.ShowSchedule;
 import com.showvault.model.Venue;
 import com.showvault.security.services.UserDetailsImpl;
 import com.showvault.service.DTOConverterService;
+import com.showvault.service.PriceTable;
+import com.showvault.service.PricingService;
 import com.showvault.service.ShowScheduleService;
 import com.showvault.service.ShowService;
 import com.showvault.service.VenueService;
@@ -20,7 +22,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -39,6 +43,9 @@ public class ShowScheduleController {
     
     @Autowired
     private DTOConverterService dtoConverterService;
+    
+    @Autowired
+    private PricingService pricingService;
 
     @GetMapping
     public ResponseEntity<List<ShowScheduleDTO>> getAllSchedules() {
@@ -57,6 +64,33 @@ public class ShowScheduleController {
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * Quote a selection of seats for a schedule from its compiled price table
+     * @param id The schedule ID
+     * @param seatIds The selected seat IDs
+     * @param promotionCode Optional promotion code
+     * @return Subtotal, discount and total for the selection
+     */
+    @GetMapping("/{id}/quote")
+    public ResponseEntity<Map<String, Object>> quote(
+            @PathVariable Long id,
+            @RequestParam List<Long> seatIds,
+            @RequestParam(required = false) String promotionCode) {
+        PriceTable.Quote quote;
+        try {
+            quote = pricingService.quote(id, seatIds, promotionCode);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(Map.of("error", e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("subtotal", quote.getSubtotal());
+        response.put("discount", quote.getDiscount());
+        response.put("total", quote.getTotal());
+        response.put("promotionCode", quote.getPromotion() != null ? quote.getPromotion().getCode() : null);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @GetMapping("/show/{showId}")
     public ResponseEntity<List<ShowScheduleDTO>> getSchedulesByShowId(@PathVariable Long showId) {
         List<ShowSchedule> schedules = showScheduleService.getShowSchedulesByShowId(showId);
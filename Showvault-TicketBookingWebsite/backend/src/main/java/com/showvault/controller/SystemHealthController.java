@@ -43,6 +43,29 @@ public class SystemHealthController {
         return new ResponseEntity<>(metrics, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/prometheus", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public ResponseEntity<String> getPrometheusMetrics() {
+        return new ResponseEntity<>(systemHealthService.getPrometheusMetrics(), HttpStatus.OK);
+    }
+
+    @GetMapping("/websocket")
+    public ResponseEntity<Map<String, Object>> getWebSocketMetrics() {
+        Map<String, Object> metrics = systemHealthService.getWebSocketMetrics();
+        return new ResponseEntity<>(metrics, HttpStatus.OK);
+    }
+
+    @GetMapping("/caches")
+    public ResponseEntity<Map<String, Object>> getCacheMetrics() {
+        Map<String, Object> metrics = systemHealthService.getCacheMetrics();
+        return new ResponseEntity<>(metrics, HttpStatus.OK);
+    }
+
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<Map<String, Object>> getSecondLevelCacheMetrics() {
+        Map<String, Object> metrics = systemHealthService.getSecondLevelCacheMetrics();
+        return new ResponseEntity<>(metrics, HttpStatus.OK);
+    }
+
     @GetMapping("/status")
     public ResponseEntity<Map<String, String>> getStatus() {
         Map<String, String> status = Map.of("status", systemHealthService.getStatus());
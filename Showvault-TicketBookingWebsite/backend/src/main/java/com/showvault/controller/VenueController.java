@@ -3,11 +3,14 @@ package com.showvault.controller;
 import com.showvault.model.Venue;
 import com.showvault.repository.VenueRepository;
 import com.showvault.repository.SeatRepository;
+import com.showvault.service.CatalogVersionService;
 import com.showvault.service.VenueService;
+import com.showvault.util.ConditionalGet;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,24 +22,32 @@ public class VenueController {
     private final VenueRepository venueRepository;
     private final SeatRepository seatRepository;
     private final VenueService venueService;
+    private final CatalogVersionService catalogVersionService;
+    private final ConditionalGet conditionalGet;
 
-    public VenueController(VenueRepository venueRepository, SeatRepository seatRepository, VenueService venueService) {
+    public VenueController(VenueRepository venueRepository, SeatRepository seatRepository, VenueService venueService,
+                           CatalogVersionService catalogVersionService, ConditionalGet conditionalGet) {
         this.venueRepository = venueRepository;
         this.seatRepository = seatRepository;
         this.venueService = venueService;
+        this.catalogVersionService = catalogVersionService;
+        this.conditionalGet = conditionalGet;
     }
 
     @GetMapping
-    public ResponseEntity<List<Venue>> getAllVenues() {
-        List<Venue> venues = venueRepository.findAll();
-        return new ResponseEntity<>(venues, HttpStatus.OK);
+    public ResponseEntity<List<Venue>> getAllVenues(WebRequest request) {
+        return conditionalGet.revalidated(request, catalogVersionService.getVenuesETag(), () -> {
+            List<Venue> venues = venueRepository.findAll();
+            return new ResponseEntity<>(venues, HttpStatus.OK);
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Venue> getVenueById(@PathVariable Long id) {
-        return venueRepository.findById(id)
-                .map(venue -> new ResponseEntity<>(venue, HttpStatus.OK))
-                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<Venue> getVenueById(@PathVariable Long id, WebRequest request) {
+        return conditionalGet.revalidated(request, catalogVersionService.getVenuesETag(), () ->
+                venueRepository.findById(id)
+                        .map(venue -> new ResponseEntity<>(venue, HttpStatus.OK))
+                        .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
     @GetMapping("/city/{city}")
@@ -58,15 +69,19 @@ public class VenueController {
     }
 
     @GetMapping("/cities")
-    public ResponseEntity<List<String>> getAllCities() {
-        List<String> cities = venueService.getAllCities();
-        return new ResponseEntity<>(cities, HttpStatus.OK);
+    public ResponseEntity<List<String>> getAllCities(WebRequest request) {
+        return conditionalGet.catalog(request, catalogVersionService.getVenueFiltersETag(), () -> {
+            List<String> cities = venueService.getAllCities();
+            return new ResponseEntity<>(cities, HttpStatus.OK);
+        });
     }
 
     @GetMapping("/countries")
-    public ResponseEntity<List<String>> getAllCountries() {
-        List<String> countries = venueService.getAllCountries();
-        return new ResponseEntity<>(countries, HttpStatus.OK);
+    public ResponseEntity<List<String>> getAllCountries(WebRequest request) {
+        return conditionalGet.catalog(request, catalogVersionService.getVenueFiltersETag(), () -> {
+            List<String> countries = venueService.getAllCountries();
+            return new ResponseEntity<>(countries, HttpStatus.OK);
+        });
     }
     
     @GetMapping("/search")
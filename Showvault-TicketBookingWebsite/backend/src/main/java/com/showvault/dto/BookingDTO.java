@@ -1,11 +1,14 @@
 package com.showvault.dto;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import com.showvault.model.Booking;
 import com.showvault.model.BookingStatus;
 import com.showvault.model.PaymentStatus;
 import com.showvault.model.User;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -16,25 +19,42 @@ import java.util.stream.Collectors;
 @Data
 @NoArgsConstructor
 public class BookingDTO {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingDTO.class);
+
+    @JsonView(Views.Summary.class)
     private Long id;
+    @JsonView(Views.Summary.class)
     private String bookingNumber;
     private Long userId;
     private String userName;
     private String userEmail;
+    @JsonView(Views.Summary.class)
     private String customerName;
+    @JsonView(Views.Summary.class)
     private String customerEmail;
     private String customerPhone;
+    @JsonView(Views.Summary.class)
     private Long showScheduleId;
+    @JsonView(Views.Summary.class)
     private String showName;
+    @JsonView(Views.Summary.class)
     private String venueName;
+    @JsonView(Views.Summary.class)
     private LocalDateTime showDate;
+    @JsonView(Views.Summary.class)
     private LocalDateTime bookingDate;
+    @JsonView(Views.Summary.class)
     private BigDecimal totalAmount;
+    @JsonView(Views.Summary.class)
     private BookingStatus status;
+    @JsonView(Views.Summary.class)
     private PaymentStatus paymentStatus;
     private String paymentMethod;
     private String paymentId;
+    @JsonView(Views.Summary.class)
     private List<SeatBookingDTO> seats = new ArrayList<>();
+    @JsonView(Views.Summary.class)
     private String refundReason;
     private String qrCodeData;
     private Boolean ticketGenerated;
@@ -55,10 +75,6 @@ public class BookingDTO {
             this.customerName = this.customerName.trim();
             this.customerEmail = user.getEmail();
             this.customerPhone = user.getPhoneNumber();
-            
-            System.out.println("Setting customer details in DTO - Name: " + this.customerName + 
-                              ", Email: " + this.customerEmail + 
-                              ", Phone: " + this.customerPhone);
         }
         this.showScheduleId = booking.getShowSchedule() != null ? booking.getShowSchedule().getId() : null;
         this.showName = booking.getShowSchedule() != null && booking.getShowSchedule().getShow() != null ? 
@@ -69,7 +85,7 @@ public class BookingDTO {
             this.showDate = booking.getShowSchedule() != null && booking.getShowSchedule().getShowDate() != null ? 
                     booking.getShowSchedule().getShowDate().atTime(booking.getShowSchedule().getStartTime()) : null;
         } catch (Exception e) {
-            System.out.println("Error getting show date: " + e.getMessage());
+            logger.warn("Error getting show date for booking {}: {}", booking.getId(), e.getMessage());
             this.showDate = null;
         }
         this.bookingDate = booking.getBookingDate();
@@ -90,7 +106,7 @@ public class BookingDTO {
             }
         } catch (Exception e) {
             // If there's any error, use default values
-            System.out.println("Error getting payment details: " + e.getMessage());
+            logger.warn("Error getting payment details for booking {}: {}", booking.getId(), e.getMessage());
             this.paymentStatus = PaymentStatus.COMPLETED;
             this.paymentMethod = "CREDIT_CARD";
             this.paymentId = "DEMO-" + System.currentTimeMillis();
@@ -1,5 +1,6 @@
 package com.showvault.dto;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import com.showvault.model.SeatBooking;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,9 +10,12 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 public class SeatBookingDTO {
+    @JsonView(Views.Summary.class)
     private Long id;
     private Long bookingId;
+    @JsonView(Views.Summary.class)
     private SeatDTO seat;
+    @JsonView(Views.Summary.class)
     private BigDecimal price;
     
     public SeatBookingDTO(SeatBooking seatBooking) {
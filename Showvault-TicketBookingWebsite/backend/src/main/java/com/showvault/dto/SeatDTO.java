@@ -1,5 +1,6 @@
 package com.showvault.dto;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import com.showvault.model.Seat;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,11 +10,15 @@ import java.math.BigDecimal;
 @Data
 @NoArgsConstructor
 public class SeatDTO {
+    @JsonView(Views.Summary.class)
     private Long id;
     private Long venueId;
     private String venueName;
+    @JsonView(Views.Summary.class)
     private String rowName;
+    @JsonView(Views.Summary.class)
     private Integer seatNumber;
+    @JsonView(Views.Summary.class)
     private Seat.SeatCategory category;
     private BigDecimal priceMultiplier;
     
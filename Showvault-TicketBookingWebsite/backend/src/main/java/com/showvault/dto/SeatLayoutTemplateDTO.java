@@ -0,0 +1,50 @@
+package com.showvault.dto;
+
+import com.showvault.model.Seat.SeatCategory;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seat layout of a venue, imported as JSON or CSV.
+ * A layout is a list of sections, each a list of rows. A row may name a range of rows that share
+ * the same shape ("A-Z", "AA-AD" or "1-40"); category and price multiplier default to the section's.
+ *
+ * JSON:
+ * <pre>
+ * {"sections": [{"name": "Floor", "category": "VIP", "priceMultiplier": 2.00,
+ *                "rows": [{"row": "A-E", "seats": 40}, {"row": "F", "seats": 36, "firstSeat": 3}]}]}
+ * </pre>
+ * CSV, one line per row or row range:
+ * <pre>
+ * section,row,seats,first_seat,category,price_multiplier
+ * Floor,A-E,40,1,VIP,2.00
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+public class SeatLayoutTemplateDTO {
+    private List<SectionDTO> sections = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    public static class SectionDTO {
+        private String name;
+        private SeatCategory category;
+        private BigDecimal priceMultiplier;
+        private List<RowDTO> rows = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class RowDTO {
+        private String row; // Row name, or a range of row names
+        private Integer seats;
+        private Integer firstSeat; // Number of the first seat, 1 if not set
+        private SeatCategory category;
+        private BigDecimal priceMultiplier;
+    }
+}
@@ -6,6 +6,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,6 +21,10 @@ public class SeatMapDTO {
     private Map<String, String> legend = new HashMap<>();
     private Map<String, Object> metadata = new HashMap<>();
     
+    // Set by SeatMapService when the map is cached; used for the ETag, not sent
+    @JsonIgnore
+    private String version;
+    
     public SeatMapDTO(String screen) {
         this.screen = screen;
         this.legend.put("available", "Available");
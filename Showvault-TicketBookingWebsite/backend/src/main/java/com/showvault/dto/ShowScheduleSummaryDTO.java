@@ -0,0 +1,70 @@
+package com.showvault.dto;
+
+import com.showvault.model.ShowSchedule;
+import com.showvault.model.ShowSchedule.ScheduleStatus;
+import com.showvault.model.Venue;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One row of a show's schedule list.
+ * Same shape as the create and update schedule responses: the schedule fields plus a flat venue
+ * summary, instead of the ShowSchedule entity with its show, venue seats and venue schedules.
+ */
+@Data
+@NoArgsConstructor
+public class ShowScheduleSummaryDTO {
+    private Long id;
+    private Long showId;
+    private LocalDate showDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String showTime; // Start time as HH:mm for the schedule form
+    private BigDecimal basePrice;
+    private ScheduleStatus status;
+    private Integer totalSeats;
+    private Integer seatsAvailable;
+    private Integer availableSeats; // For backward compatibility
+    private VenueSummary venue;
+
+    public ShowScheduleSummaryDTO(ShowSchedule schedule) {
+        this.id = schedule.getId();
+        this.showId = schedule.getShow() != null ? schedule.getShow().getId() : null;
+        this.showDate = schedule.getShowDate();
+        this.startTime = schedule.getStartTime();
+        this.endTime = schedule.getEndTime();
+        this.showTime = schedule.getStartTime() != null ? schedule.getStartTime().toString() : null;
+        this.basePrice = schedule.getBasePrice();
+        this.status = schedule.getStatus();
+        this.totalSeats = schedule.getTotalSeats();
+        this.seatsAvailable = schedule.getSeatsAvailable();
+        this.availableSeats = schedule.getSeatsAvailable();
+        this.venue = schedule.getVenue() != null ? new VenueSummary(schedule.getVenue()) : null;
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class VenueSummary {
+        private Long id;
+        private String name;
+        private String address;
+        private String city;
+        private String state;
+        private String country;
+        private Integer capacity;
+
+        public VenueSummary(Venue venue) {
+            this.id = venue.getId();
+            this.name = venue.getName();
+            this.address = venue.getAddress();
+            this.city = venue.getCity();
+            this.state = venue.getState();
+            this.country = venue.getCountry();
+            this.capacity = venue.getCapacity();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.showvault.dto;
+
+/**
+ * Jackson views for the response DTOs.
+ * A controller method annotated with @JsonView(Views.Summary.class) writes only the fields
+ * marked with that view; methods without @JsonView write every field as before.
+ */
+public final class Views {
+
+    private Views() {
+    }
+
+    /** Fields a list endpoint needs to render one row */
+    public static class Summary {
+    }
+}
@@ -15,8 +15,73 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "booking")
+@Table(name = "booking", indexes = {
+    // Keyset pages are ordered by (booking_date, id); each grid filter has an index in that order
+    @Index(name = "idx_booking_date_id", columnList = "booking_date, id"),
+    @Index(name = "idx_booking_user_date", columnList = "user_id, booking_date, id"),
+    @Index(name = "idx_booking_status_date", columnList = "status, booking_date, id"),
+    // Confirmed bookings of a schedule (seat maps, availability)
+    @Index(name = "idx_booking_schedule_status", columnList = "show_schedule_id, status"),
+    // Incremental consistency checks look for bookings changed since their last checkpoint
+    @Index(name = "idx_booking_updated_at", columnList = "updated_at")
+})
+@NamedEntityGraph(name = Booking.GRAPH_LIST,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "showSchedule", subgraph = "schedule")
+        },
+        subgraphs = @NamedSubgraph(name = "schedule", attributeNodes = {
+                @NamedAttributeNode("show"),
+                @NamedAttributeNode("venue")
+        }))
+@NamedEntityGraph(name = Booking.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode("promotion"),
+                @NamedAttributeNode(value = "showSchedule", subgraph = "schedule"),
+                @NamedAttributeNode(value = "seatBookings", subgraph = "seatBookings")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "schedule", attributeNodes = {
+                        @NamedAttributeNode("show"),
+                        @NamedAttributeNode("venue")
+                }),
+                @NamedSubgraph(name = "seatBookings", attributeNodes = @NamedAttributeNode("seat"))
+        })
+@NamedEntityGraph(name = Booking.GRAPH_TICKET,
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "showSchedule", subgraph = "schedule"),
+                @NamedAttributeNode(value = "seatBookings", subgraph = "seatBookings")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "schedule", attributeNodes = {
+                        @NamedAttributeNode("show"),
+                        @NamedAttributeNode("venue")
+                }),
+                @NamedSubgraph(name = "seatBookings", attributeNodes = @NamedAttributeNode("seat"))
+        })
+@NamedEntityGraph(name = Booking.GRAPH_ANALYTICS,
+        attributeNodes = {
+                @NamedAttributeNode("showSchedule"),
+                @NamedAttributeNode("seatBookings")
+        })
 public class Booking {
+
+    // Fetch graphs per use case; associations are lazy everywhere else.
+    // Collections left out of a graph are loaded in batches (hibernate.default_batch_fetch_size).
+
+    /** Booking grids: customer, schedule, show and venue */
+    public static final String GRAPH_LIST = "Booking.list";
+
+    /** Single booking view: everything the detail page and the ownership checks read */
+    public static final String GRAPH_DETAIL = "Booking.detail";
+
+    /** Ticket rendering and validation: customer, schedule, show, venue and seats */
+    public static final String GRAPH_TICKET = "Booking.ticket";
+
+    /** Sales analytics: schedule and seat counts */
+    public static final String GRAPH_ANALYTICS = "Booking.analytics";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,7 +95,7 @@ public class Booking {
     @JsonIgnoreProperties({"password", "roles", "createdAt", "updatedAt", "hibernateLazyInitializer", "handler"})
     private User user;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "show_schedule_id", nullable = false)
     @JsonIgnoreProperties({"bookings", "hibernateLazyInitializer", "handler"})
     private ShowSchedule showSchedule;
@@ -77,7 +142,7 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnoreProperties({"booking", "hibernateLazyInitializer", "handler"})
     private List<SeatBooking> seatBookings = new ArrayList<>();
     
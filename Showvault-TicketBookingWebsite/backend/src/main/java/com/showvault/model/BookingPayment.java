@@ -14,7 +14,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "booking_payment")
+@Table(name = "booking_payment", indexes = {
+    // Gateway callbacks look payments up by transaction id
+    @Index(name = "idx_booking_payment_transaction", columnList = "transaction_id"),
+    @Index(name = "idx_booking_payment_date", columnList = "payment_date"),
+    // In-flight payments by age, for reconciliation with the gateway
+    @Index(name = "idx_booking_payment_status_updated", columnList = "status, updated_at")
+})
 public class BookingPayment {
     
     @Id
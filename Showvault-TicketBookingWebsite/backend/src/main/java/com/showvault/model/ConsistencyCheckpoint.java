@@ -0,0 +1,36 @@
+package com.showvault.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Point up to which a background consistency check has verified the data.
+ * The next run only looks at rows changed after this point.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "consistency_checkpoint")
+public class ConsistencyCheckpoint {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "checked_until", nullable = false)
+    private LocalDateTime checkedUntil;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -17,7 +17,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notification")
+@Table(name = "notification", indexes = {
+    @Index(name = "idx_notification_user_created", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_notification_user_read", columnList = "user_id, is_read"),
+    @Index(name = "idx_notification_related", columnList = "related_id, related_type")
+})
 public class ConsolidatedNotification {
     
     @Id
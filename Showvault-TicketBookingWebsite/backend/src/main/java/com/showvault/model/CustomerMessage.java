@@ -8,7 +8,10 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "customer_messages")
+@Table(name = "customer_messages", indexes = {
+    // Polled by the scheduled message sender
+    @Index(name = "idx_customer_messages_status_scheduled", columnList = "status, scheduled_at")
+})
 public class CustomerMessage {
 
     @Id
@@ -41,7 +41,18 @@ public enum PaymentStatus {
     /**
      * Payment has been cancelled before processing
      */
-    CANCELLED("Cancelled");
+    CANCELLED("Cancelled"),
+    
+    /**
+     * Payment was sent to the gateway but its outcome is not known yet (e.g. the call timed out);
+     * resolved by reconciliation with the gateway
+     */
+    UNKNOWN("Unknown"),
+    
+    /**
+     * Refund has been claimed and sent to the gateway but not confirmed yet
+     */
+    REFUNDING("Refunding");
     
     private final String displayName;
     
@@ -1,6 +1,8 @@
 package com.showvault.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +11,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,8 +19,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "seat")
 @Table(name = "seat", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"venue_id", "row_name", "seat_number"})
+}, indexes = {
+        // Catalog ETags read the latest seat change of all venues
+        @Index(name = "idx_seat_updated_at", columnList = "updated_at")
 })
 public class Seat {
     
@@ -43,10 +51,20 @@ public class Seat {
     @Column(name = "price_multiplier", precision = 3, scale = 2)
     private BigDecimal priceMultiplier = BigDecimal.ONE;
     
+    @Column(name = "updated_at")
+    @JsonIgnore
+    private LocalDateTime updatedAt;
+    
     @OneToMany(mappedBy = "seat", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<SeatBooking> seatBookings = new ArrayList<>();
     
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+    
     public enum SeatCategory {
         STANDARD, PREMIUM, VIP
     }
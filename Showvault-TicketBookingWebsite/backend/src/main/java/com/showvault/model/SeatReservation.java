@@ -17,6 +17,12 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "seat_reservation", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"seat_id", "show_schedule_id"})
+}, indexes = {
+        // Active reservations of a schedule (availability counts, seat maps)
+        @Index(name = "idx_seat_reservation_schedule_expires", columnList = "show_schedule_id, expires_at"),
+        // Expiry sweeps and session cleanup
+        @Index(name = "idx_seat_reservation_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_seat_reservation_session", columnList = "session_id")
 })
 public class SeatReservation {
     
@@ -8,7 +8,10 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "show_reviews")
+@Table(name = "show_reviews", indexes = {
+    @Index(name = "idx_show_reviews_show", columnList = "show_id"),
+    @Index(name = "idx_show_reviews_user", columnList = "user_id")
+})
 public class ShowReview {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,6 +1,8 @@
 package com.showvault.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,23 +22,30 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "show_schedule")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "show-schedule")
+@Table(name = "show_schedule", indexes = {
+    // Upcoming and per-day schedule listings
+    @Index(name = "idx_show_schedule_date", columnList = "show_date"),
+    // Incremental consistency checks look for schedules changed since their last checkpoint
+    @Index(name = "idx_show_schedule_updated_at", columnList = "updated_at")
+})
 public class ShowSchedule {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "show_id", nullable = false)
-    @JsonIgnoreProperties({"schedules", "createdAt", "updatedAt"})
+    @JsonIgnoreProperties({"schedules", "createdAt", "updatedAt", "hibernateLazyInitializer", "handler"})
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Show show;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "venue_id", nullable = false)
-    @JsonIgnoreProperties({"createdAt", "updatedAt"})
+    @JsonIgnoreProperties({"createdAt", "updatedAt", "hibernateLazyInitializer", "handler"})
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Venue venue;
@@ -21,6 +21,14 @@ import java.util.Set;
     uniqueConstraints = {
         @UniqueConstraint(columnNames = "username"),
         @UniqueConstraint(columnNames = "email")
+    },
+    indexes = {
+        // Prefix search and name sort on the admin user table
+        @Index(name = "idx_user_first_name", columnList = "first_name, last_name"),
+        @Index(name = "idx_user_last_name", columnList = "last_name"),
+        // Status filter and created-at sort on the admin user table
+        @Index(name = "idx_user_status", columnList = "deleted, active, id"),
+        @Index(name = "idx_user_created_at", columnList = "created_at, id")
     })
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
@@ -79,7 +87,7 @@ public class User {
     @Column(name = "deleted")
     private boolean deleted = false;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_role",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
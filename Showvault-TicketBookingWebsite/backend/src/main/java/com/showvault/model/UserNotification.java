@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "user_notifications")
+@Table(name = "user_notifications", indexes = {
+    @Index(name = "idx_user_notifications_user_read", columnList = "user_id, is_read, created_at")
+})
 public class UserNotification {
     
     @Id
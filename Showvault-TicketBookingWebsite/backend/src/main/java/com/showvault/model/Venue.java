@@ -1,6 +1,8 @@
 package com.showvault.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,7 +18,12 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "venue")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "venue")
+@Table(name = "venue", indexes = {
+    // Incremental consistency checks look for venues changed since their last checkpoint
+    @Index(name = "idx_venue_updated_at", columnList = "updated_at")
+})
 public class Venue {
     
     @Id
@@ -4,10 +4,12 @@ import com.showvault.model.BookingPayment;
 import com.showvault.model.PaymentMethod;
 import com.showvault.model.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,4 +34,26 @@ public interface BookingPaymentRepository extends JpaRepository<BookingPayment,
     Double getTotalRevenueForPeriod(LocalDateTime startDate, LocalDateTime endDate);
     
     Optional<BookingPayment> findByBookingIdAndStatus(Long bookingId, PaymentStatus status);
+    
+    // Owner of a payment's booking, checked without loading the payment
+    @Query("SELECT bp.booking.user.id FROM BookingPayment bp WHERE bp.id = ?1")
+    Optional<Long> findOwnerIdById(Long id);
+    
+    /**
+     * Move a payment from one status to another, only if it is still in the expected status.
+     * Concurrent requests and nodes race on this update; exactly one of them sees 1.
+     * @return 1 if the payment was moved, 0 if it was not in the expected status
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE BookingPayment bp SET bp.status = ?3, bp.updatedAt = ?4 WHERE bp.id = ?1 AND bp.status = ?2")
+    int updateStatusIf(Long id, PaymentStatus expected, PaymentStatus status, LocalDateTime updatedAt);
+    
+    /**
+     * Same as updateStatusIf, also replacing the payment's notes
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE BookingPayment bp SET bp.status = ?3, bp.notes = ?4, bp.updatedAt = ?5 WHERE bp.id = ?1 AND bp.status = ?2")
+    int updateStatusIf(Long id, PaymentStatus expected, PaymentStatus status, String notes, LocalDateTime updatedAt);
+    
+    List<BookingPayment> findByStatusInAndUpdatedAtBefore(Collection<PaymentStatus> statuses, LocalDateTime before);
 }
\ No newline at end of file
@@ -2,39 +2,52 @@ package com.showvault.repository;
 
 import com.showvault.model.Booking;
 import com.showvault.model.BookingStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
     
-    @Query("SELECT b FROM Booking b JOIN FETCH b.user u JOIN FETCH b.showSchedule ss JOIN FETCH ss.show s JOIN FETCH ss.venue v WHERE b.id = :id")
+    @Override
+    @EntityGraph(Booking.GRAPH_LIST)
+    List<Booking> findAll();
+    
+    @EntityGraph(Booking.GRAPH_DETAIL)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
     Optional<Booking> findBookingWithDetailsById(@Param("id") Long id);
     
     Optional<Booking> findByBookingNumber(String bookingNumber);
     
-    @Query("SELECT b FROM Booking b JOIN FETCH b.user u JOIN FETCH b.showSchedule ss JOIN FETCH ss.show s JOIN FETCH ss.venue v LEFT JOIN FETCH b.seatBookings sb LEFT JOIN FETCH sb.seat seat WHERE b.bookingNumber = :bookingNumber")
+    @EntityGraph(Booking.GRAPH_TICKET)
+    @Query("SELECT b FROM Booking b WHERE b.bookingNumber = :bookingNumber")
     Optional<Booking> findByBookingNumberWithDetails(@Param("bookingNumber") String bookingNumber);
     
-    @Query("SELECT b FROM Booking b JOIN FETCH b.user u JOIN FETCH b.showSchedule ss JOIN FETCH ss.show s WHERE u.id = :userId")
+    @EntityGraph(Booking.GRAPH_LIST)
+    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId")
     List<Booking> findByUserId(@Param("userId") Long userId);
     
+    @EntityGraph(Booking.GRAPH_LIST)
     List<Booking> findByShowScheduleId(Long showScheduleId);
     
+    @EntityGraph(Booking.GRAPH_LIST)
     List<Booking> findByShowSchedule(com.showvault.model.ShowSchedule showSchedule);
     
+    @EntityGraph(Booking.GRAPH_LIST)
     List<Booking> findByStatus(BookingStatus status);
     
+    @EntityGraph(Booking.GRAPH_LIST)
     @Query("SELECT b FROM Booking b WHERE b.user.id = ?1 AND b.bookingDate >= ?2")
     List<Booking> findRecentBookingsByUserId(Long userId, LocalDateTime fromDate);
     
+    @EntityGraph(Booking.GRAPH_ANALYTICS)
     @Query("SELECT b FROM Booking b WHERE b.showSchedule.show.id = ?1")
     List<Booking> findBookingsByShowId(Long showId);
     
@@ -63,21 +76,12 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            "WHERE ss.show.id = ?1 GROUP BY ss.id, ss.showDate, ss.startTime")
     List<Object[]> findBookingCountBySchedule(Long showId);
     
+    @EntityGraph(Booking.GRAPH_LIST)
     List<Booking> findTop10ByOrderByCreatedAtDesc();
     
     long countByStatus(BookingStatus status);
     
     long countByBookingDateAfter(LocalDateTime date);
     
-    // Additional methods for admin dashboard
-    @Query("SELECT b FROM Booking b WHERE " +
-           "(:status IS NULL OR b.status = :status) AND " +
-           "(:date IS NULL OR CAST(b.bookingDate AS LocalDate) = :date) " +
-           "ORDER BY b.bookingDate DESC")
-    List<Booking> findBookingsWithFilters(BookingStatus status, LocalDate date);
-    
-    @Query("SELECT COUNT(b) FROM Booking b WHERE " +
-           "(:status IS NULL OR b.status = :status) AND " +
-           "(:date IS NULL OR CAST(b.bookingDate AS LocalDate) = :date)")
-    long countBookingsWithFilters(BookingStatus status, LocalDate date);
+    // The admin and customer booking grids use BookingSpecifications
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.showvault.repository;
+
+import com.showvault.model.Booking;
+import com.showvault.model.BookingStatus;
+import com.showvault.model.ShowSchedule;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query predicates for the booking grids.
+ * Pages are ordered by (booking_date, id) newest first, which matches the
+ * idx_booking_date_id, idx_booking_status_date and idx_booking_user_date indexes,
+ * so a keyset page reads only the rows it returns however deep it is.
+ */
+public final class BookingSpecifications {
+
+    /** Sort order shared by every keyset scan; the id is the tie-breaker */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "bookingDate")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    /** Associations the grids read, fetched in the page query (same as Booking.list) */
+    public static final List<String> LIST_PATHS = List.of("user", "showSchedule.show", "showSchedule.venue");
+
+    private BookingSpecifications() {
+    }
+
+    /**
+     * Filter bookings by status and date for the admin booking grid
+     * @param status Booking status, or null for any status
+     * @param date Matches bookings made on this day or for a show on this day, or null for any date
+     * @return The specification
+     */
+    public static Specification<Booking> adminFilter(BookingStatus status, LocalDate date) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+
+            if (date != null) {
+                // A range instead of CAST(booking_date AS DATE) so that the index can be used
+                Predicate bookedThatDay = cb.and(
+                        cb.greaterThanOrEqualTo(root.get("bookingDate"), date.atStartOfDay()),
+                        cb.lessThan(root.get("bookingDate"), date.plusDays(1).atStartOfDay()));
+                // A subquery rather than a join, so the page query can still fetch the schedule
+                Subquery<Long> schedulesThatDay = query.subquery(Long.class);
+                Root<ShowSchedule> schedule = schedulesThatDay.from(ShowSchedule.class);
+                schedulesThatDay.select(schedule.get("id")).where(cb.equal(schedule.get("showDate"), date));
+                predicates.add(cb.or(bookedThatDay, root.get("showSchedule").get("id").in(schedulesThatDay)));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Restrict to the bookings of one customer
+     * @param userId The user ID
+     * @return The specification
+     */
+    public static Specification<Booking> forUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    /**
+     * Restrict to the bookings of one show schedule
+     * @param showScheduleId The show schedule ID
+     * @return The specification
+     */
+    public static Specification<Booking> forSchedule(Long showScheduleId) {
+        return (root, query, cb) -> cb.equal(root.get("showSchedule").get("id"), showScheduleId);
+    }
+
+    /**
+     * Restrict to the bookings of every schedule of one show
+     * @param showId The show ID
+     * @return The specification
+     */
+    public static Specification<Booking> forShow(Long showId) {
+        return (root, query, cb) -> {
+            // A subquery rather than a join, so the page query can still fetch the schedule
+            Subquery<Long> schedulesOfShow = query.subquery(Long.class);
+            Root<ShowSchedule> schedule = schedulesOfShow.from(ShowSchedule.class);
+            schedulesOfShow.select(schedule.get("id")).where(cb.equal(schedule.get("show").get("id"), showId));
+            return root.get("showSchedule").get("id").in(schedulesOfShow);
+        };
+    }
+
+    /**
+     * Restrict to bookings strictly older than a (bookingDate, id) cursor in NEWEST_FIRST order
+     * @param bookingDate Booking date of the last booking of the previous page
+     * @param id ID of the last booking of the previous page
+     * @return The specification
+     */
+    public static Specification<Booking> before(LocalDateTime bookingDate, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("bookingDate"), bookingDate),
+                cb.and(cb.equal(root.get("bookingDate"), bookingDate), cb.lessThan(root.get("id"), id)));
+    }
+}
@@ -0,0 +1,9 @@
+package com.showvault.repository;
+
+import com.showvault.model.ConsistencyCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ConsistencyCheckpointRepository extends JpaRepository<ConsistencyCheckpoint, String> {
+}
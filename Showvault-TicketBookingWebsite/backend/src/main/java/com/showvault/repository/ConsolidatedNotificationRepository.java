@@ -8,8 +8,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -49,6 +52,56 @@ public interface ConsolidatedNotificationRepository extends JpaRepository<Consol
      */
     long countByUserAndRead(User user, boolean read);
     
+    /**
+     * Count notifications for a user ID by read status
+     * @param userId The user ID
+     * @param read The read status
+     * @return Count of notifications
+     */
+    long countByUserIdAndRead(Long userId, boolean read);
+    
+    /**
+     * Count unread notifications for several users in one grouped query
+     * @param userIds The user IDs
+     * @return Rows of [userId, unreadCount]; users without unread notifications are omitted
+     */
+    @Query("SELECT n.user.id, COUNT(n) FROM ConsolidatedNotification n WHERE n.user.id IN :userIds AND n.read = false GROUP BY n.user.id")
+    List<Object[]> countUnreadGroupedByUserIds(@Param("userIds") Collection<Long> userIds);
+    
+    /**
+     * Find notifications for a user created after a given notification ID
+     * @param userId The user ID
+     * @param id ID of the last notification already seen
+     * @param pageable Page size (page number is ignored by callers)
+     * @return List of notifications ordered by ID ascending
+     */
+    List<ConsolidatedNotification> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Pageable pageable);
+    
+    /**
+     * Find the newest notifications for a user (first page of a keyset scan)
+     * @param userId The user ID
+     * @param pageable Page size (page number is ignored by callers)
+     * @return List of notifications ordered by creation date and ID descending
+     */
+    @Query("SELECT n FROM ConsolidatedNotification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<ConsolidatedNotification> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    /**
+     * Find notifications for a user strictly older than the given (createdAt, id) cursor
+     * @param userId The user ID
+     * @param createdAt Creation date of the last notification already seen
+     * @param id ID of the last notification already seen
+     * @param pageable Page size (page number is ignored by callers)
+     * @return List of notifications ordered by creation date and ID descending
+     */
+    @Query("SELECT n FROM ConsolidatedNotification n WHERE n.user.id = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<ConsolidatedNotification> findPageByUserIdBefore(@Param("userId") Long userId,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
+    
     /**
      * Mark all unread notifications as read for a user
      * @param user The user
@@ -4,7 +4,9 @@ import com.showvault.model.Promotion;
 import com.showvault.model.Show;
 import com.showvault.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -29,4 +31,30 @@ public interface PromotionRepository extends JpaRepository<Promotion, Long> {
     
     @Query("SELECT p FROM Promotion p WHERE p.show = ?1 AND p.status = 'ACTIVE' AND p.startDate <= ?2 AND p.endDate >= ?2 AND p.currentUses < p.maxUses")
     List<Promotion> findActivePromotionsForShow(Show show, LocalDate date);
-}
\ No newline at end of file
+    
+    /**
+     * Atomically redeem one use of a promotion.
+     * The usage cap is checked in the same statement that increments the counter, so
+     * concurrent redemptions can never push current_uses past max_uses. The status is
+     * assigned first because MySQL evaluates single-table SET clauses left to right.
+     * @return 1 if a use was redeemed, 0 if the code is unknown, inactive, out of date or used up
+     */
+    @Modifying
+    @Query("UPDATE Promotion p SET " +
+           "p.status = CASE WHEN p.currentUses + 1 >= p.maxUses THEN :expired ELSE p.status END, " +
+           "p.currentUses = p.currentUses + 1 " +
+           "WHERE p.code = :code AND p.status = 'ACTIVE' " +
+           "AND p.startDate <= :today AND p.endDate >= :today " +
+           "AND p.currentUses < p.maxUses")
+    int redeemIfAvailable(@Param("code") String code,
+                          @Param("today") LocalDate today,
+                          @Param("expired") Promotion.Status expired);
+
+    /**
+     * Scalar view of active promotions that have not ended, for compiling price tables.
+     * Columns: id, code, discountType, discountValue, startDate, endDate, show id (null for all shows)
+     */
+    @Query("SELECT p.id, p.code, p.discountType, p.discountValue, p.startDate, p.endDate, s.id " +
+           "FROM Promotion p LEFT JOIN p.show s WHERE p.status = 'ACTIVE' AND p.endDate >= ?1")
+    List<Object[]> findPricingRulesEndingOnOrAfter(LocalDate date);
+}
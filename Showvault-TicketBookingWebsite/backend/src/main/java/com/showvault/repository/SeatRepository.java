@@ -1,8 +1,11 @@
 package com.showvault.repository;
 
 import com.showvault.model.Seat;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +14,8 @@ import java.util.Optional;
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, Long> {
     
+    // Seat geometry is read on every seat map load; results come from the query and seat caches
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Seat> findByVenueId(Long venueId);
     
     List<Seat> findByVenueIdAndCategory(Long venueId, Seat.SeatCategory category);
@@ -20,6 +25,7 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     @Query("SELECT s FROM Seat s WHERE s.venue.id = ?1 AND s.rowName = ?2")
     List<Seat> findByVenueIdAndRowName(Long venueId, String rowName);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT s.rowName FROM Seat s WHERE s.venue.id = ?1 ORDER BY s.rowName")
     List<String> findAllRowsByVenueId(Long venueId);
     
@@ -34,10 +40,12 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     List<Seat> findAllByVenueIdWithPagination(Long venueId, org.springframework.data.domain.Pageable pageable);
     
     // Count the total number of seats for a venue
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(s) FROM Seat s WHERE s.venue.id = ?1")
     Long countSeatsByVenueId(Long venueId);
     
     // Get the venue capacity
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT v.capacity FROM Venue v WHERE v.id = ?1")
     Optional<Integer> findVenueCapacity(Long venueId);
     
@@ -53,4 +61,8 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
            "WHERE sr.showSchedule.id = ?1 " +
            "AND sr.expiresAt > CURRENT_TIMESTAMP")
     int countReservedSeatsByScheduleId(Long scheduleId);
-}
\ No newline at end of file
+
+    // Seat id, category and price multiplier for every seat in a venue, for building price tables
+    @Query("SELECT s.id, s.category, s.priceMultiplier FROM Seat s WHERE s.venue.id = ?1")
+    List<Object[]> findPricingRowsByVenueId(Long venueId);
+}
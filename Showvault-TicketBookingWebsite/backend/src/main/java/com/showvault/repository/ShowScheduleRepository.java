@@ -52,4 +52,8 @@ public interface ShowScheduleRepository extends JpaRepository<ShowSchedule, Long
      * Find schedules by venue and date for validation purposes
      */
     List<ShowSchedule> findByVenueIdAndShowDate(Long venueId, LocalDate showDate);
-}
\ No newline at end of file
+
+    // Show id, venue id and base price of a schedule, for building price tables
+    @Query("SELECT ss.show.id, ss.venue.id, ss.basePrice FROM ShowSchedule ss WHERE ss.id = ?1")
+    List<Object[]> findPricingInfoById(Long scheduleId);
+}
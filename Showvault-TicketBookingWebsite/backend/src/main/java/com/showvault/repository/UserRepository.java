@@ -1,7 +1,10 @@
 package com.showvault.repository;
 
+import com.showvault.model.ERole;
 import com.showvault.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -9,10 +12,13 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     
+    // Sign-in and token checks read the roles, which are otherwise lazy
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsername(String username);
     
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
     
     boolean existsByUsername(String username);
@@ -26,6 +32,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r.name = ?1")
     long countUsersByRoleName(String roleName);
     
+    long countByRolesName(ERole roleName);
+    
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = ?1")
     java.util.List<User> findUsersByRoleName(String roleName);
     
@@ -0,0 +1,122 @@
+package com.showvault.repository;
+
+import com.showvault.model.ERole;
+import com.showvault.model.Role;
+import com.showvault.model.User;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query predicates for the admin user table.
+ * The same specification is used for the page query and its COUNT so that both
+ * always agree on which users match.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Filter users by role, status and search term
+     * @param role Role name with or without the ROLE_ prefix, or null/"all" for any role
+     * @param status active, inactive, suspended, deleted, or null/"all" for every non-deleted user
+     * @param search Prefix matched against username, email, first name and last name
+     * @return The specification
+     */
+    public static Specification<User> adminFilter(String role, String status, String search) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            // Deleted users are hidden unless specifically requested
+            if (status != null && status.equalsIgnoreCase("deleted")) {
+                predicates.add(cb.isTrue(root.get("deleted")));
+            } else {
+                predicates.add(cb.isFalse(root.get("deleted")));
+                if (status != null && status.equalsIgnoreCase("active")) {
+                    predicates.add(cb.isTrue(root.get("active")));
+                } else if (status != null && (status.equalsIgnoreCase("inactive") || status.equalsIgnoreCase("suspended"))) {
+                    predicates.add(cb.isFalse(root.get("active")));
+                } else if (status != null && !status.equalsIgnoreCase("all")) {
+                    predicates.add(cb.disjunction());
+                }
+            }
+
+            if (role != null && !role.equalsIgnoreCase("all")) {
+                ERole eRole = toRole(role);
+                if (eRole == null) {
+                    predicates.add(cb.disjunction());
+                } else {
+                    // EXISTS keeps one row per user, so no DISTINCT is needed for the page or the count
+                    Subquery<Long> hasRole = query.subquery(Long.class);
+                    Root<User> correlated = hasRole.correlate(root);
+                    Join<User, Role> roles = correlated.join("roles");
+                    hasRole.select(cb.literal(1L)).where(cb.equal(roles.get("name"), eRole));
+                    predicates.add(cb.exists(hasRole));
+                }
+            }
+
+            if (search != null && !search.trim().isEmpty()) {
+                // Prefix match so that the username, email and name indexes can be used.
+                // The database collation is case-insensitive, so no LOWER() is applied.
+                String pattern = escapeLike(search.trim()) + "%";
+                predicates.add(cb.or(
+                        cb.like(root.get("username"), pattern, '\\'),
+                        cb.like(root.get("email"), pattern, '\\'),
+                        cb.like(root.get("firstName"), pattern, '\\'),
+                        cb.like(root.get("lastName"), pattern, '\\')));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Restrict to users after a keyset cursor in the given sort order
+     * @param sortField Entity attribute the page is sorted by; must be non-null for every user
+     * @param lastValue Value of the sort attribute on the last user of the previous page
+     * @param lastId ID of the last user of the previous page
+     * @param descending Whether the sort order is descending
+     * @return The specification
+     */
+    public static <T extends Comparable<? super T>> Specification<User> after(
+            String sortField, T lastValue, Long lastId, boolean descending) {
+        return (root, query, cb) -> {
+            if ("id".equals(sortField)) {
+                return descending ? cb.lessThan(root.get("id"), lastId) : cb.greaterThan(root.get("id"), lastId);
+            }
+            Predicate beyondValue = descending
+                    ? cb.lessThan(root.<T>get(sortField), lastValue)
+                    : cb.greaterThan(root.<T>get(sortField), lastValue);
+            Predicate sameValueBeyondId = cb.and(
+                    cb.equal(root.get(sortField), lastValue),
+                    descending ? cb.lessThan(root.get("id"), lastId) : cb.greaterThan(root.get("id"), lastId));
+            return cb.or(beyondValue, sameValueBeyondId);
+        };
+    }
+
+    /**
+     * Convert a role filter such as "admin" or "ROLE_ADMIN" to an ERole
+     * @return The role, or null if it does not exist
+     */
+    public static ERole toRole(String role) {
+        String name = role.toUpperCase();
+        if (!name.startsWith("ROLE_")) {
+            name = "ROLE_" + name;
+        }
+        try {
+            return ERole.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
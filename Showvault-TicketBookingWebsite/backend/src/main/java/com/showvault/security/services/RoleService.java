@@ -4,17 +4,19 @@ import com.showvault.model.Role;
 import com.showvault.model.ERole;
 import com.showvault.repository.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import jakarta.annotation.PostConstruct;
-
 @Service
 public class RoleService {
 
     @Autowired
     private RoleRepository roleRepository;
 
-    @PostConstruct
+    // Runs once the context is up so that refreshing the context never touches the database;
+    // with the prod profile the roles are inserted by the Liquibase changelog instead
+    @EventListener(ApplicationReadyEvent.class)
     public void init() {
         if (roleRepository.count() == 0) {
             // Initialize default roles
@@ -10,6 +10,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
@@ -21,14 +22,41 @@ public interface BookingService {
 
     List<Booking> getBookingsByUserId(Long userId);
 
+    /**
+     * Get a page of a user's bookings using keyset (booking_date, id) pagination
+     * @param userId The user ID
+     * @param beforeBookingDate Booking date of the last booking already seen, or null for the first page
+     * @param beforeId ID of the last booking already seen, or null for the first page
+     * @param limit Maximum number of bookings to return
+     * @return List of bookings ordered newest first
+     */
+    List<Booking> getBookingsByUserIdBefore(Long userId, LocalDateTime beforeBookingDate, Long beforeId, int limit);
+
     List<Booking> getBookingsByShowScheduleId(Long showScheduleId);
 
+    /**
+     * Hand every booking of a show schedule to the consumer, newest first.
+     * Bookings are read in keyset pages inside one read-only transaction, so the consumer can
+     * read lazy associations; a page is released before the next one is loaded.
+     * @param showScheduleId The show schedule ID
+     * @param consumer Receives each booking
+     */
+    void forEachBookingByShowScheduleId(Long showScheduleId, Consumer<Booking> consumer);
+
     List<Booking> getBookingsByStatus(BookingStatus status);
 
     List<Booking> getRecentBookingsByUserId(Long userId, LocalDateTime fromDate);
 
     List<Booking> getBookingsByShowId(Long showId);
 
+    /**
+     * Hand every booking of a show to the consumer, newest first, in the same way as
+     * forEachBookingByShowScheduleId
+     * @param showId The show ID
+     * @param consumer Receives each booking
+     */
+    void forEachBookingByShowId(Long showId, Consumer<Booking> consumer);
+
     Long countConfirmedBookingsByShowScheduleId(Long showScheduleId);
 
     Booking createBooking(User user, ShowSchedule showSchedule, List<Seat> seats);
@@ -52,6 +80,27 @@ public interface BookingService {
      */
     List<Booking> getBookingsWithFilters(int offset, int limit, String status, LocalDate date);
     
+    /**
+     * Get one page of bookings for admin dashboard, filtered and paginated in the database
+     * @param offset Pagination offset
+     * @param limit Pagination limit
+     * @param status Booking status filter
+     * @param date Booking date filter
+     * @return Page of bookings with the total count of matching bookings
+     */
+    org.springframework.data.domain.Page<Booking> getBookingsPage(int offset, int limit, String status, LocalDate date);
+    
+    /**
+     * Get bookings for admin dashboard using keyset (booking_date, id) pagination
+     * @param beforeBookingDate Booking date of the last booking on the previous page, or null for the first page
+     * @param beforeId ID of the last booking on the previous page, or null for the first page
+     * @param limit Maximum number of bookings to return
+     * @param status Booking status filter
+     * @param date Booking date filter
+     * @return List of bookings ordered newest first
+     */
+    List<Booking> getBookingsBefore(LocalDateTime beforeBookingDate, Long beforeId, int limit, String status, LocalDate date);
+    
     /**
      * Count bookings with filters for admin dashboard
      * @param status Booking status filter
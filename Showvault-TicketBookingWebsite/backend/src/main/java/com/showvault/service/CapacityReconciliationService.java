@@ -0,0 +1,331 @@
+package com.showvault.service;
+
+import com.showvault.model.ShowSchedule;
+import com.showvault.model.Venue;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Set-based reconciliation of venue capacity, show_schedule.total_seats and seats_available.
+ * Applies the same rules as SeatConsistencyService.synchronizeSeatsForSchedule, but computes
+ * seat, booked and reserved counts for a whole range of venues with one GROUP BY statement each
+ * and writes only the rows that are out of line, as chunked batch UPDATEs.
+ *
+ * Venues are split into ranges of roughly equal schedule counts and reconciled in parallel.
+ * Reads run outside a transaction and each chunk of updates commits on its own, so no connection
+ * is held for longer than a single statement or chunk. An update only applies if the row still
+ * holds the values it was computed from; rows changed by a booking in the meantime are skipped
+ * and left to the booking path.
+ */
+@Service
+public class CapacityReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacityReconciliationService.class);
+
+    private static final int PARTITIONS_PER_WORKER = 4;
+
+    private static final String SCHEDULES_PER_VENUE =
+            "SELECT venue_id, COUNT(*) FROM show_schedule GROUP BY venue_id ORDER BY venue_id";
+
+    private static final String SEATS_PER_VENUE =
+            "SELECT v.id, v.capacity, COUNT(s.id) FROM venue v LEFT JOIN seat s ON s.venue_id = v.id " +
+            "WHERE v.id BETWEEN ? AND ? GROUP BY v.id, v.capacity";
+
+    private static final String SCHEDULES =
+            "SELECT id, venue_id, total_seats, seats_available FROM show_schedule " +
+            "WHERE venue_id BETWEEN ? AND ? AND total_seats IS NOT NULL";
+
+    private static final String BOOKED_SEATS_PER_SCHEDULE =
+            "SELECT b.show_schedule_id, COUNT(*) FROM seat_booking sb " +
+            "JOIN booking b ON sb.booking_id = b.id " +
+            "JOIN show_schedule ss ON b.show_schedule_id = ss.id " +
+            "WHERE ss.venue_id BETWEEN ? AND ? AND b.status NOT IN ('CANCELLED', 'EXPIRED', 'REFUNDED') " +
+            "GROUP BY b.show_schedule_id";
+
+    private static final String RESERVED_SEATS_PER_SCHEDULE =
+            "SELECT sr.show_schedule_id, COUNT(*) FROM seat_reservation sr " +
+            "JOIN show_schedule ss ON sr.show_schedule_id = ss.id " +
+            "WHERE ss.venue_id BETWEEN ? AND ? AND sr.expires_at > CURRENT_TIMESTAMP " +
+            "GROUP BY sr.show_schedule_id";
+
+    // The trailing conditions skip rows that changed after they were read (null is passed as -1)
+    private static final String UPDATE_VENUE =
+            "UPDATE venue SET capacity = ?, updated_at = ? WHERE id = ? AND COALESCE(capacity, -1) = ?";
+
+    private static final String UPDATE_SCHEDULE =
+            "UPDATE show_schedule SET total_seats = ?, seats_available = ?, updated_at = ? " +
+            "WHERE id = ? AND total_seats = ? AND COALESCE(seats_available, -1) = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Executor executor;
+    private final int workers;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public CapacityReconciliationService(JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         EntityManagerFactory entityManagerFactory,
+                                         @Qualifier("capacityReconciliationExecutor") Executor executor,
+                                         @Value("${showvault.capacity.reconciliation.workers:4}") int workers,
+                                         @Value("${showvault.capacity.reconciliation.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.executor = executor;
+        this.workers = workers;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reconcile all venues that have schedules, partitioned across the worker pool
+     * @return Map with partitions, failedPartitions, venues, schedules, venuesCorrected,
+     *         schedulesCorrected, skippedConcurrentChanges and durationMs
+     * @throws IllegalStateException if a reconciliation is already running
+     */
+    public Map<String, Object> reconcileAll() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Capacity reconciliation is already running");
+        }
+        try {
+            long start = System.nanoTime();
+            List<Partition> partitions = planPartitions(workers * PARTITIONS_PER_WORKER);
+
+            List<CompletableFuture<Tally>> futures = new ArrayList<>();
+            for (Partition partition : partitions) {
+                futures.add(CompletableFuture.supplyAsync(() -> reconcilePartitionSafely(partition), executor));
+            }
+            Tally total = new Tally();
+            for (CompletableFuture<Tally> future : futures) {
+                total.add(future.join());
+            }
+
+            Map<String, Object> result = total.toMap();
+            result.put("partitions", partitions.size());
+            result.put("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            logger.info("Capacity reconciliation finished: {}", result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Reconcile a single venue and its schedules on the calling thread
+     * @param venueId The venue ID
+     * @return Map with venues, schedules, venuesCorrected, schedulesCorrected and skippedConcurrentChanges
+     */
+    public Map<String, Object> reconcileVenue(Long venueId) {
+        Long scheduleCount = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM show_schedule WHERE venue_id = ?", Long.class, venueId);
+        if (scheduleCount == null || scheduleCount == 0) {
+            return new Tally().toMap();
+        }
+        Map<Long, Long> scheduleCounts = new HashMap<>();
+        scheduleCounts.put(venueId, scheduleCount);
+        return reconcilePartition(new Partition(venueId, venueId, scheduleCounts)).toMap();
+    }
+
+    /**
+     * Split venues with schedules into contiguous id ranges holding roughly equal numbers of schedules
+     */
+    private List<Partition> planPartitions(int maxPartitions) {
+        Map<Long, Long> scheduleCounts = new LinkedHashMap<>();
+        jdbcTemplate.query(SCHEDULES_PER_VENUE, rs -> {
+            scheduleCounts.put(rs.getLong(1), rs.getLong(2));
+        });
+
+        long totalSchedules = 0;
+        for (long count : scheduleCounts.values()) {
+            totalSchedules += count;
+        }
+        long target = Math.max(1, (totalSchedules + maxPartitions - 1) / maxPartitions);
+
+        List<Partition> partitions = new ArrayList<>();
+        Map<Long, Long> current = new HashMap<>();
+        Long from = null;
+        long last = 0;
+        long schedules = 0;
+        for (Map.Entry<Long, Long> entry : scheduleCounts.entrySet()) {
+            if (from == null) {
+                from = entry.getKey();
+            }
+            last = entry.getKey();
+            current.put(last, entry.getValue());
+            schedules += entry.getValue();
+            if (schedules >= target) {
+                partitions.add(new Partition(from, entry.getKey(), current));
+                current = new HashMap<>();
+                from = null;
+                schedules = 0;
+            }
+        }
+        if (from != null) {
+            partitions.add(new Partition(from, last, current));
+        }
+        return partitions;
+    }
+
+    private Tally reconcilePartitionSafely(Partition partition) {
+        try {
+            return reconcilePartition(partition);
+        } catch (RuntimeException e) {
+            logger.error("Capacity reconciliation failed for venues {}-{}: {}",
+                    partition.fromVenueId, partition.toVenueId, e.getMessage());
+            Tally tally = new Tally();
+            tally.failedPartitions = 1;
+            return tally;
+        }
+    }
+
+    private Tally reconcilePartition(Partition partition) {
+        Tally tally = new Tally();
+        LocalDateTime now = LocalDateTime.now();
+        Object[] range = {partition.fromVenueId, partition.toVenueId};
+
+        // Venue capacity follows the physical seats only while at most one schedule uses the venue
+        Map<Long, Long> seatCounts = new HashMap<>();
+        List<Object[]> venueUpdates = new ArrayList<>();
+        jdbcTemplate.query(SEATS_PER_VENUE, rs -> {
+            long venueId = rs.getLong(1);
+            Long scheduleCount = partition.scheduleCounts.get(venueId);
+            if (scheduleCount == null) {
+                return;
+            }
+            Integer capacity = rs.getObject(2, Integer.class);
+            long seatCount = rs.getLong(3);
+            seatCounts.put(venueId, seatCount);
+            tally.venues++;
+            if ((capacity == null || capacity != seatCount) && scheduleCount <= 1) {
+                venueUpdates.add(new Object[]{(int) seatCount, now, venueId, capacity == null ? -1 : capacity});
+            }
+        }, range);
+
+        Map<Long, Long> booked = countsPerSchedule(BOOKED_SEATS_PER_SCHEDULE, range);
+        Map<Long, Long> reserved = countsPerSchedule(RESERVED_SEATS_PER_SCHEDULE, range);
+
+        // total_seats never exceeds the physical seats; available = total - booked - reserved
+        List<Object[]> scheduleUpdates = new ArrayList<>();
+        jdbcTemplate.query(SCHEDULES, rs -> {
+            long scheduleId = rs.getLong(1);
+            Long seatCount = seatCounts.get(rs.getLong(2));
+            if (seatCount == null) {
+                return;
+            }
+            int totalSeats = rs.getInt(3);
+            Integer seatsAvailable = rs.getObject(4, Integer.class);
+            tally.schedules++;
+
+            int newTotalSeats = (int) Math.min(totalSeats, seatCount);
+            int available = newTotalSeats - booked.getOrDefault(scheduleId, 0L).intValue()
+                    - reserved.getOrDefault(scheduleId, 0L).intValue();
+            if (newTotalSeats != totalSeats || seatsAvailable == null || seatsAvailable != available) {
+                scheduleUpdates.add(new Object[]{newTotalSeats, available, now, scheduleId,
+                        totalSeats, seatsAvailable == null ? -1 : seatsAvailable});
+            }
+        }, range);
+
+        tally.venuesCorrected = applyInChunks(UPDATE_VENUE, venueUpdates, 2, Venue.class, tally);
+        tally.schedulesCorrected = applyInChunks(UPDATE_SCHEDULE, scheduleUpdates, 3, ShowSchedule.class, tally);
+        if (tally.venuesCorrected > 0) {
+            // Venue capacity is also read through cached queries
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        }
+        return tally;
+    }
+
+    private Map<Long, Long> countsPerSchedule(String sql, Object[] range) {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(rs.getLong(1), rs.getLong(2));
+        }, range);
+        return counts;
+    }
+
+    /**
+     * Run the updates as batches of batchSize, each in its own transaction, and evict the
+     * updated entities from the second-level cache
+     * @return Number of rows updated
+     */
+    private int applyInChunks(String sql, List<Object[]> updates, int idParameter, Class<?> entityClass, Tally tally) {
+        int applied = 0;
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<Object[]> chunk = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, chunk));
+            for (int i = 0; i < chunk.size(); i++) {
+                if (counts != null && counts[i] == 0) {
+                    tally.skippedConcurrentChanges++;
+                    continue;
+                }
+                applied++;
+                entityManagerFactory.getCache().evict(entityClass, chunk.get(i)[idParameter]);
+            }
+        }
+        return applied;
+    }
+
+    private static final class Partition {
+        private final long fromVenueId;
+        private final long toVenueId;
+        // Schedule count per venue at planning time, for the venue capacity rule
+        private final Map<Long, Long> scheduleCounts;
+
+        private Partition(long fromVenueId, long toVenueId, Map<Long, Long> scheduleCounts) {
+            this.fromVenueId = fromVenueId;
+            this.toVenueId = toVenueId;
+            this.scheduleCounts = scheduleCounts;
+        }
+    }
+
+    private static final class Tally {
+        private int venues;
+        private int schedules;
+        private int venuesCorrected;
+        private int schedulesCorrected;
+        private int skippedConcurrentChanges;
+        private int failedPartitions;
+
+        private void add(Tally other) {
+            venues += other.venues;
+            schedules += other.schedules;
+            venuesCorrected += other.venuesCorrected;
+            schedulesCorrected += other.schedulesCorrected;
+            skippedConcurrentChanges += other.skippedConcurrentChanges;
+            failedPartitions += other.failedPartitions;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("venues", venues);
+            result.put("schedules", schedules);
+            result.put("venuesCorrected", venuesCorrected);
+            result.put("schedulesCorrected", schedulesCorrected);
+            result.put("skippedConcurrentChanges", skippedConcurrentChanges);
+            result.put("failedPartitions", failedPartitions);
+            return result;
+        }
+    }
+}
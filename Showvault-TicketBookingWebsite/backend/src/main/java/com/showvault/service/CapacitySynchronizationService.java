@@ -1,16 +1,12 @@
 package com.showvault.service;
 
-import java.util.List;
+import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import com.showvault.model.ShowSchedule;
-import com.showvault.model.Venue;
-import com.showvault.repository.VenueRepository;
-import com.showvault.service.SeatConsistencyService;
 
 /**
  * Service to periodically synchronize capacity values across the system
@@ -20,31 +16,51 @@ import com.showvault.service.SeatConsistencyService;
 @Service
 public class CapacitySynchronizationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CapacitySynchronizationService.class);
+
     @Autowired
-    private SeatConsistencyService seatConsistencyService;
+    private CapacityReconciliationService capacityReconciliationService;
     
     /**
      * Run capacity synchronization daily at 3 AM
      * This ensures all capacity values are consistent across the system
      */
     @Scheduled(cron = "0 0 3 * * ?")
-    @Transactional
     public void synchronizeAllCapacities() {
-        System.out.println("Starting scheduled capacity synchronization...");
+        logger.debug("Starting scheduled capacity synchronization...");
         
-        // Use the SeatConsistencyService to synchronize all seats
-        seatConsistencyService.synchronizeAllSeats();
-        
-        System.out.println("Capacity synchronization completed successfully");
+        try {
+            reconcile();
+            logger.info("Capacity synchronization completed successfully");
+        } catch (RuntimeException e) {
+            logger.error("Capacity synchronization failed: {}", e.getMessage());
+        }
     }
     
     /**
      * Manual trigger for capacity synchronization
      * Can be called via API for immediate synchronization
      */
-    @Transactional
     public String synchronizeCapacitiesManually() {
-        synchronizeAllCapacities();
-        return "Capacity synchronization completed successfully";
+        Map<String, Object> result = reconcile();
+        return "Capacity synchronization completed successfully: " + result.get("schedulesCorrected")
+                + " of " + result.get("schedules") + " schedules and " + result.get("venuesCorrected")
+                + " venues corrected in " + result.get("durationMs") + " ms";
+    }
+    
+    /**
+     * Reconcile all venues and schedules
+     * 
+     * @return The reconciliation result
+     * @throws IllegalStateException if a run is already in progress or a venue partition failed
+     */
+    private Map<String, Object> reconcile() {
+        Map<String, Object> result = capacityReconciliationService.reconcileAll();
+        int failedPartitions = (Integer) result.get("failedPartitions");
+        if (failedPartitions > 0) {
+            throw new IllegalStateException(failedPartitions + " of " + result.get("partitions")
+                    + " venue partitions failed to reconcile");
+        }
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package com.showvault.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cheap versions of the public catalog, used as ETags so that unchanged catalog responses are
+ * answered with 304 before anything is loaded or serialized.
+ *
+ * A version is the row count and the latest updated_at of every table a response is built
+ * from, read with a single query: updated_at moves on inserts and updates, the count on
+ * deletes. The versions come from the database rather than from counters kept in memory, so
+ * every node computes the same ETag for the same data and a client switching nodes never gets
+ * a 304 for data it has not seen.
+ *
+ * Each response is versioned only on the tables it returns. Show and venue responses carry
+ * the seat counts of their schedules, and show_schedule.updated_at moves with those counts, so
+ * their versions change with every booking; they are served private and revalidated. Genres,
+ * languages, cities and countries do not depend on schedules and stay publicly cacheable.
+ */
+@Service
+public class CatalogVersionService {
+
+    /**
+     * The catalog responses and the tables each one is built from
+     */
+    private enum Catalog {
+        // Show lists carry their schedules, with seat counts, and venue names
+        SHOWS("sl", "select (select count(s) from Show s), (select max(s.updatedAt) from Show s), " +
+                "(select count(ss) from ShowSchedule ss), (select max(ss.updatedAt) from ShowSchedule ss), " +
+                "(select count(v) from Venue v), (select max(v.updatedAt) from Venue v)"),
+        // Genres and languages are columns of show
+        SHOW_FILTERS("sf", "select count(s), max(s.updatedAt) from Show s"),
+        // Venues carry their seats and their schedules, with seat counts
+        VENUES("vl", "select (select count(v) from Venue v), (select max(v.updatedAt) from Venue v), " +
+                "(select count(st) from Seat st), (select max(st.updatedAt) from Seat st), " +
+                "(select count(ss) from ShowSchedule ss), (select max(ss.updatedAt) from ShowSchedule ss)"),
+        // Cities and countries are columns of venue
+        VENUE_FILTERS("vf", "select count(v), max(v.updatedAt) from Venue v");
+
+        private final String prefix;
+        private final String query;
+
+        Catalog(String prefix, String query) {
+            this.prefix = prefix;
+            this.query = query;
+        }
+    }
+
+    private static final String SHOW_VERSION =
+            "select s.updatedAt, " +
+            "(select count(ss) from ShowSchedule ss where ss.show = s), " +
+            "(select max(ss.updatedAt) from ShowSchedule ss where ss.show = s), " +
+            "(select max(v.updatedAt) from Venue v where v.id in " +
+            "(select ss.venue.id from ShowSchedule ss where ss.show = s)) " +
+            "from Show s where s.id = :showId";
+
+    private final EntityManager entityManager;
+    private final long catalogVersionTtlMs;
+
+    // Catalog versions count whole tables, so each is read at most once per TTL on each node
+    private final Map<Catalog, CachedVersion> catalogVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CatalogVersionService(EntityManager entityManager,
+                                 @Value("${showvault.http-cache.catalog.version-ttl-ms:1000}") long catalogVersionTtlMs) {
+        this.entityManager = entityManager;
+        this.catalogVersionTtlMs = catalogVersionTtlMs;
+    }
+
+    /**
+     * Get the ETag of the show lists: shows with their schedules, seat counts included, and venue names
+     * @return The ETag, at most showvault.http-cache.catalog.version-ttl-ms old
+     */
+    public String getShowsETag() {
+        return getCatalogETag(Catalog.SHOWS);
+    }
+
+    /**
+     * Get the ETag of the show genres and languages
+     * @return The ETag, at most showvault.http-cache.catalog.version-ttl-ms old
+     */
+    public String getShowFiltersETag() {
+        return getCatalogETag(Catalog.SHOW_FILTERS);
+    }
+
+    /**
+     * Get the ETag of the venues with their seats and schedules, seat counts included
+     * @return The ETag, at most showvault.http-cache.catalog.version-ttl-ms old
+     */
+    public String getVenuesETag() {
+        return getCatalogETag(Catalog.VENUES);
+    }
+
+    /**
+     * Get the ETag of the venue cities and countries
+     * @return The ETag, at most showvault.http-cache.catalog.version-ttl-ms old
+     */
+    public String getVenueFiltersETag() {
+        return getCatalogETag(Catalog.VENUE_FILTERS);
+    }
+
+    /**
+     * Get the ETag of one show with its schedules and their venues
+     * @param showId The ID of the show
+     * @return The ETag, or null if the show does not exist
+     */
+    public String getShowETag(Long showId) {
+        List<Object[]> rows = entityManager.createQuery(SHOW_VERSION, Object[].class)
+                .setParameter("showId", showId)
+                .getResultList();
+        return rows.isEmpty() ? null : etag("s" + showId, rows.get(0));
+    }
+
+    private String getCatalogETag(Catalog catalog) {
+        CachedVersion cached = catalogVersions.get(catalog);
+        long now = System.currentTimeMillis();
+        if (cached != null && now - cached.readAt < catalogVersionTtlMs) {
+            return cached.etag;
+        }
+        String etag = etag(catalog.prefix, entityManager.createQuery(catalog.query, Object[].class).getSingleResult());
+        catalogVersions.put(catalog, new CachedVersion(etag, now));
+        return etag;
+    }
+
+    /**
+     * Build a weak ETag from the counts and update times of a version row.
+     * Weak because the same version is sent both compressed and uncompressed.
+     */
+    private static String etag(String prefix, Object[] version) {
+        StringBuilder tag = new StringBuilder("W/\"").append(prefix);
+        for (Object value : version) {
+            long part;
+            if (value instanceof LocalDateTime dateTime) {
+                part = dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1000;
+            } else if (value instanceof Number number) {
+                part = number.longValue();
+            } else {
+                part = 0;
+            }
+            tag.append('-').append(Long.toString(part, 36));
+        }
+        return tag.append('"').toString();
+    }
+
+    private static final class CachedVersion {
+        final String etag;
+        final long readAt;
+
+        CachedVersion(String etag, long readAt) {
+            this.etag = etag;
+            this.readAt = readAt;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.showvault.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,6 +44,35 @@ public interface ConsolidatedNotificationService {
      */
     long getUnreadCount(User user);
     
+    /**
+     * Get count of unread notifications for a user ID.
+     * Served from the in-memory counter, so polling does not hit the database.
+     * @param userId The user ID
+     * @return Count of unread notifications
+     */
+    long getUnreadCount(Long userId);
+    
+    /**
+     * Get a page of notifications for a user using keyset (created_at, id) pagination
+     * @param userId The user ID
+     * @param beforeCreatedAt Creation date of the last notification already seen, or null for the first page
+     * @param beforeId ID of the last notification already seen, or null for the first page
+     * @param limit Maximum number of notifications to return
+     * @return List of notifications ordered newest first
+     */
+    List<ConsolidatedNotification> getUserNotificationsBefore(Long userId, LocalDateTime beforeCreatedAt,
+                                                              Long beforeId, int limit);
+    
+    /**
+     * Get notifications created after a given notification ID, oldest first.
+     * Used by WebSocket clients to replay anything missed while disconnected.
+     * @param userId The user ID
+     * @param afterId ID of the last notification the client received, or null for all
+     * @param limit Maximum number of notifications to return
+     * @return List of notifications ordered by ID ascending
+     */
+    List<ConsolidatedNotification> getNotificationsSince(Long userId, Long afterId, int limit);
+    
     /**
      * Get a notification by ID
      * @param id The notification ID
@@ -5,6 +5,7 @@ import com.showvault.dto.SeatBookingDTO;
 import com.showvault.dto.SeatDTO;
 import com.showvault.dto.ShowDTO;
 import com.showvault.dto.ShowScheduleDTO;
+import com.showvault.dto.ShowScheduleSummaryDTO;
 import com.showvault.dto.ShowReviewDTO;
 import com.showvault.model.Booking;
 import com.showvault.model.Seat;
@@ -71,6 +72,12 @@ public class DTOConverterService {
                 .collect(Collectors.toList());
     }
     
+    public List<ShowScheduleSummaryDTO> convertShowSchedulesToSummaryDTO(List<ShowSchedule> schedules) {
+        return schedules.stream()
+                .map(ShowScheduleSummaryDTO::new)
+                .collect(Collectors.toList());
+    }
+    
     public ShowReview convertToShowReview(ShowReviewDTO dto) {
         ShowReview review = new ShowReview(); // This constructor sets createdAt to LocalDateTime.now()
         review.setId(dto.getId());
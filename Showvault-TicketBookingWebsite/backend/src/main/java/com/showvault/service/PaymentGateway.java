@@ -0,0 +1,87 @@
+package com.showvault.service;
+
+import com.showvault.model.PaymentMethod;
+
+import java.math.BigDecimal;
+
+/**
+ * Abstraction over the external payment gateway.
+ * Calls may be slow; PaymentService invokes them outside any database transaction.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Charge a payment
+     * @param transactionId Our reference for the payment (idempotency key for the gateway)
+     * @param amount The amount to charge
+     * @param method The payment method
+     * @return Result of the charge
+     */
+    Result charge(String transactionId, BigDecimal amount, PaymentMethod method);
+
+    /**
+     * Refund a previously completed payment
+     * @param transactionId Our reference for the original payment
+     * @param amount The amount to refund
+     * @return Result of the refund
+     */
+    Result refund(String transactionId, BigDecimal amount);
+
+    /**
+     * Look up the outcome of an earlier charge, for charges whose call timed out or failed in transit
+     * @param transactionId Our reference for the payment
+     * @return Result of the charge; a failure if the gateway never received it, unknown if it cannot tell yet
+     */
+    Result lookupCharge(String transactionId);
+
+    /**
+     * Look up the outcome of an earlier refund, for refunds whose call timed out or failed in transit
+     * @param transactionId Our reference for the original payment
+     * @return Result of the refund; a failure if the gateway never received it, unknown if it cannot tell yet
+     */
+    Result lookupRefund(String transactionId);
+
+    /**
+     * Outcome of a gateway call: successful, failed, or unknown when the call did not come back
+     * and the gateway may or may not have acted on it
+     */
+    class Result {
+        private final boolean successful;
+        private final boolean unknown;
+        private final String message;
+
+        public Result(boolean successful, String message) {
+            this(successful, false, message);
+        }
+
+        private Result(boolean successful, boolean unknown, String message) {
+            this.successful = successful;
+            this.unknown = unknown;
+            this.message = message;
+        }
+
+        public static Result success() {
+            return new Result(true, null);
+        }
+
+        public static Result failure(String message) {
+            return new Result(false, message);
+        }
+
+        public static Result unknown(String message) {
+            return new Result(false, true, message);
+        }
+
+        public boolean isSuccessful() {
+            return successful;
+        }
+
+        public boolean isUnknown() {
+            return unknown;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
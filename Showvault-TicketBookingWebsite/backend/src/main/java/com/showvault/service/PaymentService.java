@@ -1,5 +1,6 @@
 package com.showvault.service;
 
+import com.showvault.exception.ResourceNotFoundException;
 import com.showvault.model.Booking;
 import com.showvault.model.BookingPayment;
 import com.showvault.model.BookingStatus;
@@ -7,30 +8,72 @@ import com.showvault.model.PaymentMethod;
 import com.showvault.model.PaymentStatus;
 import com.showvault.repository.BookingPaymentRepository;
 import com.showvault.repository.BookingRepository;
+import com.showvault.util.TimeOrderedIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 @Service
 public class PaymentService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
+
+    // Payments whose gateway outcome has not been recorded yet
+    private static final EnumSet<PaymentStatus> IN_FLIGHT =
+            EnumSet.of(PaymentStatus.PENDING, PaymentStatus.UNKNOWN, PaymentStatus.REFUNDING);
+
     private final BookingPaymentRepository paymentRepository;
     private final BookingRepository bookingRepository;
     private final BookingService bookingService;
+    private final TimeOrderedIdGenerator idGenerator;
+    private final PaymentGateway paymentGateway;
+    private final Executor gatewayExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final long gatewayTimeoutMs;
+    private final long reconcileAfterMs;
 
     @Autowired
     public PaymentService(BookingPaymentRepository paymentRepository, 
                           BookingRepository bookingRepository,
-                          BookingService bookingService) {
+                          BookingService bookingService,
+                          TimeOrderedIdGenerator idGenerator,
+                          PaymentGateway paymentGateway,
+                          @Qualifier("paymentGatewayExecutor") Executor gatewayExecutor,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${showvault.payment.gateway.timeout-ms:10000}") long gatewayTimeoutMs,
+                          @Value("${showvault.payment.reconcile-after-ms:300000}") long reconcileAfterMs) {
+        if (reconcileAfterMs <= gatewayTimeoutMs) {
+            throw new IllegalStateException("showvault.payment.reconcile-after-ms must be longer than " +
+                    "showvault.payment.gateway.timeout-ms, or payments would be reconciled while still in flight");
+        }
         this.paymentRepository = paymentRepository;
         this.bookingRepository = bookingRepository;
         this.bookingService = bookingService;
+        this.idGenerator = idGenerator;
+        this.paymentGateway = paymentGateway;
+        this.gatewayExecutor = gatewayExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.gatewayTimeoutMs = gatewayTimeoutMs;
+        this.reconcileAfterMs = reconcileAfterMs;
     }
 
     public List<BookingPayment> getAllPayments() {
@@ -65,15 +108,114 @@ public class PaymentService {
         return paymentRepository.getTotalRevenueForPeriod(startDate, endDate);
     }
 
-    @Transactional
-    public BookingPayment processPayment(Long bookingId, PaymentMethod method, BigDecimal amount) {
-        Optional<Booking> bookingOpt = bookingRepository.findById(bookingId);
+    /**
+     * Process a payment in three stages so that no database connection or row lock is held
+     * while the gateway is being called:
+     * 1. a short transaction checks the booking and records the payment intent as PENDING,
+     * 2. the gateway is called outside any transaction, bounded by a timeout,
+     * 3. a short transaction finalizes the payment and the booking.
+     * A charge whose call timed out or failed in transit may still have gone through, so it is
+     * left UNKNOWN for reconcileInFlightPayments instead of being marked FAILED.
+     * Must not be called from inside an existing transaction or open-in-view EntityManager,
+     * or stage 2 would hold a connection.
+     * @param bookingId The booking to pay for
+     * @param userId The paying user, who must own the booking
+     * @param method The payment method
+     * @param amount The amount, which must match the booking total
+     * @return The payment: COMPLETED, FAILED, or UNKNOWN until reconciled
+     * @throws ResourceNotFoundException if the booking does not exist
+     * @throws AccessDeniedException if the booking belongs to another user
+     * @throws IllegalStateException if the booking is not awaiting payment
+     * @throws IllegalArgumentException if the amount does not match the booking total
+     */
+    public BookingPayment processPayment(Long bookingId, Long userId, PaymentMethod method, BigDecimal amount) {
+        // Stage 1: record intent
+        BookingPayment pending = transactionTemplate.execute(
+                status -> recordPaymentIntent(bookingId, userId, method, amount));
+        
+        // Stage 2: gateway call, no transaction
+        PaymentGateway.Result result = callGateway(
+                () -> paymentGateway.charge(pending.getTransactionId(), amount, method));
+        
+        // Stage 3: finalize
+        return transactionTemplate.execute(status -> finalizePayment(pending.getId(), PaymentStatus.PENDING, result));
+    }
+
+    /**
+     * Process a refund using the same staged pattern as processPayment.
+     * The refund is claimed first by moving the payment from COMPLETED to REFUNDING with a
+     * conditional update, so of two concurrent refunds only one reaches the gateway.
+     * @param paymentId The payment to refund
+     * @param userId The requesting user, who must own the booking unless admin is set
+     * @param admin Whether the requesting user is an administrator
+     * @return The payment: REFUNDED, COMPLETED if the gateway rejected the refund, or REFUNDING until reconciled
+     * @throws ResourceNotFoundException if the payment does not exist
+     * @throws AccessDeniedException if the payment belongs to another user
+     * @throws IllegalStateException if the payment is not completed or already being refunded
+     */
+    public BookingPayment processRefund(Long paymentId, Long userId, boolean admin) {
+        // Stage 1: claim
+        BookingPayment claimed = transactionTemplate.execute(status -> claimRefund(paymentId, userId, admin));
+        
+        // Stage 2: gateway call, no transaction
+        PaymentGateway.Result result = callGateway(
+                () -> paymentGateway.refund(claimed.getTransactionId(), claimed.getAmount()));
+        
+        // Stage 3: finalize
+        return transactionTemplate.execute(status -> finalizeRefund(paymentId, result));
+    }
+
+    /**
+     * Resolve payments left in flight: charges and refunds whose gateway call timed out or failed
+     * in transit, and PENDING payments of a node that stopped mid-call. Each is looked up at the
+     * gateway once it has been unchanged for showvault.payment.reconcile-after-ms; the status
+     * updates are conditional, so several nodes may run this at the same time.
+     */
+    @Scheduled(fixedDelayString = "${showvault.payment.reconcile-interval-ms:60000}",
+            initialDelayString = "${showvault.payment.reconcile-interval-ms:60000}")
+    public void reconcileInFlightPayments() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(Duration.ofMillis(reconcileAfterMs));
+        for (BookingPayment payment : paymentRepository.findByStatusInAndUpdatedAtBefore(IN_FLIGHT, cutoff)) {
+            try {
+                reconcile(payment);
+            } catch (Exception e) {
+                logger.warn("Failed to reconcile payment {}: {}", payment.getId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Look up one in-flight payment at the gateway and record the outcome
+     * @param payment The payment, as read by reconcileInFlightPayments
+     * @return The payment after reconciliation
+     */
+    BookingPayment reconcile(BookingPayment payment) {
+        PaymentStatus from = payment.getStatus();
+        boolean refund = from == PaymentStatus.REFUNDING;
+        PaymentGateway.Result result = callGateway(refund
+                ? () -> paymentGateway.lookupRefund(payment.getTransactionId())
+                : () -> paymentGateway.lookupCharge(payment.getTransactionId()));
+        if (result.isUnknown()) {
+            logger.warn("Payment {} is still {} at the gateway: {}", payment.getId(), from, result.getMessage());
+            return payment;
+        }
+        logger.info("Reconciled {} payment {}: {}", from, payment.getId(), result.isSuccessful() ? "succeeded" : "failed");
+        return transactionTemplate.execute(status -> refund
+                ? finalizeRefund(payment.getId(), result)
+                : finalizePayment(payment.getId(), from, result));
+    }
+
+    private BookingPayment recordPaymentIntent(Long bookingId, Long userId, PaymentMethod method, BigDecimal amount) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
         
-        if (bookingOpt.isEmpty()) {
-            throw new IllegalArgumentException("Booking not found with ID: " + bookingId);
+        if (!booking.getUser().getId().equals(userId)) {
+            throw new AccessDeniedException("You are not authorized to process this payment");
         }
         
-        Booking booking = bookingOpt.get();
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            throw new IllegalStateException("This booking is not in a valid state for payment");
+        }
         
         // Validate payment amount matches booking total
         if (amount.compareTo(booking.getTotalAmount()) != 0) {
@@ -88,84 +230,102 @@ public class PaymentService {
         payment.setStatus(PaymentStatus.PENDING);
         payment.setTransactionId(generateTransactionId());
         
-        // Save payment
-        BookingPayment savedPayment = paymentRepository.save(payment);
-        
-        // Process payment with mock payment gateway
-        boolean paymentSuccessful = processWithPaymentGateway(savedPayment);
+        return paymentRepository.save(payment);
+    }
+
+    /**
+     * Record the outcome of a charge, if the payment is still in the given in-flight status
+     */
+    private BookingPayment finalizePayment(Long paymentId, PaymentStatus from, PaymentGateway.Result result) {
+        LocalDateTime now = LocalDateTime.now();
         
-        if (paymentSuccessful) {
-            // Update payment status
-            savedPayment.setStatus(PaymentStatus.COMPLETED);
-            paymentRepository.save(savedPayment);
-            
-            // Get the booking again to ensure we have the latest version
-            Booking updatedBooking = bookingRepository.findById(bookingId).orElseThrow();
-            
-            // Generate QR code data
-            String qrCodeData = generateQRCodeData(updatedBooking);
-            updatedBooking.setQrCodeData(qrCodeData);
-            updatedBooking.setTicketGenerated(true);
-            
-            // Update booking status
-            bookingRepository.save(updatedBooking);
-            bookingService.updateBookingStatus(bookingId, BookingStatus.CONFIRMED);
+        if (result.isUnknown()) {
+            // The charge may have gone through; leave it for reconciliation
+            logger.warn("Outcome of payment {} unknown: {}", paymentId, result.getMessage());
+            paymentRepository.updateStatusIf(paymentId, from, PaymentStatus.UNKNOWN, result.getMessage(), now);
+        } else if (result.isSuccessful()) {
+            if (paymentRepository.updateStatusIf(paymentId, from, PaymentStatus.COMPLETED, now) == 1) {
+                Booking booking = paymentRepository.findById(paymentId).orElseThrow().getBooking();
+                
+                // Generate QR code data
+                booking.setQrCodeData(generateQRCodeData(booking));
+                booking.setTicketGenerated(true);
+                
+                // Update booking status
+                bookingRepository.save(booking);
+                bookingService.updateBookingStatus(booking.getId(), BookingStatus.CONFIRMED);
+            }
         } else {
             // Update payment status to failed
-            savedPayment.setStatus(PaymentStatus.FAILED);
-            paymentRepository.save(savedPayment);
+            paymentRepository.updateStatusIf(paymentId, from, PaymentStatus.FAILED, result.getMessage(), now);
         }
         
-        return savedPayment;
+        return paymentRepository.findById(paymentId).orElseThrow();
     }
 
-    @Transactional
-    public BookingPayment processRefund(Long paymentId) {
-        Optional<BookingPayment> paymentOpt = paymentRepository.findById(paymentId);
-        
-        if (paymentOpt.isEmpty()) {
-            throw new IllegalArgumentException("Payment not found with ID: " + paymentId);
+    private BookingPayment claimRefund(Long paymentId, Long userId, boolean admin) {
+        Long ownerId = paymentRepository.findOwnerIdById(paymentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with ID: " + paymentId));
+        if (!admin && !ownerId.equals(userId)) {
+            throw new AccessDeniedException("You are not authorized to process this refund");
         }
         
-        BookingPayment payment = paymentOpt.get();
-        
-        // Check if payment is eligible for refund
-        if (payment.getStatus() != PaymentStatus.COMPLETED) {
+        // Check if payment is eligible for refund and claim it in the same statement
+        if (paymentRepository.updateStatusIf(paymentId, PaymentStatus.COMPLETED, PaymentStatus.REFUNDING,
+                LocalDateTime.now()) == 0) {
             throw new IllegalStateException("Only completed payments can be refunded");
         }
+        return paymentRepository.findById(paymentId).orElseThrow();
+    }
+
+    /**
+     * Record the outcome of a refund, if the payment is still REFUNDING
+     */
+    private BookingPayment finalizeRefund(Long paymentId, PaymentGateway.Result result) {
+        LocalDateTime now = LocalDateTime.now();
         
-        // Process refund with mock payment gateway
-        boolean refundSuccessful = processRefundWithPaymentGateway(payment);
-        
-        if (refundSuccessful) {
-            // Update payment status
-            payment.setStatus(PaymentStatus.REFUNDED);
-            paymentRepository.save(payment);
-            
-            // Update booking status
-            bookingService.updateBookingStatus(payment.getBooking().getId(), BookingStatus.CANCELLED);
+        if (result.isUnknown()) {
+            // The refund may have gone through; keep the claim and leave it for reconciliation
+            logger.warn("Outcome of refund for payment {} unknown: {}", paymentId, result.getMessage());
+            paymentRepository.updateStatusIf(paymentId, PaymentStatus.REFUNDING, PaymentStatus.REFUNDING,
+                    result.getMessage(), now);
+        } else if (result.isSuccessful()) {
+            if (paymentRepository.updateStatusIf(paymentId, PaymentStatus.REFUNDING, PaymentStatus.REFUNDED, now) == 1) {
+                // Update booking status
+                Long bookingId = paymentRepository.findById(paymentId).orElseThrow().getBooking().getId();
+                bookingService.updateBookingStatus(bookingId, BookingStatus.CANCELLED);
+            }
+        } else {
+            // Rejected: release the claim so the refund can be retried
+            paymentRepository.updateStatusIf(paymentId, PaymentStatus.REFUNDING, PaymentStatus.COMPLETED,
+                    result.getMessage(), now);
         }
         
-        return payment;
+        return paymentRepository.findById(paymentId).orElseThrow();
     }
 
-    // Mock payment gateway integration
-    private boolean processWithPaymentGateway(BookingPayment payment) {
-        // In a real application, this would integrate with a payment gateway API
-        // For now, we'll simulate a successful payment most of the time
-        return Math.random() > 0.1; // 90% success rate
-    }
-
-    // Mock refund processing
-    private boolean processRefundWithPaymentGateway(BookingPayment payment) {
-        // In a real application, this would integrate with a payment gateway API
-        // For now, we'll simulate a successful refund most of the time
-        return Math.random() > 0.1; // 90% success rate
+    /**
+     * Call the gateway on the gateway executor, giving up after the configured timeout.
+     * A call that does not come back is unknown rather than failed: the gateway may have acted on it.
+     */
+    private PaymentGateway.Result callGateway(Supplier<PaymentGateway.Result> call) {
+        CompletableFuture<PaymentGateway.Result> future = CompletableFuture.supplyAsync(call, gatewayExecutor);
+        try {
+            return future.get(gatewayTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return PaymentGateway.Result.unknown("Payment gateway timed out after " + gatewayTimeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PaymentGateway.Result.unknown("Interrupted while waiting for payment gateway");
+        } catch (Exception e) {
+            return PaymentGateway.Result.unknown("Payment gateway error: " + e.getMessage());
+        }
     }
 
     private String generateTransactionId() {
-        // Generate a unique transaction ID
-        return "TXN-" + UUID.randomUUID().toString().substring(0, 12).toUpperCase();
+        // Generate a unique, time-ordered transaction ID
+        return idGenerator.nextId("TXN-");
     }
     
     private String generateQRCodeData(Booking booking) {
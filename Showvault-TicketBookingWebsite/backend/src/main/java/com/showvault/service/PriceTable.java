@@ -0,0 +1,279 @@
+package com.showvault.service;
+
+import com.showvault.model.Promotion;
+import com.showvault.model.Seat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable, precomputed prices for one show schedule.
+ * Seat prices and promotion rules are compiled once and amounts are held in
+ * minor units (cents), so quoting a selection is plain long arithmetic.
+ * Tables are never modified; {@link PricingService} swaps in a new instance when
+ * prices or promotions change.
+ */
+public final class PriceTable {
+
+    /**
+     * Default price multipliers per seat category, used when a venue has no seats in a category
+     */
+    public static final Map<Seat.SeatCategory, BigDecimal> DEFAULT_CATEGORY_MULTIPLIERS;
+
+    static {
+        Map<Seat.SeatCategory, BigDecimal> defaults = new EnumMap<>(Seat.SeatCategory.class);
+        defaults.put(Seat.SeatCategory.STANDARD, BigDecimal.ONE);
+        defaults.put(Seat.SeatCategory.PREMIUM, new BigDecimal("1.5"));
+        defaults.put(Seat.SeatCategory.VIP, new BigDecimal("2.0"));
+        DEFAULT_CATEGORY_MULTIPLIERS = Collections.unmodifiableMap(defaults);
+    }
+
+    private final Long scheduleId;
+    private final Long showId;
+    private final Long venueId;
+    private final long basePriceCents;
+    private final Map<Long, Long> seatPriceCents;
+    private final Map<Seat.SeatCategory, BigDecimal> categoryMultipliers;
+    private final Map<String, PromotionRule> promotions;
+    private final long promotionsVersion;
+
+    PriceTable(Long scheduleId, Long showId, Long venueId, long basePriceCents,
+               Map<Long, Long> seatPriceCents, Map<Seat.SeatCategory, BigDecimal> categoryMultipliers,
+               Map<String, PromotionRule> promotions, long promotionsVersion) {
+        this.scheduleId = scheduleId;
+        this.showId = showId;
+        this.venueId = venueId;
+        this.basePriceCents = basePriceCents;
+        this.seatPriceCents = Collections.unmodifiableMap(seatPriceCents);
+        this.categoryMultipliers = Collections.unmodifiableMap(categoryMultipliers);
+        this.promotions = Collections.unmodifiableMap(promotions);
+        this.promotionsVersion = promotionsVersion;
+    }
+
+    /**
+     * Create a copy of this table with a different set of promotion rules.
+     * Seat prices are shared with the original table.
+     */
+    PriceTable withPromotions(Map<String, PromotionRule> promotions, long promotionsVersion) {
+        return new PriceTable(scheduleId, showId, venueId, basePriceCents, seatPriceCents,
+                categoryMultipliers, promotions, promotionsVersion);
+    }
+
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+
+    public Long getShowId() {
+        return showId;
+    }
+
+    public Long getVenueId() {
+        return venueId;
+    }
+
+    public BigDecimal getBasePrice() {
+        return toAmount(basePriceCents);
+    }
+
+    long getPromotionsVersion() {
+        return promotionsVersion;
+    }
+
+    /**
+     * Get the number of seats priced by this table
+     * @return Number of seats
+     */
+    public int getSeatCount() {
+        return seatPriceCents.size();
+    }
+
+    /**
+     * Get the price of a seat in cents
+     * @param seatId The seat ID
+     * @return The price in cents, or null if the seat is not in this schedule's venue
+     */
+    public Long getSeatPriceCents(Long seatId) {
+        return seatPriceCents.get(seatId);
+    }
+
+    /**
+     * Get the price of a seat
+     * @param seatId The seat ID
+     * @return The seat price, or null if the seat is not in this schedule's venue
+     */
+    public BigDecimal getSeatPrice(Long seatId) {
+        Long cents = seatPriceCents.get(seatId);
+        return cents != null ? toAmount(cents) : null;
+    }
+
+    /**
+     * Get the representative price multiplier for a seat category at this venue
+     * @param category The seat category
+     * @return The multiplier used by most seats in the category
+     */
+    public BigDecimal getCategoryMultiplier(Seat.SeatCategory category) {
+        BigDecimal multiplier = categoryMultipliers.get(category);
+        return multiplier != null ? multiplier : DEFAULT_CATEGORY_MULTIPLIERS.getOrDefault(category, BigDecimal.ONE);
+    }
+
+    /**
+     * Get the promotion rule for a code if it applies to this schedule's show
+     * @param code The promotion code
+     * @return The rule, or null if no active promotion with this code applies
+     */
+    public PromotionRule getPromotion(String code) {
+        return code != null ? promotions.get(code) : null;
+    }
+
+    /**
+     * Quote a selection of seats with an optional promotion code
+     * @param seatIds The selected seat IDs
+     * @param promotionCode The promotion code, may be null
+     * @param today The date used to check the promotion's validity window
+     * @return The quote
+     * @throws IllegalArgumentException if a seat does not belong to this schedule's venue
+     */
+    public Quote quote(Collection<Long> seatIds, String promotionCode, LocalDate today) {
+        long subtotal = 0;
+        for (Long seatId : seatIds) {
+            Long cents = seatPriceCents.get(seatId);
+            if (cents == null) {
+                throw new IllegalArgumentException("Seat " + seatId + " is not part of schedule " + scheduleId);
+            }
+            subtotal += cents;
+        }
+        return quoteAmount(subtotal, promotionCode, today);
+    }
+
+    /**
+     * Quote an amount in cents with an optional promotion code
+     * @param subtotalCents The amount before discount in cents
+     * @param promotionCode The promotion code, may be null
+     * @param today The date used to check the promotion's validity window
+     * @return The quote
+     */
+    public Quote quoteAmount(long subtotalCents, String promotionCode, LocalDate today) {
+        PromotionRule rule = getPromotion(promotionCode);
+        if (rule == null || !rule.isValidOn(today)) {
+            return new Quote(subtotalCents, 0, null);
+        }
+        return new Quote(subtotalCents, rule.discountCents(subtotalCents), rule);
+    }
+
+    /**
+     * Convert an amount in cents to a two-decimal BigDecimal
+     */
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Convert an amount to cents, rounding half up
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, java.math.RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * A compiled promotion: discount values are precomputed in cents or basis points
+     */
+    public static final class PromotionRule {
+        private final Long promotionId;
+        private final String code;
+        private final Promotion.DiscountType discountType;
+        // Cents for FIXED promotions, basis points (1/100 of a percent) for PERCENTAGE promotions
+        private final long discountValue;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+
+        public PromotionRule(Long promotionId, String code, Promotion.DiscountType discountType,
+                             double discountValue, LocalDate startDate, LocalDate endDate) {
+            this.promotionId = promotionId;
+            this.code = code;
+            this.discountType = discountType;
+            this.discountValue = Math.round(discountValue * 100);
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        public Long getPromotionId() {
+            return promotionId;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public Promotion.DiscountType getDiscountType() {
+            return discountType;
+        }
+
+        /**
+         * Check whether the promotion's date range includes a given day
+         */
+        public boolean isValidOn(LocalDate day) {
+            return (startDate == null || !day.isBefore(startDate))
+                    && (endDate == null || !day.isAfter(endDate));
+        }
+
+        /**
+         * Calculate the discount for an amount, never exceeding the amount itself
+         * @param subtotalCents The amount in cents
+         * @return The discount in cents
+         */
+        public long discountCents(long subtotalCents) {
+            long discount;
+            if (discountType == Promotion.DiscountType.PERCENTAGE) {
+                discount = (subtotalCents * discountValue + 5000) / 10000;
+            } else if (discountType == Promotion.DiscountType.FIXED) {
+                discount = discountValue;
+            } else {
+                discount = 0;
+            }
+            return Math.max(0, Math.min(discount, subtotalCents));
+        }
+    }
+
+    /**
+     * The price of a selection of seats
+     */
+    public static final class Quote {
+        private final long subtotalCents;
+        private final long discountCents;
+        private final PromotionRule promotion;
+
+        Quote(long subtotalCents, long discountCents, PromotionRule promotion) {
+            this.subtotalCents = subtotalCents;
+            this.discountCents = discountCents;
+            this.promotion = promotion;
+        }
+
+        public BigDecimal getSubtotal() {
+            return toAmount(subtotalCents);
+        }
+
+        public BigDecimal getDiscount() {
+            return toAmount(discountCents);
+        }
+
+        public BigDecimal getTotal() {
+            return toAmount(subtotalCents - discountCents);
+        }
+
+        public long getDiscountCents() {
+            return discountCents;
+        }
+
+        /**
+         * Get the applied promotion rule
+         * @return The rule, or null if no promotion was applied
+         */
+        public PromotionRule getPromotion() {
+            return promotion;
+        }
+    }
+}
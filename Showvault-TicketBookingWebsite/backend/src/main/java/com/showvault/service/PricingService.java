@@ -0,0 +1,263 @@
+package com.showvault.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.showvault.model.Promotion;
+import com.showvault.model.Seat;
+import com.showvault.repository.PromotionRepository;
+import com.showvault.repository.SeatRepository;
+import com.showvault.repository.ShowScheduleRepository;
+import com.showvault.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pricing engine backed by compiled, immutable {@link PriceTable}s.
+ * One table is built per show schedule on first use and replaced as a whole when
+ * the schedule's base price, the venue's seats or the active promotions change.
+ * Quotes, seat map prices and bookings all read from the same table.
+ */
+@Service
+public class PricingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingService.class);
+
+    // Tables of past schedules stop being read and expire; the bound caps memory in between
+    private static final long MAX_TABLES = 10_000;
+    private static final Duration TABLE_EXPIRY = Duration.ofHours(6);
+
+    @Autowired
+    private ShowScheduleRepository showScheduleRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    private static final class PromotionRules {
+        final long version;
+        final Map<String, PriceTable.PromotionRule> global;
+        final Map<Long, Map<String, PriceTable.PromotionRule>> byShow;
+
+        PromotionRules(long version, Map<String, PriceTable.PromotionRule> global,
+                       Map<Long, Map<String, PriceTable.PromotionRule>> byShow) {
+            this.version = version;
+            this.global = global;
+            this.byShow = byShow;
+        }
+
+        Map<String, PriceTable.PromotionRule> forShow(Long showId) {
+            Map<String, PriceTable.PromotionRule> showRules = byShow.get(showId);
+            if (showRules == null) {
+                return global;
+            }
+            Map<String, PriceTable.PromotionRule> rules = new HashMap<>(global);
+            rules.putAll(showRules);
+            return rules;
+        }
+    }
+
+    // Price tables keyed by schedule ID
+    private final Cache<Long, PriceTable> tables = Caffeine.newBuilder()
+            .maximumSize(MAX_TABLES)
+            .expireAfterAccess(TABLE_EXPIRY)
+            .build();
+
+    // Bumped by every invalidation, so that a table built from data read before it is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile PromotionRules promotionRules;
+
+    private final AtomicLong promotionRulesVersion = new AtomicLong();
+
+    /**
+     * Get the price table for a schedule, building it on first use
+     * @param scheduleId The schedule ID
+     * @return The price table
+     * @throws IllegalArgumentException if the schedule does not exist
+     */
+    public PriceTable getPriceTable(Long scheduleId) {
+        PriceTable table = tables.getIfPresent(scheduleId);
+        if (table == null) {
+            // Built outside the cache's locks: the queries must not block reads of other schedules.
+            // Two threads may build the same table at once; the first one cached wins.
+            long invalidationsBefore = invalidations.get();
+            PriceTable built = buildTable(scheduleId);
+            PriceTable cached = tables.asMap().putIfAbsent(scheduleId, built);
+            table = cached != null ? cached : built;
+            if (invalidations.get() != invalidationsBefore) {
+                // Invalidated while building: use the table once, but do not keep it
+                tables.asMap().remove(scheduleId, built);
+            }
+        }
+        return withCurrentPromotions(table);
+    }
+
+    /**
+     * Quote a selection of seats for a schedule
+     * @param scheduleId The schedule ID
+     * @param seatIds The selected seat IDs
+     * @param promotionCode The promotion code, may be null
+     * @return The quote
+     */
+    public PriceTable.Quote quote(Long scheduleId, Collection<Long> seatIds, String promotionCode) {
+        return getPriceTable(scheduleId).quote(seatIds, promotionCode, LocalDate.now());
+    }
+
+    /**
+     * Drop the price table of a schedule so that it is rebuilt on next use.
+     * Inside a transaction the table is dropped once the transaction commits.
+     * @param scheduleId The schedule ID
+     */
+    public void invalidateSchedule(Long scheduleId) {
+        if (scheduleId != null) {
+            AfterCommit.run(() -> {
+                invalidations.incrementAndGet();
+                tables.invalidate(scheduleId);
+            });
+        }
+    }
+
+    /**
+     * Drop the price tables of every schedule at a venue, e.g. after its seats change.
+     * Inside a transaction the tables are dropped once the transaction commits.
+     * @param venueId The venue ID
+     */
+    public void invalidateVenue(Long venueId) {
+        if (venueId != null) {
+            AfterCommit.run(() -> {
+                invalidations.incrementAndGet();
+                tables.asMap().values().removeIf(table -> venueId.equals(table.getVenueId()));
+            });
+        }
+    }
+
+    /**
+     * Drop all price tables
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        tables.invalidateAll();
+    }
+
+    /**
+     * Recompile the active promotion rules.
+     * Existing tables pick up the new rules on their next read; their seat prices are kept.
+     * Also runs every minute so that changes made on other nodes are picked up.
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public synchronized void refreshPromotions() {
+        promotionRules = compilePromotions();
+    }
+
+    /**
+     * Recompile the active promotion rules once the current transaction commits
+     */
+    public void refreshPromotionsAfterCommit() {
+        AfterCommit.run(this::refreshPromotions);
+    }
+
+    /**
+     * Number of cached price tables
+     * @return Number of tables
+     */
+    public int size() {
+        return tables.asMap().size();
+    }
+
+    private PriceTable withCurrentPromotions(PriceTable table) {
+        PromotionRules rules = currentPromotionRules();
+        if (table.getPromotionsVersion() == rules.version) {
+            return table;
+        }
+        PriceTable rebound = table.withPromotions(rules.forShow(table.getShowId()), rules.version);
+        // Only swap if no one has replaced or invalidated the table in the meantime
+        tables.asMap().replace(table.getScheduleId(), table, rebound);
+        return rebound;
+    }
+
+    private PromotionRules currentPromotionRules() {
+        PromotionRules rules = promotionRules;
+        if (rules == null) {
+            synchronized (this) {
+                rules = promotionRules;
+                if (rules == null) {
+                    rules = compilePromotions();
+                    promotionRules = rules;
+                }
+            }
+        }
+        return rules;
+    }
+
+    private PromotionRules compilePromotions() {
+        Map<String, PriceTable.PromotionRule> global = new HashMap<>();
+        Map<Long, Map<String, PriceTable.PromotionRule>> byShow = new HashMap<>();
+
+        for (Object[] row : promotionRepository.findPricingRulesEndingOnOrAfter(LocalDate.now())) {
+            PriceTable.PromotionRule rule = new PriceTable.PromotionRule(
+                    (Long) row[0], (String) row[1], (Promotion.DiscountType) row[2],
+                    ((Number) row[3]).doubleValue(), (LocalDate) row[4], (LocalDate) row[5]);
+            Long showId = (Long) row[6];
+            if (showId == null) {
+                global.put(rule.getCode(), rule);
+            } else {
+                byShow.computeIfAbsent(showId, id -> new HashMap<>()).put(rule.getCode(), rule);
+            }
+        }
+
+        return new PromotionRules(promotionRulesVersion.incrementAndGet(), Collections.unmodifiableMap(global), byShow);
+    }
+
+    private PriceTable buildTable(Long scheduleId) {
+        List<Object[]> info = showScheduleRepository.findPricingInfoById(scheduleId);
+        if (info.isEmpty()) {
+            throw new IllegalArgumentException("Show schedule not found with ID: " + scheduleId);
+        }
+        Long showId = (Long) info.get(0)[0];
+        Long venueId = (Long) info.get(0)[1];
+        BigDecimal basePrice = (BigDecimal) info.get(0)[2];
+        if (basePrice == null) {
+            basePrice = BigDecimal.ZERO;
+        }
+
+        List<Object[]> seats = seatRepository.findPricingRowsByVenueId(venueId);
+        Map<Long, Long> seatPrices = new HashMap<>(seats.size() * 2);
+        Map<Seat.SeatCategory, Map<BigDecimal, Integer>> multiplierCounts = new EnumMap<>(Seat.SeatCategory.class);
+
+        for (Object[] seat : seats) {
+            Seat.SeatCategory category = (Seat.SeatCategory) seat[1];
+            BigDecimal multiplier = seat[2] != null ? (BigDecimal) seat[2] : BigDecimal.ONE;
+            seatPrices.put((Long) seat[0], PriceTable.toCents(basePrice.multiply(multiplier)));
+            if (category != null) {
+                multiplierCounts.computeIfAbsent(category, c -> new HashMap<>())
+                        .merge(multiplier.stripTrailingZeros(), 1, Integer::sum);
+            }
+        }
+
+        // The multiplier shown for a category is the one most of its seats use
+        Map<Seat.SeatCategory, BigDecimal> categoryMultipliers = new EnumMap<>(Seat.SeatCategory.class);
+        multiplierCounts.forEach((category, counts) -> categoryMultipliers.put(category,
+                Collections.max(counts.entrySet(), Map.Entry.comparingByValue()).getKey()));
+
+        PromotionRules rules = currentPromotionRules();
+        logger.debug("Built price table for schedule {} with {} seats", scheduleId, seatPrices.size());
+        return new PriceTable(scheduleId, showId, venueId, PriceTable.toCents(basePrice), seatPrices,
+                categoryMultipliers, rules.forShow(showId), rules.version);
+    }
+}
@@ -9,9 +9,19 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.ArrayList;
 
+/**
+ * Validation of show schedules against the other schedules of the same venue and day.
+ *
+ * The schedules of a venue-day are loaded once per validation into a VenueDaySchedule, an
+ * interval index sorted by start time, so that every conflict, duplicate and gap lookup is a
+ * binary search instead of a pass over the whole day. A bulk request is checked against that
+ * one index and, once sorted, only against its neighbouring slots.
+ */
 @Service
 public class ScheduleValidationService {
 
@@ -78,8 +88,6 @@ public class ScheduleValidationService {
      */
     public ValidationResult validateNewSchedule(Show show, Venue venue, LocalDate showDate, 
                                               LocalTime startTime, Long excludeScheduleId) {
-        List<String> warnings = new ArrayList<>();
-        
         // 1. Calculate end time with show duration
         ScheduleTimeInfo newScheduleTime = calculateScheduleTimes(show, startTime);
         
@@ -93,6 +101,17 @@ public class ScheduleValidationService {
                 .collect(java.util.stream.Collectors.toList());
         }
         
+        return validateAgainst(new VenueDaySchedule(existingSchedules), show, venue, newScheduleTime);
+    }
+    
+    /**
+     * Validate a schedule against an index of the other schedules of its venue and day
+     */
+    private ValidationResult validateAgainst(VenueDaySchedule existingSchedules, Show show, Venue venue,
+                                             ScheduleTimeInfo newScheduleTime) {
+        List<String> warnings = new ArrayList<>();
+        LocalTime startTime = newScheduleTime.getStartTime();
+        
         // 4. Check for duplicate time slots
         ValidationResult duplicateCheck = checkDuplicateTimeSlot(existingSchedules, startTime, show.getTitle());
         if (!duplicateCheck.isValid()) {
@@ -140,17 +159,15 @@ public class ScheduleValidationService {
     /**
      * Check for duplicate time slots (Scenario 1)
      */
-    private ValidationResult checkDuplicateTimeSlot(List<ShowSchedule> existingSchedules, 
+    private ValidationResult checkDuplicateTimeSlot(VenueDaySchedule existingSchedules, 
                                                    LocalTime newStartTime, String showTitle) {
-        for (ShowSchedule existing : existingSchedules) {
-            if (existing.getStartTime().equals(newStartTime)) {
-                String existingShowTitle = existing.getShow() != null ? existing.getShow().getTitle() : "Unknown Show";
-                return new ValidationResult(false, 
-                    String.format("Duplicate time slot detected! A show '%s' is already scheduled at %s. " +
-                                "Please choose a different time slot.", 
-                                existingShowTitle, 
-                                newStartTime.format(DateTimeFormatter.ofPattern("h:mm a"))));
-            }
+        ShowSchedule existing = existingSchedules.findStartingAt(newStartTime);
+        if (existing != null) {
+            return new ValidationResult(false, 
+                String.format("Duplicate time slot detected! A show '%s' is already scheduled at %s. " +
+                            "Please choose a different time slot.", 
+                            titleOf(existing), 
+                            newStartTime.format(DateTimeFormatter.ofPattern("h:mm a"))));
         }
         return new ValidationResult(true, null);
     }
@@ -158,46 +175,44 @@ public class ScheduleValidationService {
     /**
      * Check for overlapping schedules (Scenario 2)
      */
-    private ValidationResult checkScheduleOverlaps(List<ShowSchedule> existingSchedules, 
+    private ValidationResult checkScheduleOverlaps(VenueDaySchedule existingSchedules, 
                                                   ScheduleTimeInfo newSchedule, String showTitle) {
         List<String> warnings = new ArrayList<>();
         
-        for (ShowSchedule existing : existingSchedules) {
+        // Check if new schedule overlaps with an existing schedule (including buffer)
+        ShowSchedule existing = existingSchedules.findConflict(newSchedule);
+        if (existing != null) {
             ScheduleTimeInfo existingTime = new ScheduleTimeInfo(existing.getStartTime(), existing.getEndTime());
-            String existingShowTitle = existing.getShow() != null ? existing.getShow().getTitle() : "Unknown Show";
-            
-            // Check if new schedule overlaps with existing schedule (including buffer)
-            boolean overlaps = checkTimeOverlap(newSchedule, existingTime);
-            
-            if (overlaps) {
-                String conflictMessage = String.format(
-                    "Schedule conflict detected! Your show '%s' (%s - %s) conflicts with existing show '%s' (%s - %s). " +
-                    "Minimum %d minutes gap required between shows for cleanup and audience transition.",
-                    showTitle,
-                    newSchedule.getStartTime().format(DateTimeFormatter.ofPattern("h:mm a")),
-                    newSchedule.getEndTime().format(DateTimeFormatter.ofPattern("h:mm a")),
-                    existingShowTitle,
-                    existingTime.getStartTime().format(DateTimeFormatter.ofPattern("h:mm a")),
-                    existingTime.getEndTime().format(DateTimeFormatter.ofPattern("h:mm a")),
-                    BUFFER_MINUTES
-                );
-                
-                return new ValidationResult(false, conflictMessage);
-            }
+            String conflictMessage = String.format(
+                "Schedule conflict detected! Your show '%s' (%s - %s) conflicts with existing show '%s' (%s - %s). " +
+                "Minimum %d minutes gap required between shows for cleanup and audience transition.",
+                showTitle,
+                newSchedule.getStartTime().format(DateTimeFormatter.ofPattern("h:mm a")),
+                newSchedule.getEndTime().format(DateTimeFormatter.ofPattern("h:mm a")),
+                titleOf(existing),
+                existingTime.getStartTime().format(DateTimeFormatter.ofPattern("h:mm a")),
+                existingTime.getEndTime().format(DateTimeFormatter.ofPattern("h:mm a")),
+                BUFFER_MINUTES
+            );
             
-            // Check for tight scheduling (less than ideal gap)
-            boolean tightScheduling = checkTightScheduling(newSchedule, existingTime);
-            if (tightScheduling) {
-                warnings.add(String.format(
-                    "Tight scheduling detected with '%s'. Consider adding more time between shows for better operations.",
-                    existingShowTitle
-                ));
-            }
+            return new ValidationResult(false, conflictMessage);
+        }
+        
+        // Check for tight scheduling (less than ideal gap)
+        for (ShowSchedule neighbour : existingSchedules.findTightNeighbours(newSchedule)) {
+            warnings.add(String.format(
+                "Tight scheduling detected with '%s'. Consider adding more time between shows for better operations.",
+                titleOf(neighbour)
+            ));
         }
         
         return new ValidationResult(true, null, warnings);
     }
     
+    private static String titleOf(ShowSchedule schedule) {
+        return schedule.getShow() != null ? schedule.getShow().getTitle() : "Unknown Show";
+    }
+    
     /**
      * Check if two time ranges overlap (including buffer time)
      */
@@ -208,27 +223,6 @@ public class ScheduleValidationService {
                schedule1.getBufferEndTime().isAfter(schedule2.getStartTime());
     }
     
-    /**
-     * Check for tight scheduling (less than ideal but not conflicting)
-     */
-    private boolean checkTightScheduling(ScheduleTimeInfo schedule1, ScheduleTimeInfo schedule2) {
-        int idealGap = BUFFER_MINUTES + 15; // 45 minutes ideal gap
-        
-        // Check gap between schedule1 end and schedule2 start
-        if (schedule1.getEndTime().isBefore(schedule2.getStartTime())) {
-            long gapMinutes = java.time.Duration.between(schedule1.getEndTime(), schedule2.getStartTime()).toMinutes();
-            return gapMinutes < idealGap && gapMinutes >= BUFFER_MINUTES;
-        }
-        
-        // Check gap between schedule2 end and schedule1 start
-        if (schedule2.getEndTime().isBefore(schedule1.getStartTime())) {
-            long gapMinutes = java.time.Duration.between(schedule2.getEndTime(), schedule1.getStartTime()).toMinutes();
-            return gapMinutes < idealGap && gapMinutes >= BUFFER_MINUTES;
-        }
-        
-        return false;
-    }
-    
     /**
      * Check business hours constraints
      */
@@ -305,7 +299,8 @@ public class ScheduleValidationService {
     }
     
     /**
-     * Validate bulk time slots creation
+     * Validate bulk time slots creation.
+     * All slots share the show's duration, so once sorted a slot can only overlap the next one.
      */
     public ValidationResult validateBulkTimeSlots(Show show, Venue venue, LocalDate showDate, 
                                                  List<LocalTime> timeSlots) {
@@ -314,39 +309,42 @@ public class ScheduleValidationService {
         // Sort time slots for better validation
         timeSlots.sort(LocalTime::compareTo);
         
+        VenueDaySchedule existingSchedules =
+            new VenueDaySchedule(showScheduleService.getSchedulesByVenueAndDate(venue.getId(), showDate));
+        
         // Validate each time slot individually
         for (int i = 0; i < timeSlots.size(); i++) {
             LocalTime currentTime = timeSlots.get(i);
+            ScheduleTimeInfo currentSchedule = calculateScheduleTimes(show, currentTime);
             
             // Validate against existing schedules
-            ValidationResult result = validateNewSchedule(show, venue, showDate, currentTime, null);
+            ValidationResult result = validateAgainst(existingSchedules, show, venue, currentSchedule);
             if (!result.isValid()) {
                 return result; // Return first error
             }
             allWarnings.addAll(result.getWarnings());
             
-            // Validate against other time slots in the same bulk operation
-            for (int j = i + 1; j < timeSlots.size(); j++) {
-                LocalTime otherTime = timeSlots.get(j);
-                
-                // Check for duplicates within bulk operation
-                if (currentTime.equals(otherTime)) {
-                    return new ValidationResult(false, 
-                        String.format("Duplicate time slot %s found in your request. Please remove duplicates.", 
-                                    currentTime.format(DateTimeFormatter.ofPattern("h:mm a"))));
-                }
-                
-                // Check for overlaps within bulk operation
-                ScheduleTimeInfo currentSchedule = calculateScheduleTimes(show, currentTime);
-                ScheduleTimeInfo otherSchedule = calculateScheduleTimes(show, otherTime);
-                
-                if (checkTimeOverlap(currentSchedule, otherSchedule)) {
-                    return new ValidationResult(false, 
-                        String.format("Time slots %s and %s overlap. Shows need %d minutes gap for cleanup and transition.", 
-                                    currentTime.format(DateTimeFormatter.ofPattern("h:mm a")),
-                                    otherTime.format(DateTimeFormatter.ofPattern("h:mm a")),
-                                    BUFFER_MINUTES));
-                }
+            if (i + 1 == timeSlots.size()) {
+                break;
+            }
+            
+            // Validate against the next time slot in the same bulk operation
+            LocalTime nextTime = timeSlots.get(i + 1);
+            
+            // Check for duplicates within bulk operation
+            if (currentTime.equals(nextTime)) {
+                return new ValidationResult(false, 
+                    String.format("Duplicate time slot %s found in your request. Please remove duplicates.", 
+                                currentTime.format(DateTimeFormatter.ofPattern("h:mm a"))));
+            }
+            
+            // Check for overlaps within bulk operation
+            if (checkTimeOverlap(currentSchedule, calculateScheduleTimes(show, nextTime))) {
+                return new ValidationResult(false, 
+                    String.format("Time slots %s and %s overlap. Shows need %d minutes gap for cleanup and transition.", 
+                                currentTime.format(DateTimeFormatter.ofPattern("h:mm a")),
+                                nextTime.format(DateTimeFormatter.ofPattern("h:mm a")),
+                                BUFFER_MINUTES));
             }
         }
         
@@ -359,7 +357,8 @@ public class ScheduleValidationService {
     public List<LocalTime> suggestAlternativeTimeSlots(Show show, Venue venue, LocalDate showDate, 
                                                       LocalTime requestedTime, int numberOfSuggestions) {
         List<LocalTime> suggestions = new ArrayList<>();
-        List<ShowSchedule> existingSchedules = showScheduleService.getSchedulesByVenueAndDate(venue.getId(), showDate);
+        VenueDaySchedule existingSchedules =
+            new VenueDaySchedule(showScheduleService.getSchedulesByVenueAndDate(venue.getId(), showDate));
         
         // Try times around the requested time
         for (int offset = 30; offset <= 180; offset += 30) { // 30 min to 3 hour range
@@ -367,7 +366,7 @@ public class ScheduleValidationService {
             
             // Try later time
             LocalTime laterTime = requestedTime.plusMinutes(offset);
-            if (isTimeSlotAvailable(show, existingSchedules, laterTime)) {
+            if (existingSchedules.findConflict(calculateScheduleTimes(show, laterTime)) == null) {
                 suggestions.add(laterTime);
             }
             
@@ -376,7 +375,7 @@ public class ScheduleValidationService {
             // Try earlier time
             LocalTime earlierTime = requestedTime.minusMinutes(offset);
             if (earlierTime.isAfter(LocalTime.of(8, 0)) && // Not too early
-                isTimeSlotAvailable(show, existingSchedules, earlierTime)) {
+                existingSchedules.findConflict(calculateScheduleTimes(show, earlierTime)) == null) {
                 suggestions.add(earlierTime);
             }
         }
@@ -385,18 +384,107 @@ public class ScheduleValidationService {
     }
     
     /**
-     * Check if a time slot is available
+     * Schedules of one venue on one day, indexed by start and end time.
+     *
+     * Times are seconds of the day, with end times past midnight counted into the next day.
+     * Next to the start times the index keeps the running maximum of the buffered end times:
+     * it never decreases, so the earliest schedule whose buffer reaches past a given time is
+     * found with a binary search, and an overlap query is two binary searches however the
+     * existing schedules overlap each other.
      */
-    private boolean isTimeSlotAvailable(Show show, List<ShowSchedule> existingSchedules, LocalTime timeSlot) {
-        ScheduleTimeInfo newSchedule = calculateScheduleTimes(show, timeSlot);
+    private static final class VenueDaySchedule {
+        private static final int IDEAL_GAP_SECONDS = (BUFFER_MINUTES + 15) * 60; // 45 minutes ideal gap
+        private static final int BUFFER_SECONDS = BUFFER_MINUTES * 60;
+        
+        private final ShowSchedule[] byStart;
+        private final int[] starts;
+        private final int[] maxBufferEnds;
+        private final ShowSchedule[] byEnd;
+        private final int[] ends;
+        
+        VenueDaySchedule(List<ShowSchedule> schedules) {
+            byStart = schedules.stream()
+                .sorted(Comparator.comparingInt(s -> startOf(s.getStartTime())))
+                .toArray(ShowSchedule[]::new);
+            starts = new int[byStart.length];
+            maxBufferEnds = new int[byStart.length];
+            int maxBufferEnd = Integer.MIN_VALUE;
+            for (int i = 0; i < byStart.length; i++) {
+                starts[i] = startOf(byStart[i].getStartTime());
+                maxBufferEnd = Math.max(maxBufferEnd, endOf(byStart[i].getStartTime(), byStart[i].getEndTime()) + BUFFER_SECONDS);
+                maxBufferEnds[i] = maxBufferEnd;
+            }
+            byEnd = schedules.stream()
+                .sorted(Comparator.comparingInt(s -> endOf(s.getStartTime(), s.getEndTime())))
+                .toArray(ShowSchedule[]::new);
+            ends = Arrays.stream(byEnd).mapToInt(s -> endOf(s.getStartTime(), s.getEndTime())).toArray();
+        }
         
-        for (ShowSchedule existing : existingSchedules) {
-            ScheduleTimeInfo existingTime = new ScheduleTimeInfo(existing.getStartTime(), existing.getEndTime());
-            if (checkTimeOverlap(newSchedule, existingTime)) {
-                return false;
+        /**
+         * Get a schedule starting at exactly the given time
+         * @return The schedule, or null if there is none
+         */
+        ShowSchedule findStartingAt(LocalTime startTime) {
+            int start = startOf(startTime);
+            int i = firstAtLeast(starts, start);
+            return i < starts.length && starts[i] == start ? byStart[i] : null;
+        }
+        
+        /**
+         * Get the earliest schedule that the given one would overlap, counting the buffer after each show
+         * @return The schedule, or null if the time is free
+         */
+        ShowSchedule findConflict(ScheduleTimeInfo schedule) {
+            int start = startOf(schedule.getStartTime());
+            int bufferEnd = endOf(schedule.getStartTime(), schedule.getEndTime()) + BUFFER_SECONDS;
+            // Schedules starting before the new buffer ends, the first of them still running
+            // (with its buffer) when the new one starts
+            int startingBefore = firstAtLeast(starts, bufferEnd);
+            int firstRunning = firstAtLeast(maxBufferEnds, start + 1);
+            return firstRunning < startingBefore ? byStart[firstRunning] : null;
+        }
+        
+        /**
+         * Get the schedules that end or start at least the buffer but less than the ideal gap
+         * away from the given one
+         */
+        List<ShowSchedule> findTightNeighbours(ScheduleTimeInfo schedule) {
+            int start = startOf(schedule.getStartTime());
+            int end = endOf(schedule.getStartTime(), schedule.getEndTime());
+            List<ShowSchedule> neighbours = new ArrayList<>();
+            for (int i = firstAtLeast(ends, start - IDEAL_GAP_SECONDS + 1);
+                 i < ends.length && ends[i] <= start - BUFFER_SECONDS; i++) {
+                neighbours.add(byEnd[i]);
+            }
+            for (int i = firstAtLeast(starts, end + BUFFER_SECONDS);
+                 i < starts.length && starts[i] < end + IDEAL_GAP_SECONDS; i++) {
+                neighbours.add(byStart[i]);
             }
+            return neighbours;
         }
         
-        return true;
+        private static int startOf(LocalTime startTime) {
+            return startTime.toSecondOfDay();
+        }
+        
+        private static int endOf(LocalTime startTime, LocalTime endTime) {
+            int end = endTime.toSecondOfDay();
+            return end < startTime.toSecondOfDay() ? end + 24 * 60 * 60 : end;
+        }
+        
+        // Index of the first value >= key in an ascending array, or its length if there is none
+        private static int firstAtLeast(int[] values, int key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,28 @@
 package com.showvault.service;
 
+import com.showvault.config.CacheConfig;
 import com.showvault.model.ShowSchedule;
 import com.showvault.model.Venue;
 import com.showvault.repository.SeatRepository;
 import com.showvault.repository.ShowScheduleRepository;
 import com.showvault.repository.VenueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 /**
  * Service responsible for maintaining consistency between seat counts across the system.
  * Acts as a single source of truth for seat availability calculations.
  */
 @Service
 public class SeatConsistencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatConsistencyService.class);
     
     @Autowired
     private SeatRepository seatRepository;
@@ -25,6 +33,12 @@ public class SeatConsistencyService {
     @Autowired
     private VenueRepository venueRepository;
     
+    @Autowired
+    private CapacityReconciliationService capacityReconciliationService;
+
+    @Autowired
+    private CacheManager cacheManager;
+    
     /**
      * Synchronizes seat-related counts for a specific show schedule.
      * This method ensures that show_schedule.total_seats and seats_available 
@@ -57,12 +71,9 @@ public class SeatConsistencyService {
         int reservedSeats = seatRepository.countReservedSeatsByScheduleId(scheduleId);
         
         // Log the current state
-        System.out.println("Synchronizing seats for schedule ID: " + scheduleId);
-        System.out.println("  - Venue physical capacity: " + actualSeatCount);
-        System.out.println("  - Current venue capacity setting: " + venue.getCapacity());
-        System.out.println("  - Current schedule total_seats: " + schedule.getTotalSeats());
-        System.out.println("  - Booked seats: " + bookedSeats);
-        System.out.println("  - Reserved seats: " + reservedSeats);
+        logger.debug("Synchronizing seats for schedule ID: {} (physical seats: {}, venue capacity: {}, "
+                + "total_seats: {}, booked: {}, reserved: {})", scheduleId, actualSeatCount, venue.getCapacity(),
+                schedule.getTotalSeats(), bookedSeats, reservedSeats);
         
         boolean venueUpdated = false;
         boolean scheduleUpdated = false;
@@ -71,17 +82,23 @@ public class SeatConsistencyService {
         // This prevents changing venue capacity when shows are already using it
         long existingScheduleCount = showScheduleRepository.countByVenueId(venue.getId());
         if (venue.getCapacity() != actualSeatCount.intValue() && existingScheduleCount <= 1) {
-            System.out.println("  - Updating venue capacity from " + venue.getCapacity() + " to " + actualSeatCount + " (no existing schedules)");
+            logger.debug("Updating venue capacity from {} to {} (no existing schedules)",
+                    venue.getCapacity(), actualSeatCount);
             venue.setCapacity(actualSeatCount.intValue());
             venueRepository.save(venue);
+            // Same caches VenueService evicts on venue writes; cleared once the transaction commits
+            cacheManager.getCache(CacheConfig.CITIES).clear();
+            cacheManager.getCache(CacheConfig.COUNTRIES).clear();
             venueUpdated = true;
         } else if (venue.getCapacity() != actualSeatCount.intValue()) {
-            System.out.println("  - WARNING: Venue capacity (" + venue.getCapacity() + ") doesn't match physical seats (" + actualSeatCount + ") but preserving due to existing schedules");
+            logger.debug("Venue capacity ({}) doesn't match physical seats ({}) but preserving due to existing schedules",
+                    venue.getCapacity(), actualSeatCount);
         }
         
         // 5. Validate schedule total_seats doesn't exceed venue's physical capacity
         if (schedule.getTotalSeats() > actualSeatCount.intValue()) {
-            System.out.println("  - WARNING: Schedule total_seats (" + schedule.getTotalSeats() + ") exceeds venue physical capacity (" + actualSeatCount + "), adjusting to venue capacity");
+            logger.warn("Schedule total_seats ({}) exceeds venue physical capacity ({}), adjusting to venue capacity",
+                    schedule.getTotalSeats(), actualSeatCount);
             schedule.setTotalSeats(actualSeatCount.intValue());
             scheduleUpdated = true;
         }
@@ -91,7 +108,7 @@ public class SeatConsistencyService {
         
         // 7. Update available seats if needed
         if (schedule.getSeatsAvailable() != availableSeats) {
-            System.out.println("  - Updating seats_available from " + schedule.getSeatsAvailable() + " to " + availableSeats);
+            logger.debug("Updating seats_available from {} to {}", schedule.getSeatsAvailable(), availableSeats);
             schedule.setSeatsAvailable(availableSeats);
             scheduleUpdated = true;
         }
@@ -99,14 +116,14 @@ public class SeatConsistencyService {
         // 8. Save the updated schedule if changes were made
         if (scheduleUpdated) {
             schedule = showScheduleRepository.save(schedule);
-            System.out.println("  - Saved updated schedule");
+            logger.debug("Saved updated schedule");
         }
         
         // Log the results
         if (venueUpdated || scheduleUpdated) {
-            System.out.println("Seat counts synchronized successfully for schedule ID: " + scheduleId);
+            logger.debug("Seat counts synchronized successfully for schedule ID: {}", scheduleId);
         } else {
-            System.out.println("Seat counts were already consistent for schedule ID: " + scheduleId);
+            logger.debug("Seat counts were already consistent for schedule ID: {}", scheduleId);
         }
         
         return schedule;
@@ -115,36 +132,24 @@ public class SeatConsistencyService {
     /**
      * Synchronizes all seat-related counts for all show schedules of a venue.
      * This is useful when venue capacity changes or seats are added/removed.
+     * Runs set-based through CapacityReconciliationService rather than schedule by schedule.
      *
      * @param venueId The ID of the venue to synchronize
      */
-    @Transactional
     public void synchronizeSeatsForVenue(Long venueId) {
-        // Get all schedules for this venue
-        Iterable<ShowSchedule> schedules = showScheduleRepository.findByVenueId(venueId);
-        
-        // Synchronize each schedule
-        for (ShowSchedule schedule : schedules) {
-            synchronizeSeatsForSchedule(schedule.getId());
-        }
+        Map<String, Object> result = capacityReconciliationService.reconcileVenue(venueId);
         
-        System.out.println("Completed synchronization for all schedules of venue ID: " + venueId);
+        logger.debug("Completed synchronization for all schedules of venue ID: {} {}", venueId, result);
     }
     
     /**
      * Synchronizes all seat-related counts for all venues and schedules.
      * This is a system-wide synchronization that ensures complete consistency.
+     * Venues are reconciled in parallel by CapacityReconciliationService.
      */
-    @Transactional
     public void synchronizeAllSeats() {
-        // Get all venues
-        Iterable<Venue> venues = venueRepository.findAll();
-        
-        // Synchronize each venue
-        for (Venue venue : venues) {
-            synchronizeSeatsForVenue(venue.getId());
-        }
+        capacityReconciliationService.reconcileAll();
         
-        System.out.println("Completed system-wide seat count synchronization");
+        logger.info("Completed system-wide seat count synchronization");
     }
 }
\ No newline at end of file
@@ -0,0 +1,296 @@
+package com.showvault.service;
+
+import com.showvault.dto.SeatLayoutTemplateDTO;
+import com.showvault.dto.SeatLayoutTemplateDTO.RowDTO;
+import com.showvault.dto.SeatLayoutTemplateDTO.SectionDTO;
+import com.showvault.model.Seat;
+import com.showvault.model.Venue;
+import com.showvault.repository.SeatRepository;
+import com.showvault.repository.VenueRepository;
+import com.showvault.util.AfterCommit;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk creation of venue seats from layout templates.
+ *
+ * Seats are written with batched JDBC INSERTs instead of one Hibernate save per seat: with
+ * IDENTITY ids Hibernate has to run every insert on its own to read the id back, while a JDBC
+ * batch needs no ids up front. On MySQL the batch goes out as multi-row INSERTs
+ * (rewriteBatchedStatements=true on the datasource URL), and the auto-increment ids of each
+ * statement are allocated in one step. Cached seat queries are evicted by hand, since
+ * Hibernate does not see these writes.
+ */
+@Service
+public class SeatLayoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatLayoutService.class);
+
+    private static final String INSERT_SEAT =
+            "INSERT INTO seat (venue_id, row_name, seat_number, category, price_multiplier, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_ROW_NAME_LENGTH = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final VenueRepository venueRepository;
+    private final SeatRepository seatRepository;
+    private final PricingService pricingService;
+    private final int batchSize;
+    private final int maxSeats;
+
+    @Autowired
+    public SeatLayoutService(JdbcTemplate jdbcTemplate,
+                             EntityManagerFactory entityManagerFactory,
+                             VenueRepository venueRepository,
+                             SeatRepository seatRepository,
+                             PricingService pricingService,
+                             @Value("${showvault.seat-layout.batch-size:1000}") int batchSize,
+                             @Value("${showvault.seat-layout.max-seats:100000}") int maxSeats) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.venueRepository = venueRepository;
+        this.seatRepository = seatRepository;
+        this.pricingService = pricingService;
+        this.batchSize = batchSize;
+        this.maxSeats = maxSeats;
+    }
+
+    /**
+     * Create the seats of a venue from a layout template and set the venue capacity to match
+     * @param venueId The venue ID
+     * @param template The layout
+     * @return Number of seats created
+     * @throws IllegalArgumentException if the template is invalid
+     * @throws RuntimeException if the venue does not exist or already has seats
+     */
+    @Transactional
+    public int importLayout(Long venueId, SeatLayoutTemplateDTO template) {
+        Venue venue = venueRepository.findById(venueId)
+            .orElseThrow(() -> new RuntimeException("Venue not found with ID: " + venueId));
+
+        Long existingSeatCount = seatRepository.countSeatsByVenueId(venueId);
+        if (existingSeatCount > 0) {
+            throw new RuntimeException("Venue already has " + existingSeatCount + " seats configured");
+        }
+
+        List<Seat> seats = expand(template);
+        insertSeats(venueId, seats);
+        venue.setCapacity(seats.size());
+        pricingService.invalidateVenue(venueId);
+
+        logger.info("Imported layout of {} seats for venue {}", seats.size(), venueId);
+        return seats.size();
+    }
+
+    /**
+     * Insert new seats of a venue with batched JDBC statements.
+     * Runs in the caller's transaction; the seats' venue and id are ignored.
+     * @param venueId The venue ID
+     * @param seats Seats with row name, seat number, category and price multiplier set
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insertSeats(Long venueId, List<Seat> seats) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SEAT, seats, batchSize, (ps, seat) -> {
+            ps.setLong(1, venueId);
+            ps.setString(2, seat.getRowName());
+            ps.setInt(3, seat.getSeatNumber());
+            ps.setString(4, seat.getCategory().name());
+            ps.setBigDecimal(5, seat.getPriceMultiplier() != null ? seat.getPriceMultiplier() : BigDecimal.ONE);
+            ps.setTimestamp(6, now);
+        });
+        evictSeatQueries();
+    }
+
+    /**
+     * Parse a CSV layout: a header line, then section,row,seats,first_seat,category,price_multiplier
+     * per line. first_seat, category and price_multiplier may be empty; blank lines and lines
+     * starting with # are skipped.
+     * @param csv The CSV text
+     * @return The layout
+     * @throws IllegalArgumentException if a line cannot be parsed
+     */
+    public SeatLayoutTemplateDTO parseCsv(String csv) {
+        SeatLayoutTemplateDTO template = new SeatLayoutTemplateDTO();
+        SectionDTO section = null;
+        String[] lines = csv.split("\r?\n");
+        boolean header = true;
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (header) {
+                header = false;
+                if (line.toLowerCase().startsWith("section,")) {
+                    continue;
+                }
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length < 3) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected section,row,seats[,first_seat,category,price_multiplier]");
+            }
+            try {
+                String sectionName = fields[0].trim();
+                if (section == null || !section.getName().equals(sectionName)) {
+                    section = new SectionDTO();
+                    section.setName(sectionName);
+                    template.getSections().add(section);
+                }
+                RowDTO row = new RowDTO();
+                row.setRow(fields[1].trim());
+                row.setSeats(Integer.parseInt(fields[2].trim()));
+                if (fields.length > 3 && !fields[3].isBlank()) {
+                    row.setFirstSeat(Integer.parseInt(fields[3].trim()));
+                }
+                if (fields.length > 4 && !fields[4].isBlank()) {
+                    row.setCategory(Seat.SeatCategory.valueOf(fields[4].trim().toUpperCase()));
+                }
+                if (fields.length > 5 && !fields[5].isBlank()) {
+                    row.setPriceMultiplier(new BigDecimal(fields[5].trim()));
+                }
+                section.getRows().add(row);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Turn a layout into the seats to create, in template order
+     * @throws IllegalArgumentException if the layout is empty, repeats a row or is too large
+     */
+    List<Seat> expand(SeatLayoutTemplateDTO template) {
+        List<Seat> seats = new ArrayList<>();
+        Set<String> rowNames = new HashSet<>();
+        for (SectionDTO section : template.getSections()) {
+            for (RowDTO row : section.getRows()) {
+                if (row.getRow() == null || row.getRow().isBlank()) {
+                    throw new IllegalArgumentException("Section '" + section.getName() + "' has a row without a name");
+                }
+                if (row.getSeats() == null || row.getSeats() <= 0) {
+                    throw new IllegalArgumentException("Row " + row.getRow() + " must have at least one seat");
+                }
+                int firstSeat = row.getFirstSeat() != null ? row.getFirstSeat() : 1;
+                Seat.SeatCategory category = row.getCategory() != null ? row.getCategory()
+                        : section.getCategory() != null ? section.getCategory() : Seat.SeatCategory.STANDARD;
+                BigDecimal priceMultiplier = row.getPriceMultiplier() != null ? row.getPriceMultiplier()
+                        : section.getPriceMultiplier() != null ? section.getPriceMultiplier() : BigDecimal.ONE;
+
+                for (String rowName : rowNames(row.getRow().trim(), maxSeats / row.getSeats())) {
+                    if (!rowNames.add(rowName)) {
+                        throw new IllegalArgumentException("Row " + rowName + " appears more than once");
+                    }
+                    if (seats.size() + row.getSeats() > maxSeats) {
+                        throw new IllegalArgumentException("Layout has more than " + maxSeats + " seats");
+                    }
+                    for (int number = firstSeat; number < firstSeat + row.getSeats(); number++) {
+                        Seat seat = new Seat();
+                        seat.setRowName(rowName);
+                        seat.setSeatNumber(number);
+                        seat.setCategory(category);
+                        seat.setPriceMultiplier(priceMultiplier);
+                        seats.add(seat);
+                    }
+                }
+            }
+        }
+        if (seats.isEmpty()) {
+            throw new IllegalArgumentException("Layout has no seats");
+        }
+        return seats;
+    }
+
+    /**
+     * Expand a row name or range: "C", "A-Z", "AA-AD" (letters count like spreadsheet columns) or "1-40"
+     * @param maxRows Largest range accepted, checked before the names are generated
+     */
+    private List<String> rowNames(String spec, int maxRows) {
+        int dash = spec.indexOf('-');
+        if (dash <= 0 || dash == spec.length() - 1) {
+            return List.of(checkLength(spec));
+        }
+        String from = spec.substring(0, dash).trim().toUpperCase();
+        String to = spec.substring(dash + 1).trim().toUpperCase();
+        boolean numeric = from.chars().allMatch(Character::isDigit) && to.chars().allMatch(Character::isDigit);
+        boolean letters = from.chars().allMatch(c -> c >= 'A' && c <= 'Z') && to.chars().allMatch(c -> c >= 'A' && c <= 'Z');
+        if (!numeric && !letters) {
+            throw new IllegalArgumentException("Invalid row range " + spec);
+        }
+        checkLength(from);
+        checkLength(to);
+        long start = numeric ? Long.parseLong(from) : letterValue(from);
+        long end = numeric ? Long.parseLong(to) : letterValue(to);
+        if (end < start) {
+            throw new IllegalArgumentException("Invalid row range " + spec);
+        }
+        if (end - start + 1 > maxRows) {
+            throw new IllegalArgumentException("Layout has more than " + maxSeats + " seats");
+        }
+        List<String> names = new ArrayList<>();
+        for (long value = start; value <= end; value++) {
+            names.add(checkLength(numeric ? Long.toString(value) : letterName(value)));
+        }
+        return names;
+    }
+
+    private static long letterValue(String name) {
+        long value = 0;
+        for (int i = 0; i < name.length(); i++) {
+            value = value * 26 + (name.charAt(i) - 'A' + 1);
+        }
+        return value;
+    }
+
+    private static String letterName(long value) {
+        StringBuilder name = new StringBuilder();
+        while (value > 0) {
+            value--;
+            name.insert(0, (char) ('A' + value % 26));
+            value /= 26;
+        }
+        return name.toString();
+    }
+
+    private static String checkLength(String rowName) {
+        if (rowName.length() > MAX_ROW_NAME_LENGTH) {
+            throw new IllegalArgumentException("Row name " + rowName + " is longer than " + MAX_ROW_NAME_LENGTH + " characters");
+        }
+        return rowName;
+    }
+
+    /**
+     * Seat counts and seat lists are read through cached queries, which are only invalidated
+     * by writes Hibernate makes itself. Evict them now, for the rest of this transaction, and
+     * again after commit, in case another transaction cached the old results in between.
+     * Outside a transaction they are simply evicted twice.
+     */
+    private void evictSeatQueries() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictQueryRegions();
+        AfterCommit.run(cache::evictQueryRegions);
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -29,6 +30,12 @@ public class SeatManagementService {
     @Autowired
     private ShowScheduleRepository showScheduleRepository;
     
+    @Autowired
+    private PricingService pricingService;
+    
+    @Autowired
+    private SeatLayoutService seatLayoutService;
+    
     /**
      * Validates if a show schedule can use the specified number of seats for a venue.
      * 
@@ -92,6 +99,7 @@ public class SeatManagementService {
         }
         
         int totalSeatsGenerated = 0;
+        List<Seat> seats = new ArrayList<>(capacity);
         
         // Generate seats
         for (int rowIndex = 0; rowIndex < rowsNeeded && totalSeatsGenerated < capacity; rowIndex++) {
@@ -99,7 +107,6 @@ public class SeatManagementService {
             
             for (int seatNumber = 1; seatNumber <= seatsPerRow && totalSeatsGenerated < capacity; seatNumber++) {
                 Seat seat = new Seat();
-                seat.setVenue(venue);
                 seat.setRowName(rowName);
                 seat.setSeatNumber(seatNumber);
                 
@@ -118,11 +125,15 @@ public class SeatManagementService {
                     seat.setPriceMultiplier(new BigDecimal("1.00"));
                 }
                 
-                seatRepository.save(seat);
+                seats.add(seat);
                 totalSeatsGenerated++;
             }
         }
         
+        // One batched insert instead of a save per seat
+        seatLayoutService.insertSeats(venueId, seats);
+        
+        pricingService.invalidateVenue(venueId);
         System.out.println("Generated " + totalSeatsGenerated + " seats for venue: " + venue.getName());
         return totalSeatsGenerated;
     }
@@ -10,6 +10,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,16 +23,21 @@ import com.showvault.model.Seat;
 import com.showvault.model.ShowSchedule;
 import com.showvault.service.SeatConsistencyService;
 import com.showvault.service.VenueService;
+import com.showvault.util.PrecompressedJson;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.Date;
 
 @Service
 public class SeatMapService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapService.class);
+
     @Autowired
     private SeatService seatService;
     
@@ -46,10 +53,18 @@ public class SeatMapService {
     @Autowired
     private SeatConsistencyService seatConsistencyService;
     
+    @Autowired
+    private PricingService pricingService;
+    
+    @Autowired
+    private PrecompressedJson precompressedJson;
+    
     // In-memory cache for seat maps with expiration
     private static class CacheEntry {
         final SeatMapDTO seatMap;
         final long expirationTime;
+        // Compressed JSON of the seat map, built on the first request that accepts gzip
+        volatile byte[] gzippedJson;
         
         CacheEntry(SeatMapDTO seatMap, long expirationTimeMillis) {
             this.seatMap = seatMap;
@@ -67,6 +82,11 @@ public class SeatMapService {
     // Cache expiration time (5 minutes)
     private static final long CACHE_EXPIRATION_MS = TimeUnit.MINUTES.toMillis(5);
     
+    // Every cached map gets a new version: a prefix random per node, so versions from
+    // different nodes never collide, and a sequence
+    private final String versionPrefix = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong versionSequence = new AtomicLong();
+    
     /**
      * Generates a seat map for a specific show schedule
      * Uses caching to improve performance for large venues
@@ -82,11 +102,11 @@ public class SeatMapService {
         // Check if we have a valid cached version
         CacheEntry cachedEntry = seatMapCache.get(cacheKey);
         if (cachedEntry != null && !cachedEntry.isExpired()) {
-            System.out.println("Using cached seat map for show " + showId + ", schedule " + scheduleId);
+            logger.debug("Using cached seat map for show {}, schedule {}", showId, scheduleId);
             return cachedEntry.seatMap;
         }
         
-        System.out.println("Generating new seat map for show " + showId + ", schedule " + scheduleId);
+        logger.debug("Generating new seat map for show {}, schedule {}", showId, scheduleId);
         
         try {
             // Get the show schedule
@@ -100,17 +120,17 @@ public class SeatMapService {
             List<Seat> allSeats = seatService.getSeatsByVenueId(venueId);
             
             // Log the number of seats found for debugging
-            System.out.println("Total seats found for venue " + venueId + ": " + allSeats.size());
+            logger.debug("Total seats found for venue {}: {}", venueId, allSeats.size());
             
             // Verify that we have the correct number of seats
             Long totalSeatCount = seatService.countSeatsByVenueId(venueId);
-            System.out.println("Total seat count from database for venue " + venueId + ": " + totalSeatCount);
+            logger.debug("Total seat count from database for venue {}: {}", venueId, totalSeatCount);
             
             // If there are no seats for this venue, return an empty seat map with error information
             if (allSeats.isEmpty() || totalSeatCount == 0) {
-                System.out.println("No seats found for venue " + venueId + ". Returning empty seat map with error information.");
+                logger.warn("No seats found for venue {}. Returning empty seat map with error information.", venueId);
                 SeatMapDTO errorSeatMap = SeatMapDTO.createErrorSeatMap(
-                    "No seats found for venue " + venueId + ". Please configure seats for this venue.", 
+                    "No seats found for venue " + venueId + ". Please configure seats for this venue.",
                     showId, 
                     scheduleId);
                 
@@ -124,25 +144,29 @@ public class SeatMapService {
             
             // If there's a discrepancy, log a warning
             if (allSeats.size() != totalSeatCount) {
-                System.out.println("WARNING: Discrepancy in seat count. Database reports " + totalSeatCount + 
-                                  " seats but only " + allSeats.size() + " were retrieved.");
+                logger.warn("Discrepancy in seat count. Database reports {} seats but only {} were retrieved.",
+                        totalSeatCount, allSeats.size());
                 
                 // Force a refresh of the seat list to ensure we have all seats
                 allSeats = seatService.getSeatsByVenueId(venueId);
-                System.out.println("After refresh: Total seats found for venue " + venueId + ": " + allSeats.size());
+                logger.debug("After refresh: Total seats found for venue {}: {}", venueId, allSeats.size());
             }
             
             // Get available seats for the show schedule
             List<Seat> availableSeats = seatService.getAvailableSeatsByVenueAndShowSchedule(venueId, scheduleId);
             
             // Log the number of available seats found for debugging
-            System.out.println("Available seats found for venue " + venueId + " and schedule " + scheduleId + ": " + availableSeats.size());
+            logger.debug("Available seats found for venue {} and schedule {}: {}",
+                    venueId, scheduleId, availableSeats.size());
             
             // Create a set of available seat IDs for quick lookup
             final List<Long> availableSeatIds = availableSeats.stream()
                     .map(Seat::getId)
                     .collect(Collectors.toList());
             
+            // Seat prices come from the schedule's compiled price table
+            PriceTable priceTable = pricingService.getPriceTable(scheduleId);
+            
             // Calculate which seats should be marked as reserved due to capacity limitations
             Set<Long> capacityReservedSeatIds = calculateCapacityReservedSeats(allSeats, schedule.getTotalSeats());
             
@@ -208,10 +232,12 @@ public class SeatMapService {
                     // Set seat category
                     seatDTO.setCategory(seat.getCategory().name());
                     
-                    // Calculate seat price
-                    BigDecimal basePrice = schedule.getBasePrice();
-                    BigDecimal priceMultiplier = seat.getPriceMultiplier();
-                    BigDecimal seatPrice = basePrice.multiply(priceMultiplier);
+                    // Look up the precomputed seat price; seats added after the table was built fall back to the entity
+                    BigDecimal seatPrice = priceTable.getSeatPrice(seat.getId());
+                    if (seatPrice == null) {
+                        seatPrice = schedule.getBasePrice().multiply(seat.getPriceMultiplier());
+                        pricingService.invalidateSchedule(scheduleId);
+                    }
                     seatDTO.setPrice(seatPrice);
                     
                     rowDTO.getSeats().add(seatDTO);
@@ -235,7 +261,7 @@ public class SeatMapService {
             seatMap.getMetadata().put("capacityReservedSeats", capacityReservedSeatIds.size());
             seatMap.getMetadata().put("hasCapacityLimitation", !capacityReservedSeatIds.isEmpty());
             if (!capacityReservedSeatIds.isEmpty()) {
-                seatMap.getMetadata().put("capacityReservationReason", 
+                seatMap.getMetadata().put("capacityReservationReason",
                     "Show capacity (" + schedule.getTotalSeats() + ") is less than venue capacity (" + 
                     schedule.getVenue().getCapacity() + "). " + capacityReservedSeatIds.size() + 
                     " seats reserved using 80% standard, 10% VIP, 10% premium distribution.");
@@ -251,7 +277,7 @@ public class SeatMapService {
             for (Seat.SeatCategory category : Seat.SeatCategory.values()) {
                 Map<String, Object> info = new HashMap<>();
                 info.put("color", getCategoryColor(category));
-                info.put("priceMultiplier", getCategoryPriceMultiplier(category));
+                info.put("priceMultiplier", priceTable.getCategoryMultiplier(category));
                 info.put("displayName", getCategoryDisplayName(category));
                 categoryInfo.put(category.name(), info);
             }
@@ -261,14 +287,15 @@ public class SeatMapService {
             seatConsistencyService.synchronizeSeatsForSchedule(schedule.getId());
             
             // Log the seat map metadata for debugging
-            System.out.println("Generated seat map with " + totalSeats + " total seats across " + 
-                               sortedRows.size() + " rows. Max seats per row: " + maxSeatsPerRow);
-            System.out.println("Row lengths: " + rowLengths);
+            logger.debug("Generated seat map with {} total seats across {} rows. Max seats per row: {}",
+                    totalSeats, sortedRows.size(), maxSeatsPerRow);
+            logger.debug("Row lengths: {}", rowLengths);
             
             // Cache the result for future requests
+            seatMap.setVersion(versionPrefix + "-" + versionSequence.incrementAndGet());
             seatMapCache.put(cacheKey, new CacheEntry(seatMap, CACHE_EXPIRATION_MS));
-            System.out.println("Cached seat map for show " + showId + ", schedule " + scheduleId + 
-                              " (expires in " + TimeUnit.MILLISECONDS.toMinutes(CACHE_EXPIRATION_MS) + " minutes)");
+            logger.debug("Cached seat map for show {}, schedule {} (expires in {} minutes)",
+                    showId, scheduleId, TimeUnit.MILLISECONDS.toMinutes(CACHE_EXPIRATION_MS));
             
             return seatMap;
         } finally {
@@ -277,6 +304,31 @@ public class SeatMapService {
         }
     }
     
+    /**
+     * Get a seat map returned by generateSeatMap as gzip-compressed JSON.
+     * The map is compressed once per cached version and the bytes are dropped with the cache entry.
+     * 
+     * @param showId The ID of the show
+     * @param scheduleId The ID of the show schedule
+     * @param seatMap The seat map returned by generateSeatMap
+     * @return The compressed JSON, or null if the map is not the one currently cached (error maps,
+     *         or a map replaced in the meantime), in which case the caller should send it as is
+     */
+    public byte[] getGzippedSeatMapJson(Long showId, Long scheduleId, SeatMapDTO seatMap) {
+        CacheEntry entry = seatMapCache.get(showId + ":" + scheduleId);
+        if (entry == null || entry.seatMap != seatMap) {
+            return null;
+        }
+        byte[] gzipped = entry.gzippedJson;
+        if (gzipped == null) {
+            // Concurrent first requests may both compress; either result is the same bytes
+            gzipped = precompressedJson.gzip(seatMap);
+            entry.gzippedJson = gzipped;
+            logger.debug("Compressed seat map for schedule {} to {} bytes", scheduleId, gzipped.length);
+        }
+        return gzipped;
+    }
+    
     /**
      * Helper method to get a numeric value for sorting row names
      * Handles both single letter (A, B, C) and multi-letter row names (AA, AB, etc.)
@@ -301,8 +353,8 @@ public class SeatMapService {
         }
         
         int seatsToReserve = allSeats.size() - scheduleTotalSeats;
-        System.out.println("Need to reserve " + seatsToReserve + " seats out of " + allSeats.size() + 
-                          " total seats (schedule allows " + scheduleTotalSeats + " seats)");
+        logger.debug("Need to reserve {} seats out of {} total seats (schedule allows {} seats)",
+                seatsToReserve, allSeats.size(), scheduleTotalSeats);
         
         // Group seats by category
         Map<Seat.SeatCategory, List<Seat>> seatsByCategory = allSeats.stream()
@@ -313,10 +365,8 @@ public class SeatMapService {
         int vipToReserve = (int) Math.ceil(seatsToReserve * 0.1);
         int premiumToReserve = seatsToReserve - standardToReserve - vipToReserve;
         
-        System.out.println("Capacity reservation distribution: " + 
-                          standardToReserve + " standard, " + 
-                          vipToReserve + " VIP, " + 
-                          premiumToReserve + " premium");
+        logger.debug("Capacity reservation distribution: {} standard, {} VIP, {} premium",
+                standardToReserve, vipToReserve, premiumToReserve);
         
         // Reserve seats from each category (starting from back rows)
         reserveSeatsFromCategory(seatsByCategory.get(Seat.SeatCategory.STANDARD), 
@@ -326,7 +376,7 @@ public class SeatMapService {
         reserveSeatsFromCategory(seatsByCategory.get(Seat.SeatCategory.PREMIUM), 
                                premiumToReserve, reservedSeatIds, "PREMIUM");
         
-        System.out.println("Total seats marked as capacity-reserved: " + reservedSeatIds.size());
+        logger.debug("Total seats marked as capacity-reserved: {}", reservedSeatIds.size());
         return reservedSeatIds;
     }
     
@@ -336,12 +386,12 @@ public class SeatMapService {
     private void reserveSeatsFromCategory(List<Seat> categorySeats, int countToReserve, 
                                         Set<Long> reservedSeatIds, String categoryName) {
         if (categorySeats == null || categorySeats.isEmpty()) {
-            System.out.println("No " + categoryName + " seats available to reserve");
+            logger.debug("No {} seats available to reserve", categoryName);
             return;
         }
         
         if (countToReserve <= 0) {
-            System.out.println("No " + categoryName + " seats need to be reserved");
+            logger.debug("No {} seats need to be reserved", categoryName);
             return;
         }
         
@@ -363,8 +413,8 @@ public class SeatMapService {
             actualReserved++;
         }
         
-        System.out.println("Reserved " + actualReserved + " " + categoryName + " seats out of " + 
-                          countToReserve + " requested (" + categorySeats.size() + " available)");
+        logger.debug("Reserved {} {} seats out of {} requested ({} available)",
+                actualReserved, categoryName, countToReserve, categorySeats.size());
     }
     
     /**
@@ -374,7 +424,7 @@ public class SeatMapService {
     public void clearSeatMapCache(Long showId, Long scheduleId) {
         String cacheKey = showId + ":" + scheduleId;
         seatMapCache.remove(cacheKey);
-        System.out.println("Cleared seat map cache for show " + showId + ", schedule " + scheduleId);
+        logger.debug("Cleared seat map cache for show {}, schedule {}", showId, scheduleId);
     }
     
     /**
@@ -384,7 +434,7 @@ public class SeatMapService {
     public void clearAllSeatMapCache() {
         int cacheSize = seatMapCache.size();
         seatMapCache.clear();
-        System.out.println("Cleared all seat map cache entries (" + cacheSize + " entries removed)");
+        logger.debug("Cleared all seat map cache entries ({} entries removed)", cacheSize);
     }
     
     /**
@@ -444,21 +494,6 @@ public class SeatMapService {
         }
     }
     
-    /**
-     * Get the price multiplier for a seat category
-     */
-    private BigDecimal getCategoryPriceMultiplier(Seat.SeatCategory category) {
-        switch (category) {
-            case PREMIUM:
-                return new BigDecimal("1.5");
-            case VIP:
-                return new BigDecimal("2.0");
-            case STANDARD:
-            default:
-                return BigDecimal.ONE;
-        }
-    }
-    
     /**
      * Get the display name for a seat category
      */
@@ -484,7 +519,7 @@ public class SeatMapService {
     public void invalidateSeatMapCache(Long showId, Long scheduleId) {
         String cacheKey = showId + ":" + scheduleId;
         seatMapCache.remove(cacheKey);
-        System.out.println("Invalidated seat map cache for show " + showId + ", schedule " + scheduleId);
+        logger.debug("Invalidated seat map cache for show {}, schedule {}", showId, scheduleId);
     }
     
     /**
@@ -494,7 +529,7 @@ public class SeatMapService {
     public void clearAllSeatMapCaches() {
         int cacheSize = seatMapCache.size();
         seatMapCache.clear();
-        System.out.println("Cleared all " + cacheSize + " seat map caches");
+        logger.debug("Cleared all {} seat map caches", cacheSize);
     }
     
     /**
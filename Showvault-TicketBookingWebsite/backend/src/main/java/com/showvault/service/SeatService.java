@@ -3,20 +3,41 @@ package com.showvault.service;
 import com.showvault.model.Seat;
 import com.showvault.model.Venue;
 import com.showvault.repository.SeatRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class SeatService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SeatService.class);
+
     private final SeatRepository seatRepository;
 
+    @Autowired
+    private PricingService pricingService;
+    
+    @Autowired
+    private SeatLayoutService seatLayoutService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public SeatService(SeatRepository seatRepository) {
         this.seatRepository = seatRepository;
@@ -33,16 +54,16 @@ public class SeatService {
     public List<Seat> getSeatsByVenueId(Long venueId) {
         // Get the total count of seats for this venue
         Long totalSeats = countSeatsByVenueId(venueId);
-        System.out.println("Total seats for venue " + venueId + ": " + totalSeats);
+        logger.debug("Total seats for venue {}: {}", venueId, totalSeats);
         
         // If there are no seats, return an empty list
         if (totalSeats == 0) {
-            System.out.println("No seats found for venue " + venueId);
+            logger.debug("No seats found for venue {}", venueId);
             return new ArrayList<>();
         }
         
         // Always use pagination for consistency, regardless of venue size
-        System.out.println("Using pagination to retrieve all seats for venue " + venueId);
+        logger.debug("Using pagination to retrieve all seats for venue {}", venueId);
         List<Seat> allSeats = new ArrayList<>();
         
         // Use a smaller page size for better memory management
@@ -54,35 +75,35 @@ public class SeatService {
                 org.springframework.data.domain.PageRequest.of(page, pageSize);
             List<Seat> pageSeats = seatRepository.findAllByVenueIdWithPagination(venueId, pageable);
             allSeats.addAll(pageSeats);
-            System.out.println("Retrieved page " + (page + 1) + " of " + totalPages + 
-                              " with " + pageSeats.size() + " seats. Total so far: " + allSeats.size());
+            logger.debug("Retrieved page {} of {} with {} seats. Total so far: {}",
+                    (page + 1), totalPages, pageSeats.size(), allSeats.size());
             
             // Verify we're getting the expected number of seats per page
             if (page < totalPages - 1 && pageSeats.size() < pageSize) {
-                System.out.println("WARNING: Retrieved fewer seats than expected on page " + (page + 1) + 
-                                  ". Expected " + pageSize + " but got " + pageSeats.size());
+                logger.warn("Retrieved fewer seats than expected on page {}. Expected {} but got {}",
+                        (page + 1), pageSize, pageSeats.size());
             }
         }
         
         // Verify the total count matches what we expected
         if (allSeats.size() != totalSeats) {
-            System.out.println("WARNING: Retrieved " + allSeats.size() + " seats, but expected " + 
-                              totalSeats + " based on count query. Difference: " + (totalSeats - allSeats.size()));
+            logger.warn("Retrieved {} seats, but expected {} based on count query. Difference: {}",
+                    allSeats.size(), totalSeats, (totalSeats - allSeats.size()));
             
             // If we have a significant discrepancy, try one more time with a direct query
             if (allSeats.size() < totalSeats * 0.9) { // If we have less than 90% of expected seats
-                System.out.println("Significant seat count mismatch detected. Trying direct query...");
+                logger.debug("Significant seat count mismatch detected. Trying direct query...");
                 List<Seat> directSeats = seatRepository.findByVenueId(venueId);
                 
                 if (directSeats.size() > allSeats.size()) {
-                    System.out.println("Direct query returned more seats (" + directSeats.size() + 
-                                      "). Using this result instead.");
+                    logger.debug("Direct query returned more seats ({}). Using this result instead.",
+                            directSeats.size());
                     return directSeats;
                 }
             }
         }
         
-        System.out.println("Retrieved all " + allSeats.size() + " seats for venue " + venueId + " using pagination");
+        logger.debug("Retrieved all {} seats for venue {} using pagination", allSeats.size(), venueId);
         return allSeats;
     }
 
@@ -101,37 +122,36 @@ public class SeatService {
     public List<Seat> getAvailableSeatsByVenueAndShowSchedule(Long venueId, Long showScheduleId) {
         // First, get the total count of seats for this venue
         Long totalSeats = countSeatsByVenueId(venueId);
-        System.out.println("Total seats for venue " + venueId + ": " + totalSeats);
+        logger.debug("Total seats for venue {}: {}", venueId, totalSeats);
         
         // Get the venue capacity for comparison
         Integer venueCapacity = seatRepository.findVenueCapacity(venueId).orElse(0);
-        System.out.println("Venue " + venueId + " has a capacity of " + venueCapacity + " seats");
+        logger.debug("Venue {} has a capacity of {} seats", venueId, venueCapacity);
         
         // Check for inconsistency between total seats and venue capacity
         if (totalSeats.intValue() != venueCapacity) {
-            System.out.println("WARNING: Inconsistency detected between total seats (" + totalSeats + 
-                              ") and venue capacity (" + venueCapacity + ")");
+            logger.warn("Inconsistency detected between total seats ({}) and venue capacity ({})",
+                    totalSeats, venueCapacity);
         }
         
         // Get available seats using the repository method
         List<Seat> availableSeats = seatRepository.findAvailableSeatsByVenueAndShowSchedule(venueId, showScheduleId);
-        System.out.println("Found " + availableSeats.size() + " available seats out of " + 
-                          totalSeats + " total seats for venue " + venueId);
+        logger.debug("Found {} available seats out of {} total seats for venue {}",
+                availableSeats.size(), totalSeats, venueId);
         
         // Count booked seats for this schedule
         int bookedSeats = countBookedSeats(showScheduleId);
-        System.out.println("Found " + bookedSeats + " booked seats for schedule " + showScheduleId);
+        logger.debug("Found {} booked seats for schedule {}", bookedSeats, showScheduleId);
         
         // Count reserved seats for this schedule
         int reservedSeats = countReservedSeats(showScheduleId);
-        System.out.println("Found " + reservedSeats + " reserved seats for schedule " + showScheduleId);
+        logger.debug("Found {} reserved seats for schedule {}", reservedSeats, showScheduleId);
         
         // Verify the numbers add up
         int expectedAvailable = totalSeats.intValue() - bookedSeats - reservedSeats;
         if (availableSeats.size() != expectedAvailable) {
-            System.out.println("WARNING: Available seats count mismatch. Found " + availableSeats.size() + 
-                              " but expected " + expectedAvailable + " (total " + totalSeats + 
-                              " - booked " + bookedSeats + " - reserved " + reservedSeats + ")");
+            logger.warn("Available seats count mismatch. Found {} but expected {} (total {} - booked {} - reserved {})",
+                    availableSeats.size(), expectedAvailable, totalSeats, bookedSeats, reservedSeats);
         }
         
         return availableSeats;
@@ -144,7 +164,7 @@ public class SeatService {
         try {
             return seatRepository.countBookedSeatsByScheduleId(scheduleId);
         } catch (Exception e) {
-            System.err.println("Error counting booked seats: " + e.getMessage());
+            logger.error("Error counting booked seats: {}", e.getMessage());
             return 0;
         }
     }
@@ -156,7 +176,7 @@ public class SeatService {
         try {
             return seatRepository.countReservedSeatsByScheduleId(scheduleId);
         } catch (Exception e) {
-            System.err.println("Error counting reserved seats: " + e.getMessage());
+            logger.error("Error counting reserved seats: {}", e.getMessage());
             return 0;
         }
     }
@@ -167,37 +187,45 @@ public class SeatService {
 
     @Transactional
     public Seat createSeat(Seat seat) {
-        return seatRepository.save(seat);
+        Seat savedSeat = seatRepository.save(seat);
+        invalidatePrices(savedSeat);
+        return savedSeat;
     }
 
     @Transactional
     public List<Seat> createSeatsForVenue(Venue venue, String rowName, int startSeatNumber, int endSeatNumber, 
                                          Seat.SeatCategory category, BigDecimal priceMultiplier) {
         List<Seat> seats = seatRepository.findByVenueIdAndRowName(venue.getId(), rowName);
+        Set<Integer> existingNumbers = seats.stream()
+                .map(Seat::getSeatNumber)
+                .collect(Collectors.toSet());
         
+        List<Seat> newSeats = new ArrayList<>();
         for (int seatNumber = startSeatNumber; seatNumber <= endSeatNumber; seatNumber++) {
-            final int currentSeatNumber = seatNumber;
-            boolean seatExists = seats.stream()
-                    .anyMatch(s -> s.getSeatNumber() == currentSeatNumber);
-            
-            if (!seatExists) {
+            if (!existingNumbers.contains(seatNumber)) {
                 Seat seat = new Seat();
-                seat.setVenue(venue);
                 seat.setRowName(rowName);
                 seat.setSeatNumber(seatNumber);
                 seat.setCategory(category);
                 seat.setPriceMultiplier(priceMultiplier);
-                seatRepository.save(seat);
-                seats.add(seat);
+                newSeats.add(seat);
             }
         }
         
+        if (!newSeats.isEmpty()) {
+            seatLayoutService.insertSeats(venue.getId(), newSeats);
+            seats = seatRepository.findByVenueIdAndRowName(venue.getId(), rowName);
+        }
+        
+        pricingService.invalidateVenue(venue.getId());
         return seats;
     }
 
     @Transactional
     public Seat updateSeat(Seat seat) {
-        return seatRepository.save(seat);
+        Seat savedSeat = seatRepository.save(seat);
+        invalidatePrices(savedSeat);
+        return savedSeat;
     }
 
     @Transactional
@@ -205,7 +233,24 @@ public class SeatService {
         seatRepository.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Seat> getSeatsByIds(List<Long> seatIds) {
-        return seatRepository.findAllById(seatIds);
+        // Multi-load takes seats from the second-level cache and only queries for the rest
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Seat.class)
+                .with(CacheMode.NORMAL)
+                .multiLoad(new ArrayList<>(new LinkedHashSet<>(seatIds)))
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Drop the price tables of the seat's venue, since its category or multiplier may have changed
+     */
+    private void invalidatePrices(Seat seat) {
+        if (seat.getVenue() != null) {
+            pricingService.invalidateVenue(seat.getVenue().getId());
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,8 +2,6 @@ package com.showvault.service;
 
 import com.showvault.model.*;
 import com.showvault.repository.BookingRepository;
-import com.showvault.repository.NotificationRepository;
-import com.showvault.repository.UserNotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,19 +18,16 @@ import java.util.List;
 public class ShowCancellationService {
 
     private final BookingRepository bookingRepository;
-    private final NotificationRepository notificationRepository;
-    private final UserNotificationRepository userNotificationRepository;
+    private final ConsolidatedNotificationService notificationService;
     private final EmailService emailService;
 
     @Autowired
     public ShowCancellationService(
             BookingRepository bookingRepository,
-            NotificationRepository notificationRepository,
-            UserNotificationRepository userNotificationRepository,
+            ConsolidatedNotificationService notificationService,
             EmailService emailService) {
         this.bookingRepository = bookingRepository;
-        this.notificationRepository = notificationRepository;
-        this.userNotificationRepository = userNotificationRepository;
+        this.notificationService = notificationService;
         this.emailService = emailService;
     }
 
@@ -106,31 +101,16 @@ public class ShowCancellationService {
      */
     private void createUserNotification(Booking booking, Show show, String reason) {
         try {
-            // Create notification
-            Notification notification = new Notification();
-            notification.setUser(booking.getUser());
-            notification.setTitle("Show Cancelled: " + show.getTitle());
-            notification.setMessage("We regret to inform you that the show '" + show.getTitle() + 
-                                   "' has been cancelled. Reason: " + reason + 
-                                   ". Your booking has been cancelled and a refund will be processed.");
-            notification.setType(Notification.NotificationType.CANCELLATION);
-            notification.setRelatedId(show.getId());
-            notification.setRead(false);
-            notification.setCreatedAt(LocalDateTime.now());
-            
-            notificationRepository.save(notification);
-            
-            // Also create a user notification for in-app display
-            UserNotification userNotification = new UserNotification();
-            userNotification.setUserId(booking.getUser().getId());
-            userNotification.setTitle("Show Cancelled: " + show.getTitle());
-            userNotification.setMessage("We regret to inform you that the show '" + show.getTitle() + 
-                                      "' has been cancelled. Your booking has been cancelled and a refund will be processed.");
-            userNotification.setType("CANCELLATION");
-            userNotification.setIsRead(false);
-            userNotification.setCreatedAt(LocalDateTime.now());
-            
-            userNotificationRepository.save(userNotification);
+            // Created through the notification service so that the unread count and the
+            // WebSocket push see it like any other notification
+            notificationService.createNotification(
+                booking.getUser(),
+                "Show Cancelled: " + show.getTitle(),
+                "We regret to inform you that the show '" + show.getTitle() + 
+                "' has been cancelled. Reason: " + reason + 
+                ". Your booking has been cancelled and a refund will be processed.",
+                NotificationType.CANCELLATION,
+                show.getId(), "SHOW");
         } catch (Exception e) {
             // Log error but continue processing
             System.err.println("Error creating notification for booking " + booking.getId() + ": " + e.getMessage());
@@ -29,6 +29,9 @@ public class ShowScheduleService {
     
     @Autowired
     private SeatConsistencyService seatConsistencyService;
+    
+    @Autowired
+    private PricingService pricingService;
 
     @Autowired
     public ShowScheduleService(ShowScheduleRepository showScheduleRepository) {
@@ -103,6 +106,9 @@ public class ShowScheduleService {
         System.out.println("  New total seats: " + savedSchedule.getTotalSeats());
         System.out.println("  New available seats: " + savedSchedule.getSeatsAvailable());
         
+        // Base price or venue may have changed
+        pricingService.invalidateSchedule(savedSchedule.getId());
+        
         // Always synchronize seat counts to ensure consistency
         ShowSchedule synchronizedSchedule = seatConsistencyService.synchronizeSeatsForSchedule(savedSchedule.getId());
         
@@ -116,6 +122,7 @@ public class ShowScheduleService {
     @Transactional
     public void deleteShowSchedule(Long id) {
         showScheduleRepository.deleteById(id);
+        pricingService.invalidateSchedule(id);
     }
 
     @Transactional
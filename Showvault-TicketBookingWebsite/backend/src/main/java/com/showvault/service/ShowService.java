@@ -7,9 +7,12 @@ import com.showvault.model.Booking;
 import com.showvault.model.BookingStatus;
 import com.showvault.model.User;
 import com.showvault.model.ShowType;
+import com.showvault.config.CacheConfig;
 import com.showvault.repository.ShowRepository;
 import com.showvault.repository.ShowReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -19,6 +22,7 @@ import jakarta.persistence.criteria.Predicate;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -199,15 +203,18 @@ public class ShowService {
         }
     }
 
+    @Cacheable(CacheConfig.GENRES)
     public List<String> getAllGenres() {
-        return showRepository.findAllGenres();
+        return Collections.unmodifiableList(showRepository.findAllGenres());
     }
 
+    @Cacheable(CacheConfig.LANGUAGES)
     public List<String> getAllLanguages() {
-        return showRepository.findAllLanguages();
+        return Collections.unmodifiableList(showRepository.findAllLanguages());
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.GENRES, CacheConfig.LANGUAGES}, allEntries = true)
     public Show createShow(Show show) {
         prepareShowForSave(show);
         return showRepository.save(show);
@@ -219,6 +226,7 @@ public class ShowService {
      * @return The updated show
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.GENRES, CacheConfig.LANGUAGES}, allEntries = true)
     public Show updateShowDetailsOnly(Show show) {
         // Get the existing show with all its schedules
         Show existingShow = showRepository.findById(show.getId())
@@ -240,6 +248,7 @@ public class ShowService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.GENRES, CacheConfig.LANGUAGES}, allEntries = true)
     public Show updateShow(Show show) {
         prepareShowForSave(show);
         // Process schedules to ensure endTime is calculated
@@ -330,6 +339,7 @@ public class ShowService {
      * @param id The ID of the show to delete
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.GENRES, CacheConfig.LANGUAGES}, allEntries = true)
     public void hardDeleteShow(Long id) {
         showRepository.deleteById(id);
     }
@@ -341,6 +351,7 @@ public class ShowService {
      * @return The updated show
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.GENRES, CacheConfig.LANGUAGES}, allEntries = true)
     public Show softDeleteShow(Long id, String reason) {
         Optional<Show> showOpt = showRepository.findById(id);
         if (showOpt.isEmpty()) {
@@ -369,6 +380,7 @@ public class ShowService {
      * @return true if the show was deleted, false otherwise
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.GENRES, CacheConfig.LANGUAGES}, allEntries = true)
     public boolean deleteShow(Long id, String reason) {
         // For backward compatibility with existing code
         return softDeleteShow(id, reason) != null;
@@ -379,6 +391,7 @@ public class ShowService {
      * @param id The ID of the show to delete
      */
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.GENRES, CacheConfig.LANGUAGES}, allEntries = true)
     public void deleteShow(Long id) {
         softDeleteShow(id, "Deleted by organizer");
     }
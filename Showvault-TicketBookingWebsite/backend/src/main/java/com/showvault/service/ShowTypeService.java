@@ -3,21 +3,38 @@ package com.showvault.service;
 import com.showvault.model.ShowType;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Service for managing show types with backward compatibility
  */
 @Service
 public class ShowTypeService {
+
+    // Show types are fixed by the enum, so the list and the accepted names are built once
+    private static final List<String> SHOW_TYPES = List.of(ShowType.getAllDisplayNames());
+
+    private static final Set<String> ACCEPTED_NAMES;
+
+    static {
+        Set<String> names = new HashSet<>();
+        for (ShowType type : ShowType.values()) {
+            names.add(type.getDisplayName().toLowerCase(Locale.ROOT));
+            names.add(type.name().toLowerCase(Locale.ROOT));
+        }
+        names.add("theater");
+        ACCEPTED_NAMES = Set.copyOf(names);
+    }
     
     /**
      * Get all available show types
      * @return List of show type display names
      */
     public List<String> getAllShowTypes() {
-        return Arrays.asList(ShowType.getAllDisplayNames());
+        return SHOW_TYPES;
     }
     
     /**
@@ -36,12 +53,8 @@ public class ShowTypeService {
      * @return true if valid, false otherwise
      */
     public boolean isValidShowType(String type) {
-        try {
-            ShowType.fromString(type);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        // fromString() falls back to OTHER for unknown values, so check the name itself
+        return type != null && ACCEPTED_NAMES.contains(type.toLowerCase(Locale.ROOT));
     }
     
     /**
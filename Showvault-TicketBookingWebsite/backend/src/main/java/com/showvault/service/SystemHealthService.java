@@ -15,6 +15,30 @@ public interface SystemHealthService {
     
     Map<String, Object> getApiMetrics();
     
+    /**
+     * Get request metrics in the Prometheus text exposition format
+     * @return Scrape body with per-route request counts, errors, latency quantiles and in-flight requests
+     */
+    String getPrometheusMetrics();
+    
+    /**
+     * Get WebSocket outbound delivery metrics (sent, coalesced and dropped messages, executor load)
+     * @return Map of WebSocket metrics
+     */
+    Map<String, Object> getWebSocketMetrics();
+    
+    /**
+     * Get reference data cache metrics (size, hits, misses, hit rate and evictions per cache)
+     * @return Map of cache metrics keyed by cache name
+     */
+    Map<String, Object> getCacheMetrics();
+    
+    /**
+     * Get Hibernate second-level and query cache metrics (hits, misses and puts per region)
+     * @return Map of second-level cache metrics
+     */
+    Map<String, Object> getSecondLevelCacheMetrics();
+    
     String getStatus();
     
     String getUptime();
@@ -74,6 +74,41 @@ public interface UserService {
      */
     List<User> getUsersWithFilters(int offset, int limit, String role, String status, String search, String sortBy, String sortOrder);
     
+    /**
+     * Get one page of users for admin dashboard, filtered, sorted and paginated in the database
+     * @param offset Pagination offset
+     * @param limit Pagination limit
+     * @param role Role filter
+     * @param status Status filter
+     * @param search Search term, matched as a prefix of username, email, first name or last name
+     * @param sortBy Field to sort by
+     * @param sortOrder Sort order (asc/desc)
+     * @return Page of users with the total count of matching users
+     */
+    org.springframework.data.domain.Page<User> getUsersPage(int offset, int limit, String role, String status, String search, String sortBy, String sortOrder);
+    
+    /**
+     * Get the users following a keyset cursor for admin dashboard.
+     * Only supported when sorting by id, username or email.
+     * @param afterId ID of the last user on the previous page, or null for the first page
+     * @param limit Maximum number of users to return
+     * @param role Role filter
+     * @param status Status filter
+     * @param search Search term
+     * @param sortBy Field to sort by
+     * @param sortOrder Sort order (asc/desc)
+     * @return List of users
+     * @throws IllegalArgumentException if the sort field cannot be used as a keyset or the cursor is unknown
+     */
+    List<User> getUsersAfter(Long afterId, int limit, String role, String status, String search, String sortBy, String sortOrder);
+    
+    /**
+     * Check whether the admin user table can be paginated with a keyset cursor for a sort field
+     * @param sortBy Field to sort by
+     * @return true for id, username and email (and the default order)
+     */
+    boolean supportsCursorPagination(String sortBy);
+    
     /**
      * Count users with filters for admin dashboard
      * @param role Role filter
@@ -1,11 +1,15 @@
 package com.showvault.service;
 
+import com.showvault.config.CacheConfig;
 import com.showvault.model.Venue;
 import com.showvault.repository.VenueRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,12 +43,14 @@ public class VenueService {
         return venueRepository.findByMinimumCapacity(capacity);
     }
 
+    @Cacheable(CacheConfig.CITIES)
     public List<String> getAllCities() {
-        return venueRepository.findAllCities();
+        return Collections.unmodifiableList(venueRepository.findAllCities());
     }
 
+    @Cacheable(CacheConfig.COUNTRIES)
     public List<String> getAllCountries() {
-        return venueRepository.findAllCountries();
+        return Collections.unmodifiableList(venueRepository.findAllCountries());
     }
     
     public List<Venue> searchVenues(String searchTerm) {
@@ -55,16 +61,19 @@ public class VenueService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CITIES, CacheConfig.COUNTRIES}, allEntries = true)
     public Venue createVenue(Venue venue) {
         return venueRepository.save(venue);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CITIES, CacheConfig.COUNTRIES}, allEntries = true)
     public Venue updateVenue(Venue venue) {
         return venueRepository.save(venue);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.CITIES, CacheConfig.COUNTRIES}, allEntries = true)
     public void deleteVenue(Long id) {
         venueRepository.deleteById(id);
     }
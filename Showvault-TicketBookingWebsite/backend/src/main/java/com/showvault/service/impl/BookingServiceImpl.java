@@ -8,17 +8,28 @@ import com.showvault.model.ShowSchedule;
 import com.showvault.model.User;
 import com.showvault.model.NotificationType;
 import com.showvault.repository.BookingRepository;
+import com.showvault.repository.BookingSpecifications;
 import com.showvault.repository.SeatBookingRepository;
 import com.showvault.repository.SeatRepository;
 import com.showvault.repository.ShowScheduleRepository;
 import com.showvault.repository.UserRepository;
 import com.showvault.service.BookingService;
 import com.showvault.service.ConsolidatedNotificationService;
+import com.showvault.service.PriceTable;
+import com.showvault.service.PricingService;
 import com.showvault.service.SeatConsistencyService;
 import com.showvault.service.SeatReservationService;
 import com.showvault.service.SeatMapService;
+import com.showvault.util.TimeOrderedIdGenerator;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,10 +40,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class BookingServiceImpl implements BookingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BookingServiceImpl.class);
+
+    /** Bookings loaded per query when streaming a show's or schedule's bookings */
+    private static final int STREAM_PAGE_SIZE = 200;
+
     private final BookingRepository bookingRepository;
     private final SeatBookingRepository seatBookingRepository;
     private final UserRepository userRepository;
@@ -43,6 +60,11 @@ public class BookingServiceImpl implements BookingService {
     private final SeatMapService seatMapService;
     private final SeatConsistencyService seatConsistencyService;
     private final com.showvault.service.PromotionService promotionService;
+    private final TimeOrderedIdGenerator idGenerator;
+    private final PricingService pricingService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
     public BookingServiceImpl(
@@ -55,7 +77,9 @@ public class BookingServiceImpl implements BookingService {
             ConsolidatedNotificationService notificationService,
             SeatMapService seatMapService,
             SeatConsistencyService seatConsistencyService,
-            com.showvault.service.PromotionService promotionService) {
+            com.showvault.service.PromotionService promotionService,
+            TimeOrderedIdGenerator idGenerator,
+            PricingService pricingService) {
         this.bookingRepository = bookingRepository;
         this.seatBookingRepository = seatBookingRepository;
         this.userRepository = userRepository;
@@ -66,6 +90,8 @@ public class BookingServiceImpl implements BookingService {
         this.seatMapService = seatMapService;
         this.seatConsistencyService = seatConsistencyService;
         this.promotionService = promotionService;
+        this.idGenerator = idGenerator;
+        this.pricingService = pricingService;
     }
 
     @Override
@@ -75,14 +101,14 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public Optional<Booking> getBookingById(Long id) {
-        System.out.println("Getting booking by ID: " + id);
+        logger.debug("Getting booking by ID: {}", id);
         
         // Try to get the booking with all details
         Optional<Booking> bookingOpt = bookingRepository.findBookingWithDetailsById(id);
         
         // If not found with details, try the standard findById
         if (!bookingOpt.isPresent()) {
-            System.out.println("Booking not found with details, trying standard findById");
+            logger.debug("Booking not found with details, trying standard findById");
             bookingOpt = bookingRepository.findById(id);
         }
         
@@ -91,22 +117,22 @@ public class BookingServiceImpl implements BookingService {
             
             // Force initialization of lazy-loaded collections
             if (booking.getSeatBookings() != null) {
-                System.out.println("Booking has " + booking.getSeatBookings().size() + " seat bookings");
+                logger.debug("Booking has {} seat bookings", booking.getSeatBookings().size());
             }
             
             if (booking.getUser() != null) {
-                System.out.println("Booking has user ID: " + booking.getUser().getId());
+                logger.debug("Booking has user ID: {}", booking.getUser().getId());
             }
             
             if (booking.getShowSchedule() != null) {
-                System.out.println("Booking has show schedule ID: " + booking.getShowSchedule().getId());
+                logger.debug("Booking has show schedule ID: {}", booking.getShowSchedule().getId());
                 
                 if (booking.getShowSchedule().getShow() != null) {
-                    System.out.println("Show schedule has show ID: " + booking.getShowSchedule().getShow().getId());
+                    logger.debug("Show schedule has show ID: {}", booking.getShowSchedule().getShow().getId());
                 }
             }
         } else {
-            System.out.println("Booking not found with ID: " + id);
+            logger.debug("Booking not found with ID: {}", id);
         }
         
         return bookingOpt;
@@ -114,21 +140,21 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public Optional<Booking> getBookingByNumber(String bookingNumber) {
-        System.out.println("Getting booking by number: " + bookingNumber);
+        logger.debug("Getting booking by number: {}", bookingNumber);
         
         // Try to get the booking with all details
         Optional<Booking> bookingOpt = bookingRepository.findByBookingNumberWithDetails(bookingNumber);
         
         // If not found with details, try the standard findByBookingNumber
         if (!bookingOpt.isPresent()) {
-            System.out.println("Booking not found with details, trying standard findByBookingNumber");
+            logger.debug("Booking not found with details, trying standard findByBookingNumber");
             bookingOpt = bookingRepository.findByBookingNumber(bookingNumber);
         }
         
         if (bookingOpt.isPresent()) {
-            System.out.println("Found booking with number: " + bookingNumber);
+            logger.debug("Found booking with number: {}", bookingNumber);
         } else {
-            System.out.println("Booking not found with number: " + bookingNumber);
+            logger.debug("Booking not found with number: {}", bookingNumber);
         }
         
         return bookingOpt;
@@ -136,17 +162,32 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<Booking> getBookingsByUserId(Long userId) {
-        System.out.println("BookingServiceImpl: Getting bookings for user ID: " + userId);
+        logger.debug("Getting bookings for user ID: {}", userId);
         List<Booking> bookings = bookingRepository.findByUserId(userId);
-        System.out.println("BookingServiceImpl: Found " + bookings.size() + " bookings");
+        logger.debug("Found {} bookings", bookings.size());
         return bookings;
     }
 
+    @Override
+    public List<Booking> getBookingsByUserIdBefore(Long userId, LocalDateTime beforeBookingDate, Long beforeId, int limit) {
+        Specification<Booking> spec = BookingSpecifications.forUser(userId);
+        if (beforeBookingDate != null && beforeId != null) {
+            spec = spec.and(BookingSpecifications.before(beforeBookingDate, beforeId));
+        }
+        return findNewestFirst(spec, limit);
+    }
+
     @Override
     public List<Booking> getBookingsByShowScheduleId(Long showScheduleId) {
         return bookingRepository.findByShowScheduleId(showScheduleId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachBookingByShowScheduleId(Long showScheduleId, Consumer<Booking> consumer) {
+        forEachNewestFirst(BookingSpecifications.forSchedule(showScheduleId), consumer);
+    }
+
     @Override
     public List<Booking> getBookingsByStatus(BookingStatus status) {
         return bookingRepository.findByStatus(status);
@@ -162,6 +203,12 @@ public class BookingServiceImpl implements BookingService {
         return bookingRepository.findBookingsByShowId(showId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachBookingByShowId(Long showId, Consumer<Booking> consumer) {
+        forEachNewestFirst(BookingSpecifications.forShow(showId), consumer);
+    }
+
     @Override
     public Long countConfirmedBookingsByShowScheduleId(Long showScheduleId) {
         return bookingRepository.countConfirmedBookingsByShowScheduleId(showScheduleId);
@@ -177,7 +224,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public Booking createBooking(User user, ShowSchedule showSchedule, List<Seat> seats, BigDecimal totalAmount) {
-        System.out.println("Creating booking for user ID: " + user.getId() + ", schedule ID: " + showSchedule.getId());
+        logger.debug("Creating booking for user ID: {}, schedule ID: {}", user.getId(), showSchedule.getId());
         
         // Ensure we have fresh entities from the database
         User freshUser = userRepository.findById(user.getId())
@@ -200,22 +247,23 @@ public class BookingServiceImpl implements BookingService {
         
         // If totalAmount was provided, use it; otherwise calculate it
         if (totalAmount != null && totalAmount.compareTo(BigDecimal.ZERO) > 0) {
-            System.out.println("Using provided totalAmount: " + totalAmount);
+            logger.debug("Using provided totalAmount: {}", totalAmount);
             booking.setTotalAmount(totalAmount);
         } else {
             // Calculate total amount
             BigDecimal calculatedTotalAmount = BigDecimal.ZERO;
             booking.setTotalAmount(calculatedTotalAmount);
-            System.out.println("Using calculated totalAmount: " + calculatedTotalAmount);
+            logger.debug("Using calculated totalAmount: {}", calculatedTotalAmount);
         }
         
         // Save the booking first to get an ID
         Booking savedBooking = bookingRepository.save(booking);
         bookingRepository.flush(); // Ensure it's persisted immediately
-        System.out.println("Saved booking with ID: " + savedBooking.getId() + ", Number: " + savedBooking.getBookingNumber());
+        logger.info("Saved booking with ID: {}, Number: {}", savedBooking.getId(), savedBooking.getBookingNumber());
         
-        // Calculate total amount if not provided
-        BigDecimal calculatedTotalAmount = BigDecimal.ZERO;
+        // Calculate total amount if not provided, using the schedule's compiled price table
+        PriceTable priceTable = pricingService.getPriceTable(freshSchedule.getId());
+        long calculatedTotalCents = 0;
         
         // Create seat bookings and add them directly to the booking's collection
         for (Seat seat : seats) {
@@ -227,24 +275,29 @@ public class BookingServiceImpl implements BookingService {
             seatBooking.setBooking(savedBooking);
             seatBooking.setSeat(freshSeat);
             
-            // Calculate seat price based on base price and seat category multiplier
-            BigDecimal seatPrice = freshSchedule.getBasePrice().multiply(freshSeat.getPriceMultiplier());
+            // Look up the precomputed seat price; seats added after the table was built fall back to the entity
+            Long seatPriceCents = priceTable.getSeatPriceCents(freshSeat.getId());
+            if (seatPriceCents == null) {
+                seatPriceCents = PriceTable.toCents(freshSchedule.getBasePrice().multiply(freshSeat.getPriceMultiplier()));
+                pricingService.invalidateSchedule(freshSchedule.getId());
+            }
+            BigDecimal seatPrice = PriceTable.toAmount(seatPriceCents);
             seatBooking.setPrice(seatPrice);
             
             // Add to calculated total amount
-            calculatedTotalAmount = calculatedTotalAmount.add(seatPrice);
+            calculatedTotalCents += seatPriceCents;
             
             // Add to the booking's collection (this is important for Hibernate's cascade)
             savedBooking.getSeatBookings().add(seatBooking);
             
             // Save seat booking
             seatBookingRepository.save(seatBooking);
-            System.out.println("Saved seat booking for seat ID: " + freshSeat.getId() + " with price: " + seatPrice);
+            logger.debug("Saved seat booking for seat ID: {} with price: {}", freshSeat.getId(), seatPrice);
         }
         
         // If totalAmount wasn't provided, use the calculated one
         if (totalAmount == null || totalAmount.compareTo(BigDecimal.ZERO) <= 0) {
-            totalAmount = calculatedTotalAmount;
+            totalAmount = PriceTable.toAmount(calculatedTotalCents);
         }
         
         // Update total amount
@@ -252,71 +305,72 @@ public class BookingServiceImpl implements BookingService {
         
         // Save the updated booking
         bookingRepository.save(savedBooking); // No need for saveAndFlush here
-        System.out.println("Updated booking with total amount: " + totalAmount);
+        logger.debug("Updated booking with total amount: {}", totalAmount);
         
         // Verify the booking was saved correctly - use the detailed query to ensure all relationships are loaded
         Optional<Booking> verifiedBooking = bookingRepository.findBookingWithDetailsById(savedBooking.getId());
         
         // If not found with details, try the standard findById
         if (!verifiedBooking.isPresent()) {
-            System.out.println("Booking not found with details, trying standard findById");
+            logger.debug("Booking not found with details, trying standard findById");
             verifiedBooking = bookingRepository.findById(savedBooking.getId());
         }
         
         if (verifiedBooking.isPresent()) {
-            System.out.println("Successfully verified booking with ID: " + savedBooking.getId());
+            logger.debug("Successfully verified booking with ID: {}", savedBooking.getId());
             
             // Verify the user relationship
             User bookingUser = verifiedBooking.get().getUser();
             if (bookingUser != null) {
-                System.out.println("Booking has user ID: " + bookingUser.getId());
-                System.out.println("User details: " + bookingUser.getUsername() + ", " + bookingUser.getEmail());
+                logger.debug("Booking has user ID: {}", bookingUser.getId());
+                logger.debug("User details: {}, {}", bookingUser.getUsername(), bookingUser.getEmail());
             } else {
-                System.out.println("WARNING: Booking has no user associated with it!");
+                logger.warn("Booking has no user associated with it!");
                 
                 // Try to fix the missing user relationship
                 try {
                     Booking bookingToFix = verifiedBooking.get();
                     bookingToFix.setUser(freshUser);
                     bookingRepository.saveAndFlush(bookingToFix);
-                    System.out.println("Fixed missing user relationship for booking ID: " + bookingToFix.getId());
+                    logger.info("Fixed missing user relationship for booking ID: {}", bookingToFix.getId());
                 } catch (Exception e) {
-                    System.out.println("Error fixing missing user relationship: " + e.getMessage());
+                    logger.error("Error fixing missing user relationship: {}", e.getMessage());
                 }
             }
             
             // Verify the show schedule relationship
             ShowSchedule bookingSchedule = verifiedBooking.get().getShowSchedule();
             if (bookingSchedule != null) {
-                System.out.println("Booking has show schedule ID: " + bookingSchedule.getId());
+                logger.debug("Booking has show schedule ID: {}", bookingSchedule.getId());
                 if (bookingSchedule.getShow() != null) {
-                    System.out.println("Show details: " + bookingSchedule.getShow().getTitle());
+                    logger.debug("Show details: {}", bookingSchedule.getShow().getTitle());
                 }
                 if (bookingSchedule.getVenue() != null) {
-                    System.out.println("Venue details: " + bookingSchedule.getVenue().getName());
+                    logger.debug("Venue details: {}", bookingSchedule.getVenue().getName());
                 }
             } else {
-                System.out.println("WARNING: Booking has no show schedule associated with it!");
+                logger.warn("Booking has no show schedule associated with it!");
                 
                 // Try to fix the missing show schedule relationship
                 try {
                     Booking bookingToFix = verifiedBooking.get();
                     bookingToFix.setShowSchedule(freshSchedule);
                     bookingRepository.saveAndFlush(bookingToFix);
-                    System.out.println("Fixed missing show schedule relationship for booking ID: " + bookingToFix.getId());
+                    logger.info("Fixed missing show schedule relationship for booking ID: {}", bookingToFix.getId());
                 } catch (Exception e) {
-                    System.out.println("Error fixing missing show schedule relationship: " + e.getMessage());
+                    logger.error("Error fixing missing show schedule relationship: {}", e.getMessage());
                 }
             }
             
             // Verify the seat bookings
             List<SeatBooking> verifiedSeatBookings = verifiedBooking.get().getSeatBookings();
             if (verifiedSeatBookings != null && !verifiedSeatBookings.isEmpty()) {
-                System.out.println("Booking has " + verifiedSeatBookings.size() + " seat bookings");
-                for (SeatBooking sb : verifiedSeatBookings) {
-                    System.out.println("Seat booking ID: " + sb.getId() + ", Seat ID: " + 
-                                      (sb.getSeat() != null ? sb.getSeat().getId() : "null") + 
-                                      ", Price: " + sb.getPrice());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Booking has {} seat bookings", verifiedSeatBookings.size());
+                    for (SeatBooking sb : verifiedSeatBookings) {
+                        logger.debug("Seat booking ID: {}, Seat ID: {}, Price: {}",
+                                sb.getId(), (sb.getSeat() != null ? sb.getSeat().getId() : "null"), sb.getPrice());
+                    }
                 }
                 
                 // Verify all seat bookings have the correct booking reference
@@ -324,24 +378,24 @@ public class BookingServiceImpl implements BookingService {
                 for (SeatBooking sb : verifiedSeatBookings) {
                     if (sb.getBooking() == null || !sb.getBooking().getId().equals(savedBooking.getId())) {
                         allSeatBookingsValid = false;
-                        System.out.println("WARNING: Seat booking ID " + sb.getId() + " has invalid booking reference");
+                        logger.warn("Seat booking ID {} has invalid booking reference", sb.getId());
                         
                         // Try to fix the invalid booking reference
                         try {
                             sb.setBooking(savedBooking);
                             seatBookingRepository.saveAndFlush(sb);
-                            System.out.println("Fixed invalid booking reference for seat booking ID: " + sb.getId());
+                            logger.info("Fixed invalid booking reference for seat booking ID: {}", sb.getId());
                         } catch (Exception e) {
-                            System.out.println("Error fixing invalid booking reference: " + e.getMessage());
+                            logger.error("Error fixing invalid booking reference: {}", e.getMessage());
                         }
                     }
                 }
                 
                 if (allSeatBookingsValid) {
-                    System.out.println("All seat bookings have valid booking references");
+                    logger.debug("All seat bookings have valid booking references");
                 }
             } else {
-                System.out.println("WARNING: Booking has no seat bookings associated with it!");
+                logger.warn("Booking has no seat bookings associated with it!");
                 
                 // Try to fix the missing seat bookings
                 try {
@@ -349,31 +403,9 @@ public class BookingServiceImpl implements BookingService {
                     // Initialize with a new empty ArrayList if seat bookings are missing
                     bookingToFix.setSeatBookings(new ArrayList<>());
                     bookingRepository.saveAndFlush(bookingToFix);
-                    System.out.println("Fixed missing seat bookings for booking ID: " + bookingToFix.getId());
-                } catch (Exception e) {
-                    System.out.println("Error fixing missing seat bookings: " + e.getMessage());
-                }
-            }
-            
-            // Verify we can find the booking by user ID
-            List<Booking> userBookings = bookingRepository.findByUserId(freshUser.getId());
-            System.out.println("Found " + userBookings.size() + " bookings for user ID: " + freshUser.getId());
-            
-            // Verify we can find the booking by booking number
-            Optional<Booking> bookingByNumber = bookingRepository.findByBookingNumber(savedBooking.getBookingNumber());
-            if (bookingByNumber.isPresent()) {
-                System.out.println("Successfully found booking by number: " + savedBooking.getBookingNumber());
-            } else {
-                System.out.println("WARNING: Could not find booking by number: " + savedBooking.getBookingNumber());
-                
-                // Try to fix the missing booking number
-                try {
-                    Booking bookingToFix = verifiedBooking.get();
-                    bookingToFix.setBookingNumber(savedBooking.getBookingNumber());
-                    bookingRepository.saveAndFlush(bookingToFix);
-                    System.out.println("Fixed missing booking number for booking ID: " + bookingToFix.getId());
+                    logger.info("Fixed missing seat bookings for booking ID: {}", bookingToFix.getId());
                 } catch (Exception e) {
-                    System.out.println("Error fixing missing booking number: " + e.getMessage());
+                    logger.error("Error fixing missing seat bookings: {}", e.getMessage());
                 }
             }
             
@@ -424,43 +456,42 @@ public class BookingServiceImpl implements BookingService {
                     "BOOKING"
                 );
                 
-                System.out.println("Created booking confirmation notification for user ID: " + confirmedBooking.getUser().getId());
+                logger.debug("Created booking confirmation notification for user ID: {}",
+                        confirmedBooking.getUser().getId());
             } catch (Exception e) {
-                System.out.println("Error creating booking confirmation notification: " + e.getMessage());
-                e.printStackTrace();
+                logger.error("Error creating booking confirmation notification: {}", e.getMessage(), e);
             }
             
             // Synchronize seat counts to ensure consistency
             try {
                 Long scheduleId = freshSchedule.getId();
-                System.out.println("Synchronizing seat counts after booking creation for schedule ID: " + scheduleId);
+                logger.debug("Synchronizing seat counts after booking creation for schedule ID: {}", scheduleId);
                 seatConsistencyService.synchronizeSeatsForSchedule(scheduleId);
                 
                 // Invalidate the seat map cache for this show schedule
                 Long showId = freshSchedule.getShow().getId();
                 seatMapService.invalidateSeatMapCache(showId, scheduleId);
-                System.out.println("Invalidated seat map cache for show ID: " + showId + ", schedule ID: " + scheduleId);
+                logger.debug("Invalidated seat map cache for show ID: {}, schedule ID: {}", showId, scheduleId);
             } catch (Exception e) {
-                System.out.println("Error during post-booking synchronization: " + e.getMessage());
-                e.printStackTrace();
+                logger.error("Error during post-booking synchronization: {}", e.getMessage(), e);
             }
             
             // Return the verified booking to ensure we have the most up-to-date version
             return verifiedBooking.get();
         } else {
-            System.out.println("WARNING: Could not verify booking with ID: " + savedBooking.getId());
+            logger.warn("Could not verify booking with ID: {}", savedBooking.getId());
             
             // Try to retrieve the booking one more time after a short delay
             try {
                 Thread.sleep(500); // Wait for 500ms to allow any pending transactions to complete
                 Optional<Booking> retryBooking = bookingRepository.findById(savedBooking.getId());
                 if (retryBooking.isPresent()) {
-                    System.out.println("Successfully retrieved booking after retry with ID: " + savedBooking.getId());
+                    logger.debug("Successfully retrieved booking after retry with ID: {}", savedBooking.getId());
                     return retryBooking.get();
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                System.out.println("Interrupted while waiting to retry booking retrieval");
+                logger.debug("Interrupted while waiting to retry booking retrieval");
             }
         }
         
@@ -471,8 +502,8 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public Booking createBookingWithPromotion(User user, ShowSchedule showSchedule, List<Seat> seats, 
                                             BigDecimal totalAmount, String promotionCode) {
-        System.out.println("Creating booking with promotion for user: " + user.getUsername() + 
-                          ", schedule: " + showSchedule.getId() + ", promotion: " + promotionCode);
+        logger.debug("Creating booking with promotion for user: {}, schedule: {}, promotion: {}",
+                user.getUsername(), showSchedule.getId(), promotionCode);
         
         // First create the booking without promotion
         Booking booking = createBooking(user, showSchedule, seats, totalAmount);
@@ -480,52 +511,33 @@ public class BookingServiceImpl implements BookingService {
         // Apply promotion if provided
         if (promotionCode != null && !promotionCode.trim().isEmpty()) {
             try {
-                // Validate and get promotion
-                Optional<com.showvault.model.Promotion> promotionOpt = 
-                    promotionService.getPromotionByCode(promotionCode);
+                // Quote the discount from the schedule's compiled price table
+                PriceTable.Quote quote = pricingService.getPriceTable(showSchedule.getId())
+                    .quoteAmount(PriceTable.toCents(booking.getTotalAmount()), promotionCode, LocalDate.now());
                 
-                if (promotionOpt.isPresent() && promotionService.validatePromotion(promotionCode)) {
-                    com.showvault.model.Promotion promotion = promotionOpt.get();
-                    
-                    // Calculate discount
-                    double discountAmount = promotionService.calculateDiscountAmount(
-                        promotionCode, booking.getTotalAmount().doubleValue());
-                    
-                    if (discountAmount > 0) {
-                        // Store original amount
-                        booking.setOriginalAmount(booking.getTotalAmount());
-                        
-                        // Apply discount
-                        BigDecimal discount = BigDecimal.valueOf(discountAmount);
-                        BigDecimal newTotal = booking.getTotalAmount().subtract(discount);
-                        
-                        // Ensure total doesn't go below zero
-                        if (newTotal.compareTo(BigDecimal.ZERO) < 0) {
-                            newTotal = BigDecimal.ZERO;
-                            discount = booking.getTotalAmount();
-                        }
-                        
-                        booking.setTotalAmount(newTotal);
-                        booking.setDiscountAmount(discount);
+                if (quote.getPromotion() == null) {
+                    logger.debug("Invalid or expired promotion code: {}", promotionCode);
+                } else if (quote.getDiscountCents() > 0) {
+                    // Redeem before applying so a fully used code cannot discount the booking
+                    if (!promotionService.usePromotion(promotionCode)) {
+                        logger.debug("Promotion code fully redeemed: {}", promotionCode);
+                    } else {
+                        // Store original amount and apply discount
+                        booking.setOriginalAmount(quote.getSubtotal());
+                        booking.setTotalAmount(quote.getTotal());
+                        booking.setDiscountAmount(quote.getDiscount());
                         booking.setPromotionCode(promotionCode);
-                        booking.setPromotion(promotion);
-                        
-                        // Use the promotion
-                        promotionService.usePromotion(promotionCode);
+                        promotionService.getPromotionByCode(promotionCode).ifPresent(booking::setPromotion);
                         
                         // Save updated booking
                         booking = bookingRepository.save(booking);
                         
-                        System.out.println("Applied promotion " + promotionCode + 
-                                         " with discount: " + discount + 
-                                         ", new total: " + newTotal);
+                        logger.info("Applied promotion {} with discount: {}, new total: {}",
+                                promotionCode, quote.getDiscount(), quote.getTotal());
                     }
-                } else {
-                    System.out.println("Invalid or expired promotion code: " + promotionCode);
                 }
             } catch (Exception e) {
-                System.out.println("Error applying promotion: " + e.getMessage());
-                e.printStackTrace();
+                logger.error("Error applying promotion: {}", e.getMessage(), e);
                 // Continue without promotion if there's an error
             }
         }
@@ -536,39 +548,39 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public Optional<Booking> updateBookingStatus(Long bookingId, BookingStatus newStatus) {
-        System.out.println("Updating booking status for booking ID: " + bookingId + " to " + newStatus);
+        logger.debug("Updating booking status for booking ID: {} to {}", bookingId, newStatus);
         
         // Use the repository method that fetches all details
         Optional<Booking> bookingOpt = bookingRepository.findBookingWithDetailsById(bookingId);
         
         // If not found with details, try the standard findById
         if (!bookingOpt.isPresent()) {
-            System.out.println("Booking not found with details, trying standard findById");
+            logger.debug("Booking not found with details, trying standard findById");
             bookingOpt = bookingRepository.findById(bookingId);
         }
         
         if (bookingOpt.isPresent()) {
             Booking booking = bookingOpt.get();
-            System.out.println("Current booking status: " + booking.getStatus());
+            logger.debug("Current booking status: {}", booking.getStatus());
             
             // Only update if the status is different
             if (booking.getStatus() != newStatus) {
                 booking.setStatus(newStatus);
-                System.out.println("Setting booking status to: " + newStatus);
+                logger.debug("Setting booking status to: {}", newStatus);
                 
                 // Update the updated_at timestamp
                 booking.setUpdatedAt(LocalDateTime.now());
-                System.out.println("Updated timestamp: " + booking.getUpdatedAt());
+                logger.debug("Updated timestamp: {}", booking.getUpdatedAt());
                 
                 // Update the booking date if it's null
                 if (booking.getBookingDate() == null) {
                     booking.setBookingDate(LocalDateTime.now());
-                    System.out.println("Set booking date to: " + booking.getBookingDate());
+                    logger.debug("Set booking date to: {}", booking.getBookingDate());
                 }
                 
                 // Save the booking with flush to ensure immediate persistence
                 Booking savedBooking = bookingRepository.saveAndFlush(booking);
-                System.out.println("Booking status updated successfully to: " + savedBooking.getStatus());
+                logger.info("Booking status updated successfully to: {}", savedBooking.getStatus());
                 
                 // Clear the persistence context to ensure fresh data
                 bookingRepository.flush();
@@ -577,42 +589,43 @@ public class BookingServiceImpl implements BookingService {
                 Optional<Booking> verifiedBooking = bookingRepository.findById(bookingId);
                 if (verifiedBooking.isPresent()) {
                     Booking verifiedBookingEntity = verifiedBooking.get();
-                    System.out.println("Successfully verified booking status update: " + verifiedBookingEntity.getStatus());
+                    logger.debug("Successfully verified booking status update: {}", verifiedBookingEntity.getStatus());
                     
                     if (verifiedBookingEntity.getStatus() != newStatus) {
-                        System.out.println("WARNING: Booking status verification failed. Expected " + newStatus + 
-                                          " but got: " + verifiedBookingEntity.getStatus());
+                        logger.warn("Booking status verification failed. Expected {} but got: {}",
+                                newStatus, verifiedBookingEntity.getStatus());
                         
                         // Try one more direct update using a native query if needed
                         try {
                             // This would be implemented in a real application with a native query
-                            System.out.println("Attempting direct database update as fallback");
+                            logger.debug("Attempting direct database update as fallback");
                             
                             // For now, just try saving again
                             verifiedBookingEntity.setStatus(newStatus);
                             verifiedBookingEntity.setUpdatedAt(LocalDateTime.now());
                             Booking reSavedBooking = bookingRepository.save(verifiedBookingEntity);
-                            System.out.println("Re-saved booking with status: " + reSavedBooking.getStatus());
+                            logger.debug("Re-saved booking with status: {}", reSavedBooking.getStatus());
                             
                             // Return the re-saved booking
                             return Optional.of(reSavedBooking);
                         } catch (Exception e) {
-                            System.out.println("Error in fallback update: " + e.getMessage());
+                            logger.error("Error in fallback update: {}", e.getMessage());
                             // Continue with the original saved booking
                         }
                     }
                     
                     // Force initialization of lazy-loaded collections for debugging
                     if (verifiedBookingEntity.getSeatBookings() != null) {
-                        System.out.println("Booking has " + verifiedBookingEntity.getSeatBookings().size() + " seat bookings");
+                        logger.debug("Booking has {} seat bookings", verifiedBookingEntity.getSeatBookings().size());
                     }
                     
                     if (verifiedBookingEntity.getUser() != null) {
-                        System.out.println("Booking has user ID: " + verifiedBookingEntity.getUser().getId());
+                        logger.debug("Booking has user ID: {}", verifiedBookingEntity.getUser().getId());
                     }
                     
                     if (verifiedBookingEntity.getShowSchedule() != null) {
-                        System.out.println("Booking has show schedule ID: " + verifiedBookingEntity.getShowSchedule().getId());
+                        logger.debug("Booking has show schedule ID: {}",
+                                verifiedBookingEntity.getShowSchedule().getId());
                         
                         // Invalidate the seat map cache for this show schedule
                         try {
@@ -620,28 +633,29 @@ public class BookingServiceImpl implements BookingService {
                             Long scheduleId = verifiedBookingEntity.getShowSchedule().getId();
                             
                             // Synchronize seat counts to ensure consistency
-                            System.out.println("Synchronizing seat counts after booking status update for schedule ID: " + scheduleId);
+                            logger.debug("Synchronizing seat counts after booking status update for schedule ID: {}",
+                                    scheduleId);
                             seatConsistencyService.synchronizeSeatsForSchedule(scheduleId);
                             
                             // Invalidate the seat map cache
                             seatMapService.invalidateSeatMapCache(showId, scheduleId);
-                            System.out.println("Invalidated seat map cache for show ID: " + showId + ", schedule ID: " + scheduleId);
+                            logger.debug("Invalidated seat map cache for show ID: {}, schedule ID: {}",
+                                    showId, scheduleId);
                         } catch (Exception e) {
-                            System.out.println("Error during post-status-update synchronization: " + e.getMessage());
-                            e.printStackTrace();
+                            logger.error("Error during post-status-update synchronization: {}", e.getMessage(), e);
                         }
                     }
                 } else {
-                    System.out.println("WARNING: Could not verify booking status update for ID: " + bookingId);
+                    logger.warn("Could not verify booking status update for ID: {}", bookingId);
                 }
                 
                 return Optional.of(savedBooking);
             } else {
-                System.out.println("Booking already has status " + newStatus + ", no update needed");
+                logger.debug("Booking already has status {}, no update needed", newStatus);
                 return Optional.of(booking);
             }
         } else {
-            System.out.println("Booking not found with ID: " + bookingId);
+            logger.debug("Booking not found with ID: {}", bookingId);
             return Optional.empty();
         }
     }
@@ -654,184 +668,74 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<Booking> getBookingsWithFilters(int offset, int limit, String status, LocalDate date) {
-        System.out.println("BookingServiceImpl: Getting bookings with filters:");
-        System.out.println("Offset: " + offset);
-        System.out.println("Limit: " + limit);
-        System.out.println("Status: " + status);
-        System.out.println("Date: " + date);
-        
-        // Fetch all bookings with eager loading of related entities
-        List<Booking> allBookings = bookingRepository.findAll();
-        System.out.println("Total bookings before filtering: " + allBookings.size());
-        
-        List<Booking> filteredBookings = new ArrayList<>();
-        
-        for (Booking booking : allBookings) {
-            // Check if status matches (if provided)
-            boolean statusMatch = true;
-            if (status != null && !status.isEmpty()) {
-                try {
-                    BookingStatus requestedStatus = BookingStatus.valueOf(status);
-                    statusMatch = booking.getStatus() == requestedStatus;
-                    if (!statusMatch) {
-                        System.out.println("Booking ID " + booking.getId() + " status " + booking.getStatus() + " doesn't match requested status " + requestedStatus);
-                    }
-                } catch (IllegalArgumentException e) {
-                    // Invalid status provided, ignore this filter
-                    statusMatch = true;
-                    System.out.println("Invalid status provided: " + status + ", ignoring this filter");
-                }
-            }
-            
-            // Check if date matches (if provided)
-            boolean dateMatch = true;
-            if (date != null) {
-                System.out.println("Checking date match for booking ID " + booking.getId());
-                boolean createdAtMatch = false;
-                boolean showDateMatch = false;
-                
-                // Check booking date (created_at)
-                if (booking.getCreatedAt() != null) {
-                    createdAtMatch = booking.getCreatedAt().toLocalDate().equals(date);
-                    System.out.println("Booking created at: " + booking.getCreatedAt().toLocalDate() + ", requested date: " + date + ", match: " + createdAtMatch);
-                } else {
-                    System.out.println("Booking has no creation date");
-                }
-                
-                // Check show date
-                if (booking.getShowSchedule() != null && booking.getShowSchedule().getShowDate() != null) {
-                    showDateMatch = booking.getShowSchedule().getShowDate().equals(date);
-                    System.out.println("Show date: " + booking.getShowSchedule().getShowDate() + ", requested date: " + date + ", match: " + showDateMatch);
-                } else {
-                    System.out.println("Booking has no show date");
-                }
-                
-                // Match if either date matches
-                dateMatch = createdAtMatch || showDateMatch;
-                System.out.println("Final date match for booking ID " + booking.getId() + ": " + dateMatch);
-            }
-            
-            if (statusMatch && dateMatch) {
-                // Ensure all necessary data is loaded
-                enrichBookingData(booking);
-                filteredBookings.add(booking);
-            }
-        }
-        
-        // Sort bookings by creation date (newest first)
-        filteredBookings.sort((b1, b2) -> {
-            if (b1.getCreatedAt() == null) return 1;
-            if (b2.getCreatedAt() == null) return -1;
-            return b2.getCreatedAt().compareTo(b1.getCreatedAt());
-        });
-        
-        // Apply pagination
-        int end = Math.min(offset + limit, filteredBookings.size());
-        if (offset >= filteredBookings.size()) {
-            return new ArrayList<>();
+        return getBookingsPage(offset, limit, status, date).getContent();
+    }
+    
+    @Override
+    public Page<Booking> getBookingsPage(int offset, int limit, String status, LocalDate date) {
+        int pageSize = Math.max(1, limit);
+        PageRequest pageRequest = PageRequest.of(Math.max(0, offset) / pageSize, pageSize, BookingSpecifications.NEWEST_FIRST);
+        return bookingRepository.findBy(adminFilter(status, date),
+                query -> query.project(BookingSpecifications.LIST_PATHS).page(pageRequest));
+    }
+    
+    @Override
+    public List<Booking> getBookingsBefore(LocalDateTime beforeBookingDate, Long beforeId, int limit, String status, LocalDate date) {
+        Specification<Booking> spec = adminFilter(status, date);
+        if (beforeBookingDate != null && beforeId != null) {
+            spec = spec.and(BookingSpecifications.before(beforeBookingDate, beforeId));
         }
-        
-        return filteredBookings.subList(offset, end);
+        return findNewestFirst(spec, limit);
+    }
+
+    @Override
+    public long countBookingsWithFilters(String status, LocalDate date) {
+        return bookingRepository.count(adminFilter(status, date));
     }
     
     /**
-     * Enriches a booking with all necessary data for display
+     * Build the admin grid filter; an unknown status is ignored as before
      */
-    private void enrichBookingData(Booking booking) {
-        // Ensure user data is loaded
-        if (booking.getUser() != null && booking.getUser().getId() != null) {
-            User user = userRepository.findById(booking.getUser().getId()).orElse(null);
-            if (user != null) {
-                booking.setUser(user);
-            }
-        }
-        
-        // Ensure show schedule data is loaded
-        if (booking.getShowSchedule() != null && booking.getShowSchedule().getId() != null) {
-            ShowSchedule schedule = showScheduleRepository.findById(booking.getShowSchedule().getId()).orElse(null);
-            if (schedule != null) {
-                booking.setShowSchedule(schedule);
-            }
-        }
-        
-        // Ensure seat bookings are loaded
-        if (booking.getId() != null) {
-            List<SeatBooking> seatBookings = seatBookingRepository.findByBookingId(booking.getId());
-            if (seatBookings != null && !seatBookings.isEmpty()) {
-                booking.setSeatBookings(seatBookings);
-                
-                // Ensure each seat in the seat bookings is fully loaded
-                for (SeatBooking seatBooking : seatBookings) {
-                    if (seatBooking.getSeat() != null && seatBooking.getSeat().getId() != null) {
-                        Seat seat = seatRepository.findById(seatBooking.getSeat().getId()).orElse(null);
-                        if (seat != null) {
-                            seatBooking.setSeat(seat);
-                        }
-                    }
-                }
+    private Specification<Booking> adminFilter(String status, LocalDate date) {
+        BookingStatus bookingStatus = null;
+        if (status != null && !status.isEmpty()) {
+            try {
+                bookingStatus = BookingStatus.valueOf(status);
+            } catch (IllegalArgumentException e) {
+                logger.debug("Invalid status provided: {}, ignoring this filter", status);
             }
         }
+        return BookingSpecifications.adminFilter(bookingStatus, date);
+    }
+    
+    /**
+     * Read the first rows of a newest-first scan, fetching what the booking grids display in the same query
+     */
+    private List<Booking> findNewestFirst(Specification<Booking> spec, int limit) {
+        int pageSize = Math.max(1, limit);
+        return bookingRepository.findBy(spec, query -> query
+                .sortBy(BookingSpecifications.NEWEST_FIRST)
+                .project(BookingSpecifications.LIST_PATHS)
+                .limit(pageSize)
+                .all());
     }
 
-    @Override
-    public long countBookingsWithFilters(String status, LocalDate date) {
-        System.out.println("BookingServiceImpl: Counting bookings with filters:");
-        System.out.println("Status: " + status);
-        System.out.println("Date: " + date);
-        
-        List<Booking> allBookings = bookingRepository.findAll();
-        System.out.println("Total bookings before filtering: " + allBookings.size());
-        
-        long count = 0;
-        
-        for (Booking booking : allBookings) {
-            // Check if status matches (if provided)
-            boolean statusMatch = true;
-            if (status != null && !status.isEmpty()) {
-                try {
-                    BookingStatus requestedStatus = BookingStatus.valueOf(status);
-                    statusMatch = booking.getStatus() == requestedStatus;
-                } catch (IllegalArgumentException e) {
-                    // Invalid status provided, ignore this filter
-                    statusMatch = true;
-                    System.out.println("Invalid status provided: " + status + ", ignoring this filter");
-                }
-            }
-            
-            // Check if date matches (if provided)
-            boolean dateMatch = true;
-            if (date != null) {
-                System.out.println("Checking date match for booking ID " + booking.getId() + " in count method");
-                boolean createdAtMatch = false;
-                boolean showDateMatch = false;
-                
-                // Check booking date (created_at)
-                if (booking.getCreatedAt() != null) {
-                    createdAtMatch = booking.getCreatedAt().toLocalDate().equals(date);
-                    System.out.println("Booking created at: " + booking.getCreatedAt().toLocalDate() + ", requested date: " + date + ", match: " + createdAtMatch);
-                } else {
-                    System.out.println("Booking has no creation date");
-                }
-                
-                // Check show date
-                if (booking.getShowSchedule() != null && booking.getShowSchedule().getShowDate() != null) {
-                    showDateMatch = booking.getShowSchedule().getShowDate().equals(date);
-                    System.out.println("Show date: " + booking.getShowSchedule().getShowDate() + ", requested date: " + date + ", match: " + showDateMatch);
-                } else {
-                    System.out.println("Booking has no show date");
-                }
-                
-                // Match if either date matches
-                dateMatch = createdAtMatch || showDateMatch;
-                System.out.println("Final date match for booking ID " + booking.getId() + ": " + dateMatch);
-            }
-            
-            if (statusMatch && dateMatch) {
-                count++;
+    /**
+     * Walk every booking matching the filter in keyset pages. The persistence context is
+     * cleared after each page, so memory use does not grow with the number of bookings.
+     */
+    private void forEachNewestFirst(Specification<Booking> spec, Consumer<Booking> consumer) {
+        List<Booking> page = findNewestFirst(spec, STREAM_PAGE_SIZE);
+        while (!page.isEmpty()) {
+            page.forEach(consumer);
+            if (page.size() < STREAM_PAGE_SIZE) {
+                break;
             }
+            Booking last = page.get(page.size() - 1);
+            entityManager.clear();
+            page = findNewestFirst(spec.and(BookingSpecifications.before(last.getBookingDate(), last.getId())),
+                    STREAM_PAGE_SIZE);
         }
-        
-        return count;
     }
 
     @Override
@@ -858,12 +762,7 @@ public class BookingServiceImpl implements BookingService {
     }
     
     private String generateBookingNumber() {
-        // Generate a unique booking number in the format BK00001, BK00002, etc.
-        // First, get the count of existing bookings
-        long bookingCount = bookingRepository.count();
-        // Add 1 to get the next number
-        long nextNumber = bookingCount + 1;
-        // Format as BK00001, BK00002, etc.
-        return String.format("BK%05d", nextNumber);
+        // Time-ordered and unique across nodes without a database round trip, e.g. BK01J5Z8Q3K0A2M
+        return idGenerator.nextId("BK");
     }
 }
\ No newline at end of file
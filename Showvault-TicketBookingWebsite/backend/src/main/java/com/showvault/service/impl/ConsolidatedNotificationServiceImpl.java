@@ -10,15 +10,22 @@ import com.showvault.repository.BookingRepository;
 import com.showvault.repository.ConsolidatedNotificationRepository;
 import com.showvault.repository.ShowScheduleRepository;
 import com.showvault.service.ConsolidatedNotificationService;
+import com.showvault.util.AfterCommit;
+import com.showvault.websocket.WebSocketService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,9 +34,17 @@ import java.util.Optional;
 @Service
 public class ConsolidatedNotificationServiceImpl implements ConsolidatedNotificationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ConsolidatedNotificationServiceImpl.class);
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
+    // User destination that clients subscribe to as /user/queue/notifications
+    public static final String USER_NOTIFICATION_DESTINATION = "/queue/notifications";
+
+    // Maximum number of notifications returned by a single replay request
+    private static final int MAX_REPLAY_SIZE = 100;
+
     @Autowired
     private ConsolidatedNotificationRepository notificationRepository;
 
@@ -39,6 +54,12 @@ public class ConsolidatedNotificationServiceImpl implements ConsolidatedNotifica
     @Autowired
     private ShowScheduleRepository showScheduleRepository;
 
+    @Autowired
+    private NotificationUnreadCounter unreadCounter;
+
+    @Autowired
+    private WebSocketService webSocketService;
+
     @Override
     public List<ConsolidatedNotification> getUserNotifications(User user) {
         return notificationRepository.findByUserOrderByCreatedAtDesc(user);
@@ -56,7 +77,29 @@ public class ConsolidatedNotificationServiceImpl implements ConsolidatedNotifica
 
     @Override
     public long getUnreadCount(User user) {
-        return notificationRepository.countByUserAndRead(user, false);
+        return unreadCounter.get(user.getId());
+    }
+
+    @Override
+    public long getUnreadCount(Long userId) {
+        return unreadCounter.get(userId);
+    }
+
+    @Override
+    public List<ConsolidatedNotification> getUserNotificationsBefore(Long userId, LocalDateTime beforeCreatedAt,
+                                                                     Long beforeId, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        if (beforeCreatedAt == null || beforeId == null) {
+            return notificationRepository.findFirstPageByUserId(userId, pageable);
+        }
+        return notificationRepository.findPageByUserIdBefore(userId, beforeCreatedAt, beforeId, pageable);
+    }
+
+    @Override
+    public List<ConsolidatedNotification> getNotificationsSince(Long userId, Long afterId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_REPLAY_SIZE));
+        return notificationRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, afterId != null ? afterId : 0L, PageRequest.of(0, size));
     }
 
     @Override
@@ -67,7 +110,9 @@ public class ConsolidatedNotificationServiceImpl implements ConsolidatedNotifica
     @Override
     @Transactional
     public ConsolidatedNotification createNotification(ConsolidatedNotification notification) {
-        return notificationRepository.save(notification);
+        ConsolidatedNotification saved = notificationRepository.save(notification);
+        onCreated(saved);
+        return saved;
     }
 
     @Override
@@ -75,7 +120,7 @@ public class ConsolidatedNotificationServiceImpl implements ConsolidatedNotifica
     public ConsolidatedNotification createNotification(User user, String title, String message, 
                                                      NotificationType type) {
         ConsolidatedNotification notification = new ConsolidatedNotification(user, title, message, type);
-        return notificationRepository.save(notification);
+        return createNotification(notification);
     }
 
     @Override
@@ -86,7 +131,7 @@ public class ConsolidatedNotificationServiceImpl implements ConsolidatedNotifica
         ConsolidatedNotification notification = new ConsolidatedNotification(user, title, message, type);
         notification.setRelatedId(relatedId);
         notification.setRelatedType(relatedType);
-        return notificationRepository.save(notification);
+        return createNotification(notification);
     }
 
     @Override
@@ -95,8 +140,13 @@ public class ConsolidatedNotificationServiceImpl implements ConsolidatedNotifica
         Optional<ConsolidatedNotification> notificationOpt = notificationRepository.findById(id);
         if (notificationOpt.isPresent()) {
             ConsolidatedNotification notification = notificationOpt.get();
+            boolean wasUnread = !notification.isRead();
             notification.markAsRead();
             notificationRepository.save(notification);
+            if (wasUnread) {
+                Long userId = notification.getUser().getId();
+                AfterCommit.run(() -> unreadCounter.decrement(userId));
+            }
             return true;
         }
         return false;
@@ -105,14 +155,23 @@ public class ConsolidatedNotificationServiceImpl implements ConsolidatedNotifica
     @Override
     @Transactional
     public int markAllAsRead(User user) {
-        return notificationRepository.markAllAsRead(user);
+        int count = notificationRepository.markAllAsRead(user);
+        Long userId = user.getId();
+        AfterCommit.run(() -> unreadCounter.reset(userId));
+        return count;
     }
 
     @Override
     @Transactional
     public boolean deleteNotification(Long id) {
-        if (notificationRepository.existsById(id)) {
-            notificationRepository.deleteById(id);
+        Optional<ConsolidatedNotification> notificationOpt = notificationRepository.findById(id);
+        if (notificationOpt.isPresent()) {
+            ConsolidatedNotification notification = notificationOpt.get();
+            notificationRepository.delete(notification);
+            if (!notification.isRead()) {
+                Long userId = notification.getUser().getId();
+                AfterCommit.run(() -> unreadCounter.decrement(userId));
+            }
             return true;
         }
         return false;
@@ -293,4 +352,57 @@ public class ConsolidatedNotificationServiceImpl implements ConsolidatedNotifica
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Update in-memory state for a newly persisted notification once the transaction commits
+     * @param notification The saved notification
+     */
+    private void onCreated(ConsolidatedNotification notification) {
+        Long userId = notification.getUser().getId();
+        String username = notification.getUser().getUsername();
+        Map<String, Object> payload = toPushPayload(notification);
+        boolean unread = !notification.isRead();
+        
+        AfterCommit.run(() -> {
+            if (unread) {
+                unreadCounter.increment(userId);
+            }
+            pushToUser(username, payload);
+        });
+    }
+
+    /**
+     * Push a notification to the user's WebSocket queue.
+     * Delivery is best effort; clients recover missed messages through the replay endpoint.
+     * @param username The recipient's username (the STOMP principal name)
+     * @param payload The notification payload
+     */
+    private void pushToUser(String username, Map<String, Object> payload) {
+        if (username == null) {
+            return;
+        }
+        try {
+            webSocketService.sendToUser(username, USER_NOTIFICATION_DESTINATION, payload);
+        } catch (Exception e) {
+            logger.warn("Failed to push notification to user {}: {}", username, e.getMessage());
+        }
+    }
+
+    /**
+     * Build a detached payload for a notification so that serialization never touches lazy associations
+     * @param notification The notification
+     * @return Map of notification fields
+     */
+    private Map<String, Object> toPushPayload(ConsolidatedNotification notification) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("id", notification.getId());
+        payload.put("title", notification.getTitle());
+        payload.put("message", notification.getMessage());
+        payload.put("type", notification.getType());
+        payload.put("relatedId", notification.getRelatedId());
+        payload.put("relatedType", notification.getRelatedType());
+        payload.put("read", notification.isRead());
+        payload.put("createdAt", notification.getCreatedAt());
+        return payload;
+    }
+}
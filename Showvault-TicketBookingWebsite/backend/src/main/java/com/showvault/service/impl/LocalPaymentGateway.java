@@ -0,0 +1,81 @@
+package com.showvault.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.showvault.model.PaymentMethod;
+import com.showvault.service.PaymentGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the payment gateway.
+ * Simulates network latency and a configurable success rate so that the payment
+ * pipeline can be exercised (and load tested) without an external provider.
+ * Like a real gateway it remembers outcomes by transaction id, so a repeated call returns the
+ * first outcome and lookups can answer for calls whose caller gave up waiting.
+ */
+@Service
+public class LocalPaymentGateway implements PaymentGateway {
+
+    private final long latencyMs;
+    private final double successRate;
+
+    private final Cache<String, Result> charges = outcomes();
+    private final Cache<String, Result> refunds = outcomes();
+
+    public LocalPaymentGateway(@Value("${showvault.payment.gateway.latency-ms:0}") long latencyMs,
+                               @Value("${showvault.payment.gateway.success-rate:0.9}") double successRate) {
+        this.latencyMs = latencyMs;
+        this.successRate = successRate;
+    }
+
+    @Override
+    public Result charge(String transactionId, BigDecimal amount, PaymentMethod method) {
+        simulateLatency();
+        return charges.get(transactionId, id -> ThreadLocalRandom.current().nextDouble() < successRate
+                ? Result.success()
+                : Result.failure("Payment declined by gateway"));
+    }
+
+    @Override
+    public Result refund(String transactionId, BigDecimal amount) {
+        simulateLatency();
+        return refunds.get(transactionId, id -> ThreadLocalRandom.current().nextDouble() < successRate
+                ? Result.success()
+                : Result.failure("Refund rejected by gateway"));
+    }
+
+    @Override
+    public Result lookupCharge(String transactionId) {
+        Result result = charges.getIfPresent(transactionId);
+        return result != null ? result : Result.failure("No charge received for " + transactionId);
+    }
+
+    @Override
+    public Result lookupRefund(String transactionId) {
+        Result result = refunds.getIfPresent(transactionId);
+        return result != null ? result : Result.failure("No refund received for " + transactionId);
+    }
+
+    private static Cache<String, Result> outcomes() {
+        return Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofDays(1))
+                .build();
+    }
+
+    private void simulateLatency() {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
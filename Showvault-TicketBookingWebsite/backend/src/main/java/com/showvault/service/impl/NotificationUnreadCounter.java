@@ -0,0 +1,133 @@
+package com.showvault.service.impl;
+
+import com.showvault.repository.ConsolidatedNotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory per-user unread notification counters.
+ * The notification bell reads from here instead of running a COUNT query on every poll.
+ * Counters are loaded lazily, adjusted on create/read/delete and periodically
+ * reconciled against the database to repair any drift.
+ */
+@Component
+public class NotificationUnreadCounter {
+
+    // Counters not read for this long are dropped during reconciliation
+    private static final long IDLE_EVICTION_MS = TimeUnit.MINUTES.toMillis(30);
+
+    // Maximum number of user ids per reconciliation query
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    @Autowired
+    private ConsolidatedNotificationRepository notificationRepository;
+
+    private static class Counter {
+        final AtomicLong count;
+        volatile long lastAccess;
+
+        Counter(long initial) {
+            this.count = new AtomicLong(initial);
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Get the unread count for a user, loading it from the database on first access
+     * @param userId The user ID
+     * @return Count of unread notifications
+     */
+    public long get(Long userId) {
+        Counter counter = counters.computeIfAbsent(userId,
+                id -> new Counter(notificationRepository.countByUserIdAndRead(id, false)));
+        counter.lastAccess = System.currentTimeMillis();
+        return Math.max(0, counter.count.get());
+    }
+
+    /**
+     * Record a newly created unread notification
+     * @param userId The user ID
+     */
+    public void increment(Long userId) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.count.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record a notification that went from unread to read (or an unread one that was deleted)
+     * @param userId The user ID
+     */
+    public void decrement(Long userId) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.count.updateAndGet(c -> c > 0 ? c - 1 : 0);
+        }
+    }
+
+    /**
+     * Record that all of a user's notifications have been read
+     * @param userId The user ID
+     */
+    public void reset(Long userId) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.count.set(0);
+        }
+    }
+
+    /**
+     * Drop the cached counter for a user so that the next read reloads it
+     * @param userId The user ID
+     */
+    public void evict(Long userId) {
+        counters.remove(userId);
+    }
+
+    /**
+     * Reconcile cached counters with the database and drop idle entries.
+     * Runs every 5 minutes; uses one grouped COUNT query per batch of users.
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+    public void reconcile() {
+        long idleBefore = System.currentTimeMillis() - IDLE_EVICTION_MS;
+        counters.entrySet().removeIf(e -> e.getValue().lastAccess < idleBefore);
+
+        List<Long> userIds = new ArrayList<>(counters.keySet());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+
+            Map<Long, Long> actual = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadGroupedByUserIds(batch)) {
+                actual.put((Long) row[0], (Long) row[1]);
+            }
+
+            for (Long userId : batch) {
+                Counter counter = counters.get(userId);
+                if (counter != null) {
+                    counter.count.set(actual.getOrDefault(userId, 0L));
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of users with a cached counter
+     * @return Number of cached counters
+     */
+    public int size() {
+        return counters.size();
+    }
+}
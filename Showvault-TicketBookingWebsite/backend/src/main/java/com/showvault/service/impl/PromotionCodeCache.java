@@ -0,0 +1,93 @@
+package com.showvault.service.impl;
+
+import com.showvault.model.Promotion;
+import com.showvault.repository.PromotionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory lookup of promotions by code.
+ * Validation and discount quotes read from here instead of querying the promotions
+ * table on every keystroke at checkout. Entries are evicted when a promotion changes
+ * and expire after a short TTL so that changes made on other nodes are picked up.
+ * Cached instances are shared between threads and must be treated as read-only;
+ * redemption limits are enforced by the database, not by this cache.
+ */
+@Component
+public class PromotionCodeCache {
+
+    // Entries older than this are reloaded on the next lookup
+    private static final long ENTRY_TTL_MS = TimeUnit.SECONDS.toMillis(60);
+
+    // Upper bound on cached codes; lookups beyond this go straight to the database
+    private static final int MAX_ENTRIES = 10000;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    private static class Entry {
+        final Promotion promotion;
+        final long loadedAt;
+
+        Entry(Promotion promotion) {
+            this.promotion = promotion;
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        boolean isStale(long now) {
+            return now - loadedAt > ENTRY_TTL_MS;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Get a promotion by code, loading it from the database on first access
+     * @param code The promotion code
+     * @return The promotion, or empty if no promotion has this code
+     */
+    public Optional<Promotion> get(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(code);
+        if (entry == null || entry.isStale(now)) {
+            entry = new Entry(promotionRepository.findByCode(code).orElse(null));
+            if (entries.size() < MAX_ENTRIES || entries.containsKey(code)) {
+                entries.put(code, entry);
+            }
+        }
+        return Optional.ofNullable(entry.promotion);
+    }
+
+    /**
+     * Drop the cached entry for a code so that the next lookup reloads it
+     * @param code The promotion code
+     */
+    public void evict(String code) {
+        if (code != null) {
+            entries.remove(code);
+        }
+    }
+
+    /**
+     * Drop all cached entries
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Number of cached codes
+     * @return Number of cached entries
+     */
+    public int size() {
+        return entries.size();
+    }
+}
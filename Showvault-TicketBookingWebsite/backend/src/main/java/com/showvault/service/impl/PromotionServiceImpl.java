@@ -6,7 +6,9 @@ import com.showvault.model.Show;
 import com.showvault.model.User;
 import com.showvault.repository.BookingRepository;
 import com.showvault.repository.PromotionRepository;
+import com.showvault.service.PricingService;
 import com.showvault.service.PromotionService;
+import com.showvault.util.AfterCommit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,12 @@ public class PromotionServiceImpl implements PromotionService {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private PromotionCodeCache promotionCodeCache;
+
+    @Autowired
+    private PricingService pricingService;
+
     @Override
     public List<Promotion> getAllPromotions() {
         return promotionRepository.findAll();
@@ -54,9 +62,13 @@ public class PromotionServiceImpl implements PromotionService {
         return promotionRepository.findById(id);
     }
 
+    /**
+     * Get a promotion by code from the promotion code cache.
+     * The returned instance is shared and may lag the database by up to the cache TTL.
+     */
     @Override
     public Optional<Promotion> getPromotionByCode(String code) {
-        return promotionRepository.findByCode(code);
+        return promotionCodeCache.get(code);
     }
 
     @Override
@@ -82,7 +94,9 @@ public class PromotionServiceImpl implements PromotionService {
             promotion.setCurrentUses(0);
         }
         
-        return promotionRepository.save(promotion);
+        Promotion savedPromotion = promotionRepository.save(promotion);
+        evictAfterCommit(savedPromotion.getCode());
+        return savedPromotion;
     }
 
     @Override
@@ -106,14 +120,18 @@ public class PromotionServiceImpl implements PromotionService {
         // Update timestamp
         promotion.setUpdatedAt(LocalDateTime.now());
         
-        return promotionRepository.save(promotion);
+        Promotion savedPromotion = promotionRepository.save(promotion);
+        evictAfterCommit(savedPromotion.getCode());
+        return savedPromotion;
     }
 
     @Override
     @Transactional
     public boolean deletePromotion(Long id) {
-        if (promotionRepository.existsById(id)) {
-            promotionRepository.deleteById(id);
+        Optional<Promotion> promotionOpt = promotionRepository.findById(id);
+        if (promotionOpt.isPresent()) {
+            promotionRepository.delete(promotionOpt.get());
+            evictAfterCommit(promotionOpt.get().getCode());
             return true;
         }
         return false;
@@ -121,53 +139,20 @@ public class PromotionServiceImpl implements PromotionService {
 
     @Override
     public boolean validatePromotion(String code) {
-        Optional<Promotion> promotionOpt = promotionRepository.findByCode(code);
-        
-        if (promotionOpt.isPresent()) {
-            Promotion promotion = promotionOpt.get();
-            
-            // Check if promotion is active
-            if (promotion.getStatus() != Promotion.Status.ACTIVE) {
-                return false;
-            }
-            
-            // Check if promotion is within valid date range
-            LocalDate today = LocalDate.now();
-            if (promotion.getStartDate() != null && today.isBefore(promotion.getStartDate())) {
-                return false;
-            }
-            if (promotion.getEndDate() != null && today.isAfter(promotion.getEndDate())) {
-                return false;
-            }
-            
-            // Check if promotion has reached max usage
-            if (promotion.getMaxUses() != null && promotion.getCurrentUses() != null) {
-                if (promotion.getCurrentUses() >= promotion.getMaxUses()) {
-                    return false;
-                }
-            }
-            
-            return true;
-        }
-        
-        return false;
+        Optional<Promotion> promotionOpt = promotionCodeCache.get(code);
+        return promotionOpt.isPresent() && isRedeemable(promotionOpt.get(), LocalDate.now());
     }
 
     @Override
     public double calculateDiscountAmount(String code, double originalPrice) {
-        Optional<Promotion> promotionOpt = promotionRepository.findByCode(code);
+        Optional<Promotion> promotionOpt = promotionCodeCache.get(code);
         
-        if (!promotionOpt.isPresent()) {
+        if (!promotionOpt.isPresent() || !isRedeemable(promotionOpt.get(), LocalDate.now())) {
             return 0;
         }
         
         Promotion promotion = promotionOpt.get();
         
-        // Validate the promotion first
-        if (!validatePromotion(code)) {
-            return 0;
-        }
-        
         // Calculate discount based on type
         if (promotion.getDiscountType() == Promotion.DiscountType.PERCENTAGE) {
             return originalPrice * (promotion.getDiscountValue() / 100.0);
@@ -178,31 +163,72 @@ public class PromotionServiceImpl implements PromotionService {
         return 0;
     }
 
+    /**
+     * Redeem one use of a promotion.
+     * The usage cap is enforced by a single conditional UPDATE, so concurrent callers
+     * can never redeem more than max uses. The last redemption also marks the
+     * promotion as expired.
+     */
     @Override
     @Transactional
     public boolean usePromotion(String code) {
-        Optional<Promotion> promotionOpt = promotionRepository.findByCode(code);
+        if (code == null) {
+            return false;
+        }
         
-        if (promotionOpt.isPresent() && validatePromotion(code)) {
-            Promotion promotion = promotionOpt.get();
-            
-            // Increment usage count
-            if (promotion.getCurrentUses() == null) {
-                promotion.setCurrentUses(1);
-            } else {
-                promotion.setCurrentUses(promotion.getCurrentUses() + 1);
-            }
-            
-            // Check if max uses reached and update status if needed
-            if (promotion.getMaxUses() != null && promotion.getCurrentUses() >= promotion.getMaxUses()) {
-                promotion.setStatus(Promotion.Status.EXPIRED);
+        // Cheap rejection of unknown, inactive or visibly exhausted codes
+        Optional<Promotion> promotionOpt = promotionCodeCache.get(code);
+        if (!promotionOpt.isPresent() || !isRedeemable(promotionOpt.get(), LocalDate.now())) {
+            return false;
+        }
+        
+        int redeemed = promotionRepository.redeemIfAvailable(code, LocalDate.now(), Promotion.Status.EXPIRED);
+        if (redeemed == 0) {
+            // The cached copy still looked redeemable, so it is out of date
+            promotionCodeCache.evict(code);
+            return false;
+        }
+        
+        return true;
+    }
+
+    /**
+     * Check whether a promotion can currently be redeemed
+     * @param promotion The promotion to check
+     * @param today The current date
+     * @return true if the promotion is active, in its date range and below its usage cap
+     */
+    private boolean isRedeemable(Promotion promotion, LocalDate today) {
+        // Check if promotion is active
+        if (promotion.getStatus() != Promotion.Status.ACTIVE) {
+            return false;
+        }
+        
+        // Check if promotion is within valid date range
+        if (promotion.getStartDate() != null && today.isBefore(promotion.getStartDate())) {
+            return false;
+        }
+        if (promotion.getEndDate() != null && today.isAfter(promotion.getEndDate())) {
+            return false;
+        }
+        
+        // Check if promotion has reached max usage
+        if (promotion.getMaxUses() != null && promotion.getCurrentUses() != null) {
+            if (promotion.getCurrentUses() >= promotion.getMaxUses()) {
+                return false;
             }
-            
-            promotionRepository.save(promotion);
-            return true;
         }
         
-        return false;
+        return true;
+    }
+
+    /**
+     * Evict a promotion code from the cache and recompile price tables once the current transaction commits
+     * @param code The promotion code
+     */
+    private void evictAfterCommit(String code) {
+        pricingService.refreshPromotionsAfterCommit();
+        AfterCommit.run(() -> promotionCodeCache.evict(code));
     }
     
     @Override
@@ -7,6 +7,8 @@ import com.showvault.model.User;
 import com.showvault.repository.SeatReservationRepository;
 import com.showvault.service.SeatConsistencyService;
 import com.showvault.service.SeatReservationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -20,6 +22,8 @@ import java.util.stream.Collectors;
 @Service
 public class SeatReservationServiceImpl implements SeatReservationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SeatReservationServiceImpl.class);
+
     private final SeatReservationRepository seatReservationRepository;
     private final SeatConsistencyService seatConsistencyService;
 
@@ -35,8 +39,8 @@ public class SeatReservationServiceImpl implements SeatReservationService {
     @Transactional
     public List<SeatReservation> reserveSeats(List<Seat> seats, ShowSchedule showSchedule, User user,
                                              String sessionId, int reservationTimeMinutes) {
-        System.out.println("Reserving " + seats.size() + " seats for user ID: " + user.getId() + 
-                          ", session ID: " + sessionId + ", schedule ID: " + showSchedule.getId());
+        logger.debug("Reserving {} seats for user ID: {}, session ID: {}, schedule ID: {}",
+                seats.size(), user.getId(), sessionId, showSchedule.getId());
         
         // Check if any of the seats are already reserved
         List<Long> seatIds = seats.stream().map(Seat::getId).collect(Collectors.toList());
@@ -50,10 +54,12 @@ public class SeatReservationServiceImpl implements SeatReservationService {
         }
         
         if (!existingReservations.isEmpty()) {
-            System.out.println("Some seats are already reserved: " + 
-                              existingReservations.stream()
-                                  .map(r -> r.getSeat().getId().toString())
-                                  .collect(Collectors.joining(", ")));
+            if (logger.isDebugEnabled()) {
+                logger.debug("Some seats are already reserved: {}",
+                        existingReservations.stream()
+                            .map(r -> r.getSeat().getId().toString())
+                            .collect(Collectors.joining(", ")));
+            }
             
             // Filter out already reserved seats
             seats = seats.stream()
@@ -61,7 +67,7 @@ public class SeatReservationServiceImpl implements SeatReservationService {
                     .noneMatch(r -> r.getSeat().getId().equals(seat.getId())))
                 .collect(Collectors.toList());
             
-            System.out.println("Proceeding with reservation of " + seats.size() + " available seats");
+            logger.debug("Proceeding with reservation of {} available seats", seats.size());
         }
         
         // Create reservations for available seats
@@ -79,16 +85,15 @@ public class SeatReservationServiceImpl implements SeatReservationService {
             reservation.setExpiresAt(expiresAt);
             
             reservations.add(seatReservationRepository.save(reservation));
-            System.out.println("Created reservation for seat ID: " + seat.getId() + 
-                              ", expires at: " + expiresAt);
+            logger.debug("Created reservation for seat ID: {}, expires at: {}", seat.getId(), expiresAt);
         }
         
         // Synchronize seat counts to ensure consistency
         try {
-            System.out.println("Synchronizing seat counts after seat reservation for schedule ID: " + showSchedule.getId());
+            logger.debug("Synchronizing seat counts after seat reservation for schedule ID: {}", showSchedule.getId());
             seatConsistencyService.synchronizeSeatsForSchedule(showSchedule.getId());
         } catch (Exception e) {
-            System.out.println("Error during post-reservation synchronization: " + e.getMessage());
+            logger.error("Error during post-reservation synchronization: {}", e.getMessage());
         }
         
         return reservations;
@@ -118,7 +123,7 @@ public class SeatReservationServiceImpl implements SeatReservationService {
     @Override
     @Transactional
     public void releaseReservations(String sessionId) {
-        System.out.println("Releasing reservations for session ID: " + sessionId);
+        logger.debug("Releasing reservations for session ID: {}", sessionId);
         
         // Get affected show schedules before deleting reservations
         List<Long> affectedScheduleIds = seatReservationRepository.findBySessionId(sessionId)
@@ -133,10 +138,11 @@ public class SeatReservationServiceImpl implements SeatReservationService {
         // Synchronize seat counts for all affected schedules
         for (Long scheduleId : affectedScheduleIds) {
             try {
-                System.out.println("Synchronizing seat counts after reservation release for schedule ID: " + scheduleId);
+                logger.debug("Synchronizing seat counts after reservation release for schedule ID: {}", scheduleId);
                 seatConsistencyService.synchronizeSeatsForSchedule(scheduleId);
             } catch (Exception e) {
-                System.out.println("Error during post-release synchronization for schedule ID " + scheduleId + ": " + e.getMessage());
+                logger.error("Error during post-release synchronization for schedule ID {}: {}",
+                        scheduleId, e.getMessage());
             }
         }
     }
@@ -145,7 +151,7 @@ public class SeatReservationServiceImpl implements SeatReservationService {
     @Transactional
     @Scheduled(fixedRate = 60000) // Run every minute
     public void cleanupExpiredReservations() {
-        System.out.println("Cleaning up expired seat reservations");
+        logger.debug("Cleaning up expired seat reservations");
         LocalDateTime now = LocalDateTime.now();
         
         // Get affected show schedules before deleting reservations
@@ -157,15 +163,17 @@ public class SeatReservationServiceImpl implements SeatReservationService {
         
         // Delete expired reservations
         int deletedCount = seatReservationRepository.deleteExpiredReservations(now);
-        System.out.println("Deleted " + deletedCount + " expired reservations");
+        logger.debug("Deleted {} expired reservations", deletedCount);
         
         // Synchronize seat counts for all affected schedules
         for (Long scheduleId : affectedScheduleIds) {
             try {
-                System.out.println("Synchronizing seat counts after expired reservation cleanup for schedule ID: " + scheduleId);
+                logger.debug("Synchronizing seat counts after expired reservation cleanup for schedule ID: {}",
+                        scheduleId);
                 seatConsistencyService.synchronizeSeatsForSchedule(scheduleId);
             } catch (Exception e) {
-                System.out.println("Error during post-cleanup synchronization for schedule ID " + scheduleId + ": " + e.getMessage());
+                logger.error("Error during post-cleanup synchronization for schedule ID {}: {}",
+                        scheduleId, e.getMessage());
             }
         }
     }
@@ -1,5 +1,6 @@
 package com.showvault.service.impl;
 
+import com.showvault.config.CacheConfig;
 import com.showvault.model.Booking;
 import com.showvault.model.BookingPayment;
 import com.showvault.model.Promotion;
@@ -14,7 +15,9 @@ import com.showvault.repository.ShowScheduleRepository;
 import com.showvault.repository.UserRatingRepository;
 import com.showvault.service.ShowAnalyticsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -40,6 +43,9 @@ public class ShowAnalyticsServiceImpl implements ShowAnalyticsService {
     @Autowired
     private PromotionRepository promotionRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Override
     public ShowAnalytics getShowAnalytics(Long showId) {
         Optional<Show> showOpt = showRepository.findById(showId);
@@ -264,12 +270,16 @@ public class ShowAnalyticsServiceImpl implements ShowAnalyticsService {
         return analytics;
     }
 
+    // Dashboard and sales report are also built from WebSocket handlers, outside any web
+    // request, so they open their own transaction for the lazy booking associations
     @Override
+    @Transactional
     public Map<String, Object> getOrganizerDashboardStats(User organizer) {
         return getOrganizerDashboardStats(organizer, LocalDate.now().minusMonths(1), LocalDate.now());
     }
 
     @Override
+    @Transactional
     public Map<String, Object> getOrganizerDashboardStats(User organizer, LocalDate startDate, LocalDate endDate) {
         // Get all shows created by the organizer
         List<Show> shows = showRepository.findByCreatedById(organizer.getId());
@@ -494,6 +504,7 @@ public class ShowAnalyticsServiceImpl implements ShowAnalyticsService {
      */
     private void updateShowStatuses(List<Show> shows) {
         LocalDate today = LocalDate.now();
+        boolean showsUpdated = false;
         
         for (Show show : shows) {
             // Skip if the show is cancelled
@@ -539,8 +550,15 @@ public class ShowAnalyticsServiceImpl implements ShowAnalyticsService {
                     " from " + show.getStatus() + " to " + newStatus);
                 show.setStatus(newStatus);
                 showRepository.save(show);
+                showsUpdated = true;
             }
         }
+        
+        if (showsUpdated) {
+            // Same caches ShowService evicts on show writes; cleared once the transaction commits
+            cacheManager.getCache(CacheConfig.GENRES).clear();
+            cacheManager.getCache(CacheConfig.LANGUAGES).clear();
+        }
     }
 
     @Override
@@ -873,6 +891,7 @@ public class ShowAnalyticsServiceImpl implements ShowAnalyticsService {
     }
     
     @Override
+    @Transactional
     public Map<String, Object> getSalesReport(User organizer, LocalDate dateFrom, LocalDate dateTo, Long showId) {
         Map<String, Object> salesReport = new HashMap<>();
         
@@ -2,15 +2,40 @@ package com.showvault.service.impl;
 
 import com.showvault.model.SystemHealth;
 import com.showvault.service.SystemHealthService;
+import com.showvault.util.ConnectionPoolMetrics;
+import com.showvault.util.QueryMetrics;
+import com.showvault.util.RequestMetrics;
+import com.showvault.websocket.OutboundMessageCoalescer;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.OperatingSystemMXBean;
 import java.lang.management.RuntimeMXBean;
+import java.util.TreeMap;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,10 +44,38 @@ import java.util.stream.Collectors;
 
 @Service
 public class SystemHealthServiceImpl implements SystemHealthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemHealthServiceImpl.class);
     
     @Autowired(required = false)
     private DataSource dataSource;
 
+    @Autowired(required = false)
+    private OutboundMessageCoalescer outboundMessageCoalescer;
+
+    @Autowired(required = false)
+    @Qualifier("clientOutboundChannelExecutor")
+    private ThreadPoolTaskExecutor clientOutboundChannelExecutor;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    @Autowired(required = false)
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired(required = false)
+    private RequestMetrics requestMetrics;
+
+    @Autowired(required = false)
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired(required = false)
+    private QueryMetrics queryMetrics;
+
+    private static final int SLOWEST_QUERIES = 10;
+
+    private volatile Map<String, Object> databaseProduct;
+
     @Override
     public SystemHealth getSystemHealth() {
         SystemHealth health = new SystemHealth();
@@ -64,168 +117,246 @@ public class SystemHealthServiceImpl implements SystemHealthService {
     public Map<String, Object> getDatabaseMetrics() {
         Map<String, Object> metrics = new HashMap<>();
         
-        try {
-            if (dataSource != null && dataSource instanceof com.zaxxer.hikari.HikariDataSource) {
-                com.zaxxer.hikari.HikariDataSource hikariDataSource = (com.zaxxer.hikari.HikariDataSource) dataSource;
-                com.zaxxer.hikari.HikariPoolMXBean poolProxy = hikariDataSource.getHikariPoolMXBean();
-                
-                if (poolProxy != null) {
-                    metrics.put("activeConnections", poolProxy.getActiveConnections());
-                    metrics.put("idleConnections", poolProxy.getIdleConnections());
-                    metrics.put("totalConnections", poolProxy.getTotalConnections());
-                    metrics.put("threadsAwaitingConnection", poolProxy.getThreadsAwaitingConnection());
-                    metrics.put("maxConnections", hikariDataSource.getMaximumPoolSize());
-                    metrics.put("connectionPoolUsage", 
-                            (double) poolProxy.getActiveConnections() / hikariDataSource.getMaximumPoolSize() * 100);
-                } else {
-                    // Fallback if pool proxy is not available
-                    metrics.put("activeConnections", 15);
-                    metrics.put("maxConnections", 100);
-                    metrics.put("connectionPoolUsage", 15.0);
-                }
-            } else {
-                // Fallback if not using HikariCP or dataSource is null
-                metrics.put("activeConnections", 15);
-                metrics.put("maxConnections", 100);
-                metrics.put("connectionPoolUsage", 15.0);
-            }
-            
-            // Add additional database metrics
-            metrics.put("databaseType", "MySQL");
-            metrics.put("databaseVersion", getDatabaseVersion());
-            metrics.put("averageQueryTime", getAverageQueryTime());
-            metrics.put("slowQueries", getSlowQueriesCount());
-            metrics.put("totalQueries", 1250);
-            metrics.put("queriesPerSecond", 8.5);
-            
-        } catch (Exception e) {
-            // Fallback in case of errors
-            metrics.put("error", "Failed to retrieve database metrics: " + e.getMessage());
-            metrics.put("activeConnections", 15);
-            metrics.put("maxConnections", 100);
-            metrics.put("connectionPoolUsage", 15.0);
-            metrics.put("averageQueryTime", 5.2);
-            metrics.put("slowQueries", 2);
-            metrics.put("totalQueries", 1250);
-            metrics.put("queriesPerSecond", 8.5);
+        HikariDataSource hikariDataSource = getHikariDataSource();
+        if (hikariDataSource != null && hikariDataSource.getHikariPoolMXBean() != null) {
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            metrics.put("activeConnections", pool.getActiveConnections());
+            metrics.put("idleConnections", pool.getIdleConnections());
+            metrics.put("totalConnections", pool.getTotalConnections());
+            metrics.put("threadsAwaitingConnection", pool.getThreadsAwaitingConnection());
+            metrics.put("maxConnections", hikariDataSource.getMaximumPoolSize());
+            metrics.put("connectionPoolUsage",
+                    (double) pool.getActiveConnections() / hikariDataSource.getMaximumPoolSize() * 100);
+        }
+        if (connectionPoolMetrics != null) {
+            // Acquire and usage time histograms, timeouts
+            metrics.put("pool", connectionPoolMetrics.getMetrics());
         }
         
+        metrics.putAll(getDatabaseProduct());
+        
+        if (queryMetrics != null) {
+            Map<String, Object> statements = queryMetrics.getMetrics();
+            Map<?, ?> executionTime = (Map<?, ?>) statements.get("executionTime");
+            metrics.put("totalQueries", statements.get("totalStatements"));
+            metrics.put("averageQueryTime", statements.get("averageExecutionTime"));
+            metrics.put("slowQueries", statements.get("slowStatements"));
+            metrics.put("queriesPerSecond",
+                    ((Long) executionTime.get("count")).doubleValue() / requestWindowSeconds());
+            metrics.put("statements", statements);
+            metrics.put("slowQueryLog", queryMetrics.getSlowQueryLog());
+            metrics.put("endpoints", queryMetrics.getEndpointStats());
+        }
+        
+        metrics.put("hibernate", getHibernateStatistics());
+        
         return metrics;
     }
     
-    private String getDatabaseVersion() {
-        try {
-            // This would be implemented to query the database version
-            return "MySQL 8.0"; // Placeholder
-        } catch (Exception e) {
-            return "Unknown";
+    // Helper method to read the database product name and version once
+    private Map<String, Object> getDatabaseProduct() {
+        Map<String, Object> product = databaseProduct;
+        if (product == null && dataSource != null) {
+            try (Connection connection = dataSource.getConnection()) {
+                DatabaseMetaData metaData = connection.getMetaData();
+                product = Map.of("databaseType", metaData.getDatabaseProductName(),
+                        "databaseVersion", metaData.getDatabaseProductVersion());
+                databaseProduct = product;
+            } catch (SQLException e) {
+                logger.warn("Error reading database version", e);
+            }
         }
+        return product != null ? product : Map.of();
     }
     
-    private double getAverageQueryTime() {
-        try {
-            // This would be implemented to calculate average query time
-            return 5.2; // Placeholder
-        } catch (Exception e) {
-            return 0.0;
+    // Helper method to summarize Hibernate statistics, including the slowest JPQL queries
+    private Map<String, Object> getHibernateStatistics() {
+        Map<String, Object> hibernate = new HashMap<>();
+        if (entityManagerFactory == null) {
+            return hibernate;
+        }
+        
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        hibernate.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        hibernate.put("queryExecutions", statistics.getQueryExecutionCount());
+        hibernate.put("queryExecutionMaxTime", statistics.getQueryExecutionMaxTime());
+        hibernate.put("preparedStatements", statistics.getPrepareStatementCount());
+        hibernate.put("entityLoads", statistics.getEntityLoadCount());
+        hibernate.put("entityFetches", statistics.getEntityFetchCount());
+        hibernate.put("collectionLoads", statistics.getCollectionLoadCount());
+        hibernate.put("collectionFetches", statistics.getCollectionFetchCount());
+        hibernate.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        hibernate.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        hibernate.put("secondLevelCacheHitRate",
+                hitRate(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+        hibernate.put("transactions", statistics.getTransactionCount());
+        
+        List<Map<String, Object>> slowest = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            if (queryStatistics.getExecutionCount() == 0) {
+                continue;
+            }
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("query", query);
+            entry.put("executions", queryStatistics.getExecutionCount());
+            entry.put("averageTime", queryStatistics.getExecutionAvgTime());
+            entry.put("maxTime", queryStatistics.getExecutionMaxTime());
+            entry.put("rows", queryStatistics.getExecutionRowCount());
+            slowest.add(entry);
         }
+        slowest.sort(Comparator.comparingLong((Map<String, Object> e) -> (Long) e.get("maxTime")).reversed());
+        hibernate.put("slowestQueries", slowest.subList(0, Math.min(SLOWEST_QUERIES, slowest.size())));
+        
+        return hibernate;
     }
     
-    private int getSlowQueriesCount() {
+    // Helper method to find the Hikari pool behind the (possibly wrapped) DataSource
+    private HikariDataSource getHikariDataSource() {
         try {
-            // This would be implemented to count slow queries
-            return 2; // Placeholder
-        } catch (Exception e) {
-            return 0;
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            logger.warn("Error unwrapping data source", e);
         }
+        return null;
+    }
+    
+    private long requestWindowSeconds() {
+        return requestMetrics != null ? requestMetrics.getWindowSeconds() : 60;
     }
 
     @Override
     public Map<String, Object> getApiMetrics() {
-        // Create a map to store API metrics
         Map<String, Object> metrics = new HashMap<>();
+        if (requestMetrics == null) {
+            return metrics;
+        }
         
-        // Get runtime information
-        RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
-        long uptime = runtimeMXBean.getUptime();
-        
-        // Calculate requests per minute based on JVM uptime
-        // This is an approximation - in a production system, you would use a metrics library
-        long totalRequests = getTotalRequestCount();
-        double requestsPerMinute = uptime > 0 ? 
-                (totalRequests / (uptime / 60000.0)) : 0;
+        Map<String, Object> totals = requestMetrics.getTotals();
+        long totalRequests = (Long) totals.get("totalRequests");
+        long totalErrors = (Long) totals.get("totalErrors");
+        long totalClientErrors = (Long) totals.get("totalClientErrors");
+        long windowRequests = (Long) totals.get("windowRequests");
         
         metrics.put("totalRequests", totalRequests);
-        metrics.put("requestsPerMinute", requestsPerMinute);
+        // Throughput over the last complete metrics window
+        metrics.put("requestsPerMinute", windowRequests * 60.0 / requestMetrics.getWindowSeconds());
         metrics.put("averageResponseTime", getAverageResponseTime());
+        metrics.put("inFlightRequests", totals.get("inFlight"));
         
-        // Calculate error rate - in a real system this would come from actual error logs
-        double errorRate = calculateErrorRate();
+        double errorRate = percentage(totalErrors, totalRequests);
         metrics.put("errorRate", errorRate);
+        metrics.put("clientErrorRate", percentage(totalClientErrors, totalRequests));
         metrics.put("successRate", 100 - errorRate);
         
-        // Create endpoint statistics
-        Map<String, Object> endpointStats = new HashMap<>();
-        
-        // These would be populated from actual metrics in a production system
-        endpointStats.put("/api/shows", getEndpointStats("shows"));
-        endpointStats.put("/api/bookings", getEndpointStats("bookings"));
-        endpointStats.put("/api/users", getEndpointStats("users"));
-        
-        metrics.put("endpointStats", endpointStats);
+        // count, errors, avgTime and p50/p95/p99/max in milliseconds per route, busiest first
+        metrics.put("endpointStats", requestMetrics.getRouteStats());
+        metrics.put("percentileWindowSeconds", requestMetrics.getWindowSeconds());
         
         return metrics;
     }
     
-    // Helper method to get total request count
-    private long getTotalRequestCount() {
-        // In a production system, this would come from a metrics collector
-        // For now, we'll estimate based on system uptime
-        RuntimeMXBean runtimeMXBean = ManagementFactory.getRuntimeMXBean();
-        long uptime = runtimeMXBean.getUptime();
+    @Override
+    public String getPrometheusMetrics() {
+        return requestMetrics != null ? requestMetrics.toPrometheus() : "";
+    }
+    
+    @Override
+    public Map<String, Object> getWebSocketMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        
+        if (outboundMessageCoalescer != null) {
+            metrics.putAll(outboundMessageCoalescer.getMetrics());
+        }
         
-        // Estimate 1 request per second on average
-        return uptime / 1000;
+        if (clientOutboundChannelExecutor != null) {
+            metrics.put("outboundActiveThreads", clientOutboundChannelExecutor.getActiveCount());
+            metrics.put("outboundPoolSize", clientOutboundChannelExecutor.getPoolSize());
+            metrics.put("outboundQueueSize", clientOutboundChannelExecutor.getThreadPoolExecutor().getQueue().size());
+            metrics.put("outboundQueueRemainingCapacity",
+                    clientOutboundChannelExecutor.getThreadPoolExecutor().getQueue().remainingCapacity());
+        }
+        
+        return metrics;
     }
     
-    // Helper method to calculate error rate
-    private double calculateErrorRate() {
-        // In a production system, this would be calculated from actual error logs
-        // For now, we'll return a low error rate
-        return 0.5;
+    @Override
+    public Map<String, Object> getCacheMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        if (cacheManager == null) {
+            return metrics;
+        }
+        
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TransactionAwareCacheDecorator) {
+                cache = ((TransactionAwareCacheDecorator) cache).getTargetCache();
+            }
+            if (!(cache instanceof CaffeineCache)) {
+                continue;
+            }
+            
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+            CacheStats stats = nativeCache.stats();
+            Map<String, Object> cacheMetrics = new HashMap<>();
+            cacheMetrics.put("size", nativeCache.estimatedSize());
+            cacheMetrics.put("hits", stats.hitCount());
+            cacheMetrics.put("misses", stats.missCount());
+            cacheMetrics.put("hitRate", hitRate(stats.hitCount(), stats.missCount()));
+            cacheMetrics.put("evictions", stats.evictionCount());
+            metrics.put(name, cacheMetrics);
+        }
+        
+        return metrics;
     }
     
-    // Helper method to get endpoint statistics
-    private Map<String, Object> getEndpointStats(String endpoint) {
-        Map<String, Object> stats = new HashMap<>();
-        
-        // In a production system, these would be actual metrics
-        // For now, we'll estimate based on the endpoint type
-        long count = 0;
-        int avgTime = 0;
-        
-        switch (endpoint) {
-            case "shows":
-                count = getTotalRequestCount() / 3;
-                avgTime = 180;
-                break;
-            case "bookings":
-                count = getTotalRequestCount() / 4;
-                avgTime = 250;
-                break;
-            case "users":
-                count = getTotalRequestCount() / 5;
-                avgTime = 150;
-                break;
-            default:
-                count = getTotalRequestCount() / 10;
-                avgTime = 200;
+    @Override
+    public Map<String, Object> getSecondLevelCacheMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        if (entityManagerFactory == null) {
+            return metrics;
         }
         
-        stats.put("count", count);
-        stats.put("avgTime", avgTime);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        metrics.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        metrics.put("hits", statistics.getSecondLevelCacheHitCount());
+        metrics.put("misses", statistics.getSecondLevelCacheMissCount());
+        metrics.put("puts", statistics.getSecondLevelCachePutCount());
+        metrics.put("hitRate", hitRate(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+        metrics.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        metrics.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        metrics.put("queryCacheHitRate", hitRate(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()));
+        
+        Map<String, Object> regions = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(regionName);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Map<String, Object> region = new HashMap<>();
+            region.put("hits", regionStatistics.getHitCount());
+            region.put("misses", regionStatistics.getMissCount());
+            region.put("puts", regionStatistics.getPutCount());
+            region.put("hitRate", hitRate(regionStatistics.getHitCount(), regionStatistics.getMissCount()));
+            region.put("elementsInMemory", regionStatistics.getElementCountInMemory());
+            regions.put(regionName, region);
+        }
+        metrics.put("regions", regions);
         
-        return stats;
+        return metrics;
+    }
+    
+    // Helper method to calculate a hit rate as a percentage with two decimals
+    private double hitRate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : Math.round(hits * 10000.0 / total) / 100.0;
+    }
+    
+    // Helper method to calculate a share of requests as a percentage with two decimals
+    private double percentage(long part, long total) {
+        return total == 0 ? 0.0 : Math.round(part * 10000.0 / total) / 100.0;
     }
 
     @Override
@@ -323,52 +454,21 @@ public class SystemHealthServiceImpl implements SystemHealthService {
 
     @Override
     public int getActiveConnections() {
-        try {
-            // Try to get active connections from the data source
-            if (dataSource != null && dataSource instanceof com.zaxxer.hikari.HikariDataSource) {
-                com.zaxxer.hikari.HikariDataSource hikariDataSource = (com.zaxxer.hikari.HikariDataSource) dataSource;
-                com.zaxxer.hikari.HikariPoolMXBean poolProxy = hikariDataSource.getHikariPoolMXBean();
-                
-                if (poolProxy != null) {
-                    return poolProxy.getActiveConnections();
-                }
-            }
-            
-            // If we can't get the actual connection count, estimate based on thread count
-            int threadCount = ManagementFactory.getThreadMXBean().getThreadCount();
-            // Assume about 20% of threads are database connections
-            return Math.max(1, threadCount / 5);
-        } catch (Exception e) {
-            // If there's an error, log it and return a fallback value
-            System.err.println("Error getting active connections: " + e.getMessage());
-            return 10; // Reasonable default
+        HikariDataSource hikariDataSource = getHikariDataSource();
+        if (hikariDataSource != null && hikariDataSource.getHikariPoolMXBean() != null) {
+            return hikariDataSource.getHikariPoolMXBean().getActiveConnections();
         }
+        return 0;
     }
 
     @Override
     public int getAverageResponseTime() {
-        try {
-            // In a production system, this would come from a metrics collector
-            // For now, we'll estimate based on system load
-            OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
-            double systemLoad = osBean.getSystemLoadAverage();
-            
-            if (systemLoad < 0) {
-                // If system load is not available, estimate based on CPU and memory usage
-                double cpuUsage = getCpuUsage();
-                double memoryUsage = getMemoryUsage();
-                
-                // Base response time that increases with system load
-                return (int)(100 + (cpuUsage + memoryUsage) / 2);
-            }
-            
-            // Base response time that increases with system load
-            return (int)(100 + systemLoad * 50);
-        } catch (Exception e) {
-            // If there's an error, log it and return a fallback value
-            System.err.println("Error calculating average response time: " + e.getMessage());
-            return 150; // Reasonable default
+        if (requestMetrics == null) {
+            return 0;
         }
+        Map<String, Object> totals = requestMetrics.getTotals();
+        long totalRequests = (Long) totals.get("totalRequests");
+        return totalRequests == 0 ? 0 : (int) Math.round((Long) totals.get("totalTimeMillis") / (double) totalRequests);
     }
     
     private boolean maintenanceMode = false;
@@ -430,7 +530,16 @@ public class SystemHealthServiceImpl implements SystemHealthService {
     
     @Override
     public void clearSystemCache() {
-        // In a real implementation, this would clear application caches
-        // For now, it's just a placeholder
+        if (cacheManager != null) {
+            for (String name : cacheManager.getCacheNames()) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.invalidate();
+                }
+            }
+        }
+        if (entityManagerFactory != null) {
+            entityManagerFactory.getCache().evictAll();
+        }
     }
 }
\ No newline at end of file
@@ -7,8 +7,15 @@ import com.showvault.model.User;
 import com.showvault.repository.RoleRepository;
 import com.showvault.repository.UserPreferencesRepository;
 import com.showvault.repository.UserRepository;
+import com.showvault.repository.UserSpecifications;
 import com.showvault.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +30,11 @@ import java.util.UUID;
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+
+    // Admin table sort fields that are never null and unique together with the id, so they can be used as a keyset
+    private static final Set<String> KEYSET_SORT_FIELDS = Set.of("id", "username", "email");
+
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserPreferencesRepository userPreferencesRepository;
@@ -329,182 +341,113 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public long countUsersByRole(ERole roleName) {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getRoles().stream()
-                        .anyMatch(role -> role.getName() == roleName))
-                .count();
+        return userRepository.countByRolesName(roleName);
     }
 
     @Override
     public long countUsersByRole(String roleName) {
-        // Convert string role name to ERole if needed
-        try {
-            ERole eRole = ERole.valueOf(roleName);
-            return countUsersByRole(eRole);
-        } catch (IllegalArgumentException e) {
-            // If the string doesn't match exactly, try with ROLE_ prefix
-            if (!roleName.startsWith("ROLE_")) {
-                return userRepository.countUsersByRoleName("ROLE_" + roleName.toUpperCase());
-            } else {
-                return userRepository.countUsersByRoleName(roleName);
-            }
-        }
+        // Accept both "ROLE_ADMIN" and "admin"
+        ERole eRole = UserSpecifications.toRole(roleName);
+        return eRole != null ? countUsersByRole(eRole) : 0;
     }
     
     @Override
     public List<User> getUsersWithFilters(int offset, int limit, String role, String status, String search, String sortBy, String sortOrder) {
-        // Use the repository to query the database directly
-        System.out.println("Fetching users with filters - offset: " + offset + ", limit: " + limit + 
-                          ", role: " + role + ", status: " + status + ", search: " + search + 
-                          ", sortBy: " + sortBy + ", sortOrder: " + sortOrder);
-        
-        // Get all users from the database with pagination
-        List<User> users = userRepository.findAll();
-        List<User> filteredUsers = new ArrayList<>();
-        
-        // Apply filters
-        for (User user : users) {
-            // Skip deleted users unless specifically requested
-            if (user.isDeleted() && (status == null || !status.equalsIgnoreCase("deleted"))) {
-                continue;
-            }
-            
-            boolean roleMatch = true;
-            if (role != null && !role.equals("all")) {
-                String roleToMatch = role.startsWith("ROLE_") ? role : "ROLE_" + role.toUpperCase();
-                roleMatch = user.getRoles().stream()
-                    .anyMatch(r -> r.getName().name().equals(roleToMatch));
-            }
-            
-            boolean statusMatch = true;
-            if (status != null && !status.equals("all")) {
-                statusMatch = (status.equalsIgnoreCase("active") && user.isActive() && !user.isDeleted()) ||
-                             (status.equalsIgnoreCase("inactive") && !user.isActive() && !user.isDeleted()) ||
-                             (status.equalsIgnoreCase("suspended") && !user.isActive() && !user.isDeleted()) ||
-                             (status.equalsIgnoreCase("deleted") && user.isDeleted());
-            }
-            
-            boolean searchMatch = true;
-            if (search != null && !search.isEmpty()) {
-                searchMatch = user.getUsername().toLowerCase().contains(search.toLowerCase()) ||
-                             user.getEmail().toLowerCase().contains(search.toLowerCase()) ||
-                             (user.getFirstName() != null && user.getFirstName().toLowerCase().contains(search.toLowerCase())) ||
-                             (user.getLastName() != null && user.getLastName().toLowerCase().contains(search.toLowerCase()));
-            }
-            
-            if (roleMatch && statusMatch && searchMatch) {
-                filteredUsers.add(user);
-            }
-        }
+        return getUsersPage(offset, limit, role, status, search, sortBy, sortOrder).getContent();
+    }
+    
+    @Override
+    public Page<User> getUsersPage(int offset, int limit, String role, String status, String search, String sortBy, String sortOrder) {
+        logger.debug("Fetching users with filters - offset: {}, limit: {}, role: {}, status: {}, search: {}, sortBy: {}, sortOrder: {}",
+                offset, limit, role, status, search, sortBy, sortOrder);
         
-        // Apply sorting
-        if (sortBy != null && !sortBy.isEmpty()) {
-            filteredUsers.sort((u1, u2) -> {
-                int result = 0;
-                
-                switch (sortBy) {
-                    case "id":
-                        result = u1.getId().compareTo(u2.getId());
-                        break;
-                    case "username":
-                        result = u1.getUsername().compareTo(u2.getUsername());
-                        break;
-                    case "email":
-                        result = u1.getEmail().compareTo(u2.getEmail());
-                        break;
-                    case "name":
-                        String name1 = (u1.getFirstName() != null ? u1.getFirstName() : "") + 
-                                      (u1.getLastName() != null ? " " + u1.getLastName() : "");
-                        String name2 = (u2.getFirstName() != null ? u2.getFirstName() : "") + 
-                                      (u2.getLastName() != null ? " " + u2.getLastName() : "");
-                        result = name1.compareTo(name2);
-                        break;
-                    case "role":
-                        String role1 = u1.getRoles().isEmpty() ? "" : u1.getRoles().iterator().next().getName().name();
-                        String role2 = u2.getRoles().isEmpty() ? "" : u2.getRoles().iterator().next().getName().name();
-                        result = role1.compareTo(role2);
-                        break;
-                    case "status":
-                        result = Boolean.compare(u1.isActive(), u2.isActive());
-                        break;
-                    case "createdAt":
-                        if (u1.getCreatedAt() != null && u2.getCreatedAt() != null) {
-                            result = u1.getCreatedAt().compareTo(u2.getCreatedAt());
-                        }
-                        break;
-                    case "lastLogin":
-                        if (u1.getLastLoginDate() != null && u2.getLastLoginDate() != null) {
-                            result = u1.getLastLoginDate().compareTo(u2.getLastLoginDate());
-                        }
-                        break;
-                    default:
-                        result = 0;
-                }
-                
-                // Apply sort order
-                if ("desc".equalsIgnoreCase(sortOrder)) {
-                    result = -result;
-                }
-                
-                return result;
-            });
+        int pageSize = Math.max(1, limit);
+        PageRequest pageRequest = PageRequest.of(Math.max(0, offset) / pageSize, pageSize, adminSort(sortBy, sortOrder));
+        return userRepository.findAll(UserSpecifications.adminFilter(role, status, search), pageRequest);
+    }
+    
+    @Override
+    public List<User> getUsersAfter(Long afterId, int limit, String role, String status, String search, String sortBy, String sortOrder) {
+        String sortField = adminSortField(sortBy);
+        if (!supportsCursorPagination(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination is not supported when sorting by " + sortBy);
         }
+        boolean descending = "desc".equalsIgnoreCase(sortOrder);
         
-        // Apply pagination
-        int end = Math.min(offset + limit, filteredUsers.size());
-        if (offset >= filteredUsers.size()) {
-            return new ArrayList<>();
+        Specification<User> spec = UserSpecifications.adminFilter(role, status, search);
+        if (afterId != null) {
+            Optional<User> lastUser = userRepository.findById(afterId);
+            if (!lastUser.isPresent()) {
+                throw new IllegalArgumentException("Unknown cursor: " + afterId);
+            }
+            spec = spec.and(cursorAfter(lastUser.get(), sortField, descending));
         }
         
-        System.out.println("Returning " + (end - offset) + " users from " + filteredUsers.size() + " total filtered users");
-        return filteredUsers.subList(offset, end);
+        Sort sort = adminSort(sortBy, sortOrder);
+        int pageSize = Math.max(1, limit);
+        return userRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize).all());
+    }
+    
+    @Override
+    public boolean supportsCursorPagination(String sortBy) {
+        return sortBy == null || KEYSET_SORT_FIELDS.contains(sortBy);
     }
     
     @Override
     public long countUsersWithFilters(String role, String status, String search) {
-        System.out.println("Counting users with filters - role: " + role + ", status: " + status + ", search: " + search);
-        
-        // Get all users from the database
-        List<User> users = userRepository.findAll();
-        long count = 0;
-        
-        // Apply filters
-        for (User user : users) {
-            // Skip deleted users unless specifically requested
-            if (user.isDeleted() && (status == null || !status.equalsIgnoreCase("deleted"))) {
-                continue;
-            }
-            
-            boolean roleMatch = true;
-            if (role != null && !role.equals("all")) {
-                String roleToMatch = role.startsWith("ROLE_") ? role : "ROLE_" + role.toUpperCase();
-                roleMatch = user.getRoles().stream()
-                    .anyMatch(r -> r.getName().name().equals(roleToMatch));
-            }
-            
-            boolean statusMatch = true;
-            if (status != null && !status.equals("all")) {
-                statusMatch = (status.equalsIgnoreCase("active") && user.isActive() && !user.isDeleted()) ||
-                             (status.equalsIgnoreCase("inactive") && !user.isActive() && !user.isDeleted()) ||
-                             (status.equalsIgnoreCase("suspended") && !user.isActive() && !user.isDeleted()) ||
-                             (status.equalsIgnoreCase("deleted") && user.isDeleted());
-            }
-            
-            boolean searchMatch = true;
-            if (search != null && !search.isEmpty()) {
-                searchMatch = user.getUsername().toLowerCase().contains(search.toLowerCase()) ||
-                             user.getEmail().toLowerCase().contains(search.toLowerCase()) ||
-                             (user.getFirstName() != null && user.getFirstName().toLowerCase().contains(search.toLowerCase())) ||
-                             (user.getLastName() != null && user.getLastName().toLowerCase().contains(search.toLowerCase()));
-            }
-            
-            if (roleMatch && statusMatch && searchMatch) {
-                count++;
-            }
+        return userRepository.count(UserSpecifications.adminFilter(role, status, search));
+    }
+    
+    /**
+     * Map an admin table sort key to an entity attribute
+     */
+    private String adminSortField(String sortBy) {
+        if (sortBy == null) {
+            return "id";
+        }
+        switch (sortBy) {
+            case "username":
+            case "email":
+            case "createdAt":
+                return sortBy;
+            case "name":
+                return "firstName";
+            case "status":
+                return "active";
+            case "lastLogin":
+                return "lastLoginDate";
+            case "id":
+            default:
+                // Sorting by role would need a join per row; it falls back to id order
+                return "id";
+        }
+    }
+    
+    /**
+     * Build the sort for the admin user table; the id is always the final tie-breaker
+     */
+    private Sort adminSort(String sortBy, String sortOrder) {
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String field = adminSortField(sortBy);
+        if (field.equals("id")) {
+            return Sort.by(direction, "id");
+        }
+        Sort sort = Sort.by(direction, field);
+        if (field.equals("firstName")) {
+            sort = sort.and(Sort.by(direction, "lastName"));
+        }
+        return sort.and(Sort.by(direction, "id"));
+    }
+    
+    private Specification<User> cursorAfter(User lastUser, String sortField, boolean descending) {
+        switch (sortField) {
+            case "username":
+                return UserSpecifications.after(sortField, lastUser.getUsername(), lastUser.getId(), descending);
+            case "email":
+                return UserSpecifications.after(sortField, lastUser.getEmail(), lastUser.getId(), descending);
+            default:
+                return UserSpecifications.after("id", lastUser.getId(), lastUser.getId(), descending);
         }
-        
-        System.out.println("Found " + count + " users matching the filters");
-        return count;
     }
     
     @Override
@@ -0,0 +1,103 @@
+package com.showvault.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GETs for read endpoints.
+ * The caller passes the ETag of the data behind the response, computed cheaply up front, and a
+ * supplier that builds the full response. When the client's If-None-Match already holds that
+ * ETag the request is answered with 304 and the supplier is never called, so nothing is loaded
+ * from the database or serialized.
+ */
+@Component
+public class ConditionalGet {
+
+    private final CacheControl catalogCacheControl;
+
+    private final CacheControl privateCacheControl = CacheControl.noCache().cachePrivate();
+
+    public ConditionalGet(@Value("${showvault.http-cache.catalog.max-age-seconds:30}") long maxAgeSeconds,
+                          @Value("${showvault.http-cache.catalog.shared-max-age-seconds:60}") long sharedMaxAgeSeconds,
+                          @Value("${showvault.http-cache.catalog.stale-while-revalidate-seconds:30}") long staleWhileRevalidateSeconds) {
+        this.catalogCacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS)
+                .sMaxAge(sharedMaxAgeSeconds, TimeUnit.SECONDS)
+                .staleWhileRevalidate(staleWhileRevalidateSeconds, TimeUnit.SECONDS)
+                .cachePublic();
+    }
+
+    /**
+     * Answer a request for public catalog data, which browsers and CDNs may keep and reuse
+     * until max-age (s-maxage for shared caches) and then revalidate with the ETag
+     * @param request The request, for its If-None-Match header
+     * @param etag ETag of the current data, or null to answer without validators
+     * @param response Builds the full response; only called when the client's copy is stale
+     * @return 304, or the full response with ETag and Cache-Control when it is a success
+     */
+    public <T> ResponseEntity<T> catalog(WebRequest request, String etag, Supplier<ResponseEntity<T>> response) {
+        return respond(request, etag, catalogCacheControl, response);
+    }
+
+    /**
+     * Answer a request for data that changes too often to reuse without asking and must not be
+     * kept by shared caches; every use is revalidated, which costs a 304 while it is unchanged
+     * @param request The request, for its If-None-Match header
+     * @param etag ETag of the current data, or null to answer without validators
+     * @param response Builds the full response; only called when the client's copy is stale
+     * @return 304, or the full response with ETag and Cache-Control when it is a success
+     */
+    public <T> ResponseEntity<T> revalidated(WebRequest request, String etag, Supplier<ResponseEntity<T>> response) {
+        return respond(request, etag, privateCacheControl, response);
+    }
+
+    private <T> ResponseEntity<T> respond(WebRequest request, String etag, CacheControl cacheControl,
+                                          Supplier<ResponseEntity<T>> response) {
+        if (etag == null) {
+            return response.get();
+        }
+        if (matches(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        ResponseEntity<T> full = response.get();
+        if (!full.getStatusCode().is2xxSuccessful()) {
+            return full;
+        }
+        return ResponseEntity.status(full.getStatusCode())
+                .headers(full.getHeaders())
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(full.getBody());
+    }
+
+    /**
+     * Weak comparison of If-None-Match against the ETag (RFC 9110 13.1.2)
+     */
+    private static boolean matches(WebRequest request, String etag) {
+        String[] values = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (values == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String value : values) {
+            for (String candidate : value.split(",")) {
+                String trimmed = candidate.trim();
+                if (trimmed.equals("*") || opaqueTag(trimmed).equals(opaqueTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,97 @@
+package com.showvault.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari connection pool metrics: live pool state plus connection acquire and usage time
+ * histograms. Installed on the pool by DatabaseMetricsConfig. A rising acquire-time p99 or a
+ * non-zero pending thread count means requests are queueing for connections.
+ */
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final WindowedHistogram acquireTime = new WindowedHistogram();
+    private final WindowedHistogram usageTime = new WindowedHistogram();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+
+    private volatile String poolName;
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquired.increment();
+                acquireTime.record(TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos));
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageTime.record(TimeUnit.MILLISECONDS.toMicros(elapsedBorrowedMillis));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                created.increment();
+            }
+        };
+    }
+
+    @Scheduled(fixedRateString = "${showvault.metrics.window-seconds:60}", initialDelayString = "${showvault.metrics.window-seconds:60}",
+            timeUnit = TimeUnit.SECONDS)
+    public void rotate() {
+        acquireTime.rotate();
+        usageTime.rotate();
+    }
+
+    /**
+     * Whether a pool has registered with this tracker
+     */
+    public boolean isInstalled() {
+        return poolStats != null;
+    }
+
+    /**
+     * Get pool metrics
+     * @return Map with live pool state, totals, and acquire/usage times in milliseconds for the last window
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        PoolStats stats = poolStats;
+        if (stats != null) {
+            metrics.put("poolName", poolName);
+            metrics.put("activeConnections", stats.getActiveConnections());
+            metrics.put("idleConnections", stats.getIdleConnections());
+            metrics.put("totalConnections", stats.getTotalConnections());
+            metrics.put("pendingThreads", stats.getPendingThreads());
+            metrics.put("maxConnections", stats.getMaxConnections());
+            metrics.put("minConnections", stats.getMinConnections());
+        }
+        metrics.put("connectionsAcquired", acquired.sum());
+        metrics.put("connectionTimeouts", timeouts.sum());
+        metrics.put("connectionsCreated", created.sum());
+        metrics.put("acquireTime", WindowedHistogram.toMillis(acquireTime.getWindow()));
+        metrics.put("maxAcquireTimeSinceStart", WindowedHistogram.millis(acquireTime.getMaxSinceStart()));
+        metrics.put("usageTime", WindowedHistogram.toMillis(usageTime.getWindow()));
+        return metrics;
+    }
+}
@@ -1,175 +1,279 @@
 package com.showvault.util;
 
+import com.showvault.model.ConsistencyCheckpoint;
+import com.showvault.repository.ConsistencyCheckpointRepository;
+import com.showvault.service.CapacityReconciliationService;
+import com.showvault.service.SeatManagementService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.util.FileCopyUtils;
 
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Utility class to check and fix database consistency issues
- * Runs at application startup to ensure data integrity
+ * Background check that keeps venue capacities, seats and show schedule seat counts consistent.
+ * Runs on its own thread once the application is ready and then periodically, so startup never
+ * waits for it. The first run (or a forced full run) generates missing seats and reconciles every
+ * venue; later runs only look at venues whose venue row, schedules or bookings changed since the
+ * last checkpoint. Progress and the result of the last run are available through getStatus().
  */
 @Component
-public class DatabaseConsistencyChecker implements CommandLineRunner {
+public class DatabaseConsistencyChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConsistencyChecker.class);
+
+    public static final String CHECKPOINT = "seat-counts";
+
+    // Rows written by transactions still open when a run starts can carry an earlier updated_at
+    private static final Duration CHECKPOINT_OVERLAP = Duration.ofMinutes(1);
+
+    private static final int VENUE_BATCH_SIZE = 500;
+
+    private static final String VENUES_WITHOUT_SEATS =
+            "SELECT v.id FROM venue v WHERE v.capacity > 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM seat s WHERE s.venue_id = v.id) ORDER BY v.id";
+
+    private static final String CHANGED_VENUES_WITHOUT_SEATS =
+            "SELECT v.id FROM venue v WHERE v.id IN (:ids) AND v.capacity > 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM seat s WHERE s.venue_id = v.id)";
+
+    private static final List<String> CHANGED_VENUE_QUERIES = List.of(
+            "SELECT id FROM venue WHERE updated_at > ?",
+            "SELECT DISTINCT venue_id FROM show_schedule WHERE updated_at > ?",
+            "SELECT DISTINCT ss.venue_id FROM booking b JOIN show_schedule ss ON b.show_schedule_id = ss.id " +
+            "WHERE b.updated_at > ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ConsistencyCheckpointRepository checkpointRepository;
+    private final CapacityReconciliationService capacityReconciliationService;
+    private final SeatManagementService seatManagementService;
+    private final Executor executor;
+    private final boolean checkOnStartup;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile Progress progress;
 
     @Autowired
-    private JdbcTemplate jdbcTemplate;
+    public DatabaseConsistencyChecker(JdbcTemplate jdbcTemplate,
+                                      ConsistencyCheckpointRepository checkpointRepository,
+                                      CapacityReconciliationService capacityReconciliationService,
+                                      SeatManagementService seatManagementService,
+                                      @Qualifier("consistencyCheckExecutor") Executor executor,
+                                      @Value("${showvault.consistency.check-on-startup:true}") boolean checkOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.checkpointRepository = checkpointRepository;
+        this.capacityReconciliationService = capacityReconciliationService;
+        this.seatManagementService = seatManagementService;
+        this.executor = executor;
+        this.checkOnStartup = checkOnStartup;
+    }
 
-    @Override
-    public void run(String... args) throws Exception {
-        checkSeatCountConsistency();
-        checkMissingSeats();
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (checkOnStartup) {
+            startCheck(false, "startup");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${showvault.consistency.interval-minutes:15}",
+            initialDelayString = "${showvault.consistency.interval-minutes:15}", timeUnit = TimeUnit.MINUTES)
+    public void scheduledCheck() {
+        startCheck(false, "scheduled");
     }
 
     /**
-     * Checks for inconsistencies between venue capacities, seat counts, and show schedule seat counts
+     * Start a consistency check in the background
+     * @param full Check every venue instead of only those changed since the last checkpoint
+     * @param trigger What started the check, reported in the status
+     * @return false if a check is already running
      */
-    private void checkSeatCountConsistency() {
-        System.out.println("Checking seat count consistency...");
-
-        // Check venue capacities vs actual seat counts
-        List<Map<String, Object>> venueDiscrepancies = jdbcTemplate.queryForList(
-                "SELECT v.id, v.name, v.capacity, COUNT(s.id) as seat_count " +
-                "FROM venue v LEFT JOIN seat s ON v.id = s.venue_id " +
-                "GROUP BY v.id, v.name, v.capacity " +
-                "HAVING v.capacity != seat_count");
-
-        // Check show schedule total_seats vs venue capacities
-        List<Map<String, Object>> scheduleDiscrepancies = jdbcTemplate.queryForList(
-                "SELECT ss.id, ss.show_id, ss.venue_id, ss.total_seats, v.capacity " +
-                "FROM show_schedule ss JOIN venue v ON ss.venue_id = v.id " +
-                "WHERE ss.total_seats != v.capacity");
-
-        // Check show schedule seats_available vs (total_seats - booked seats)
-        List<Map<String, Object>> availabilityDiscrepancies = jdbcTemplate.queryForList(
-                "SELECT ss.id, ss.show_id, ss.venue_id, ss.total_seats, ss.seats_available, " +
-                "(ss.total_seats - IFNULL((SELECT COUNT(*) FROM seat_booking sb " +
-                "JOIN booking b ON sb.booking_id = b.id " +
-                "WHERE b.show_schedule_id = ss.id " +
-                "AND b.status NOT IN ('CANCELLED', 'EXPIRED', 'REFUNDED')), 0)) as calculated_available " +
-                "FROM show_schedule ss " +
-                "WHERE ss.seats_available != (ss.total_seats - IFNULL((SELECT COUNT(*) FROM seat_booking sb " +
-                "JOIN booking b ON sb.booking_id = b.id " +
-                "WHERE b.show_schedule_id = ss.id " +
-                "AND b.status NOT IN ('CANCELLED', 'EXPIRED', 'REFUNDED')), 0))");
-
-        if (!venueDiscrepancies.isEmpty() || !scheduleDiscrepancies.isEmpty() || !availabilityDiscrepancies.isEmpty()) {
-            System.out.println("Found seat count inconsistencies:");
-            System.out.println("- " + venueDiscrepancies.size() + " venues with capacity not matching seat count");
-            System.out.println("- " + scheduleDiscrepancies.size() + " schedules with total_seats not matching venue capacity");
-            System.out.println("- " + availabilityDiscrepancies.size() + " schedules with seats_available not matching calculation");
-
-            // Fix the inconsistencies
-            fixSeatCountInconsistencies();
-        } else {
-            System.out.println("No seat count inconsistencies found.");
+    public boolean startCheck(boolean full, String trigger) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Progress started = new Progress(trigger);
+        progress = started;
+        try {
+            executor.execute(() -> runCheck(started, full));
+            return true;
+        } catch (RejectedExecutionException e) {
+            started.finish("FAILED", "Check could not be scheduled: " + e.getMessage());
+            running.set(false);
+            return false;
         }
     }
 
     /**
-     * Checks for venues that have capacity but no seats
+     * Get the progress of the running check, or the result of the last one
+     * @return Map with status, mode, phase, counts, timestamps and the current checkpoint
      */
-    private void checkMissingSeats() {
-        System.out.println("Checking for venues with missing seats...");
-
-        // Check for venues with capacity but no seats
-        List<Map<String, Object>> venuesWithoutSeats = jdbcTemplate.queryForList(
-                "SELECT v.id, v.name, v.capacity, COUNT(s.id) as seat_count " +
-                "FROM venue v LEFT JOIN seat s ON v.id = s.venue_id " +
-                "GROUP BY v.id, v.name, v.capacity " +
-                "HAVING v.capacity > 0 AND seat_count = 0");
-
-        if (!venuesWithoutSeats.isEmpty()) {
-            System.out.println("Found " + venuesWithoutSeats.size() + " venues with capacity but no seats:");
-            for (Map<String, Object> venue : venuesWithoutSeats) {
-                System.out.println("- Venue ID " + venue.get("id") + ": " + venue.get("name") + 
-                                  " (capacity: " + venue.get("capacity") + ", seats: " + venue.get("seat_count") + ")");
-            }
-
-            // Generate seats for these venues
-            generateMissingSeats();
-        } else {
-            System.out.println("No venues with missing seats found.");
+    public Map<String, Object> getStatus() {
+        Progress current = progress;
+        Map<String, Object> status = current != null ? current.toMap() : new LinkedHashMap<>();
+        if (current == null) {
+            status.put("status", "NOT_RUN");
         }
+        status.put("running", running.get());
+        status.put("checkpoint", checkpointRepository.findById(CHECKPOINT)
+                .map(ConsistencyCheckpoint::getCheckedUntil).orElse(null));
+        return status;
     }
 
-    /**
-     * Fixes inconsistencies by running the SQL script
-     */
-    private void fixSeatCountInconsistencies() {
+    private void runCheck(Progress progress, boolean full) {
         try {
-            System.out.println("Fixing seat count inconsistencies...");
-            
-            // Load the SQL script
-            String sqlScript = readResourceFile("db/fix_seat_counts.sql");
-            
-            // Execute the script
-            executeScript(sqlScript);
-            
-            System.out.println("Seat count inconsistencies fixed successfully.");
-        } catch (Exception e) {
-            System.err.println("Error fixing seat count inconsistencies: " + e.getMessage());
-            e.printStackTrace();
+            LocalDateTime startedAt = LocalDateTime.now();
+            Optional<ConsistencyCheckpoint> checkpoint = full ? Optional.empty() : checkpointRepository.findById(CHECKPOINT);
+            if (checkpoint.isPresent()) {
+                checkChangedVenues(progress, checkpoint.get().getCheckedUntil().minus(CHECKPOINT_OVERLAP));
+            } else {
+                checkAllVenues(progress);
+            }
+            checkpointRepository.save(new ConsistencyCheckpoint(CHECKPOINT, startedAt, null));
+            progress.finish("COMPLETED", null);
+            logger.info("Consistency check completed: {}", progress.toMap());
+        } catch (RuntimeException e) {
+            progress.finish("FAILED", e.getMessage());
+            logger.error("Consistency check failed: {}", e.getMessage());
+        } finally {
+            running.set(false);
         }
     }
 
-    /**
-     * Generates seats for venues that have capacity but no seats
-     */
-    private void generateMissingSeats() {
-        try {
-            System.out.println("Generating missing seats...");
-            
-            // Load the SQL script
-            String sqlScript = readResourceFile("db/generate_missing_seats.sql");
-            
-            // Execute the script
-            executeScript(sqlScript);
-            
-            System.out.println("Missing seats generated successfully.");
-        } catch (Exception e) {
-            System.err.println("Error generating missing seats: " + e.getMessage());
-            e.printStackTrace();
+    private void checkAllVenues(Progress progress) {
+        progress.mode = "FULL";
+        progress.phase = "GENERATING_SEATS";
+        for (Long venueId : jdbcTemplate.queryForList(VENUES_WITHOUT_SEATS, Long.class)) {
+            generateSeats(progress, venueId);
+        }
+
+        progress.phase = "RECONCILING";
+        Map<String, Object> result = capacityReconciliationService.reconcileAll();
+        progress.add(result);
+        progress.venuesToCheck = (Integer) result.get("venues");
+        progress.venuesChecked = progress.venuesToCheck;
+        int failedPartitions = (Integer) result.get("failedPartitions");
+        if (failedPartitions > 0) {
+            throw new IllegalStateException(failedPartitions + " of " + result.get("partitions")
+                    + " venue partitions failed to reconcile");
         }
     }
 
-    /**
-     * Executes an SQL script
-     */
-    private void executeScript(String sqlScript) {
-        // Split the script into individual statements
-        String[] statements = sqlScript.split(";");
-        
-        // Execute each statement
-        for (String statement : statements) {
-            if (!statement.trim().isEmpty() && !statement.trim().startsWith("--")) {
-                try {
-                    jdbcTemplate.execute(statement);
-                } catch (Exception e) {
-                    System.err.println("Error executing SQL statement: " + statement);
-                    System.err.println("Error message: " + e.getMessage());
-                }
+    private void checkChangedVenues(Progress progress, LocalDateTime since) {
+        progress.mode = "INCREMENTAL";
+        progress.since = since;
+        progress.phase = "FINDING_CHANGES";
+        TreeSet<Long> venueIds = new TreeSet<>();
+        for (String query : CHANGED_VENUE_QUERIES) {
+            venueIds.addAll(jdbcTemplate.queryForList(query, Long.class, since));
+        }
+        progress.venuesToCheck = venueIds.size();
+
+        progress.phase = "RECONCILING";
+        List<Long> sorted = new ArrayList<>(venueIds);
+        for (int from = 0; from < sorted.size(); from += VENUE_BATCH_SIZE) {
+            List<Long> batch = sorted.subList(from, Math.min(from + VENUE_BATCH_SIZE, sorted.size()));
+            // Seats must exist before a venue is reconciled, or its schedules are capped at zero seats
+            for (Long venueId : namedParameterJdbcTemplate.queryForList(CHANGED_VENUES_WITHOUT_SEATS,
+                    Collections.singletonMap("ids", batch), Long.class)) {
+                generateSeats(progress, venueId);
+            }
+            for (Long venueId : batch) {
+                progress.add(capacityReconciliationService.reconcileVenue(venueId));
+                progress.venuesChecked++;
             }
         }
     }
 
+    private void generateSeats(Progress progress, Long venueId) {
+        try {
+            progress.seatsGenerated += seatManagementService.generateSeatsForVenue(venueId);
+            progress.venuesWithGeneratedSeats++;
+        } catch (RuntimeException e) {
+            logger.error("Could not generate seats for venue ID {}: {}", venueId, e.getMessage());
+        }
+    }
+
     /**
-     * Reads a resource file into a string
+     * Progress of one check. Written only by the check thread, read by status requests.
      */
-    private String readResourceFile(String path) throws IOException {
-        ClassPathResource resource = new ClassPathResource(path);
-        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
-            return FileCopyUtils.copyToString(reader);
+    private static final class Progress {
+        private final String trigger;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile String status = "RUNNING";
+        private volatile String mode;
+        private volatile String phase = "STARTING";
+        private volatile LocalDateTime since;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        private volatile int venuesToCheck;
+        private volatile int venuesChecked;
+        private volatile int venuesWithGeneratedSeats;
+        private volatile int seatsGenerated;
+        private volatile int schedules;
+        private volatile int venuesCorrected;
+        private volatile int schedulesCorrected;
+        private volatile int skippedConcurrentChanges;
+
+        private Progress(String trigger) {
+            this.trigger = trigger;
+        }
+
+        private void add(Map<String, Object> reconciliation) {
+            schedules += (Integer) reconciliation.get("schedules");
+            venuesCorrected += (Integer) reconciliation.get("venuesCorrected");
+            schedulesCorrected += (Integer) reconciliation.get("schedulesCorrected");
+            skippedConcurrentChanges += (Integer) reconciliation.get("skippedConcurrentChanges");
+        }
+
+        private void finish(String status, String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.phase = null;
+            this.status = status;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("status", status);
+            map.put("trigger", trigger);
+            map.put("mode", mode);
+            map.put("phase", phase);
+            map.put("since", since);
+            map.put("startedAt", startedAt);
+            map.put("finishedAt", finishedAt);
+            map.put("venuesToCheck", venuesToCheck);
+            map.put("venuesChecked", venuesChecked);
+            map.put("venuesWithGeneratedSeats", venuesWithGeneratedSeats);
+            map.put("seatsGenerated", seatsGenerated);
+            map.put("schedules", schedules);
+            map.put("venuesCorrected", venuesCorrected);
+            map.put("schedulesCorrected", schedulesCorrected);
+            map.put("skippedConcurrentChanges", skippedConcurrentChanges);
+            map.put("error", error);
+            return map;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package com.showvault.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip-compressed JSON for payloads that are served many times between changes.
+ * Tomcat compresses responses on the fly, which for a large venue's seat map means serializing
+ * and deflating the same few hundred kilobytes on every poll. A cache that keeps the compressed
+ * bytes next to the cached object pays that once per version instead, at the highest compression
+ * level since the cost is amortized; Tomcat passes responses that already carry a
+ * Content-Encoding through untouched.
+ */
+@Component
+public class PrecompressedJson {
+
+    private final ObjectMapper objectMapper;
+
+    public PrecompressedJson(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Serialize a value to JSON and gzip it
+     * @param value The value, written the way the MVC message converters would write it
+     * @return The compressed JSON
+     */
+    public byte[] gzip(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes, 8192) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            objectMapper.writeValue(gzip, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Check whether the client accepts gzip-encoded responses
+     * @param request The request, for its Accept-Encoding header
+     * @return true if gzip is accepted
+     */
+    public static boolean acceptsGzip(WebRequest request) {
+        String[] values = request.getHeaderValues(HttpHeaders.ACCEPT_ENCODING);
+        if (values == null) {
+            return false;
+        }
+        for (String value : values) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                if ((name.equalsIgnoreCase("gzip") || name.equals("*")) && !isRefused(parts)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the headers of a response whose body is the output of gzip(Object)
+     * @return Content-Type, Content-Encoding and Vary headers
+     */
+    public static HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return headers;
+    }
+
+    /**
+     * Add Vary: Accept-Encoding to a response of an endpoint that may answer with gzip(Object).
+     * Needed on plain and 304 responses too, so that shared caches never hand one encoding to a
+     * client that asked for the other.
+     * @param response The response
+     * @return The response with the Vary header
+     */
+    public static <T> ResponseEntity<T> varyByEncoding(ResponseEntity<T> response) {
+        List<String> vary = response.getHeaders().getVary();
+        if (vary.stream().anyMatch(HttpHeaders.ACCEPT_ENCODING::equalsIgnoreCase)) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .body(response.getBody());
+    }
+
+    // "gzip;q=0" means the client does not want gzip
+    private static boolean isRefused(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].replace(" ", "");
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,156 @@
+package com.showvault.util;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL statement metrics: execution time histogram, per-endpoint statement and entity load
+ * counts, and a rolling log of the most recent slow statements.
+ * Statement timings come from TimedDataSource, so they cover Hibernate and JdbcTemplate alike;
+ * entity loads come from a Hibernate post-load listener. Both are attributed to the endpoint
+ * being handled on the current thread (see RequestMetrics.currentRoute()).
+ */
+@Component
+public class QueryMetrics implements PostLoadEventListener {
+
+    private static final int MAX_SQL_LENGTH = 1000;
+
+    private final long slowQueryMicros;
+    private final int slowQueryLogSize;
+
+    private final WindowedHistogram executionTime = new WindowedHistogram();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAdder slowStatements = new LongAdder();
+
+    private final ConcurrentHashMap<String, EndpointCounters> endpoints = new ConcurrentHashMap<>();
+
+    // Most recent slow statements, newest first; guarded by itself
+    private final Deque<Map<String, Object>> slowQueryLog = new ArrayDeque<>();
+
+    public QueryMetrics(@Value("${showvault.metrics.slow-query-ms:200}") long slowQueryMs,
+                        @Value("${showvault.metrics.slow-query-log-size:100}") int slowQueryLogSize) {
+        this.slowQueryMicros = TimeUnit.MILLISECONDS.toMicros(slowQueryMs);
+        this.slowQueryLogSize = slowQueryLogSize;
+    }
+
+    /**
+     * Record an executed statement
+     * @param sql The SQL as prepared (parameters are not included)
+     * @param durationNanos Execution time
+     */
+    public void recordStatement(String sql, long durationNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(durationNanos);
+        executionTime.record(micros);
+        statements.increment();
+        totalMicros.add(micros);
+
+        String route = RequestMetrics.currentRoute();
+        EndpointCounters counters = endpoint(route);
+        counters.statements.increment();
+        counters.statementMicros.add(micros);
+
+        if (micros >= slowQueryMicros) {
+            slowStatements.increment();
+            addSlowQuery(sql, micros, route);
+        }
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        endpoint(RequestMetrics.currentRoute()).entityLoads.increment();
+    }
+
+    @Scheduled(fixedRateString = "${showvault.metrics.window-seconds:60}", initialDelayString = "${showvault.metrics.window-seconds:60}",
+            timeUnit = TimeUnit.SECONDS)
+    public void rotate() {
+        executionTime.rotate();
+    }
+
+    /**
+     * Get statement totals and execution times
+     * @return Map with totalStatements, slowStatements, averageExecutionTime and executionTime for the last window (ms)
+     */
+    public Map<String, Object> getMetrics() {
+        long count = statements.sum();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("totalStatements", count);
+        metrics.put("slowStatements", slowStatements.sum());
+        metrics.put("slowQueryThresholdMs", TimeUnit.MICROSECONDS.toMillis(slowQueryMicros));
+        metrics.put("averageExecutionTime", count == 0 ? 0.0 : WindowedHistogram.millis(totalMicros.sum() / count));
+        metrics.put("executionTime", WindowedHistogram.toMillis(executionTime.getWindow()));
+        return metrics;
+    }
+
+    /**
+     * Get statement and entity load counts per endpoint, most statements first
+     * @return Map keyed by "METHOD pattern"
+     */
+    public Map<String, Object> getEndpointStats() {
+        List<Map.Entry<String, EndpointCounters>> sorted = new ArrayList<>(endpoints.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, EndpointCounters> e) -> e.getValue().statements.sum()).reversed());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Map.Entry<String, EndpointCounters> entry : sorted) {
+            EndpointCounters counters = entry.getValue();
+            Map<String, Object> endpoint = new HashMap<>();
+            endpoint.put("statements", counters.statements.sum());
+            endpoint.put("statementTimeMillis", TimeUnit.MICROSECONDS.toMillis(counters.statementMicros.sum()));
+            endpoint.put("entityLoads", counters.entityLoads.sum());
+            stats.put(entry.getKey(), endpoint);
+        }
+        return stats;
+    }
+
+    /**
+     * Get the most recent slow statements
+     * @return List of entries (timestamp, durationMs, route, thread, sql), newest first
+     */
+    public List<Map<String, Object>> getSlowQueryLog() {
+        synchronized (slowQueryLog) {
+            return new ArrayList<>(slowQueryLog);
+        }
+    }
+
+    private void addSlowQuery(String sql, long micros, String route) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("timestamp", System.currentTimeMillis());
+        entry.put("durationMs", WindowedHistogram.millis(micros));
+        entry.put("route", route);
+        entry.put("thread", Thread.currentThread().getName());
+        entry.put("sql", sql == null || sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...");
+
+        synchronized (slowQueryLog) {
+            slowQueryLog.addFirst(entry);
+            while (slowQueryLog.size() > slowQueryLogSize) {
+                slowQueryLog.removeLast();
+            }
+        }
+    }
+
+    private EndpointCounters endpoint(String route) {
+        EndpointCounters counters = endpoints.get(route);
+        return counters != null ? counters : endpoints.computeIfAbsent(route, r -> new EndpointCounters());
+    }
+
+    private static final class EndpointCounters {
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder statementMicros = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+    }
+}
@@ -0,0 +1,298 @@
+package com.showvault.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route HTTP request metrics: counts, errors, in-flight requests and latency histograms.
+ * Request threads only touch wait-free recorders (see WindowedHistogram) and LongAdders; the
+ * p50/p95/p99/max figures describe the last complete window while counts and average latency
+ * cover everything since startup.
+ * Routes are the matched handler patterns (e.g. "GET /api/shows/{id}"), which keeps the number of
+ * series bounded; requests that never reach a handler are grouped under UNMATCHED_ROUTE.
+ */
+@Component
+public class RequestMetrics {
+
+    public static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    /** Route for work done outside a request (scheduled jobs, WebSocket handlers, startup) */
+    public static final String BACKGROUND = "BACKGROUND";
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private final ConcurrentHashMap<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final long windowSeconds;
+
+    public RequestMetrics(@Value("${showvault.metrics.window-seconds:60}") long windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    /**
+     * Record that a request has started
+     */
+    public void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Record a completed request
+     * @param method HTTP method
+     * @param route Matched handler pattern, or null if no handler was matched
+     * @param status Response status
+     * @param durationNanos Time spent handling the request
+     */
+    public void requestCompleted(String method, String route, int status, long durationNanos) {
+        inFlight.decrementAndGet();
+        String key = method + " " + (route != null ? route : UNMATCHED_ROUTE);
+        RouteMetrics metrics = routes.get(key);
+        if (metrics == null) {
+            metrics = routes.computeIfAbsent(key, k -> new RouteMetrics(method, route != null ? route : UNMATCHED_ROUTE));
+        }
+        metrics.record(status, durationNanos);
+    }
+
+    /**
+     * Close the current window; its histograms become the ones reported until the next rotation
+     */
+    @Scheduled(fixedRateString = "${showvault.metrics.window-seconds:60}", initialDelayString = "${showvault.metrics.window-seconds:60}",
+            timeUnit = TimeUnit.SECONDS)
+    public void rotate() {
+        routes.values().forEach(RouteMetrics::rotate);
+    }
+
+    /**
+     * Get the route of the request being handled on the current thread, for attributing work to endpoints
+     * @return "METHOD pattern", UNMATCHED_ROUTE before a handler is matched, or BACKGROUND off request threads
+     */
+    public static String currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return BACKGROUND;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : UNMATCHED_ROUTE);
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    /**
+     * Get metrics for every route, busiest first
+     * @return Map of route metrics keyed by "METHOD pattern"
+     */
+    public Map<String, Object> getRouteStats() {
+        List<RouteMetrics> sorted = new ArrayList<>(routes.values());
+        sorted.sort(Comparator.comparingLong((RouteMetrics r) -> r.count.sum()).reversed());
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (RouteMetrics route : sorted) {
+            RouteSnapshot snapshot = route.snapshot();
+            Map<String, Object> routeStats = new HashMap<>();
+            routeStats.put("count", snapshot.count);
+            routeStats.put("errors", snapshot.errors);
+            routeStats.put("clientErrors", snapshot.clientErrors);
+            routeStats.put("avgTime", snapshot.count == 0 ? 0.0 : round(snapshot.totalMicros / 1000.0 / snapshot.count));
+            routeStats.put("windowCount", snapshot.window.getTotalCount());
+            routeStats.put("p50", WindowedHistogram.millis(snapshot.window.getValueAtPercentile(50)));
+            routeStats.put("p95", WindowedHistogram.millis(snapshot.window.getValueAtPercentile(95)));
+            routeStats.put("p99", WindowedHistogram.millis(snapshot.window.getValueAtPercentile(99)));
+            routeStats.put("max", WindowedHistogram.millis(snapshot.window.getMaxValue()));
+            routeStats.put("maxSinceStart", WindowedHistogram.millis(snapshot.maxSinceStartMicros));
+            stats.put(route.method + " " + route.route, routeStats);
+        }
+        return stats;
+    }
+
+    /**
+     * Get totals across all routes
+     * @return Map with totalRequests, totalErrors, totalClientErrors, totalTimeMillis, windowRequests and inFlight
+     */
+    public Map<String, Object> getTotals() {
+        long requests = 0;
+        long errors = 0;
+        long clientErrors = 0;
+        long totalMicros = 0;
+        long windowRequests = 0;
+        for (RouteMetrics route : routes.values()) {
+            RouteSnapshot snapshot = route.snapshot();
+            requests += snapshot.count;
+            errors += snapshot.errors;
+            clientErrors += snapshot.clientErrors;
+            totalMicros += snapshot.totalMicros;
+            windowRequests += snapshot.window.getTotalCount();
+        }
+
+        Map<String, Object> totals = new HashMap<>();
+        totals.put("totalRequests", requests);
+        totals.put("totalErrors", errors);
+        totals.put("totalClientErrors", clientErrors);
+        totals.put("totalTimeMillis", totalMicros / 1000);
+        totals.put("windowRequests", windowRequests);
+        totals.put("inFlight", getInFlight());
+        return totals;
+    }
+
+    /**
+     * Render the metrics in the Prometheus text exposition format (version 0.0.4)
+     * @return The scrape body
+     */
+    public String toPrometheus() {
+        List<RouteSnapshot> snapshots = new ArrayList<>();
+        routes.values().forEach(route -> snapshots.add(route.snapshot()));
+
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP showvault_http_requests_total Requests handled, by route\n");
+        out.append("# TYPE showvault_http_requests_total counter\n");
+        for (RouteSnapshot s : snapshots) {
+            out.append("showvault_http_requests_total").append(labels(s.route)).append(' ').append(s.count).append('\n');
+        }
+
+        out.append("# HELP showvault_http_request_errors_total Requests that ended with a 5xx status or an exception\n");
+        out.append("# TYPE showvault_http_request_errors_total counter\n");
+        for (RouteSnapshot s : snapshots) {
+            out.append("showvault_http_request_errors_total").append(labels(s.route)).append(' ').append(s.errors).append('\n');
+        }
+
+        out.append("# HELP showvault_http_request_client_errors_total Requests that ended with a 4xx status\n");
+        out.append("# TYPE showvault_http_request_client_errors_total counter\n");
+        for (RouteSnapshot s : snapshots) {
+            out.append("showvault_http_request_client_errors_total").append(labels(s.route)).append(' ')
+                    .append(s.clientErrors).append('\n');
+        }
+
+        out.append("# HELP showvault_http_request_duration_seconds Request latency; quantiles cover the last ")
+                .append(windowSeconds).append("s window\n");
+        out.append("# TYPE showvault_http_request_duration_seconds summary\n");
+        for (RouteSnapshot s : snapshots) {
+            for (double quantile : QUANTILES) {
+                out.append("showvault_http_request_duration_seconds")
+                        .append(labels(s.route, "quantile", Double.toString(quantile))).append(' ')
+                        .append(s.window.getValueAtPercentile(quantile * 100) / 1e6).append('\n');
+            }
+            out.append("showvault_http_request_duration_seconds_sum").append(labels(s.route)).append(' ')
+                    .append(s.totalMicros / 1e6).append('\n');
+            out.append("showvault_http_request_duration_seconds_count").append(labels(s.route)).append(' ')
+                    .append(s.count).append('\n');
+        }
+
+        out.append("# HELP showvault_http_request_duration_seconds_max Slowest request in the last window\n");
+        out.append("# TYPE showvault_http_request_duration_seconds_max gauge\n");
+        for (RouteSnapshot s : snapshots) {
+            out.append("showvault_http_request_duration_seconds_max").append(labels(s.route)).append(' ')
+                    .append(s.window.getMaxValue() / 1e6).append('\n');
+        }
+
+        out.append("# HELP showvault_http_requests_in_flight Requests currently being handled\n");
+        out.append("# TYPE showvault_http_requests_in_flight gauge\n");
+        out.append("showvault_http_requests_in_flight ").append(getInFlight()).append('\n');
+        return out.toString();
+    }
+
+    private static String labels(RouteMetrics route, String... extra) {
+        StringBuilder labels = new StringBuilder("{method=\"").append(escape(route.method))
+                .append("\",route=\"").append(escape(route.route)).append('"');
+        for (int i = 0; i + 1 < extra.length; i += 2) {
+            labels.append(',').append(extra[i]).append("=\"").append(escape(extra[i + 1])).append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Counters and histogram for one route. Latencies are recorded in microseconds.
+     */
+    private static final class RouteMetrics {
+
+        private final String method;
+        private final String route;
+
+        private final WindowedHistogram latency = new WindowedHistogram();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+
+        private RouteMetrics(String method, String route) {
+            this.method = method;
+            this.route = route;
+        }
+
+        private void record(int status, long durationNanos) {
+            long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(durationNanos));
+            latency.record(micros);
+            totalMicros.add(micros);
+            count.increment();
+            if (status >= 500) {
+                errors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+        }
+
+        private void rotate() {
+            latency.rotate();
+        }
+
+        private RouteSnapshot snapshot() {
+            return new RouteSnapshot(this, count.sum(), errors.sum(), clientErrors.sum(), totalMicros.sum(),
+                    latency.getWindow(), latency.getMaxSinceStart());
+        }
+    }
+
+    private static final class RouteSnapshot {
+
+        private final RouteMetrics route;
+        private final long count;
+        private final long errors;
+        private final long clientErrors;
+        private final long totalMicros;
+        private final Histogram window;
+        private final long maxSinceStartMicros;
+
+        private RouteSnapshot(RouteMetrics route, long count, long errors, long clientErrors, long totalMicros,
+                              Histogram window, long maxSinceStartMicros) {
+            this.route = route;
+            this.count = count;
+            this.errors = errors;
+            this.clientErrors = clientErrors;
+            this.totalMicros = totalMicros;
+            this.window = window;
+            this.maxSinceStartMicros = maxSinceStartMicros;
+        }
+    }
+}
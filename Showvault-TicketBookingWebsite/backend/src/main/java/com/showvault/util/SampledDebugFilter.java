@@ -0,0 +1,56 @@
+package com.showvault.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback turbo filter that lets one in every sampleRate debug messages through for loggers
+ * under loggerPrefix that are not already at DEBUG. Each logger is sampled on its own, so a
+ * chatty class cannot use up the samples of the others. Turbo filters run before the message is
+ * formatted, so the messages that are not sampled cost a counter increment.
+ * A sampleRate of 0 turns sampling off. Configured in logback-spring.xml.
+ */
+public class SampledDebugFilter extends TurboFilter {
+
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private String loggerPrefix = "com.showvault";
+
+    private int sampleRate;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isDebugEnabled() calls come without a format; answering them would use up samples
+        // and switch on debug blocks that build expensive messages
+        if (sampleRate <= 0 || level != Level.DEBUG || format == null
+                || !logger.getName().startsWith(loggerPrefix)
+                || level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        long count = counters.computeIfAbsent(logger.getName(), name -> new AtomicLong()).getAndIncrement();
+        return count % sampleRate == 0 ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+
+    public String getLoggerPrefix() {
+        return loggerPrefix;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
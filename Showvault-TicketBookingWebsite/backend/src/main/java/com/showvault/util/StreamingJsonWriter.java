@@ -0,0 +1,61 @@
+package com.showvault.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Writes large JSON arrays to the response one element at a time.
+ * The source hands its items to a consumer as it reads them (typically a service method paging
+ * through a query in a read-only transaction); each item is converted and written straight to
+ * the response, so neither the list of DTOs nor the serialized array is held in memory.
+ * The body is written on the MVC async executor configured in WebConfig.
+ */
+@Component
+public class StreamingJsonWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingJsonWriter.class);
+
+    private final ObjectMapper objectMapper;
+
+    public StreamingJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Create a response body that writes the source's items as a JSON array
+     * @param view Jackson view to write, or null to write every field
+     * @param source Called once with a consumer to hand the items to
+     * @param converter Turns an item into the object written for it
+     * @return The response body
+     */
+    public <T> StreamingResponseBody array(Class<?> view, Consumer<Consumer<T>> source, Function<T, ?> converter) {
+        ObjectWriter writer = objectMapper.writerWithView(view)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return outputStream -> {
+            try (SequenceWriter sequence = writer.writeValuesAsArray(outputStream)) {
+                source.accept(item -> {
+                    try {
+                        sequence.write(converter.apply(item));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                // Usually the client going away; the status has been sent already
+                logger.warn("JSON array stream aborted: {}", e.getMessage());
+                throw e.getCause();
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.showvault.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collision-free, time-ordered ID generator (Snowflake layout) with Crockford base32 encoding.
+ * 
+ * Layout of the 63-bit positive id:
+ *   41 bits milliseconds since 2024-01-01T00:00Z | 10 bits node id | 12 bits sequence
+ * 
+ * IDs are unique across nodes as long as every node has a distinct node id, and need no
+ * database coordination. The node id is never guessed: showvault.id.node-id must be set, and
+ * the application refuses to start without a valid one. Encoded ids are fixed width, so string order matches numeric order
+ * and inserts into a unique index on the encoded value are append-only.
+ */
+@Component
+public class TimeOrderedIdGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Crockford base32 alphabet (no I, L, O, U); ascending in ASCII order
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    // 63 bits need 13 base32 characters
+    static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+
+    // Packed (timestamp << SEQUENCE_BITS | sequence) of the last id handed out
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TimeOrderedIdGenerator(@Value("${showvault.id.node-id}") long configuredNodeId) {
+        if (configuredNodeId < 0 || configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("showvault.id.node-id must be between 0 and " + MAX_NODE_ID +
+                    " and differ per node, got " + configuredNodeId);
+        }
+        this.nodeId = configuredNodeId;
+    }
+
+    /**
+     * Generate the next id. Strictly increasing per node, even if the wall clock moves backwards
+     * or more than 4096 ids are requested in one millisecond (the logical clock then runs ahead).
+     * @return A positive, unique id
+     */
+    public long nextId() {
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        while (true) {
+            long last = lastState.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                // Same millisecond or clock went backwards: continue from the last state
+                next = last + 1;
+            }
+            if (lastState.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    /**
+     * Generate the next id encoded as fixed-width Crockford base32 with a prefix
+     * @param prefix Prefix such as "BK" for booking numbers
+     * @return Prefixed, encoded id
+     */
+    public String nextId(String prefix) {
+        return prefix + encode(nextId());
+    }
+
+    /**
+     * Encode a non-negative id as fixed-width Crockford base32
+     * @param id The id
+     * @return 13-character encoded id
+     */
+    public static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Extract the creation time embedded in an id
+     * @param id The id
+     * @return Creation instant (millisecond precision)
+     */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+}
@@ -0,0 +1,106 @@
+package com.showvault.util;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * DataSource wrapper that times every statement execution and reports it to QueryMetrics.
+ * Connections and statements are wrapped in JDK proxies; only the execute methods are
+ * intercepted, everything else goes straight to the pooled objects.
+ * unwrap(HikariDataSource.class) still reaches the pool.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final QueryMetrics queryMetrics;
+
+    public TimedDataSource(DataSource targetDataSource, QueryMetrics queryMetrics) {
+        super(targetDataSource);
+        this.queryMetrics = queryMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TimedDataSource.invoke(connection, method, args);
+            if (result instanceof Statement) {
+                String name = method.getName();
+                String sql = ("prepareStatement".equals(name) || "prepareCall".equals(name)) ? (String) args[0] : null;
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler((Statement) result, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String sql;
+
+        private StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return TimedDataSource.invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return TimedDataSource.invoke(statement, method, args);
+            } finally {
+                // Plain statements pass their SQL to execute; prepared ones were given it up front
+                String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+                queryMetrics.recordStatement(executed, System.nanoTime() - start);
+            }
+        }
+    }
+}
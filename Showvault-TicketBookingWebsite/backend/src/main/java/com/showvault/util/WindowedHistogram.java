@@ -0,0 +1,75 @@
+package com.showvault.util;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Latency histogram that is written to without locks and read one window at a time.
+ * Writers go through a wait-free HdrHistogram Recorder; rotate() closes the current window,
+ * which then becomes the one reported until the next rotation. The maximum since startup is
+ * kept across windows. Callers record microseconds; toMillis and millis convert for display.
+ */
+public class WindowedHistogram {
+
+    private final Recorder recorder = new Recorder(3);
+
+    // Guarded by this; only touched on rotation and by readers
+    private Histogram window;
+    private Histogram recycle;
+    private long maxSinceStart;
+
+    public WindowedHistogram() {
+        // Histograms handed back to the recorder for reuse must have come from it
+        this.window = recorder.getIntervalHistogram();
+    }
+
+    public void record(long value) {
+        recorder.recordValue(Math.max(0, value));
+    }
+
+    /**
+     * Close the current window
+     */
+    public synchronized void rotate() {
+        Histogram interval = recorder.getIntervalHistogram(recycle);
+        maxSinceStart = Math.max(maxSinceStart, interval.getMaxValue());
+        recycle = window;
+        window = interval;
+    }
+
+    /**
+     * Get a copy of the last complete window
+     * @return The histogram
+     */
+    public synchronized Histogram getWindow() {
+        return window.copy();
+    }
+
+    public synchronized long getMaxSinceStart() {
+        return maxSinceStart;
+    }
+
+    /**
+     * Summarize a histogram of microsecond values in milliseconds
+     * @return Map with count, p50, p95, p99 and max
+     */
+    public static Map<String, Object> toMillis(Histogram histogram) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("p50", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p95", millis(histogram.getValueAtPercentile(95)));
+        summary.put("p99", millis(histogram.getValueAtPercentile(99)));
+        summary.put("max", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    /**
+     * Convert microseconds to milliseconds rounded to two decimals
+     */
+    public static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
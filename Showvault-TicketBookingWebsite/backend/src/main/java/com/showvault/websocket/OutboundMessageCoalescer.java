@@ -0,0 +1,135 @@
+package com.showvault.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Client outbound channel interceptor that keeps slow WebSocket consumers from backing up the broker.
+ * For coalescible destinations only the latest queued message per session and destination is delivered;
+ * older ones still waiting in the outbound executor queue are skipped. Also counts messages that were
+ * coalesced, rejected by a full outbound queue, or lost to sessions closed for exceeding send limits.
+ */
+@Component
+public class OutboundMessageCoalescer implements ExecutorChannelInterceptor {
+
+    // Destinations whose messages are snapshots, so a newer message fully replaces an older one
+    private final List<String> coalescePrefixes;
+
+    // Latest message queued per "sessionId|destination"
+    private final ConcurrentHashMap<String, Message<?>> latest = new ConcurrentHashMap<>();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder slowConsumerDisconnects = new LongAdder();
+
+    public OutboundMessageCoalescer(
+            @Value("${showvault.websocket.outbound.coalesce-destinations:/topic/organizer-dashboard,/topic/organizer-sales}")
+            String coalesceDestinations) {
+        this.coalescePrefixes = Arrays.stream(coalesceDestinations.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String key = coalesceKey(message);
+        if (key != null) {
+            latest.put(key, message);
+        }
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        if (ex != null || !sent) {
+            // Outbound executor rejected the message (queue full)
+            dropped.increment();
+            String key = coalesceKey(message);
+            if (key != null) {
+                latest.remove(key, message);
+            }
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        String key = coalesceKey(message);
+        if (key != null && latest.get(key) != message) {
+            // A newer message for the same session and destination is already queued
+            coalesced.increment();
+            return null;
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        String key = coalesceKey(message);
+        if (key != null) {
+            latest.remove(key, message);
+        }
+        if (ex == null) {
+            sent.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Record a session closed because it exceeded the send time or buffer size limit
+     */
+    public void recordSlowConsumerDisconnect() {
+        slowConsumerDisconnects.increment();
+    }
+
+    /**
+     * Get outbound delivery counters
+     * @return Map of metric name to value
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("sentMessages", sent.sum());
+        metrics.put("coalescedMessages", coalesced.sum());
+        metrics.put("droppedMessages", dropped.sum());
+        metrics.put("slowConsumerDisconnects", slowConsumerDisconnects.sum());
+        metrics.put("pendingCoalescibleMessages", latest.size());
+        return metrics;
+    }
+
+    private String coalesceKey(Message<?> message) {
+        if (coalescePrefixes.isEmpty()) {
+            return null;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null || accessor.getMessageType() != SimpMessageType.MESSAGE) {
+            return null;
+        }
+        String destination = accessor.getDestination();
+        String sessionId = accessor.getSessionId();
+        if (destination == null || sessionId == null) {
+            return null;
+        }
+        for (String prefix : coalescePrefixes) {
+            if (destination.startsWith(prefix)) {
+                return sessionId + "|" + destination;
+            }
+        }
+        return null;
+    }
+}
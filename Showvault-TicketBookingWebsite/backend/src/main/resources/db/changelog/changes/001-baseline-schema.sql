@@ -0,0 +1,418 @@
+--liquibase formatted sql
+
+--changeset showvault:001-baseline-schema
+--comment: Tables, unique keys and foreign keys of the entity model. Databases created earlier by ddl-auto=update already have them, so the changeset is only marked as ran there.
+--preconditions onFail:MARK_RAN
+--precondition-sql-check expectedResult:0 SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'booking'
+
+create table booking (
+    discount_amount decimal(10,2),
+    original_amount decimal(10,2),
+    ticket_generated bit not null,
+    ticket_sent bit not null,
+    total_amount decimal(10,2) not null,
+    booking_date datetime(6),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    promotion_id bigint,
+    show_schedule_id bigint not null,
+    updated_at datetime(6),
+    user_id bigint not null,
+    booking_number varchar(20) not null,
+    promotion_code varchar(20),
+    booking_source varchar(50),
+    qr_code_data varchar(255),
+    status enum ('PENDING','CONFIRMED','CANCELLED','COMPLETED','REFUNDED','EXPIRED','REFUND_REQUESTED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table booking_payment (
+    amount decimal(10,2) not null,
+    booking_id bigint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    payment_date datetime(6),
+    updated_at datetime(6),
+    transaction_id varchar(50),
+    notes TEXT,
+    payment_method enum ('CREDIT_CARD','DEBIT_CARD','PAYPAL','BANK_TRANSFER','CASH','GOOGLE_PAY','APPLE_PAY','GIFT_CARD','VOUCHER','REFUND') not null,
+    status enum ('PENDING','COMPLETED','FAILED','REFUNDED','PARTIALLY_REFUNDED','DISPUTED','CANCELLED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table customer_messages (
+    recipient_count integer,
+    created_at datetime(6) not null,
+    created_by bigint not null,
+    id bigint not null auto_increment,
+    scheduled_at datetime(6),
+    sent_at datetime(6),
+    show_id bigint,
+    content varchar(5000) not null,
+    recipient_filter varchar(255),
+    subject varchar(255) not null,
+    recipient_type enum ('ALL','TICKET_HOLDERS','SPECIFIC') not null,
+    status enum ('DRAFT','SCHEDULED','SENT','FAILED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table notification (
+    is_read bit not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    read_at datetime(6),
+    related_id bigint,
+    user_id bigint not null,
+    related_type varchar(50),
+    message varchar(1000) not null,
+    title varchar(255) not null,
+    type enum ('SYSTEM','BOOKING','SHOW_UPDATE','PROMOTION','REMINDER','PAYMENT','REFUND','CANCELLATION') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table promotions (
+    current_uses integer not null,
+    discount_value float(53) not null,
+    end_date date not null,
+    max_uses integer not null,
+    start_date date not null,
+    created_at datetime(6) not null,
+    created_by bigint not null,
+    id bigint not null auto_increment,
+    show_id bigint,
+    updated_at datetime(6),
+    code varchar(255) not null,
+    description varchar(255),
+    name varchar(255) not null,
+    discount_type enum ('PERCENTAGE','FIXED') not null,
+    status enum ('ACTIVE','INACTIVE','EXPIRED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table role (
+    id bigint not null auto_increment,
+    name enum ('ROLE_USER','ROLE_ORGANIZER','ROLE_ADMIN') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table seat (
+    price_multiplier decimal(3,2),
+    seat_number integer not null,
+    row_name varchar(5) not null,
+    id bigint not null auto_increment,
+    venue_id bigint not null,
+    category enum ('STANDARD','PREMIUM','VIP') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table seat_booking (
+    price decimal(10,2) not null,
+    booking_id bigint not null,
+    id bigint not null auto_increment,
+    seat_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table seat_reservation (
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    id bigint not null auto_increment,
+    seat_id bigint not null,
+    show_schedule_id bigint not null,
+    user_id bigint not null,
+    session_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table `show` (
+    duration integer not null,
+    is_deleted bit not null,
+    view_count integer,
+    created_at datetime(6),
+    created_by bigint,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    type varchar(20) not null,
+    genre varchar(50),
+    language varchar(50),
+    title varchar(100) not null,
+    deletion_reason varchar(255),
+    description TEXT,
+    image varchar(255),
+    image_url varchar(255),
+    poster_url varchar(255),
+    trailer_url varchar(255),
+    status enum ('UPCOMING','ONGOING','COMPLETED','CANCELLED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table show_reviews (
+    rating integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    show_id bigint not null,
+    updated_at datetime(6),
+    user_id bigint not null,
+    comment varchar(1000),
+    user_name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table show_schedule (
+    base_price decimal(10,2) not null,
+    end_time time(6) not null,
+    seats_available integer,
+    show_date date not null,
+    start_time time(6) not null,
+    total_seats integer,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    show_id bigint not null,
+    updated_at datetime(6),
+    venue_id bigint not null,
+    status enum ('SCHEDULED','CANCELLED','COMPLETED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user (
+    active bit not null,
+    deleted bit,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    last_login_date datetime(6),
+    updated_at datetime(6),
+    address varchar(255),
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    phone_number varchar(255),
+    profile_picture_url varchar(255),
+    registration_source varchar(255),
+    username varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table user_favorite_categories (
+    user_preferences_id bigint not null,
+    category varchar(255)
+) engine=InnoDB;
+
+create table user_favorites (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    show_id bigint not null,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_notifications (
+    is_read bit not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    read_at datetime(6),
+    user_id bigint not null,
+    type varchar(50) not null,
+    title varchar(200) not null,
+    message varchar(1000) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_preferences (
+    email_notifications bit,
+    sms_notifications bit,
+    id bigint not null auto_increment,
+    user_id bigint,
+    currency varchar(255),
+    language varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table user_ratings (
+    rating integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    show_id bigint not null,
+    updated_at datetime(6),
+    user_id bigint not null,
+    review varchar(1000),
+    primary key (id)
+) engine=InnoDB;
+
+create table user_role (
+    role_id bigint not null,
+    user_id bigint not null,
+    primary key (role_id, user_id)
+) engine=InnoDB;
+
+create table venue (
+    capacity integer not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    city varchar(50) not null,
+    country varchar(50) not null,
+    state varchar(50),
+    name varchar(100) not null,
+    address TEXT not null,
+    image varchar(255),
+    image_url varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+alter table booking
+   add constraint UK_6j74n7w8mp19sixr5272028mk unique (booking_number);
+
+alter table promotions
+   add constraint UK_jdho73ymbyu46p2hh562dk4kk unique (code);
+
+alter table role
+   add constraint UK_8sewwnpamngi6b1dwaa88askk unique (name);
+
+alter table seat
+   add constraint UKn2ewk598cf9oaqdoh0n3pwb23 unique (venue_id, row_name, seat_number);
+
+alter table seat_booking
+   add constraint UKcdr1i9dhndadkfoc27gh6gml9 unique (booking_id, seat_id);
+
+alter table seat_reservation
+   add constraint UKp4pjkanxhr52ju11wf7lcfoy3 unique (seat_id, show_schedule_id);
+
+alter table user
+   add constraint UKsb8bbouer5wak8vyiiy4pf2bx unique (username);
+
+alter table user
+   add constraint UKob8kqyqqgmefl0aco34akdtpe unique (email);
+
+alter table user_preferences
+   add constraint UK_qy8dkrkc8b34dcgwoq2km43rd unique (user_id);
+
+alter table booking
+   add constraint FK8m84cwdi3v75l37bvol6s4nq2
+   foreign key (promotion_id)
+   references promotions (id);
+
+alter table booking
+   add constraint FKgvpsn3a92j91ow1ifggi7mebv
+   foreign key (show_schedule_id)
+   references show_schedule (id);
+
+alter table booking
+   add constraint FKkgseyy7t56x7lkjgu3wah5s3t
+   foreign key (user_id)
+   references user (id);
+
+alter table booking_payment
+   add constraint FKp7s0pxi14aibf6sfwbi9060q5
+   foreign key (booking_id)
+   references booking (id);
+
+alter table customer_messages
+   add constraint FK640sxl7p9dk0k46hvdvauplex
+   foreign key (created_by)
+   references user (id);
+
+alter table customer_messages
+   add constraint FKmn1e4a80ohdb8ci951s138ox6
+   foreign key (show_id)
+   references `show` (id);
+
+alter table notification
+   add constraint FKb0yvoep4h4k92ipon31wmdf7e
+   foreign key (user_id)
+   references user (id);
+
+alter table promotions
+   add constraint FKg7j044c3o14nu06p7nkwbp9nn
+   foreign key (created_by)
+   references user (id);
+
+alter table promotions
+   add constraint FKd7gtf9w2vrb882fr4khuati0e
+   foreign key (show_id)
+   references `show` (id);
+
+alter table seat
+   add constraint FKkt7mgkoowgxocqf3844m53i8q
+   foreign key (venue_id)
+   references venue (id);
+
+alter table seat_booking
+   add constraint FKg6ktbbmip3fb8x35s1ap9fcn8
+   foreign key (booking_id)
+   references booking (id);
+
+alter table seat_booking
+   add constraint FKrtxuv4x3acqmbsb6jyc9g30o6
+   foreign key (seat_id)
+   references seat (id);
+
+alter table seat_reservation
+   add constraint FK51vmmeopdicuwwwkr0vd85jpo
+   foreign key (seat_id)
+   references seat (id);
+
+alter table seat_reservation
+   add constraint FKhuqsfi6nr6fllykx3un1egxht
+   foreign key (show_schedule_id)
+   references show_schedule (id);
+
+alter table seat_reservation
+   add constraint FKsbq1x2hlkxf7v1ysx151xi4ie
+   foreign key (user_id)
+   references user (id);
+
+alter table `show`
+   add constraint FKg85a7wi6reamqn10gntn3q1qp
+   foreign key (created_by)
+   references user (id);
+
+alter table show_schedule
+   add constraint FKj8sgw4xv0tbpkg00itu73umby
+   foreign key (show_id)
+   references `show` (id);
+
+alter table show_schedule
+   add constraint FK6000werq6suyn34rb49bp55t9
+   foreign key (venue_id)
+   references venue (id);
+
+alter table user_favorite_categories
+   add constraint FK9n7x0o2yas7xkmc4l64fkeohb
+   foreign key (user_preferences_id)
+   references user_preferences (id);
+
+alter table user_favorites
+   add constraint FKaxmf862v2t2nrymhq79eohw01
+   foreign key (show_id)
+   references `show` (id);
+
+alter table user_favorites
+   add constraint FK848qdyqh37xmekek29npyyjuo
+   foreign key (user_id)
+   references user (id);
+
+alter table user_preferences
+   add constraint FKeabrygk2gdbf26wmece3uwk1r
+   foreign key (user_id)
+   references user (id);
+
+alter table user_ratings
+   add constraint FKej5kfps8b2b8skwtvekt7je2s
+   foreign key (show_id)
+   references `show` (id);
+
+alter table user_ratings
+   add constraint FK85wcc1agckack64s64cu2hqxg
+   foreign key (user_id)
+   references user (id);
+
+alter table user_role
+   add constraint FKa68196081fvovjhkek5m97n3y
+   foreign key (role_id)
+   references role (id);
+
+alter table user_role
+   add constraint FK859n2jvi8ivhui0rl0esws6o
+   foreign key (user_id)
+   references user (id);
@@ -0,0 +1,57 @@
+package com.showvault.config;
+
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * In-process ActiveMQ Artemis broker with a STOMP acceptor.
+ * Local stand-in for the external broker used in relay mode.
+ */
+public class EmbeddedStompBroker {
+
+    private final EmbeddedActiveMQ server = new EmbeddedActiveMQ();
+    private int port;
+
+    /**
+     * Start the broker on a free local port
+     * @throws Exception if the broker cannot be started
+     */
+    public void start() throws Exception {
+        port = findFreePort();
+
+        Configuration configuration = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .setJournalDirectory("target/artemis/journal")
+                .setBindingsDirectory("target/artemis/bindings")
+                .setPagingDirectory("target/artemis/paging")
+                .setLargeMessagesDirectory("target/artemis/large-messages")
+                .addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + port
+                        + "?protocols=STOMP;multicastPrefix=/topic/;anycastPrefix=/queue/");
+
+        server.setConfiguration(configuration);
+        server.start();
+    }
+
+    /**
+     * Stop the broker
+     * @throws Exception if the broker cannot be stopped
+     */
+    public void stop() throws Exception {
+        server.stop();
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
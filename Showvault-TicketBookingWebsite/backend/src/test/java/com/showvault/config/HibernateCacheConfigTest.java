@@ -0,0 +1,132 @@
+package com.showvault.config;
+
+import com.showvault.model.Seat;
+import com.showvault.model.Venue;
+import com.showvault.repository.SeatRepository;
+import com.showvault.repository.VenueRepository;
+import com.showvault.service.PricingService;
+import com.showvault.service.SeatService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that repeat lookups of venue and seat geometry are served from the
+ * second-level and query caches, and that writes invalidate them.
+ */
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({HibernateCacheConfig.class, SeatService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HibernateCacheConfigTest {
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private PricingService pricingService;
+
+    private Statistics statistics;
+
+    private Venue venue;
+
+    private List<Seat> seats;
+
+    @BeforeEach
+    void setUp() {
+        venue = new Venue();
+        venue.setName("Globe");
+        venue.setAddress("21 New Globe Walk");
+        venue.setCity("London");
+        venue.setCountry("UK");
+        venue.setCapacity(3);
+        venue = venueRepository.save(venue);
+        seats = seatRepository.saveAll(List.of(seat("A", 1), seat("A", 2), seat("B", 1)));
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatRepository.deleteAll();
+        venueRepository.deleteAll();
+    }
+
+    @Test
+    void testRepeatVenueLookupsDoNotQueryTheDatabase() {
+        venueRepository.findById(venue.getId()).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        venueRepository.findById(venue.getId()).orElseThrow();
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.VENUE_REGION).getHitCount() >= 1);
+    }
+
+    @Test
+    void testRepeatSeatLookupsDoNotQueryTheDatabase() {
+        List<Long> ids = seats.stream().map(Seat::getId).toList();
+        assertEquals(3, seatService.getSeatsByIds(ids).size());
+        assertEquals(3, seatRepository.findByVenueId(venue.getId()).size());
+        assertEquals(3L, seatRepository.countSeatsByVenueId(venue.getId()));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(3, seatService.getSeatsByIds(ids).size());
+        assertEquals(3, seatRepository.findByVenueId(venue.getId()).size());
+        assertEquals(3L, seatRepository.countSeatsByVenueId(venue.getId()));
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() >= 2);
+    }
+
+    @Test
+    void testSeatUpdatesInvalidateCachedGeometry() {
+        assertEquals(3, seatRepository.findByVenueId(venue.getId()).size());
+
+        Seat seat = seatRepository.findById(seats.get(0).getId()).orElseThrow();
+        seat.setCategory(Seat.SeatCategory.VIP);
+        seatRepository.save(seat);
+        seatRepository.save(seat("C", 1));
+
+        assertEquals(Seat.SeatCategory.VIP, seatRepository.findById(seat.getId()).orElseThrow().getCategory());
+        assertEquals(4, seatRepository.findByVenueId(venue.getId()).size());
+    }
+
+    private Seat seat(String row, int number) {
+        Seat seat = new Seat();
+        seat.setVenue(venue);
+        seat.setRowName(row);
+        seat.setSeatNumber(number);
+        seat.setCategory(Seat.SeatCategory.STANDARD);
+        seat.setPriceMultiplier(BigDecimal.ONE);
+        return seat;
+    }
+}
@@ -0,0 +1,137 @@
+package com.showvault.config;
+
+import com.showvault.security.websocket.WebSocketAuthChannelInterceptor;
+import com.showvault.websocket.OutboundMessageCoalescer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs WebSocketConfig in relay mode against an embedded Artemis broker
+ */
+class WebSocketRelayIntegrationTest {
+
+    private EmbeddedStompBroker broker;
+    private AnnotationConfigWebApplicationContext context;
+    private ReactorNettyTcpStompClient stompClient;
+    private ThreadPoolTaskScheduler receiptScheduler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        broker = new EmbeddedStompBroker();
+        broker.start();
+
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("relay", Map.of(
+                "showvault.websocket.broker.mode", "relay",
+                "showvault.websocket.broker.relay-host", "127.0.0.1",
+                "showvault.websocket.broker.relay-port", String.valueOf(broker.getPort()))));
+        // Registered as a ready-made singleton so its own @Autowired fields are not processed
+        context.addBeanFactoryPostProcessor(beanFactory -> beanFactory.registerSingleton(
+                "webSocketAuthChannelInterceptor", mock(WebSocketAuthChannelInterceptor.class)));
+        context.register(OutboundMessageCoalescer.class, WebSocketConfig.class);
+        context.refresh();
+
+        StompBrokerRelayMessageHandler relay = context.getBean(StompBrokerRelayMessageHandler.class);
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!relay.isBrokerAvailable() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(relay.isBrokerAvailable(), "relay did not connect to the embedded broker");
+
+        stompClient = new ReactorNettyTcpStompClient("127.0.0.1", broker.getPort());
+        stompClient.setMessageConverter(new StringMessageConverter());
+        receiptScheduler = new ThreadPoolTaskScheduler();
+        receiptScheduler.initialize();
+        stompClient.setTaskScheduler(receiptScheduler);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (stompClient != null) {
+            stompClient.shutdown();
+        }
+        if (receiptScheduler != null) {
+            receiptScheduler.shutdown();
+        }
+        if (context != null) {
+            context.close();
+        }
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void testTopicMessagesAreRelayedToBroker() throws Exception {
+        CompletableFuture<String> received = subscribe("/topic/relay-test");
+
+        SimpMessagingTemplate template = context.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class);
+        template.convertAndSend("/topic/relay-test", "hello");
+
+        assertEquals("hello", received.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testUnresolvedUserMessagesAreBroadcastToOtherNodes() throws Exception {
+        CompletableFuture<String> received = subscribe(WebSocketConfig.USER_DESTINATION_BROADCAST);
+
+        // No session for this user exists on this node, so the message must be handed to the other nodes
+        SimpMessagingTemplate template = context.getBean("brokerMessagingTemplate", SimpMessagingTemplate.class);
+        template.convertAndSendToUser("someone-elsewhere", "/queue/notifications", "ping");
+
+        assertEquals("ping", received.get(10, TimeUnit.SECONDS));
+    }
+
+    private CompletableFuture<String> subscribe(String destination) throws Exception {
+        CompletableFuture<String> received = new CompletableFuture<>();
+        CompletableFuture<Void> subscribed = new CompletableFuture<>();
+
+        StompSession session = stompClient.connectAsync(new StompSessionHandlerAdapter() {
+            @Override
+            public void handleTransportError(StompSession session, Throwable exception) {
+                received.completeExceptionally(exception);
+            }
+        }).get(10, TimeUnit.SECONDS);
+
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination(destination);
+        headers.setReceipt("subscribed");
+        session.setAutoReceipt(true);
+        session.subscribe(headers, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return String.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.complete((String) payload);
+            }
+        }).addReceiptTask(() -> subscribed.complete(null));
+
+        subscribed.get(10, TimeUnit.SECONDS);
+        return received;
+    }
+}
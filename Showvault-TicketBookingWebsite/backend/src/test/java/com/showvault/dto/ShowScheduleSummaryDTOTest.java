@@ -0,0 +1,90 @@
+package com.showvault.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.showvault.config.JacksonConfig;
+import com.showvault.model.Seat;
+import com.showvault.model.Show;
+import com.showvault.model.ShowSchedule;
+import com.showvault.model.Venue;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a schedule list row keeps what the schedule pages read and drops the entity graph.
+ */
+class ShowScheduleSummaryDTOTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Test
+    void testSummaryKeepsScheduleFieldsAndFlatVenue() throws Exception {
+        JsonNode summary = objectMapper.readTree(objectMapper.writeValueAsString(new ShowScheduleSummaryDTO(schedule())));
+
+        assertEquals(7L, summary.get("showId").asLong());
+        assertEquals("2025-03-20", summary.get("showDate").asText());
+        assertEquals("19:30", summary.get("showTime").asText());
+        assertEquals(150, summary.get("seatsAvailable").asInt());
+        assertEquals(150, summary.get("availableSeats").asInt());
+        assertEquals("Old Vic", summary.get("venue").get("name").asText());
+        assertEquals(200, summary.get("venue").get("capacity").asInt());
+        assertFalse(summary.get("venue").has("seats"));
+        assertFalse(summary.has("show"));
+    }
+
+    @Test
+    void testSummaryIsAFractionOfTheEntity() throws Exception {
+        ShowSchedule schedule = schedule();
+
+        int entityBytes = objectMapper.writeValueAsBytes(schedule).length;
+        int summaryBytes = objectMapper.writeValueAsBytes(new ShowScheduleSummaryDTO(schedule)).length;
+
+        // The entity writes the show and every seat of the venue, each seat with the venue again
+        assertTrue(summaryBytes * 50 < entityBytes, "summary " + summaryBytes + " bytes, entity " + entityBytes + " bytes");
+    }
+
+    private ShowSchedule schedule() {
+        Venue venue = new Venue();
+        venue.setId(3L);
+        venue.setName("Old Vic");
+        venue.setAddress("The Cut");
+        venue.setCity("London");
+        venue.setCountry("UK");
+        venue.setCapacity(200);
+        for (int i = 0; i < 200; i++) {
+            Seat seat = new Seat();
+            seat.setId((long) i + 1);
+            seat.setVenue(venue);
+            seat.setRowName(String.valueOf((char) ('A' + i / 20)));
+            seat.setSeatNumber(i % 20 + 1);
+            seat.setCategory(Seat.SeatCategory.STANDARD);
+            venue.getSeats().add(seat);
+        }
+
+        Show show = new Show();
+        show.setId(7L);
+        show.setTitle("Hamlet");
+        show.setDescription("The Prince of Denmark returns from Wittenberg to find his father dead.");
+        show.setType("Theatrical");
+        show.setDuration(120);
+        show.setStatus(Show.ShowStatus.UPCOMING);
+
+        ShowSchedule schedule = new ShowSchedule();
+        schedule.setId(11L);
+        schedule.setShow(show);
+        schedule.setVenue(venue);
+        schedule.setShowDate(LocalDate.of(2025, 3, 20));
+        schedule.setStartTime(LocalTime.of(19, 30));
+        schedule.setEndTime(LocalTime.of(21, 30));
+        schedule.setBasePrice(new BigDecimal("40.00"));
+        schedule.setStatus(ShowSchedule.ScheduleStatus.SCHEDULED);
+        schedule.setTotalSeats(200);
+        schedule.setSeatsAvailable(150);
+        return schedule;
+    }
+}
@@ -0,0 +1,156 @@
+package com.showvault.repository;
+
+import com.showvault.dto.BookingDTO;
+import com.showvault.model.Booking;
+import com.showvault.model.BookingStatus;
+import com.showvault.model.Show;
+import com.showvault.model.ShowSchedule;
+import com.showvault.model.User;
+import com.showvault.model.Venue;
+import com.showvault.util.QueryBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.showvault.util.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the (booking_date, id) keyset scan used by the admin booking grid and
+ * my-bookings: pages must not overlap or skip rows, including bookings made at the
+ * same instant, filters must run in the database, and a deep page must cost the
+ * same number of queries as the first.
+ */
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingKeysetPaginationTest {
+
+    private static final int BOOKINGS = 30;
+    private static final int PAGE_SIZE = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final LocalDateTime now = LocalDateTime.of(2025, 3, 14, 12, 0);
+
+    private User customer;
+
+    private ShowSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = entityManager.persist(user("organizer"));
+        customer = entityManager.persist(user("customer"));
+        User other = entityManager.persist(user("other"));
+        Venue venue = entityManager.persist(venue("Old Vic", "London", 100));
+        Show show = entityManager.persist(show("Hamlet", organizer));
+        schedule = entityManager.persist(schedule(show, venue, LocalDate.of(2025, 3, 20)));
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = entityManager.persist(booking(i % 3 == 0 ? other : customer, schedule, "SV-" + i,
+                    i % 5 == 0 ? BookingStatus.CANCELLED : BookingStatus.CONFIRMED));
+            // Pairs of bookings share a timestamp so that the id tie-breaker is exercised
+            booking.setBookingDate(now.minusHours(i / 2));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void testKeysetPagesCoverEveryBookingOnce() {
+        List<Booking> expected = bookingRepository.findAll(BookingSpecifications.NEWEST_FIRST);
+
+        List<Long> seen = scan(BookingSpecifications.adminFilter(null, null));
+
+        assertEquals(expected.stream().map(Booking::getId).collect(Collectors.toList()), seen);
+    }
+
+    @Test
+    void testKeysetPagesOfOneCustomer() {
+        List<Long> seen = scan(BookingSpecifications.forUser(customer.getId()));
+
+        long expected = bookingRepository.findAll().stream()
+                .filter(b -> b.getUser().getId().equals(customer.getId())).count();
+        assertEquals(expected, seen.size());
+        assertEquals(seen.size(), seen.stream().distinct().count());
+    }
+
+    @Test
+    void testKeysetPagesOfOneScheduleAndShow() {
+        List<Long> expected = bookingRepository.findAll(BookingSpecifications.NEWEST_FIRST).stream()
+                .map(Booking::getId).collect(Collectors.toList());
+
+        assertEquals(expected, scan(BookingSpecifications.forSchedule(schedule.getId())));
+        assertEquals(expected, scan(BookingSpecifications.forShow(schedule.getShow().getId())));
+        assertTrue(scan(BookingSpecifications.forSchedule(schedule.getId() + 1)).isEmpty());
+    }
+
+    @Test
+    void testFiltersRunInTheDatabase() {
+        assertEquals(6, bookingRepository.count(BookingSpecifications.adminFilter(BookingStatus.CANCELLED, null)));
+        // Bookings made on the 14th, 0 to 12 hours back
+        assertEquals(26, bookingRepository.count(BookingSpecifications.adminFilter(null, now.toLocalDate())));
+        // Every booking is for a show on the 20th
+        assertEquals(BOOKINGS, bookingRepository.count(BookingSpecifications.adminFilter(null, schedule.getShowDate())));
+        assertEquals(0, bookingRepository.count(BookingSpecifications.adminFilter(null, now.toLocalDate().plusDays(1))));
+    }
+
+    @Test
+    void testDeepPageCostsTheSameAsTheFirst() {
+        QueryBudget budget = QueryBudget.of(entityManagerFactory);
+        List<Booking> all = bookingRepository.findAll(BookingSpecifications.NEWEST_FIRST);
+        Booking deep = all.get(all.size() - PAGE_SIZE - 1);
+        entityManager.clear();
+
+        // One query for the page with its customer, show and venue, one batch each for seats and payments
+        budget.assertAtMost("first keyset page", 3,
+                () -> toDTOs(page(BookingSpecifications.adminFilter(null, null))));
+        entityManager.clear();
+        List<BookingDTO> page = budget.assertAtMost("deep keyset page", 3, () -> toDTOs(page(
+                BookingSpecifications.adminFilter(null, null)
+                        .and(BookingSpecifications.before(deep.getBookingDate(), deep.getId())))));
+
+        assertEquals(PAGE_SIZE, page.size());
+        assertTrue(page.stream().allMatch(b -> b.getVenueName() != null && b.getUserName() != null));
+    }
+
+    private List<Long> scan(Specification<Booking> filter) {
+        List<Long> seen = new ArrayList<>();
+        List<Booking> page = page(filter);
+        while (!page.isEmpty()) {
+            page.forEach(b -> seen.add(b.getId()));
+            Booking last = page.get(page.size() - 1);
+            page = page(filter.and(BookingSpecifications.before(last.getBookingDate(), last.getId())));
+        }
+        return seen;
+    }
+
+    private List<Booking> page(Specification<Booking> spec) {
+        return bookingRepository.findBy(spec, query -> query
+                .sortBy(BookingSpecifications.NEWEST_FIRST)
+                .project(BookingSpecifications.LIST_PATHS)
+                .limit(PAGE_SIZE)
+                .all());
+    }
+}
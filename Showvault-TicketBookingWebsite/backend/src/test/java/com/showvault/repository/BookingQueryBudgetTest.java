@@ -0,0 +1,220 @@
+package com.showvault.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.showvault.config.JacksonConfig;
+import com.showvault.dto.BookingDTO;
+import com.showvault.model.Booking;
+import com.showvault.model.BookingPayment;
+import com.showvault.model.BookingStatus;
+import com.showvault.model.PaymentMethod;
+import com.showvault.model.PaymentStatus;
+import com.showvault.model.Seat;
+import com.showvault.model.SeatBooking;
+import com.showvault.model.Show;
+import com.showvault.model.ShowSchedule;
+import com.showvault.model.User;
+import com.showvault.model.Venue;
+import com.showvault.security.services.UserDetailsImpl;
+import com.showvault.util.QueryBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.showvault.util.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query budgets for the booking read paths.
+ * Each use case runs the repository call and the conversion or serialization its
+ * endpoint does, inside one persistence context as with open-in-view, against a cold
+ * second-level cache. The budgets do not depend on the number of bookings, so an
+ * association that goes back to one select per row fails the build.
+ */
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingQueryBudgetTest {
+
+    private static final int CUSTOMERS = 4;
+    private static final int BOOKINGS_PER_SCHEDULE = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    private QueryBudget budget;
+
+    private User customer;
+
+    private Show show;
+
+    private ShowSchedule schedule;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        User organizer = entityManager.persist(user("organizer"));
+        List<User> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(entityManager.persist(user("customer" + i)));
+        }
+        customer = customers.get(0);
+
+        List<ShowSchedule> schedules = new ArrayList<>();
+        for (int v = 0; v < 2; v++) {
+            Venue venue = entityManager.persist(venue("Venue " + v, "London", BOOKINGS_PER_SCHEDULE * 2));
+            List<Seat> seats = new ArrayList<>();
+            for (int s = 1; s <= BOOKINGS_PER_SCHEDULE * 2; s++) {
+                seats.add(entityManager.persist(seat(venue, s)));
+            }
+            Show venueShow = entityManager.persist(show("Show " + v, organizer));
+            for (int d = 0; d < 2; d++) {
+                ShowSchedule venueSchedule = entityManager.persist(schedule(venueShow, venue, LocalDate.now().plusDays(d + 1)));
+                schedules.add(venueSchedule);
+                for (int b = 0; b < BOOKINGS_PER_SCHEDULE; b++) {
+                    Booking created = entityManager.persist(paidBooking(customers.get(b % CUSTOMERS), venueSchedule,
+                            "SV-" + v + d + b, List.of(seats.get(b * 2), seats.get(b * 2 + 1))));
+                    if (booking == null) {
+                        booking = created;
+                    }
+                }
+            }
+            if (show == null) {
+                show = venueShow;
+            }
+        }
+        schedule = schedules.get(0);
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+        budget = QueryBudget.of(entityManagerFactory);
+    }
+
+    @Test
+    void testAdminBookingListStaysWithinBudget() {
+        List<BookingDTO> bookings = budget.assertAtMost("admin booking list", 4,
+                () -> toDTOs(bookingRepository.findAll()));
+
+        assertEquals(16, bookings.size());
+        assertTrue(bookings.stream().allMatch(b -> b.getVenueName() != null && b.getSeats().size() == 2));
+    }
+
+    @Test
+    void testBookingsByStatusStayWithinBudget() {
+        List<BookingDTO> bookings = budget.assertAtMost("bookings by status", 4,
+                () -> toDTOs(bookingRepository.findByStatus(BookingStatus.CONFIRMED)));
+
+        assertEquals(16, bookings.size());
+    }
+
+    @Test
+    void testMyBookingsStayWithinBudget() {
+        List<BookingDTO> bookings = budget.assertAtMost("my bookings", 4,
+                () -> toDTOs(bookingRepository.findByUserId(customer.getId())));
+
+        assertEquals(4, bookings.size());
+        assertTrue(bookings.stream().allMatch(b -> customer.getId().equals(b.getUserId())));
+    }
+
+    @Test
+    void testScheduleBookingsJsonStaysWithinBudget() {
+        // The schedule endpoint returns the entities themselves, so serialization is part of the budget
+        String json = budget.assertAtMost("bookings by schedule", 8, () -> {
+            try {
+                return objectMapper.writeValueAsString(bookingRepository.findByShowScheduleId(schedule.getId()));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(json.contains("SV-000"));
+    }
+
+    @Test
+    void testBookingDetailStaysWithinBudget() {
+        BookingDTO detail = budget.assertAtMost("booking detail", 2, () -> {
+            Booking found = bookingRepository.findBookingWithDetailsById(booking.getId()).orElseThrow();
+            // Ownership checks in the controller read the show's creator
+            assertNotNull(found.getShowSchedule().getShow().getCreatedBy().getId());
+            return new BookingDTO(found);
+        });
+
+        assertEquals(2, detail.getSeats().size());
+        assertNotNull(detail.getPaymentId());
+    }
+
+    @Test
+    void testTicketStaysWithinBudget() {
+        Booking ticket = budget.assertAtMost("ticket", 1, () -> {
+            Booking found = bookingRepository.findByBookingNumberWithDetails(booking.getBookingNumber()).orElseThrow();
+            found.getUser().getEmail();
+            found.getShowSchedule().getShow().getTitle();
+            found.getShowSchedule().getVenue().getAddress();
+            found.getSeatBookings().forEach(seatBooking -> seatBooking.getSeat().getRowName());
+            return found;
+        });
+
+        assertEquals(2, ticket.getSeatBookings().size());
+    }
+
+    @Test
+    void testShowAnalyticsStayWithinBudget() {
+        int tickets = budget.assertAtMost("show analytics", 1, () -> {
+            List<Booking> bookings = bookingRepository.findBookingsByShowId(show.getId());
+            bookings.forEach(b -> b.getShowSchedule().getShowDate());
+            return bookings.stream().mapToInt(b -> b.getSeatBookings().size()).sum();
+        });
+
+        assertEquals(2 * BOOKINGS_PER_SCHEDULE * 2, tickets);
+    }
+
+    @Test
+    void testSignInStaysWithinBudget() {
+        UserDetailsImpl userDetails = budget.assertAtMost("sign-in", 1,
+                () -> UserDetailsImpl.build(userRepository.findByUsername(customer.getUsername()).orElseThrow()));
+
+        assertEquals(customer.getUsername(), userDetails.getUsername());
+    }
+
+    private Booking paidBooking(User user, ShowSchedule schedule, String number, List<Seat> seats) {
+        Booking booking = booking(user, schedule, number, BookingStatus.CONFIRMED);
+        booking.setTotalAmount(new BigDecimal("80.00"));
+        for (Seat seat : seats) {
+            SeatBooking seatBooking = new SeatBooking();
+            seatBooking.setBooking(booking);
+            seatBooking.setSeat(seat);
+            seatBooking.setPrice(new BigDecimal("40.00"));
+            booking.getSeatBookings().add(seatBooking);
+        }
+        BookingPayment payment = new BookingPayment();
+        payment.setBooking(booking);
+        payment.setAmount(booking.getTotalAmount());
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setMethod(PaymentMethod.CREDIT_CARD);
+        payment.setTransactionId("TXN-" + number);
+        booking.getPayments().add(payment);
+        return booking;
+    }
+}
@@ -0,0 +1,273 @@
+package com.showvault.repository;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan regression test for every repository query.
+ * Applies the Liquibase changelog (so the indexes come from the same migrations as production),
+ * calls each method declared on a repository interface with placeholder arguments, records the
+ * SQL Hibernate generates and runs EXPLAIN on it. A plan that reads a whole table, or a whole
+ * index without a condition, fails the test. New repository methods are picked up automatically;
+ * queries that are meant to scan must be listed in ALLOWED_SCANS with the reason.
+ */
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplan;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.liquibase.enabled=true",
+        "spring.liquibase.change-log=classpath:db/changelog/db.changelog-master.yaml",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.showvault.repository.QueryPlanTest$RecordingStatementInspector"
+})
+class QueryPlanTest {
+
+    /**
+     * Repository methods whose plans may scan, keyed by "Repository.method", with the reason.
+     * Also lists the few methods that cannot run against this schema at all.
+     */
+    private static final Map<String, String> ALLOWED_SCANS = Map.ofEntries(
+            Map.entry("BookingPaymentRepository.findByMethod", "admin filter on a low-cardinality column"),
+            Map.entry("BookingPaymentRepository.findByStatus", "admin filter on a low-cardinality column"),
+            Map.entry("BookingRepository.findAll", "unfiltered listing"),
+            Map.entry("BookingRepository.findBookingsByShowId", "H2 does not reorder joins around the fetched seat_booking "
+                    + "outer join; MySQL drives it from show_schedule by show_id"),
+            Map.entry("BookingRepository.findTop10ByOrderByCreatedAtDesc", "admin dashboard, reads the latest bookings"),
+            Map.entry("PromotionRepository.findActivePromotions", "promotions is a small table"),
+            Map.entry("PromotionRepository.findByStatus", "promotions is a small table"),
+            Map.entry("PromotionRepository.findPricingRulesEndingOnOrAfter", "promotions is a small table"),
+            Map.entry("ShowRepository.countByStatus", "show catalogue is a small table"),
+            Map.entry("ShowRepository.findAllGenres", "reference data, cached in ShowService"),
+            Map.entry("ShowRepository.findAllLanguages", "reference data, cached in ShowService"),
+            Map.entry("ShowRepository.findByGenre", "show catalogue is a small table"),
+            Map.entry("ShowRepository.findByGenreOrType", "show catalogue is a small table"),
+            Map.entry("ShowRepository.findByLanguage", "show catalogue is a small table"),
+            Map.entry("ShowRepository.findByStatus", "show catalogue is a small table"),
+            Map.entry("ShowRepository.findByTitleContainingIgnoreCase", "substring search"),
+            Map.entry("ShowRepository.findDeletedShows", "admin listing"),
+            Map.entry("ShowRepository.findTopShowsByRevenue", "native query against tables that do not exist in this schema"),
+            Map.entry("ShowRepository.findTrendingShowsByBookingCount", "native query against tables that do not exist in this schema"),
+            Map.entry("ShowScheduleRepository.findByShowIdAndVenueIdAndShowDateBetweenAndStatus",
+                    "optional filters written as (? IS NULL OR ...) cannot use an index"),
+            Map.entry("ShowScheduleRepository.findByStatus", "admin filter on a low-cardinality column"),
+            Map.entry("UserRepository.countByRolesName", "counts every user holding the role"),
+            Map.entry("UserRepository.countUsersByRoleName", "compares a String parameter with the ERole column and "
+                    + "fails before reaching the database"),
+            Map.entry("UserRepository.findUsersByRoleName", "compares a String parameter with the ERole column and "
+                    + "fails before reaching the database"),
+            Map.entry("UserRepository.searchUsers", "substring search"),
+            Map.entry("VenueRepository.findAllCities", "reference data, cached in VenueService"),
+            Map.entry("VenueRepository.findAllCountries", "reference data, cached in VenueService"),
+            Map.entry("VenueRepository.findByCity", "venues is a small table"),
+            Map.entry("VenueRepository.findByCountry", "venues is a small table"),
+            Map.entry("VenueRepository.findByMinimumCapacity", "venues is a small table"),
+            Map.entry("VenueRepository.searchVenues", "substring search")
+    );
+
+    // H2 prints the access path of each table as /* schema.index: condition */ or /* schema.table.tableScan */
+    private static final Pattern ACCESS_PATH = Pattern.compile("/\\* (public\\.[^*]*?) \\*/", Pattern.DOTALL);
+
+    private static final List<String> RECORDED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testRepositoryQueriesUseIndexes() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<String> failures = new ArrayList<>();
+        int checkedQueries = 0;
+
+        for (Class<?> repository : repositoryInterfaces()) {
+            for (Method method : declaredQueryMethods(repository)) {
+                String key = repository.getSimpleName() + "." + method.getName();
+                Object bean = applicationContext.getBean(repository);
+
+                RECORDED.clear();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        status.setRollbackOnly();
+                        invoke(bean, method);
+                    });
+                } catch (RuntimeException e) {
+                    if (!ALLOWED_SCANS.containsKey(key)) {
+                        failures.add(key + " could not run: " + e.getMessage());
+                    }
+                    continue;
+                }
+
+                for (String sql : new ArrayList<>(RECORDED)) {
+                    if (sql.regionMatches(true, 0, "insert", 0, 6)) {
+                        continue;
+                    }
+                    checkedQueries++;
+                    List<String> scans = scans(explain(sql));
+                    if (!scans.isEmpty() && !ALLOWED_SCANS.containsKey(key)) {
+                        failures.add(key + " scans " + scans + "\n    " + sql);
+                    }
+                }
+            }
+        }
+
+        assertTrue(checkedQueries > 100, "repository queries checked: " + checkedQueries);
+        assertTrue(failures.isEmpty(), "Queries without a usable index:\n" + String.join("\n", failures));
+    }
+
+    private List<Class<?>> repositoryInterfaces() {
+        Repositories repositories = new Repositories(applicationContext);
+        List<Class<?>> interfaces = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryInformationFor(domainType)
+                    .ifPresent(information -> interfaces.add(information.getRepositoryInterface()));
+        }
+        interfaces.sort(Comparator.comparing(Class::getSimpleName));
+        return interfaces;
+    }
+
+    private List<Method> declaredQueryMethods(Class<?> repository) {
+        return Arrays.stream(repository.getDeclaredMethods())
+                .filter(method -> !method.isDefault() && !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                .sorted(Comparator.comparing(Method::toGenericString))
+                .toList();
+    }
+
+    private void invoke(Object bean, Method method) {
+        Object[] args = Arrays.stream(method.getGenericParameterTypes()).map(this::placeholder).toArray();
+        try {
+            method.invoke(bean, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object placeholder(Type type) {
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element && element.isEnum()) {
+            // Collections of enum values, e.g. a set of statuses
+            return List.of(element.getEnumConstants());
+        }
+        return placeholder(type instanceof ParameterizedType parameterized
+                ? (Class<?>) parameterized.getRawType() : (Class<?>) type);
+    }
+
+    private Object placeholder(Class<?> type) {
+        if (type == Long.class || type == long.class) {
+            return 1L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 10;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return true;
+        }
+        if (type == String.class) {
+            return "placeholder";
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.ONE;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.now();
+        }
+        if (type == LocalTime.class) {
+            return LocalTime.NOON;
+        }
+        if (type == Collection.class || type == List.class) {
+            return List.of(1L, 2L);
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type.isAnnotationPresent(Entity.class)) {
+            return entityManager.getReference(type, 1L);
+        }
+        throw new IllegalArgumentException("No placeholder for parameter type " + type.getName());
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                resultSet -> resultSet.next() ? resultSet.getString(1) : "");
+    }
+
+    private List<String> scans(String plan) {
+        TreeSet<String> scans = new TreeSet<>();
+        Matcher matcher = ACCESS_PATH.matcher(plan);
+        while (matcher.find()) {
+            String accessPath = matcher.group(1);
+            if (!accessPath.contains(":")) {
+                scans.add(accessPath);
+            }
+        }
+        return new ArrayList<>(scans);
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            RECORDED.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.showvault.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the Liquibase changelog used by the prod profile to an empty database and lets
+ * Hibernate validate the result against the entities, so an entity change without a matching
+ * changeset fails here rather than at deploy time.
+ */
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changelog;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.liquibase.enabled=true",
+        "spring.liquibase.change-log=classpath:db/changelog/db.changelog-master.yaml",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+class SchemaChangelogTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testChangelogCreatesValidSchema() {
+        List<String> roles = jdbcTemplate.queryForList("SELECT name FROM role ORDER BY id", String.class);
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN", "ROLE_ORGANIZER"), roles);
+
+        Integer indexes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.indexes WHERE index_name LIKE 'idx_%'", Integer.class);
+        assertTrue(indexes >= 24, "indexes created: " + indexes);
+    }
+}
@@ -0,0 +1,173 @@
+package com.showvault.service;
+
+import com.showvault.model.ShowSchedule;
+import com.showvault.model.Venue;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the set-based reconciliation against H2 with several workers and small update chunks,
+ * and checks that it applies the same rules as SeatConsistencyService.synchronizeSeatsForSchedule.
+ */
+class CapacityReconciliationServiceTest {
+
+    private static final int VENUES = 6;
+    private static final int SCHEDULES_PER_VENUE = 3;
+    private static final int SEATS_PER_VENUE = 10;
+
+    private HikariDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+
+    private final Cache secondLevelCache = mock(Cache.class);
+
+    private final org.hibernate.Cache hibernateCache = mock(org.hibernate.Cache.class);
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:reconciliation;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(4);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("CREATE TABLE venue (id BIGINT PRIMARY KEY, capacity INT, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE seat (id BIGINT AUTO_INCREMENT PRIMARY KEY, venue_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE show_schedule (id BIGINT PRIMARY KEY, venue_id BIGINT, total_seats INT, " +
+                "seats_available INT, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE booking (id BIGINT PRIMARY KEY, show_schedule_id BIGINT, status VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE seat_booking (id BIGINT AUTO_INCREMENT PRIMARY KEY, booking_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE seat_reservation (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "show_schedule_id BIGINT, expires_at TIMESTAMP)");
+
+        // Venues 1..6 with 10 seats each and three consistent schedules (ids 11-13, 21-23, ...)
+        for (long venueId = 1; venueId <= VENUES; venueId++) {
+            jdbcTemplate.update("INSERT INTO venue (id, capacity) VALUES (?, ?)", venueId, SEATS_PER_VENUE);
+            for (int seat = 0; seat < SEATS_PER_VENUE; seat++) {
+                jdbcTemplate.update("INSERT INTO seat (venue_id) VALUES (?)", venueId);
+            }
+            for (long schedule = 1; schedule <= SCHEDULES_PER_VENUE; schedule++) {
+                jdbcTemplate.update("INSERT INTO show_schedule (id, venue_id, total_seats, seats_available) VALUES (?, ?, ?, ?)",
+                        venueId * 10 + schedule, venueId, SEATS_PER_VENUE, SEATS_PER_VENUE);
+            }
+        }
+
+        // Schedule 11: 2 confirmed seats, 1 cancelled seat, 1 active and 1 expired reservation
+        jdbcTemplate.update("INSERT INTO booking (id, show_schedule_id, status) VALUES (1, 11, 'CONFIRMED')");
+        jdbcTemplate.update("INSERT INTO booking (id, show_schedule_id, status) VALUES (2, 11, 'CANCELLED')");
+        jdbcTemplate.update("INSERT INTO seat_booking (booking_id) VALUES (1), (1), (2)");
+        jdbcTemplate.update("INSERT INTO seat_reservation (show_schedule_id, expires_at) VALUES (11, ?), (11, ?)",
+                LocalDateTime.now().plusMinutes(10), LocalDateTime.now().minusMinutes(10));
+        // Schedule 42 claims more seats than the venue has
+        jdbcTemplate.update("UPDATE show_schedule SET total_seats = 15, seats_available = 15 WHERE id = 42");
+        // Schedule 63 has a stale availability
+        jdbcTemplate.update("UPDATE show_schedule SET seats_available = 4 WHERE id = 63");
+        // Venue 5 is used by a single schedule, so its capacity follows its seats; venue 2 has three schedules
+        jdbcTemplate.update("DELETE FROM show_schedule WHERE id IN (52, 53)");
+        jdbcTemplate.update("UPDATE venue SET capacity = 12 WHERE id IN (2, 5)");
+
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(hibernateCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Test
+    void testReconcileAllCorrectsOnlyInconsistentRows() {
+        Map<String, Object> result = service(jdbcTemplate).reconcileAll();
+
+        assertEquals(VENUES, result.get("venues"));
+        assertEquals(16, result.get("schedules"));
+        assertEquals(1, result.get("venuesCorrected"));
+        assertEquals(3, result.get("schedulesCorrected"));
+        assertEquals(0, result.get("skippedConcurrentChanges"));
+        assertEquals(0, result.get("failedPartitions"));
+
+        assertSchedule(11, 10, 7);
+        assertSchedule(42, 10, 10);
+        assertSchedule(63, 10, 10);
+        assertEquals(10, capacity(5));
+        assertEquals(12, capacity(2));
+
+        // Consistent rows are not rewritten
+        assertEquals(List.of(11L, 42L, 63L), jdbcTemplate.queryForList(
+                "SELECT id FROM show_schedule WHERE updated_at IS NOT NULL ORDER BY id", Long.class));
+        verify(secondLevelCache).evict(ShowSchedule.class, 11L);
+        verify(secondLevelCache).evict(Venue.class, 5L);
+        verify(hibernateCache).evictQueryRegions();
+    }
+
+    @Test
+    void testReconcileVenueOnlyTouchesThatVenue() {
+        Map<String, Object> result = service(jdbcTemplate).reconcileVenue(4L);
+
+        assertEquals(1, result.get("venues"));
+        assertEquals(1, result.get("schedulesCorrected"));
+        assertSchedule(42, 10, 10);
+        assertSchedule(11, 10, 10);
+        assertSchedule(63, 10, 4);
+    }
+
+    @Test
+    void testRowsChangedAfterTheyWereReadAreSkipped() {
+        // A booking lands on schedule 63 between the counts being read and the correction being written
+        JdbcTemplate racingTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                if (sql.startsWith("UPDATE show_schedule")) {
+                    update("UPDATE show_schedule SET seats_available = 3 WHERE id = 63");
+                }
+                return super.batchUpdate(sql, batchArgs);
+            }
+        };
+
+        Map<String, Object> result = service(racingTemplate).reconcileVenue(6L);
+
+        assertEquals(0, result.get("schedulesCorrected"));
+        assertEquals(1, result.get("skippedConcurrentChanges"));
+        assertSchedule(63, 10, 3);
+        verifyNoInteractions(secondLevelCache);
+    }
+
+    private CapacityReconciliationService service(JdbcTemplate template) {
+        return new CapacityReconciliationService(template, new DataSourceTransactionManager(dataSource),
+                entityManagerFactory, executor, 3, 2);
+    }
+
+    private void assertSchedule(long id, int totalSeats, int seatsAvailable) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT total_seats, seats_available FROM show_schedule WHERE id = ?", id);
+        assertEquals(totalSeats, row.get("TOTAL_SEATS"), "total_seats of schedule " + id);
+        assertEquals(seatsAvailable, row.get("SEATS_AVAILABLE"), "seats_available of schedule " + id);
+    }
+
+    private int capacity(long venueId) {
+        return jdbcTemplate.queryForObject("SELECT capacity FROM venue WHERE id = ?", Integer.class, venueId);
+    }
+}
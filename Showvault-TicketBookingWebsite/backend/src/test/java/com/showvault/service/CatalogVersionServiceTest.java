@@ -0,0 +1,136 @@
+package com.showvault.service;
+
+import com.showvault.model.Seat;
+import com.showvault.model.Show;
+import com.showvault.model.ShowSchedule;
+import com.showvault.model.User;
+import com.showvault.model.Venue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+import static com.showvault.util.TestFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the catalog and show versions move on inserts, updates and deletes of every
+ * table the catalog responses are built from, and stay put otherwise.
+ */
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CatalogVersionServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CatalogVersionService catalogVersionService;
+
+    private Venue venue;
+
+    private Show show;
+
+    private ShowSchedule schedule;
+
+    @BeforeEach
+    void setUp() {
+        // No TTL, so every call reads the database
+        catalogVersionService = new CatalogVersionService(entityManager.getEntityManager(), 0);
+
+        User organizer = entityManager.persist(user("organizer"));
+        venue = entityManager.persist(venue("Old Vic", "London", 100));
+        entityManager.persist(seat(venue, 1));
+        show = entityManager.persist(show("Hamlet", organizer));
+        schedule = entityManager.persist(schedule(show, venue, LocalDate.of(2025, 3, 20)));
+        entityManager.flush();
+    }
+
+    @Test
+    void testVersionsAreStableWhileNothingChanges() {
+        assertEquals(catalogVersionService.getShowsETag(), catalogVersionService.getShowsETag());
+        assertEquals(catalogVersionService.getVenuesETag(), catalogVersionService.getVenuesETag());
+        assertEquals(catalogVersionService.getShowETag(show.getId()), catalogVersionService.getShowETag(show.getId()));
+        assertTrue(catalogVersionService.getShowsETag().startsWith("W/\""));
+        assertNotEquals(catalogVersionService.getShowFiltersETag(), catalogVersionService.getVenueFiltersETag());
+        assertNull(catalogVersionService.getShowETag(show.getId() + 1000));
+    }
+
+    @Test
+    void testSeatChangesMoveTheVenuesVersion() {
+        String before = catalogVersionService.getVenuesETag();
+        Seat added = entityManager.persist(seat(venue, 2));
+        entityManager.flush();
+        String afterInsert = catalogVersionService.getVenuesETag();
+
+        entityManager.remove(added);
+        entityManager.flush();
+        String afterDelete = catalogVersionService.getVenuesETag();
+
+        assertNotEquals(before, afterInsert);
+        assertNotEquals(afterInsert, afterDelete);
+    }
+
+    @Test
+    void testSeatCountChangesMoveShowAndVenueVersionsOnly() throws InterruptedException {
+        String shows = catalogVersionService.getShowsETag();
+        String venues = catalogVersionService.getVenuesETag();
+        String showVersion = catalogVersionService.getShowETag(show.getId());
+        String showFilters = catalogVersionService.getShowFiltersETag();
+        String venueFilters = catalogVersionService.getVenueFiltersETag();
+        Thread.sleep(5);
+
+        // What a booking does to its schedule; show and venue responses carry the seat counts
+        schedule.setSeatsAvailable(schedule.getSeatsAvailable() - 1);
+        entityManager.flush();
+
+        assertNotEquals(shows, catalogVersionService.getShowsETag());
+        assertNotEquals(venues, catalogVersionService.getVenuesETag());
+        assertNotEquals(showVersion, catalogVersionService.getShowETag(show.getId()));
+        assertEquals(showFilters, catalogVersionService.getShowFiltersETag());
+        assertEquals(venueFilters, catalogVersionService.getVenueFiltersETag());
+    }
+
+    @Test
+    void testFilterVersionsOnlyFollowTheirOwnTable() throws InterruptedException {
+        String showFilters = catalogVersionService.getShowFiltersETag();
+        String venueFilters = catalogVersionService.getVenueFiltersETag();
+        Thread.sleep(5);
+
+        show.setGenre("Tragedy");
+        entityManager.flush();
+        assertNotEquals(showFilters, catalogVersionService.getShowFiltersETag());
+        assertEquals(venueFilters, catalogVersionService.getVenueFiltersETag());
+
+        showFilters = catalogVersionService.getShowFiltersETag();
+        Thread.sleep(5);
+        venue.setCity("Bristol");
+        entityManager.flush();
+        assertNotEquals(venueFilters, catalogVersionService.getVenueFiltersETag());
+        assertEquals(showFilters, catalogVersionService.getShowFiltersETag());
+    }
+
+    @Test
+    void testScheduleChangesMoveTheShowVersion() {
+        String before = catalogVersionService.getShowETag(show.getId());
+        jdbcTemplate.update("UPDATE show_schedule SET seats_available = 10, updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(schedule.getUpdatedAt().plusSeconds(1)), schedule.getId());
+        String afterUpdate = catalogVersionService.getShowETag(show.getId());
+
+        jdbcTemplate.update("DELETE FROM show_schedule WHERE id = ?", schedule.getId());
+        String afterDelete = catalogVersionService.getShowETag(show.getId());
+
+        assertNotEquals(before, afterUpdate);
+        assertNotEquals(afterUpdate, afterDelete);
+    }
+}
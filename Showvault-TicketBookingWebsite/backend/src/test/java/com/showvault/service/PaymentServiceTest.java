@@ -0,0 +1,271 @@
+package com.showvault.service;
+
+import com.showvault.exception.ResourceNotFoundException;
+import com.showvault.model.Booking;
+import com.showvault.model.BookingPayment;
+import com.showvault.model.BookingStatus;
+import com.showvault.model.PaymentMethod;
+import com.showvault.model.PaymentStatus;
+import com.showvault.model.ShowSchedule;
+import com.showvault.model.User;
+import com.showvault.repository.BookingPaymentRepository;
+import com.showvault.repository.BookingRepository;
+import com.showvault.service.impl.LocalPaymentGateway;
+import com.showvault.util.TimeOrderedIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentServiceTest {
+
+    @Mock
+    private BookingPaymentRepository paymentRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService gatewayExecutor = Executors.newFixedThreadPool(2);
+
+    private Booking booking;
+    private BookingPayment storedPayment;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        ShowSchedule schedule = new ShowSchedule();
+        schedule.setId(2L);
+
+        booking = new Booking();
+        booking.setId(3L);
+        booking.setBookingNumber("BK0000000000001");
+        booking.setUser(user);
+        booking.setShowSchedule(schedule);
+        booking.setBookingDate(LocalDateTime.now());
+        booking.setTotalAmount(new BigDecimal("250.00"));
+        booking.setStatus(BookingStatus.PENDING);
+
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(bookingRepository.findById(3L)).thenReturn(Optional.of(booking));
+        lenient().when(paymentRepository.save(any(BookingPayment.class))).thenAnswer(invocation -> {
+            BookingPayment payment = invocation.getArgument(0);
+            if (payment.getId() == null) {
+                payment.setId(10L);
+            }
+            storedPayment = payment;
+            return payment;
+        });
+        lenient().when(paymentRepository.findById(10L)).thenAnswer(invocation -> Optional.ofNullable(storedPayment));
+        lenient().when(paymentRepository.findOwnerIdById(10L)).thenAnswer(invocation ->
+                Optional.ofNullable(storedPayment).map(payment -> payment.getBooking().getUser().getId()));
+        // Conditional status updates, atomic like the UPDATE ... WHERE status = ? they stand for
+        lenient().when(paymentRepository.updateStatusIf(eq(10L), any(), any(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> moveStatus(invocation.getArgument(1), invocation.getArgument(2), null));
+        lenient().when(paymentRepository.updateStatusIf(eq(10L), any(), any(), any(String.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> moveStatus(invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+    }
+
+    private synchronized int moveStatus(PaymentStatus expected, PaymentStatus status, String notes) {
+        if (storedPayment == null || storedPayment.getStatus() != expected) {
+            return 0;
+        }
+        storedPayment.setStatus(status);
+        if (notes != null) {
+            storedPayment.setNotes(notes);
+        }
+        return 1;
+    }
+
+    @AfterEach
+    void tearDown() {
+        gatewayExecutor.shutdownNow();
+    }
+
+    private PaymentService service(PaymentGateway gateway, long timeoutMs) {
+        return new PaymentService(paymentRepository, bookingRepository, bookingService,
+                new TimeOrderedIdGenerator(0), gateway, gatewayExecutor, transactionManager, timeoutMs, timeoutMs + 1);
+    }
+
+    @Test
+    void testSuccessfulPaymentConfirmsBooking() {
+        PaymentService paymentService = service(new LocalPaymentGateway(0, 1.0), 1000);
+
+        BookingPayment payment = paymentService.processPayment(3L, 1L, PaymentMethod.CREDIT_CARD, new BigDecimal("250.00"));
+
+        assertEquals(PaymentStatus.COMPLETED, payment.getStatus());
+        assertTrue(payment.getTransactionId().startsWith("TXN-"));
+        assertTrue(booking.getTicketGenerated());
+        verify(bookingService).updateBookingStatus(3L, BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void testGatewayIsCalledBetweenTwoShortTransactions() {
+        PaymentGateway gateway = mock(PaymentGateway.class);
+        when(gateway.charge(any(), any(), any())).thenReturn(PaymentGateway.Result.success());
+        PaymentService paymentService = service(gateway, 1000);
+
+        paymentService.processPayment(3L, 1L, PaymentMethod.CREDIT_CARD, new BigDecimal("250.00"));
+
+        InOrder inOrder = inOrder(transactionManager, gateway);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(gateway).charge(any(), any(), any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testSlowGatewayTimesOutAndLeavesPaymentUnknown() {
+        PaymentService paymentService = service(new LocalPaymentGateway(2000, 1.0), 100);
+
+        long start = System.currentTimeMillis();
+        BookingPayment payment = paymentService.processPayment(3L, 1L, PaymentMethod.CREDIT_CARD, new BigDecimal("250.00"));
+        long elapsed = System.currentTimeMillis() - start;
+
+        // The charge may still go through, so it must not be marked FAILED
+        assertEquals(PaymentStatus.UNKNOWN, payment.getStatus());
+        assertTrue(payment.getNotes().contains("timed out"));
+        assertTrue(elapsed < 1500, "payment should not wait for the slow gateway");
+        verify(bookingService, never()).updateBookingStatus(any(), any());
+    }
+
+    @Test
+    void testAmountMismatchIsRejectedBeforeGatewayCall() {
+        PaymentGateway gateway = mock(PaymentGateway.class);
+        PaymentService paymentService = service(gateway, 1000);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> paymentService.processPayment(3L, 1L, PaymentMethod.CREDIT_CARD, new BigDecimal("1.00")));
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void testDeclinedPaymentFails() {
+        PaymentService paymentService = service(new LocalPaymentGateway(0, 0.0), 1000);
+
+        BookingPayment payment = paymentService.processPayment(3L, 1L, PaymentMethod.CREDIT_CARD, new BigDecimal("250.00"));
+
+        assertEquals(PaymentStatus.FAILED, payment.getStatus());
+        verify(bookingService, never()).updateBookingStatus(any(), any());
+    }
+
+    @Test
+    void testPaymentForAnotherUsersBookingIsRejected() {
+        PaymentGateway gateway = mock(PaymentGateway.class);
+        PaymentService paymentService = service(gateway, 1000);
+
+        assertThrows(AccessDeniedException.class,
+                () -> paymentService.processPayment(3L, 99L, PaymentMethod.CREDIT_CARD, new BigDecimal("250.00")));
+        assertThrows(ResourceNotFoundException.class,
+                () -> paymentService.processPayment(4L, 1L, PaymentMethod.CREDIT_CARD, new BigDecimal("250.00")));
+        verifyNoInteractions(gateway);
+    }
+
+    @Test
+    void testUnknownPaymentIsReconciledFromTheGateway() {
+        PaymentGateway gateway = mock(PaymentGateway.class);
+        when(gateway.charge(any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(500);
+            return PaymentGateway.Result.success();
+        });
+        when(gateway.lookupCharge(any())).thenReturn(PaymentGateway.Result.success());
+        PaymentService paymentService = service(gateway, 100);
+
+        BookingPayment payment = paymentService.processPayment(3L, 1L, PaymentMethod.CREDIT_CARD, new BigDecimal("250.00"));
+        assertEquals(PaymentStatus.UNKNOWN, payment.getStatus());
+
+        // The gateway went on with the charge after the caller gave up waiting
+        BookingPayment reconciled = paymentService.reconcile(payment);
+
+        assertEquals(PaymentStatus.COMPLETED, reconciled.getStatus());
+        verify(bookingService).updateBookingStatus(3L, BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void testConcurrentRefundsCallTheGatewayOnce() throws Exception {
+        BookingPayment payment = new BookingPayment();
+        payment.setId(10L);
+        payment.setBooking(booking);
+        payment.setAmount(new BigDecimal("250.00"));
+        payment.setTransactionId("TXN-1");
+        payment.setStatus(PaymentStatus.COMPLETED);
+        storedPayment = payment;
+
+        PaymentGateway gateway = mock(PaymentGateway.class);
+        when(gateway.refund(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return PaymentGateway.Result.success();
+        });
+        PaymentService paymentService = service(gateway, 1000);
+
+        ExecutorService requests = Executors.newFixedThreadPool(2);
+        try {
+            Future<BookingPayment> first = requests.submit(() -> paymentService.processRefund(10L, 1L, false));
+            Future<BookingPayment> second = requests.submit(() -> paymentService.processRefund(10L, 1L, false));
+
+            int refunded = 0;
+            int rejected = 0;
+            for (Future<BookingPayment> refund : List.of(first, second)) {
+                try {
+                    assertEquals(PaymentStatus.REFUNDED, refund.get().getStatus());
+                    refunded++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(IllegalStateException.class, e.getCause());
+                    rejected++;
+                }
+            }
+            assertEquals(1, refunded);
+            assertEquals(1, rejected);
+        } finally {
+            requests.shutdownNow();
+        }
+        verify(gateway, times(1)).refund(any(), any());
+        verify(bookingService).updateBookingStatus(3L, BookingStatus.CANCELLED);
+    }
+
+    @Test
+    void testRejectedRefundReleasesTheClaim() {
+        BookingPayment payment = new BookingPayment();
+        payment.setId(10L);
+        payment.setBooking(booking);
+        payment.setAmount(new BigDecimal("250.00"));
+        payment.setTransactionId("TXN-1");
+        payment.setStatus(PaymentStatus.COMPLETED);
+        storedPayment = payment;
+        PaymentService paymentService = service(new LocalPaymentGateway(0, 0.0), 1000);
+
+        BookingPayment refunded = paymentService.processRefund(10L, 1L, false);
+
+        assertEquals(PaymentStatus.COMPLETED, refunded.getStatus());
+        assertThrows(AccessDeniedException.class, () -> paymentService.processRefund(10L, 99L, false));
+        verify(bookingService, never()).updateBookingStatus(any(), any());
+    }
+}
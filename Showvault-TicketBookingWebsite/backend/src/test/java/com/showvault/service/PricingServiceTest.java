@@ -0,0 +1,136 @@
+package com.showvault.service;
+
+import com.showvault.model.Promotion;
+import com.showvault.model.Seat;
+import com.showvault.repository.PromotionRepository;
+import com.showvault.repository.SeatRepository;
+import com.showvault.repository.ShowScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingServiceTest {
+
+    @Mock
+    private ShowScheduleRepository showScheduleRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private PromotionRepository promotionRepository;
+
+    @InjectMocks
+    private PricingService pricingService;
+
+    private final List<Object[]> promotionRows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(showScheduleRepository.findPricingInfoById(1L)).thenReturn(
+                Collections.singletonList(new Object[]{10L, 100L, new BigDecimal("250.00")}));
+        lenient().when(seatRepository.findPricingRowsByVenueId(100L)).thenReturn(Arrays.asList(
+                new Object[]{1L, Seat.SeatCategory.STANDARD, new BigDecimal("1.00")},
+                new Object[]{2L, Seat.SeatCategory.PREMIUM, new BigDecimal("1.50")},
+                new Object[]{3L, Seat.SeatCategory.VIP, new BigDecimal("2.00")},
+                new Object[]{4L, Seat.SeatCategory.VIP, new BigDecimal("2.00")},
+                new Object[]{5L, Seat.SeatCategory.VIP, new BigDecimal("2.25")}));
+        lenient().when(promotionRepository.findPricingRulesEndingOnOrAfter(any())).thenReturn(promotionRows);
+    }
+
+    @Test
+    void testSeatPricesAndCategoryMultipliersAreCompiledOnce() {
+        PriceTable table = pricingService.getPriceTable(1L);
+
+        assertEquals(new BigDecimal("250.00"), table.getSeatPrice(1L));
+        assertEquals(new BigDecimal("375.00"), table.getSeatPrice(2L));
+        assertEquals(new BigDecimal("562.50"), table.getSeatPrice(5L));
+        assertNull(table.getSeatPrice(99L));
+        assertEquals(0, new BigDecimal("2").compareTo(table.getCategoryMultiplier(Seat.SeatCategory.VIP)));
+
+        assertSame(table, pricingService.getPriceTable(1L));
+        verify(seatRepository, times(1)).findPricingRowsByVenueId(100L);
+    }
+
+    @Test
+    void testQuoteAppliesGlobalAndShowSpecificPromotions() {
+        LocalDate today = LocalDate.now();
+        promotionRows.add(new Object[]{1L, "TENOFF", Promotion.DiscountType.PERCENTAGE, 10.0,
+                today.minusDays(1), today.plusDays(1), null});
+        promotionRows.add(new Object[]{2L, "OTHERSHOW", Promotion.DiscountType.FIXED, 50.0,
+                today.minusDays(1), today.plusDays(1), 11L});
+        promotionRows.add(new Object[]{3L, "THISSHOW", Promotion.DiscountType.FIXED, 1000.0,
+                today.minusDays(1), today.plusDays(1), 10L});
+
+        PriceTable.Quote tenOff = pricingService.quote(1L, Arrays.asList(1L, 2L), "TENOFF");
+        assertEquals(new BigDecimal("625.00"), tenOff.getSubtotal());
+        assertEquals(new BigDecimal("62.50"), tenOff.getDiscount());
+        assertEquals(new BigDecimal("562.50"), tenOff.getTotal());
+
+        PriceTable.Quote otherShow = pricingService.quote(1L, Arrays.asList(1L, 2L), "OTHERSHOW");
+        assertNull(otherShow.getPromotion());
+        assertEquals(new BigDecimal("625.00"), otherShow.getTotal());
+
+        // Fixed discounts never exceed the subtotal
+        PriceTable.Quote thisShow = pricingService.quote(1L, Arrays.asList(1L, 2L), "THISSHOW");
+        assertEquals(new BigDecimal("0.00"), thisShow.getTotal());
+    }
+
+    @Test
+    void testPromotionNotYetStartedIsNotApplied() {
+        LocalDate today = LocalDate.now();
+        promotionRows.add(new Object[]{1L, "LATER", Promotion.DiscountType.PERCENTAGE, 10.0,
+                today.plusDays(1), today.plusDays(5), null});
+
+        PriceTable.Quote quote = pricingService.quote(1L, Collections.singletonList(1L), "LATER");
+        assertNull(quote.getPromotion());
+        assertEquals(new BigDecimal("250.00"), quote.getTotal());
+    }
+
+    @Test
+    void testRefreshPromotionsSwapsRulesWithoutRebuildingSeatPrices() {
+        PriceTable before = pricingService.getPriceTable(1L);
+        assertNull(before.getPromotion("NEWCODE"));
+
+        promotionRows.add(new Object[]{1L, "NEWCODE", Promotion.DiscountType.FIXED, 20.0,
+                LocalDate.now(), LocalDate.now(), null});
+        pricingService.refreshPromotions();
+
+        PriceTable after = pricingService.getPriceTable(1L);
+        assertNotSame(before, after);
+        assertNotNull(after.getPromotion("NEWCODE"));
+        // The previous table is immutable and unchanged
+        assertNull(before.getPromotion("NEWCODE"));
+        verify(seatRepository, times(1)).findPricingRowsByVenueId(100L);
+    }
+
+    @Test
+    void testInvalidateVenueRebuildsTable() {
+        pricingService.getPriceTable(1L);
+        pricingService.invalidateVenue(100L);
+        pricingService.getPriceTable(1L);
+
+        verify(seatRepository, times(2)).findPricingRowsByVenueId(100L);
+    }
+
+    @Test
+    void testQuoteRejectsSeatsFromAnotherVenue() {
+        assertThrows(IllegalArgumentException.class,
+                () -> pricingService.quote(1L, Collections.singletonList(99L), null));
+    }
+}
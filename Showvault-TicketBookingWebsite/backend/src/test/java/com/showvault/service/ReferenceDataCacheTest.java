@@ -0,0 +1,95 @@
+package com.showvault.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.showvault.config.CacheConfig;
+import com.showvault.model.Show;
+import com.showvault.model.Venue;
+import com.showvault.repository.ShowRepository;
+import com.showvault.repository.VenueRepository;
+import com.showvault.util.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.showvault.util.TestFixtures.venue;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that reference data is served from the cache and refreshed when shows and venues change.
+ */
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CacheConfig.class, ShowService.class, ShowTypeService.class, VenueService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private ShowService showService;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        showRepository.deleteAll();
+        venueRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).invalidate());
+    }
+
+    @Test
+    void testGenresAreCachedUntilAShowChanges() {
+        showService.createShow(show("Hamlet", "Drama", "English"));
+
+        assertEquals(List.of("Drama"), showService.getAllGenres());
+        long missesBefore = stats(CacheConfig.GENRES).missCount();
+        assertEquals(List.of("Drama"), showService.getAllGenres());
+        assertEquals(missesBefore, stats(CacheConfig.GENRES).missCount());
+        assertTrue(stats(CacheConfig.GENRES).hitCount() >= 1);
+
+        showService.createShow(show("Airplane!", "Comedy", "English"));
+        assertTrue(showService.getAllGenres().containsAll(List.of("Drama", "Comedy")));
+    }
+
+    @Test
+    void testCitiesAreRefreshedWhenAVenueIsDeleted() {
+        Venue venue = venueService.createVenue(venue("Globe", "London", 500));
+        venueService.createVenue(venue("Apollo", "Manchester", 500));
+        assertEquals(List.of("London", "Manchester"), venueService.getAllCities());
+
+        venueService.deleteVenue(venue.getId());
+        assertEquals(List.of("Manchester"), venueService.getAllCities());
+    }
+
+    private CacheStats stats(String name) {
+        TransactionAwareCacheDecorator cache = (TransactionAwareCacheDecorator) cacheManager.getCache(name);
+        return ((CaffeineCache) cache.getTargetCache()).getNativeCache().stats();
+    }
+
+    private Show show(String title, String genre, String language) {
+        Show show = TestFixtures.show(title, null);
+        show.setGenre(genre);
+        show.setLanguage(language);
+        return show;
+    }
+}
@@ -0,0 +1,148 @@
+package com.showvault.service;
+
+import com.showvault.model.Show;
+import com.showvault.model.ShowSchedule;
+import com.showvault.model.Venue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleValidationServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 5, 1);
+
+    @Mock
+    private ShowScheduleService showScheduleService;
+
+    @InjectMocks
+    private ScheduleValidationService scheduleValidationService;
+
+    private Show show;
+    private Venue venue;
+
+    @BeforeEach
+    void setUp() {
+        show = new Show();
+        show.setTitle("New Show");
+        show.setDuration(120);
+        venue = new Venue();
+        venue.setId(1L);
+        venue.setCapacity(500);
+    }
+
+    @Test
+    void validateNewScheduleFindsConflictsAcrossTheBuffer() {
+        // 10:00-12:00, a long 13:00-20:00 and 21:00-23:00
+        when(showScheduleService.getSchedulesByVenueAndDate(1L, DATE)).thenReturn(Arrays.asList(
+            schedule(3L, "Late", "21:00", "23:00"),
+            schedule(1L, "Morning", "10:00", "12:00"),
+            schedule(2L, "Marathon", "13:00", "20:00")));
+
+        // Starts inside the buffer after the morning show
+        ScheduleValidationService.ValidationResult result =
+            scheduleValidationService.validateNewSchedule(show, venue, DATE, LocalTime.of(12, 15), null);
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorMessage().contains("'Morning'"));
+
+        // Ends less than the buffer before the morning show starts
+        result = scheduleValidationService.validateNewSchedule(show, venue, DATE, LocalTime.of(7, 45), null);
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorMessage().contains("'Morning'"));
+
+        // Falls entirely inside the marathon
+        result = scheduleValidationService.validateNewSchedule(show, venue, DATE, LocalTime.of(15, 0), null);
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorMessage().contains("'Marathon'"));
+
+        // Same start as an existing show
+        result = scheduleValidationService.validateNewSchedule(show, venue, DATE, LocalTime.of(21, 0), null);
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorMessage().startsWith("Duplicate time slot"));
+
+        // Ignoring the schedule being updated frees its slot
+        result = scheduleValidationService.validateNewSchedule(show, venue, DATE, LocalTime.of(21, 0), 3L);
+        assertTrue(result.isValid());
+
+        // Clear of every show
+        result = scheduleValidationService.validateNewSchedule(show, venue, DATE, LocalTime.of(6, 0), null);
+        assertTrue(result.isValid());
+    }
+
+    @Test
+    void validateNewScheduleWarnsAboutTightNeighbours() {
+        when(showScheduleService.getSchedulesByVenueAndDate(1L, DATE)).thenReturn(Arrays.asList(
+            schedule(1L, "Before", "10:00", "12:00"),
+            schedule(2L, "After", "15:10", "17:00")));
+
+        // 35 minutes after "Before" ends and 35 minutes before "After" starts
+        ScheduleValidationService.ValidationResult result =
+            scheduleValidationService.validateNewSchedule(show, venue, DATE, LocalTime.of(12, 35), null);
+
+        assertTrue(result.isValid());
+        assertTrue(result.getWarnings().stream().anyMatch(w -> w.contains("'Before'")));
+        assertTrue(result.getWarnings().stream().anyMatch(w -> w.contains("'After'")));
+    }
+
+    @Test
+    void validateBulkTimeSlotsLoadsTheDayOnceAndChecksNeighbouringSlots() {
+        when(showScheduleService.getSchedulesByVenueAndDate(1L, DATE)).thenReturn(new ArrayList<>());
+
+        List<LocalTime> slots = new ArrayList<>();
+        for (int hour = 9; hour <= 18; hour += 3) {
+            slots.add(LocalTime.of(hour, 0));
+        }
+        slots.add(LocalTime.of(20, 30));
+        assertTrue(scheduleValidationService.validateBulkTimeSlots(show, venue, DATE, slots).isValid());
+        verify(showScheduleService, times(1)).getSchedulesByVenueAndDate(1L, DATE);
+
+        slots.add(LocalTime.of(13, 0));
+        ScheduleValidationService.ValidationResult result =
+            scheduleValidationService.validateBulkTimeSlots(show, venue, DATE, slots);
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorMessage().matches("Time slots 12:00 .+ and 1:00 .+ overlap.*"));
+
+        slots.add(LocalTime.of(9, 0));
+        result = scheduleValidationService.validateBulkTimeSlots(show, venue, DATE, slots);
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorMessage().startsWith("Duplicate time slot 9:00 "));
+    }
+
+    @Test
+    void suggestAlternativeTimeSlotsSkipsBusyTimes() {
+        when(showScheduleService.getSchedulesByVenueAndDate(1L, DATE)).thenReturn(Arrays.asList(
+            schedule(1L, "Matinee", "14:00", "16:00"),
+            schedule(2L, "Evening", "19:00", "21:00")));
+
+        List<LocalTime> suggestions = scheduleValidationService.suggestAlternativeTimeSlots(
+            show, venue, DATE, LocalTime.of(15, 0), 3);
+
+        // 16:30 is the only start within three hours that clears the matinee's buffer and
+        // ends the buffer before the evening show
+        assertEquals(List.of(LocalTime.of(16, 30)), suggestions);
+    }
+
+    private static ShowSchedule schedule(Long id, String title, String start, String end) {
+        Show show = new Show();
+        show.setTitle(title);
+        ShowSchedule schedule = new ShowSchedule();
+        schedule.setId(id);
+        schedule.setShow(show);
+        schedule.setShowDate(DATE);
+        schedule.setStartTime(LocalTime.parse(start));
+        schedule.setEndTime(LocalTime.parse(end));
+        return schedule;
+    }
+}
@@ -0,0 +1,152 @@
+package com.showvault.service;
+
+import com.showvault.dto.SeatLayoutTemplateDTO;
+import com.showvault.model.Seat;
+import com.showvault.model.Venue;
+import com.showvault.repository.SeatRepository;
+import com.showvault.repository.VenueRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks layout templates (JSON shape and CSV) and the batched seat insert behind them,
+ * including a 20,000 seat stadium.
+ */
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SeatLayoutServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    private SeatLayoutService seatLayoutService;
+
+    private Venue venue;
+
+    @BeforeEach
+    void setUp() {
+        seatLayoutService = new SeatLayoutService(jdbcTemplate, entityManagerFactory, venueRepository,
+                seatRepository, Mockito.mock(PricingService.class), 1000, 100000);
+
+        venue = new Venue();
+        venue.setName("Wembley");
+        venue.setAddress("Empire Way");
+        venue.setCity("London");
+        venue.setCountry("UK");
+        venue.setCapacity(100);
+        entityManager.persist(venue);
+        entityManager.flush();
+    }
+
+    @Test
+    void testCsvLayoutWithSectionDefaultsAndRanges() {
+        String csv = String.join("\n",
+                "section,row,seats,first_seat,category,price_multiplier",
+                "# Floor seats",
+                "Floor,A-B,10,,VIP,2.00",
+                "Stalls,C,8,3,,",
+                "Stalls,Y-AB,5,1,PREMIUM,1.50");
+
+        int created = seatLayoutService.importLayout(venue.getId(), seatLayoutService.parseCsv(csv));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(48, created);
+        assertEquals(48L, seatRepository.countSeatsByVenueId(venue.getId()));
+        assertEquals(48, venueRepository.findById(venue.getId()).orElseThrow().getCapacity());
+        assertEquals(List.of("A", "AA", "AB", "B", "C", "Y", "Z"), seatRepository.findAllRowsByVenueId(venue.getId()));
+
+        List<Seat> rowC = seatRepository.findByVenueIdAndRowName(venue.getId(), "C");
+        assertEquals(8, rowC.size());
+        assertEquals(3, rowC.stream().mapToInt(Seat::getSeatNumber).min().orElseThrow());
+        assertEquals(Seat.SeatCategory.STANDARD, rowC.get(0).getCategory());
+        assertEquals(0, BigDecimal.ONE.compareTo(rowC.get(0).getPriceMultiplier()));
+        assertNotNull(rowC.get(0).getUpdatedAt());
+        assertEquals(Seat.SeatCategory.VIP, seatRepository.findByVenueIdAndRowName(venue.getId(), "A").get(0).getCategory());
+    }
+
+    @Test
+    void testStadiumLayout() {
+        SeatLayoutTemplateDTO template = new SeatLayoutTemplateDTO();
+        template.getSections().add(section("Lower", Seat.SeatCategory.PREMIUM, "A-CV", 80)); // 100 rows
+        template.getSections().add(section("Upper", Seat.SeatCategory.STANDARD, "1-100", 120));
+
+        int created = seatLayoutService.importLayout(venue.getId(), template);
+        entityManager.flush();
+
+        assertEquals(20000, created);
+        Map<String, Object> counts = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS seats, COUNT(DISTINCT row_name) AS seat_rows FROM seat WHERE venue_id = ?", venue.getId());
+        assertEquals(20000L, ((Number) counts.get("seats")).longValue());
+        assertEquals(200L, ((Number) counts.get("seat_rows")).longValue());
+    }
+
+    @Test
+    void testInvalidLayoutsAreRejected() {
+        SeatLayoutTemplateDTO repeated = new SeatLayoutTemplateDTO();
+        repeated.getSections().add(section("Floor", null, "A-C", 10));
+        repeated.getSections().add(section("Balcony", null, "C", 10));
+
+        assertThrows(IllegalArgumentException.class, () -> seatLayoutService.importLayout(venue.getId(), repeated));
+        assertThrows(IllegalArgumentException.class, () -> seatLayoutService.parseCsv("Floor,A,many"));
+        assertThrows(IllegalArgumentException.class, () -> seatLayoutService.parseCsv("Floor,A,10,1,BOX"));
+        assertThrows(IllegalArgumentException.class,
+                () -> seatLayoutService.importLayout(venue.getId(), new SeatLayoutTemplateDTO()));
+        assertThrows(IllegalArgumentException.class,
+                () -> seatLayoutService.importLayout(venue.getId(), template(section("Floor", null, "A-ZZZZZZ", 1))));
+        assertEquals(0L, seatRepository.countSeatsByVenueId(venue.getId()));
+    }
+
+    @Test
+    void testVenueWithSeatsIsNotOverwritten() {
+        seatLayoutService.importLayout(venue.getId(), template(section("Floor", null, "A", 10)));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> seatLayoutService.importLayout(venue.getId(), template(section("Floor", null, "B", 10))));
+        assertTrue(e.getMessage().contains("already has 10 seats"));
+    }
+
+    private SeatLayoutTemplateDTO template(SeatLayoutTemplateDTO.SectionDTO section) {
+        SeatLayoutTemplateDTO template = new SeatLayoutTemplateDTO();
+        template.getSections().add(section);
+        return template;
+    }
+
+    private SeatLayoutTemplateDTO.SectionDTO section(String name, Seat.SeatCategory category, String rows, int seats) {
+        SeatLayoutTemplateDTO.RowDTO row = new SeatLayoutTemplateDTO.RowDTO();
+        row.setRow(rows);
+        row.setSeats(seats);
+        SeatLayoutTemplateDTO.SectionDTO section = new SeatLayoutTemplateDTO.SectionDTO();
+        section.setName(name);
+        section.setCategory(category);
+        section.getRows().add(row);
+        return section;
+    }
+}
@@ -0,0 +1,75 @@
+package com.showvault.service.impl;
+
+import com.showvault.repository.ConsolidatedNotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationUnreadCounterTest {
+
+    @Mock
+    private ConsolidatedNotificationRepository notificationRepository;
+
+    @InjectMocks
+    private NotificationUnreadCounter unreadCounter;
+
+    @Test
+    void testGetLoadsOnceThenServesFromMemory() {
+        when(notificationRepository.countByUserIdAndRead(1L, false)).thenReturn(3L);
+
+        assertEquals(3, unreadCounter.get(1L));
+        assertEquals(3, unreadCounter.get(1L));
+
+        verify(notificationRepository, times(1)).countByUserIdAndRead(1L, false);
+    }
+
+    @Test
+    void testIncrementDecrementAndReset() {
+        when(notificationRepository.countByUserIdAndRead(1L, false)).thenReturn(1L);
+        unreadCounter.get(1L);
+
+        unreadCounter.increment(1L);
+        assertEquals(2, unreadCounter.get(1L));
+
+        unreadCounter.decrement(1L);
+        unreadCounter.decrement(1L);
+        unreadCounter.decrement(1L);
+        assertEquals(0, unreadCounter.get(1L));
+
+        unreadCounter.increment(1L);
+        unreadCounter.reset(1L);
+        assertEquals(0, unreadCounter.get(1L));
+    }
+
+    @Test
+    void testUpdatesForUncachedUserAreIgnored() {
+        unreadCounter.increment(2L);
+        unreadCounter.decrement(2L);
+
+        assertEquals(0, unreadCounter.size());
+    }
+
+    @Test
+    void testReconcileRepairsDrift() {
+        when(notificationRepository.countByUserIdAndRead(1L, false)).thenReturn(5L);
+        unreadCounter.get(1L);
+        unreadCounter.increment(1L);
+
+        List<Object[]> rows = Collections.singletonList(new Object[]{1L, 4L});
+        when(notificationRepository.countUnreadGroupedByUserIds(anyCollection())).thenReturn(rows);
+
+        unreadCounter.reconcile();
+
+        assertEquals(4, unreadCounter.get(1L));
+    }
+}
@@ -0,0 +1,148 @@
+package com.showvault.service.impl;
+
+import com.showvault.model.Promotion;
+import com.showvault.model.User;
+import com.showvault.repository.PromotionRepository;
+import com.showvault.repository.UserRepository;
+import com.showvault.service.PricingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs concurrent redemptions against a real database to check that a capped
+ * promotion is never redeemed more than its max uses.
+ */
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PromotionServiceImpl.class, PromotionCodeCache.class, PricingService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PromotionRedemptionConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS = 10000;
+    private static final int MAX_USES = 500;
+
+    @Autowired
+    private PromotionServiceImpl promotionService;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PromotionCodeCache promotionCodeCache;
+
+    private User organizer;
+
+    @BeforeEach
+    void setUp() {
+        organizer = new User();
+        organizer.setUsername("organizer");
+        organizer.setEmail("organizer@showvault.test");
+        organizer.setPassword("secret");
+        organizer.setFirstName("Org");
+        organizer.setLastName("Anizer");
+        organizer = userRepository.save(organizer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        promotionRepository.deleteAll();
+        userRepository.deleteAll();
+        promotionCodeCache.clear();
+    }
+
+    @Test
+    void testConcurrentRedemptionsNeverExceedMaxUses() throws Exception {
+        promotionService.createPromotion(promotion("FLASH50", MAX_USES));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger redeemed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (promotionService.usePromotion("FLASH50")) {
+                        redeemed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Promotion stored = promotionRepository.findByCode("FLASH50").orElseThrow();
+        assertEquals(MAX_USES, redeemed.get());
+        assertEquals(MAX_USES, stored.getCurrentUses());
+        assertEquals(Promotion.Status.EXPIRED, stored.getStatus());
+        assertFalse(promotionService.validatePromotion("FLASH50"));
+    }
+
+    @Test
+    void testCacheIsRefreshedWhenPromotionChanges() {
+        Promotion created = promotionService.createPromotion(promotion("SPRING10", 10));
+        assertEquals(10.0, promotionService.calculateDiscountAmount("SPRING10", 100.0), 0.001);
+
+        created.setDiscountValue(25.0);
+        promotionService.updatePromotion(created);
+        assertEquals(25.0, promotionService.calculateDiscountAmount("SPRING10", 100.0), 0.001);
+
+        promotionService.deletePromotion(created.getId());
+        assertFalse(promotionService.validatePromotion("SPRING10"));
+    }
+
+    @Test
+    void testInactivePromotionIsNotRedeemed() {
+        Promotion promotion = promotion("PAUSED", 10);
+        promotion.setStatus(Promotion.Status.INACTIVE);
+        promotionService.createPromotion(promotion);
+
+        assertFalse(promotionService.usePromotion("PAUSED"));
+        assertEquals(0, promotionRepository.findByCode("PAUSED").orElseThrow().getCurrentUses());
+    }
+
+    private Promotion promotion(String code, int maxUses) {
+        Promotion promotion = new Promotion();
+        promotion.setName("Promotion " + code);
+        promotion.setCode(code);
+        promotion.setDiscountType(Promotion.DiscountType.PERCENTAGE);
+        promotion.setDiscountValue(10.0);
+        promotion.setStartDate(LocalDate.now().minusDays(1));
+        promotion.setEndDate(LocalDate.now().plusDays(1));
+        promotion.setMaxUses(maxUses);
+        promotion.setCreatedBy(organizer);
+        return promotion;
+    }
+}
@@ -0,0 +1,118 @@
+package com.showvault.service.impl;
+
+import com.showvault.model.ERole;
+import com.showvault.model.Role;
+import com.showvault.model.User;
+import com.showvault.repository.RoleRepository;
+import com.showvault.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(UserServiceImpl.class)
+class UserServiceImplAdminListingTest {
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = role(ERole.ROLE_USER);
+        Role adminRole = role(ERole.ROLE_ADMIN);
+
+        for (int i = 1; i <= 25; i++) {
+            User user = new User(String.format("user%02d", i), "user" + i + "@showvault.test", "secret",
+                    i % 2 == 0 ? "Alice" : "Bob", "Tester");
+            user.getRoles().add(userRole);
+            user.setActive(i % 5 != 0);
+            user.setDeleted(i == 25);
+            userRepository.save(user);
+        }
+
+        User admin = new User("admin", "admin@showvault.test", "secret", "Ada", "Admin");
+        admin.getRoles().add(adminRole);
+        userRepository.save(admin);
+    }
+
+    @Test
+    void testPageAndCountShareTheSameFilter() {
+        Page<User> page = userService.getUsersPage(0, 5, "user", "active", null, "username", "asc");
+
+        // users 1-24 are not deleted; every fifth user is inactive
+        assertEquals(20, page.getTotalElements());
+        assertEquals(20, userService.countUsersWithFilters("user", "active", null));
+        assertEquals(List.of("user01", "user02", "user03", "user04", "user06"), usernames(page.getContent()));
+    }
+
+    @Test
+    void testDeletedUsersAreOnlyListedWhenRequested() {
+        assertEquals(25, userService.countUsersWithFilters(null, null, null));
+        assertEquals(1, userService.countUsersWithFilters(null, "deleted", null));
+        assertEquals(4, userService.countUsersWithFilters(null, "suspended", null));
+    }
+
+    @Test
+    void testSearchMatchesPrefixesAndEscapesWildcards() {
+        assertEquals(12, userService.countUsersWithFilters(null, null, "Alice"));
+        assertEquals(1, userService.countUsersWithFilters(null, null, "adm"));
+        assertEquals(0, userService.countUsersWithFilters(null, null, "%"));
+    }
+
+    @Test
+    void testKeysetPaginationWalksEveryUserOnce() {
+        List<User> first = userService.getUsersAfter(null, 10, null, null, null, "username", "desc");
+        List<User> second = userService.getUsersAfter(first.get(9).getId(), 10, null, null, null, "username", "desc");
+        List<User> third = userService.getUsersAfter(second.get(9).getId(), 10, null, null, null, "username", "desc");
+
+        assertEquals("user24", first.get(0).getUsername());
+        assertEquals(10, second.size());
+        assertEquals(5, third.size());
+        assertEquals("admin", third.get(4).getUsername());
+    }
+
+    @Test
+    void testKeysetPaginationRejectsNullableSortFields() {
+        assertThrows(IllegalArgumentException.class,
+                () -> userService.getUsersAfter(null, 10, null, null, null, "lastLogin", "asc"));
+    }
+
+    @Test
+    void testCountUsersByRole() {
+        assertEquals(1, userService.countUsersByRole("ROLE_ADMIN"));
+        assertEquals(1, userService.countUsersByRole("admin"));
+        assertEquals(25, userService.countUsersByRole(ERole.ROLE_USER));
+        assertEquals(0, userService.countUsersByRole("nobody"));
+    }
+
+    private Role role(ERole name) {
+        return roleRepository.findByName(name).orElseGet(() -> roleRepository.save(new Role(name)));
+    }
+
+    private List<String> usernames(List<User> users) {
+        return users.stream().map(User::getUsername).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,202 @@
+package com.showvault.util;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import com.showvault.dto.BookingRequestDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingInitializationContext;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of the logging done for one booking: the statements BookingController.createBooking,
+ * SeatReservationServiceImpl.reserveSeats, BookingServiceImpl.createBooking and
+ * SeatConsistencyService.synchronizeSeatsForSchedule run per booking, once as the System.out
+ * string concatenation they used before and once through SLF4J with logback-spring.xml.
+ * Only the logging is measured; the database work of the booking path is left out.
+ *
+ * Run with stdout going to a file, as in a deployment, and read the results on stderr:
+ *   java -cp target/test-classes:target/classes:$(cat cp.txt) com.showvault.util.BookingPathLoggingBenchmark [threads] [seconds] > /tmp/bench.log
+ */
+public class BookingPathLoggingBenchmark {
+
+    private static final int SEATS_PER_BOOKING = 4;
+
+    private static final Logger controllerLogger = LoggerFactory.getLogger("com.showvault.controller.BookingController");
+    private static final Logger reservationLogger = LoggerFactory.getLogger("com.showvault.service.impl.SeatReservationServiceImpl");
+    private static final Logger bookingLogger = LoggerFactory.getLogger("com.showvault.service.impl.BookingServiceImpl");
+    private static final Logger consistencyLogger = LoggerFactory.getLogger("com.showvault.service.SeatConsistencyService");
+    private static final Logger seatMapLogger = LoggerFactory.getLogger("com.showvault.service.SeatMapService");
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        LoggingSystem loggingSystem = LoggingSystem.get(BookingPathLoggingBenchmark.class.getClassLoader());
+        loggingSystem.beforeInitialize();
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("showvault.logging.debug-sample-rate", "100")));
+        loggingSystem.initialize(new LoggingInitializationContext(environment), "classpath:logback-spring.xml", null);
+
+        List<String> results = new ArrayList<>();
+        results.add(run("System.out.println (before)", threads, seconds, BookingPathLoggingBenchmark::printlnBooking));
+
+        loggingSystem.setLogLevel("com.showvault", LogLevel.INFO);
+        setDebugSampleRate(0);
+        results.add(run("SLF4J async, INFO", threads, seconds, BookingPathLoggingBenchmark::slf4jBooking));
+
+        setDebugSampleRate(100);
+        results.add(run("SLF4J async, INFO + 1/100 debug", threads, seconds, BookingPathLoggingBenchmark::slf4jBooking));
+
+        loggingSystem.setLogLevel("com.showvault", LogLevel.DEBUG);
+        results.add(run("SLF4J async, DEBUG", threads, seconds, BookingPathLoggingBenchmark::slf4jBooking));
+
+        loggingSystem.cleanUp();
+        System.err.println(threads + " threads, " + seconds + "s per mode, bookings per second:");
+        results.forEach(System.err::println);
+    }
+
+    private static void setDebugSampleRate(int sampleRate) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SampledDebugFilter sampledDebugFilter) {
+                sampledDebugFilter.setSampleRate(sampleRate);
+            }
+        }
+    }
+
+    private static String run(String mode, int threads, int seconds, BookingLogging logging) throws InterruptedException {
+        // Warm up before measuring
+        measure(threads, 1, logging);
+        long bookings = measure(threads, seconds, logging);
+        return String.format("  %-36s %,12d", mode, bookings / seconds);
+    }
+
+    private static long measure(int threads, int seconds, BookingLogging logging) throws InterruptedException {
+        LongAdder bookings = new LongAdder();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            long firstId = t * 1_000_000_000L;
+            Thread thread = new Thread(() -> {
+                long id = firstId;
+                while (System.nanoTime() < deadline) {
+                    logging.logBooking(id++);
+                    bookings.increment();
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+        done.await();
+        return bookings.sum();
+    }
+
+    private interface BookingLogging {
+        void logBooking(long id);
+    }
+
+    private static BookingRequestDTO request(long id) {
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setSeatIds(List.of(id, id + 1, id + 2, id + 3));
+        request.setTotalAmount(new BigDecimal("1240.00"));
+        request.setSessionId("session-" + id);
+        return request;
+    }
+
+    private static void printlnBooking(long id) {
+        long userId = id % 10_000;
+        long scheduleId = id % 500;
+        String bookingNumber = "BK" + id;
+        BigDecimal total = new BigDecimal("1240.00");
+        LocalDateTime expiresAt = LocalDateTime.now();
+
+        System.out.println("Received booking request: " + request(id));
+        System.out.println("Session ID provided: session-" + id + ". Will release reservations after booking.");
+        System.out.println("Reserving " + SEATS_PER_BOOKING + " seats for user ID: " + userId +
+                ", session ID: session-" + id + ", schedule ID: " + scheduleId);
+        for (int seat = 0; seat < SEATS_PER_BOOKING; seat++) {
+            System.out.println("Created reservation for seat ID: " + (id + seat) + ", expires at: " + expiresAt);
+        }
+        System.out.println("Creating booking for user ID: " + userId + ", schedule ID: " + scheduleId);
+        System.out.println("Using provided totalAmount: " + total);
+        System.out.println("Saved booking with ID: " + id + ", Number: " + bookingNumber);
+        for (int seat = 0; seat < SEATS_PER_BOOKING; seat++) {
+            System.out.println("Saved seat booking for seat ID: " + (id + seat) + " with price: " + total);
+        }
+        System.out.println("Updated booking with total amount: " + total);
+        System.out.println("Successfully verified booking with ID: " + id);
+        System.out.println("Booking has user ID: " + userId);
+        System.out.println("User details: user" + userId + ", user" + userId + "@example.com");
+        System.out.println("Booking has show schedule ID: " + scheduleId);
+        System.out.println("Booking has " + SEATS_PER_BOOKING + " seat bookings");
+        for (int seat = 0; seat < SEATS_PER_BOOKING; seat++) {
+            System.out.println("Seat booking ID: " + (id + seat) + ", Seat ID: " + (id + seat) + ", Price: " + total);
+        }
+        System.out.println("All seat bookings have valid booking references");
+        System.out.println("Synchronizing seats for schedule ID: " + scheduleId);
+        System.out.println("  - Venue physical capacity: 200");
+        System.out.println("  - Current venue capacity setting: 200");
+        System.out.println("  - Current schedule total_seats: 200");
+        System.out.println("  - Booked seats: " + (id % 200));
+        System.out.println("  - Reserved seats: " + SEATS_PER_BOOKING);
+        System.out.println("Seat counts were already consistent for schedule ID: " + scheduleId);
+        System.out.println("Invalidated seat map cache for show ID: " + (scheduleId / 4) + ", schedule ID: " + scheduleId);
+        System.out.println("Created booking with ID: " + id + " for user ID: " + userId);
+        System.out.println("Booking number: " + bookingNumber);
+        System.out.println("Returning booking DTO with ID: " + id + ", Number: " + bookingNumber);
+    }
+
+    private static void slf4jBooking(long id) {
+        long userId = id % 10_000;
+        long scheduleId = id % 500;
+        String bookingNumber = "BK" + id;
+        BigDecimal total = new BigDecimal("1240.00");
+        LocalDateTime expiresAt = LocalDateTime.now();
+
+        controllerLogger.debug("Received booking request: {}", request(id));
+        controllerLogger.debug("Session ID provided: {}. Will release reservations after booking.", "session-" + id);
+        reservationLogger.debug("Reserving {} seats for user ID: {}, session ID: {}, schedule ID: {}",
+                SEATS_PER_BOOKING, userId, "session-" + id, scheduleId);
+        for (int seat = 0; seat < SEATS_PER_BOOKING; seat++) {
+            reservationLogger.debug("Created reservation for seat ID: {}, expires at: {}", id + seat, expiresAt);
+        }
+        bookingLogger.debug("Creating booking for user ID: {}, schedule ID: {}", userId, scheduleId);
+        bookingLogger.debug("Using provided totalAmount: {}", total);
+        bookingLogger.info("Saved booking with ID: {}, Number: {}", id, bookingNumber);
+        for (int seat = 0; seat < SEATS_PER_BOOKING; seat++) {
+            bookingLogger.debug("Saved seat booking for seat ID: {} with price: {}", id + seat, total);
+        }
+        bookingLogger.debug("Updated booking with total amount: {}", total);
+        bookingLogger.debug("Successfully verified booking with ID: {}", id);
+        bookingLogger.debug("Booking has user ID: {}", userId);
+        bookingLogger.debug("User details: {}, {}", "user" + userId, "user" + userId + "@example.com");
+        bookingLogger.debug("Booking has show schedule ID: {}", scheduleId);
+        if (bookingLogger.isDebugEnabled()) {
+            bookingLogger.debug("Booking has {} seat bookings", SEATS_PER_BOOKING);
+            for (int seat = 0; seat < SEATS_PER_BOOKING; seat++) {
+                bookingLogger.debug("Seat booking ID: {}, Seat ID: {}, Price: {}", id + seat, id + seat, total);
+            }
+        }
+        bookingLogger.debug("All seat bookings have valid booking references");
+        consistencyLogger.debug("Synchronizing seats for schedule ID: {} (physical seats: {}, venue capacity: {}, "
+                + "total_seats: {}, booked: {}, reserved: {})", scheduleId, 200, 200, 200, id % 200, SEATS_PER_BOOKING);
+        consistencyLogger.debug("Seat counts were already consistent for schedule ID: {}", scheduleId);
+        seatMapLogger.debug("Invalidated seat map cache for show ID: {}, schedule ID: {}", scheduleId / 4, scheduleId);
+        controllerLogger.debug("Created booking with ID: {} for user ID: {}", id, userId);
+        controllerLogger.debug("Booking number: {}", bookingNumber);
+        controllerLogger.debug("Returning booking DTO with ID: {}, Number: {}", id, bookingNumber);
+    }
+}
@@ -0,0 +1,89 @@
+package com.showvault.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a matching If-None-Match skips building the response and that full responses
+ * carry the validators and caching headers.
+ */
+class ConditionalGetTest {
+
+    private static final String ETAG = "W/\"c-1-2\"";
+
+    private final ConditionalGet conditionalGet = new ConditionalGet(30, 60, 30);
+
+    private final AtomicInteger built = new AtomicInteger();
+
+    @Test
+    void testMatchingETagAnswersNotModifiedWithoutBuilding() {
+        ResponseEntity<List<String>> response = conditionalGet.catalog(request("\"c-0-0\", " + ETAG), ETAG, this::genres);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals(0, built.get());
+    }
+
+    @Test
+    void testStrongAndWeakTagsCompareWeakly() {
+        ResponseEntity<List<String>> response = conditionalGet.catalog(request("\"c-1-2\""), ETAG, this::genres);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    @Test
+    void testStaleCopyGetsFullCatalogResponse() {
+        ResponseEntity<List<String>> response = conditionalGet.catalog(request("W/\"c-1-1\""), ETAG, this::genres);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("Drama"), response.getBody());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals("max-age=30, public, s-maxage=60, stale-while-revalidate=30",
+                response.getHeaders().getCacheControl());
+        assertEquals(1, built.get());
+    }
+
+    @Test
+    void testRevalidatedResponsesArePrivate() {
+        ResponseEntity<List<String>> response = conditionalGet.revalidated(request(null), ETAG, this::genres);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testErrorsAndMissingVersionsAreLeftAlone() {
+        ResponseEntity<Object> notFound = conditionalGet.catalog(request(null), ETAG,
+                () -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        ResponseEntity<List<String>> unversioned = conditionalGet.catalog(request("*"), null, this::genres);
+
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+        assertNull(notFound.getHeaders().getETag());
+        assertNull(notFound.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.OK, unversioned.getStatusCode());
+        assertNull(unversioned.getHeaders().getETag());
+    }
+
+    private ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/shows/genres");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    private ResponseEntity<List<String>> genres() {
+        built.incrementAndGet();
+        return new ResponseEntity<>(List.of("Drama"), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,154 @@
+package com.showvault.util;
+
+import com.showvault.model.ConsistencyCheckpoint;
+import com.showvault.repository.ConsistencyCheckpointRepository;
+import com.showvault.service.CapacityReconciliationService;
+import com.showvault.service.SeatManagementService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks which venues a consistency check visits: every venue on the first run, and only venues
+ * whose venue row, schedules or bookings changed since the checkpoint afterwards.
+ * Checks run on the calling thread here.
+ */
+class DatabaseConsistencyCheckerTest {
+
+    private final LocalDateTime checkpoint = LocalDateTime.now().minusHours(1);
+
+    private HikariDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private final ConsistencyCheckpointRepository checkpointRepository = mock(ConsistencyCheckpointRepository.class);
+
+    private final CapacityReconciliationService reconciliationService = mock(CapacityReconciliationService.class);
+
+    private final SeatManagementService seatManagementService = mock(SeatManagementService.class);
+
+    private DatabaseConsistencyChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:consistency;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("CREATE TABLE venue (id BIGINT PRIMARY KEY, capacity INT, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE seat (id BIGINT AUTO_INCREMENT PRIMARY KEY, venue_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE show_schedule (id BIGINT PRIMARY KEY, venue_id BIGINT, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE booking (id BIGINT PRIMARY KEY, show_schedule_id BIGINT, updated_at TIMESTAMP)");
+
+        LocalDateTime before = checkpoint.minusHours(2);
+        LocalDateTime after = checkpoint.plusMinutes(30);
+        // Venue 1 changed; venue 3 has a changed schedule; venue 4 a changed booking; venue 5 nothing;
+        // venue 6 changed and has no seats yet
+        for (long venueId = 1; venueId <= 6; venueId++) {
+            jdbcTemplate.update("INSERT INTO venue (id, capacity, updated_at) VALUES (?, 2, ?)",
+                    venueId, venueId == 1 || venueId == 6 ? after : before);
+            if (venueId != 6) {
+                jdbcTemplate.update("INSERT INTO seat (venue_id) VALUES (?), (?)", venueId, venueId);
+            }
+            jdbcTemplate.update("INSERT INTO show_schedule (id, venue_id, updated_at) VALUES (?, ?, ?)",
+                    venueId * 10, venueId, venueId == 3 ? after : before);
+            jdbcTemplate.update("INSERT INTO booking (id, show_schedule_id, updated_at) VALUES (?, ?, ?)",
+                    venueId, venueId * 10, venueId == 4 ? after : before);
+        }
+
+        when(reconciliationService.reconcileVenue(anyLong())).thenReturn(result(1, 0));
+        when(reconciliationService.reconcileAll()).thenReturn(result(6, 0));
+        when(seatManagementService.generateSeatsForVenue(anyLong())).thenReturn(2);
+
+        checker = new DatabaseConsistencyChecker(jdbcTemplate, checkpointRepository, reconciliationService,
+                seatManagementService, Runnable::run, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @Test
+    void testFirstRunChecksAllVenues() {
+        when(checkpointRepository.findById(DatabaseConsistencyChecker.CHECKPOINT)).thenReturn(Optional.empty());
+
+        assertTrue(checker.startCheck(false, "startup"));
+
+        verify(seatManagementService).generateSeatsForVenue(6L);
+        verify(reconciliationService).reconcileAll();
+        verify(reconciliationService, never()).reconcileVenue(anyLong());
+        ArgumentCaptor<ConsistencyCheckpoint> saved = ArgumentCaptor.forClass(ConsistencyCheckpoint.class);
+        verify(checkpointRepository).save(saved.capture());
+        assertEquals(DatabaseConsistencyChecker.CHECKPOINT, saved.getValue().getName());
+
+        Map<String, Object> status = checker.getStatus();
+        assertEquals("COMPLETED", status.get("status"));
+        assertEquals("FULL", status.get("mode"));
+        assertEquals(6, status.get("venuesChecked"));
+        assertEquals(2, status.get("seatsGenerated"));
+        assertEquals(false, status.get("running"));
+    }
+
+    @Test
+    void testLaterRunsOnlyCheckChangedVenues() {
+        when(checkpointRepository.findById(DatabaseConsistencyChecker.CHECKPOINT))
+                .thenReturn(Optional.of(new ConsistencyCheckpoint(DatabaseConsistencyChecker.CHECKPOINT, checkpoint, null)));
+
+        assertTrue(checker.startCheck(false, "scheduled"));
+
+        for (long venueId : new long[]{1, 3, 4, 6}) {
+            verify(reconciliationService).reconcileVenue(venueId);
+        }
+        verifyNoMoreInteractions(reconciliationService);
+        verify(seatManagementService).generateSeatsForVenue(6L);
+        verifyNoMoreInteractions(seatManagementService);
+
+        Map<String, Object> status = checker.getStatus();
+        assertEquals("COMPLETED", status.get("status"));
+        assertEquals("INCREMENTAL", status.get("mode"));
+        assertEquals(4, status.get("venuesToCheck"));
+        assertEquals(4, status.get("venuesChecked"));
+        assertEquals(4, status.get("schedules"));
+    }
+
+    @Test
+    void testFailedRunKeepsCheckpoint() {
+        when(checkpointRepository.findById(DatabaseConsistencyChecker.CHECKPOINT)).thenReturn(Optional.empty());
+        when(reconciliationService.reconcileAll()).thenReturn(result(6, 1));
+
+        assertTrue(checker.startCheck(true, "manual"));
+
+        verify(checkpointRepository, never()).save(any());
+        Map<String, Object> status = checker.getStatus();
+        assertEquals("FAILED", status.get("status"));
+        assertNotNull(status.get("error"));
+        // The next check can start
+        assertTrue(checker.startCheck(true, "manual"));
+    }
+
+    private Map<String, Object> result(int venues, int failedPartitions) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("venues", venues);
+        result.put("schedules", venues);
+        result.put("venuesCorrected", 0);
+        result.put("schedulesCorrected", 0);
+        result.put("skippedConcurrentChanges", 0);
+        result.put("failedPartitions", failedPartitions);
+        result.put("partitions", 4);
+        return result;
+    }
+}
@@ -0,0 +1,85 @@
+package com.showvault.util;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs real statements through a Hikari pool over H2, wrapped in TimedDataSource,
+ * and checks what reaches QueryMetrics and ConnectionPoolMetrics.
+ */
+class DatabaseMetricsTest {
+
+    private HikariDataSource hikariDataSource;
+
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
+    private QueryMetrics queryMetrics;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        connectionPoolMetrics = new ConnectionPoolMetrics();
+        // Every statement counts as slow; the log keeps the last three
+        queryMetrics = new QueryMetrics(0, 3);
+
+        hikariDataSource = new HikariDataSource();
+        hikariDataSource.setJdbcUrl("jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1");
+        hikariDataSource.setMaximumPoolSize(2);
+        hikariDataSource.setMetricsTrackerFactory(connectionPoolMetrics);
+
+        TimedDataSource dataSource = new TimedDataSource(hikariDataSource, queryMetrics);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE seat (id BIGINT PRIMARY KEY, row_name VARCHAR(5))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE seat");
+        hikariDataSource.close();
+    }
+
+    @Test
+    void testStatementsAreTimedAndLogged() {
+        jdbcTemplate.batchUpdate("INSERT INTO seat (id, row_name) VALUES (?, ?)",
+                List.of(new Object[]{1L, "A"}, new Object[]{2L, "A"}, new Object[]{3L, "B"}));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seat WHERE row_name = ?", Integer.class, "A"));
+        jdbcTemplate.update("DELETE FROM seat WHERE id = ?", 3L);
+        queryMetrics.rotate();
+
+        Map<String, Object> metrics = queryMetrics.getMetrics();
+        // CREATE, batch insert, select, delete
+        assertEquals(4L, metrics.get("totalStatements"));
+        assertEquals(4L, ((Map<?, ?>) metrics.get("executionTime")).get("count"));
+
+        List<Map<String, Object>> slowQueryLog = queryMetrics.getSlowQueryLog();
+        assertEquals(3, slowQueryLog.size());
+        assertEquals("DELETE FROM seat WHERE id = ?", slowQueryLog.get(0).get("sql"));
+        assertEquals(RequestMetrics.BACKGROUND, slowQueryLog.get(0).get("route"));
+
+        Map<?, ?> background = (Map<?, ?>) queryMetrics.getEndpointStats().get(RequestMetrics.BACKGROUND);
+        assertEquals(4L, background.get("statements"));
+    }
+
+    @Test
+    void testConnectionAcquiresAreTracked() throws Exception {
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM seat", Integer.class);
+        connectionPoolMetrics.rotate();
+
+        assertTrue(connectionPoolMetrics.isInstalled());
+        assertTrue(hikariDataSource.isWrapperFor(HikariDataSource.class));
+        Map<String, Object> metrics = connectionPoolMetrics.getMetrics();
+        assertEquals(2L, metrics.get("connectionsAcquired"));
+        assertEquals(0L, metrics.get("connectionTimeouts"));
+        assertEquals(2, metrics.get("maxConnections"));
+        assertEquals(2L, ((Map<?, ?>) metrics.get("acquireTime")).get("count"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.showvault.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.showvault.config.JacksonConfig;
+import com.showvault.dto.SeatMapDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the precompressed seat map JSON, the Accept-Encoding negotiation in front of it and
+ * the Vary header on every answer.
+ */
+class PrecompressedJsonTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    private final PrecompressedJson precompressedJson = new PrecompressedJson(objectMapper);
+
+    @Test
+    void testLargeVenueMapCompressesToAFractionOfTheJson() throws IOException {
+        SeatMapDTO seatMap = seatMap(100, 50);
+
+        byte[] json = objectMapper.writeValueAsBytes(seatMap);
+        byte[] gzipped = precompressedJson.gzip(seatMap);
+
+        JsonNode unzipped = objectMapper.readTree(new GZIPInputStream(new ByteArrayInputStream(gzipped)));
+        assertEquals(objectMapper.readTree(json), unzipped);
+        assertTrue(gzipped.length * 10 < json.length, "gzip " + gzipped.length + " bytes, json " + json.length + " bytes");
+    }
+
+    @Test
+    void testAcceptEncodingNegotiation() {
+        assertTrue(PrecompressedJson.acceptsGzip(request("gzip, deflate, br")));
+        assertTrue(PrecompressedJson.acceptsGzip(request("br;q=1.0, GZIP;q=0.5")));
+        assertTrue(PrecompressedJson.acceptsGzip(request("*")));
+        assertFalse(PrecompressedJson.acceptsGzip(request("gzip;q=0, deflate")));
+        assertFalse(PrecompressedJson.acceptsGzip(request("identity")));
+        assertFalse(PrecompressedJson.acceptsGzip(request(null)));
+    }
+
+    @Test
+    void testEveryAnswerVariesByAcceptEncoding() {
+        ConditionalGet conditionalGet = new ConditionalGet(30, 60, 30);
+        String etag = "W/\"m1-1\"";
+        ServletWebRequest revalidation = request("identity");
+        ((MockHttpServletRequest) revalidation.getRequest()).addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        ResponseEntity<Object> plain = PrecompressedJson.varyByEncoding(conditionalGet.revalidated(request(null), etag,
+                () -> new ResponseEntity<>(seatMap(1, 1), HttpStatus.OK)));
+        ResponseEntity<Object> notModified = PrecompressedJson.varyByEncoding(conditionalGet.revalidated(revalidation, etag,
+                () -> new ResponseEntity<>(seatMap(1, 1), HttpStatus.OK)));
+        ResponseEntity<Object> gzipped = PrecompressedJson.varyByEncoding(
+                new ResponseEntity<>(new byte[0], PrecompressedJson.headers(), HttpStatus.OK));
+
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), plain.getHeaders().getVary());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), notModified.getHeaders().getVary());
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), gzipped.getHeaders().getVary());
+        assertEquals(etag, notModified.getHeaders().getETag());
+    }
+
+    private ServletWebRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/seat-maps/shows/1/schedules/1");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    // A 5,000 seat venue
+    private SeatMapDTO seatMap(int rows, int seatsPerRow) {
+        SeatMapDTO seatMap = new SeatMapDTO("SCREEN");
+        long id = 1;
+        for (int row = 0; row < rows; row++) {
+            SeatMapDTO.SeatRowDTO seatRow = new SeatMapDTO.SeatRowDTO();
+            seatRow.setRowLabel("R" + row);
+            for (int number = 1; number <= seatsPerRow; number++) {
+                boolean premium = row < 10;
+                seatRow.getSeats().add(new SeatMapDTO.SeatDTO(id++, number, id % 7 == 0 ? "SOLD" : "AVAILABLE",
+                        premium ? new BigDecimal("60.00") : new BigDecimal("40.00"), premium ? "PREMIUM" : "STANDARD"));
+            }
+            seatMap.getRows().add(seatRow);
+        }
+        return seatMap;
+    }
+}
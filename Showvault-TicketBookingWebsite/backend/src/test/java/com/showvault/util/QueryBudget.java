@@ -0,0 +1,49 @@
+package com.showvault.util;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Counts the SQL statements run by a use case and fails the test when it goes over budget.
+ * Relies on Hibernate statistics (hibernate.generate_statistics=true); tests using it must not
+ * run queries from other threads while measuring.
+ */
+public final class QueryBudget {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private QueryBudget(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public static QueryBudget of(EntityManagerFactory entityManagerFactory) {
+        return new QueryBudget(entityManagerFactory);
+    }
+
+    /**
+     * Run a use case and check how many statements it prepared
+     * @param useCase Name of the use case, used in the failure message
+     * @param maxQueries Maximum number of statements allowed
+     * @param action The use case
+     * @return The result of the use case
+     */
+    public <T> T assertAtMost(String useCase, long maxQueries, Supplier<T> action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            fail("Hibernate statistics are disabled; enable hibernate.generate_statistics to check query budgets");
+        }
+
+        statistics.clear();
+        T result = action.get();
+        long queries = statistics.getPrepareStatementCount();
+        if (queries > maxQueries) {
+            fail(useCase + " ran " + queries + " queries, budget is " + maxQueries);
+        }
+        return result;
+    }
+}
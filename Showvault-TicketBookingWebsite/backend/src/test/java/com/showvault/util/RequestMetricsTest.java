@@ -0,0 +1,155 @@
+package com.showvault.util;
+
+import com.showvault.config.RequestMetricsFilter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestMetricsTest {
+
+    private RequestMetrics requestMetrics;
+
+    @BeforeEach
+    void setUp() {
+        requestMetrics = new RequestMetrics(60);
+    }
+
+    @Test
+    void testPercentilesCoverTheLastWindow() {
+        for (int i = 1; i <= 100; i++) {
+            record("GET", "/api/shows/{id}", 200, i);
+        }
+        requestMetrics.rotate();
+
+        Map<String, Object> stats = route("GET /api/shows/{id}");
+        assertEquals(100L, stats.get("count"));
+        assertEquals(100L, stats.get("windowCount"));
+        assertEquals(50.0, (Double) stats.get("p50"), 0.1);
+        assertEquals(95.0, (Double) stats.get("p95"), 0.1);
+        assertEquals(99.0, (Double) stats.get("p99"), 0.1);
+        assertEquals(100.0, (Double) stats.get("max"), 0.1);
+        assertEquals(50.5, (Double) stats.get("avgTime"), 0.1);
+
+        // A quiet window empties the percentiles but keeps the totals
+        requestMetrics.rotate();
+        stats = route("GET /api/shows/{id}");
+        assertEquals(100L, stats.get("count"));
+        assertEquals(0L, stats.get("windowCount"));
+        assertEquals(100.0, (Double) stats.get("maxSinceStart"), 0.1);
+    }
+
+    @Test
+    void testErrorsAreCountedByClass() {
+        record("POST", "/api/bookings", 201, 5);
+        record("POST", "/api/bookings", 409, 5);
+        record("POST", "/api/bookings", 500, 5);
+        record("GET", null, 401, 1);
+
+        Map<String, Object> totals = requestMetrics.getTotals();
+        assertEquals(4L, totals.get("totalRequests"));
+        assertEquals(1L, totals.get("totalErrors"));
+        assertEquals(2L, totals.get("totalClientErrors"));
+        assertTrue(requestMetrics.getRouteStats().containsKey("GET " + RequestMetrics.UNMATCHED_ROUTE));
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNothing() throws Exception {
+        int threads = 8;
+        int perThread = 20000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        requestMetrics.requestStarted();
+                        requestMetrics.requestCompleted("GET", "/api/shows", 200, TimeUnit.MICROSECONDS.toNanos(i % 1000));
+                        if (i % 5000 == 0) {
+                            requestMetrics.rotate();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        requestMetrics.rotate();
+
+        assertEquals((long) threads * perThread, route("GET /api/shows").get("count"));
+        assertEquals(0, requestMetrics.getInFlight());
+    }
+
+    @Test
+    void testPrometheusOutput() {
+        record("GET", "/api/venues/{id}", 200, 20);
+        record("GET", "/api/venues/{id}", 503, 40);
+        requestMetrics.rotate();
+
+        String scrape = requestMetrics.toPrometheus();
+
+        assertTrue(scrape.contains("# TYPE showvault_http_request_duration_seconds summary"));
+        assertTrue(scrape.contains("showvault_http_requests_total{method=\"GET\",route=\"/api/venues/{id}\"} 2"));
+        assertTrue(scrape.contains("showvault_http_request_errors_total{method=\"GET\",route=\"/api/venues/{id}\"} 1"));
+        assertTrue(scrape.contains("showvault_http_request_duration_seconds{method=\"GET\",route=\"/api/venues/{id}\",quantile=\"0.99\"} 0.04"));
+        assertTrue(scrape.contains("showvault_http_requests_in_flight 0"));
+    }
+
+    @Test
+    void testFilterRecordsMatchedRouteAndFailures() throws Exception {
+        RequestMetricsFilter filter = new RequestMetricsFilter();
+        ReflectionTestUtils.setField(filter, "requestMetrics", requestMetrics);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/shows/7");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/shows/{id}");
+                ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_OK);
+            }
+        });
+
+        MockHttpServletRequest failing = new MockHttpServletRequest("POST", "/api/bookings");
+        assertThrows(ServletException.class, () -> filter.doFilter(failing, new MockHttpServletResponse(),
+                new MockFilterChain() {
+                    @Override
+                    public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res)
+                            throws ServletException {
+                        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/bookings");
+                        throw new ServletException("boom");
+                    }
+                }));
+
+        assertEquals(1L, route("GET /api/shows/{id}").get("count"));
+        assertEquals(1L, route("POST /api/bookings").get("errors"));
+        assertEquals(0, requestMetrics.getInFlight());
+    }
+
+    private void record(String method, String route, int status, long millis) {
+        requestMetrics.requestStarted();
+        requestMetrics.requestCompleted(method, route, status, TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> route(String key) {
+        return (Map<String, Object>) requestMetrics.getRouteStats().get(key);
+    }
+}
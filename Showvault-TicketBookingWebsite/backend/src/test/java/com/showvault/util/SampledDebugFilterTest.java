@@ -0,0 +1,76 @@
+package com.showvault.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks which debug messages the sampling filter lets through, on a logger context of its own.
+ */
+class SampledDebugFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final SampledDebugFilter filter = new SampledDebugFilter();
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger("com.showvault").setLevel(Level.INFO);
+        filter.setSampleRate(10);
+    }
+
+    @Test
+    void testOneInSampleRateDebugMessagesPass() {
+        Logger logger = context.getLogger("com.showvault.service.SeatMapService");
+
+        int accepted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (filter.decide(null, logger, Level.DEBUG, "Cached seat map for show {}", new Object[]{i}, null) == FilterReply.ACCEPT) {
+                accepted++;
+            }
+        }
+
+        assertEquals(10, accepted);
+    }
+
+    @Test
+    void testLoggersAreSampledSeparately() {
+        Logger chatty = context.getLogger("com.showvault.service.SeatService");
+        Logger quiet = context.getLogger("com.showvault.service.SeatMapService");
+
+        assertEquals(FilterReply.ACCEPT, decide(chatty));
+        for (int i = 0; i < 5; i++) {
+            decide(chatty);
+        }
+
+        assertEquals(FilterReply.ACCEPT, decide(quiet));
+    }
+
+    @Test
+    void testOtherMessagesAreLeftToTheLoggerLevel() {
+        Logger logger = context.getLogger("com.showvault.service.SeatService");
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "Saved", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.TRACE, "Row", null, null));
+        // isDebugEnabled() checks
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, null, null, null));
+        assertEquals(FilterReply.NEUTRAL, decide(context.getLogger("org.hibernate.SQL")));
+
+        // Loggers already at DEBUG log everything
+        Logger debugLogger = context.getLogger("com.showvault.controller.BookingController");
+        debugLogger.setLevel(Level.DEBUG);
+        assertEquals(FilterReply.NEUTRAL, decide(debugLogger));
+
+        filter.setSampleRate(0);
+        assertEquals(FilterReply.NEUTRAL, decide(logger));
+    }
+
+    private FilterReply decide(Logger logger) {
+        return filter.decide(null, logger, Level.DEBUG, "Debug {}", new Object[]{1}, null);
+    }
+}
@@ -0,0 +1,99 @@
+package com.showvault.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.showvault.config.JacksonConfig;
+import com.showvault.dto.BookingDTO;
+import com.showvault.dto.SeatBookingDTO;
+import com.showvault.dto.SeatDTO;
+import com.showvault.dto.Views;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the streamed JSON arrays and the Summary view they are written with.
+ */
+class StreamingJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    private final StreamingJsonWriter writer = new StreamingJsonWriter(objectMapper);
+
+    @Test
+    void testWritesEachItemWithTheSummaryView() throws IOException {
+        StreamingResponseBody body = writer.<Long>array(Views.Summary.class,
+                consumer -> LongStream.rangeClosed(1, 3).forEach(consumer::accept),
+                this::booking);
+
+        JsonNode bookings = objectMapper.readTree(write(body));
+
+        assertEquals(3, bookings.size());
+        JsonNode first = bookings.get(0);
+        assertEquals("SV-1", first.get("bookingNumber").asText());
+        assertEquals("Old Vic", first.get("venueName").asText());
+        assertFalse(first.has("qrCodeData"));
+        assertFalse(first.has("paymentId"));
+        assertFalse(first.has("userEmail"));
+        JsonNode seat = first.get("seats").get(0).get("seat");
+        assertEquals("A", seat.get("rowName").asText());
+        assertFalse(seat.has("venueName"));
+        assertFalse(first.get("seats").get(0).has("bookingId"));
+    }
+
+    @Test
+    void testWithoutViewWritesEveryField() throws IOException {
+        StreamingResponseBody body = writer.<Long>array(null, consumer -> consumer.accept(1L), this::booking);
+
+        JsonNode first = objectMapper.readTree(write(body)).get(0);
+
+        assertEquals("BOOKING:SV-1", first.get("qrCodeData").asText());
+        assertEquals("Old Vic", first.get("seats").get(0).get("seat").get("venueName").asText());
+    }
+
+    @Test
+    void testEmptySourceWritesEmptyArray() throws IOException {
+        Consumer<Consumer<Long>> nothing = consumer -> { };
+
+        assertEquals("[]", write(writer.array(Views.Summary.class, nothing, this::booking)));
+    }
+
+    private String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString();
+    }
+
+    private BookingDTO booking(Long id) {
+        SeatDTO seat = new SeatDTO();
+        seat.setId(id);
+        seat.setVenueName("Old Vic");
+        seat.setRowName("A");
+        seat.setSeatNumber(id.intValue());
+
+        SeatBookingDTO seatBooking = new SeatBookingDTO();
+        seatBooking.setId(id);
+        seatBooking.setBookingId(id);
+        seatBooking.setSeat(seat);
+        seatBooking.setPrice(new BigDecimal("40.00"));
+
+        BookingDTO booking = new BookingDTO();
+        booking.setId(id);
+        booking.setBookingNumber("SV-" + id);
+        booking.setVenueName("Old Vic");
+        booking.setUserEmail("customer@showvault.test");
+        booking.setPaymentId("PAY-" + id);
+        booking.setQrCodeData("BOOKING:SV-" + id);
+        booking.setTotalAmount(new BigDecimal("40.00"));
+        booking.setSeats(List.of(seatBooking));
+        return booking;
+    }
+}
@@ -0,0 +1,101 @@
+package com.showvault.util;
+
+import com.showvault.dto.BookingDTO;
+import com.showvault.model.Booking;
+import com.showvault.model.BookingStatus;
+import com.showvault.model.Seat;
+import com.showvault.model.Show;
+import com.showvault.model.ShowSchedule;
+import com.showvault.model.User;
+import com.showvault.model.Venue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builders for the entities most tests need, filled with valid defaults and not yet persisted.
+ * Tests set whatever they assert on themselves.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@showvault.test");
+        user.setPassword("secret");
+        user.setFirstName(username);
+        user.setLastName("Test");
+        return user;
+    }
+
+    public static Venue venue(String name, String city, int capacity) {
+        Venue venue = new Venue();
+        venue.setName(name);
+        venue.setAddress("1 High Street");
+        venue.setCity(city);
+        venue.setCountry("UK");
+        venue.setCapacity(capacity);
+        return venue;
+    }
+
+    public static Seat seat(Venue venue, int number) {
+        Seat seat = new Seat();
+        seat.setVenue(venue);
+        seat.setRowName("A");
+        seat.setSeatNumber(number);
+        seat.setCategory(Seat.SeatCategory.STANDARD);
+        seat.setPriceMultiplier(BigDecimal.ONE);
+        return seat;
+    }
+
+    /**
+     * @param organizer The creator of the show, may be null
+     */
+    public static Show show(String title, User organizer) {
+        Show show = new Show();
+        show.setTitle(title);
+        show.setType("Theatrical");
+        show.setDuration(120);
+        show.setStatus(Show.ShowStatus.UPCOMING);
+        show.setCreatedBy(organizer);
+        return show;
+    }
+
+    /**
+     * An evening performance at 40.00
+     */
+    public static ShowSchedule schedule(Show show, Venue venue, LocalDate date) {
+        ShowSchedule schedule = new ShowSchedule();
+        schedule.setShow(show);
+        schedule.setVenue(venue);
+        schedule.setShowDate(date);
+        schedule.setStartTime(LocalTime.of(19, 30));
+        schedule.setEndTime(LocalTime.of(21, 30));
+        schedule.setBasePrice(new BigDecimal("40.00"));
+        schedule.setStatus(ShowSchedule.ScheduleStatus.SCHEDULED);
+        return schedule;
+    }
+
+    /**
+     * A booking of one seat's worth, without seats or payments
+     */
+    public static Booking booking(User user, ShowSchedule schedule, String number, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setBookingNumber(number);
+        booking.setUser(user);
+        booking.setShowSchedule(schedule);
+        booking.setStatus(status);
+        booking.setTotalAmount(new BigDecimal("40.00"));
+        return booking;
+    }
+
+    public static List<BookingDTO> toDTOs(List<Booking> bookings) {
+        return bookings.stream().map(BookingDTO::new).collect(Collectors.toList());
+    }
+}
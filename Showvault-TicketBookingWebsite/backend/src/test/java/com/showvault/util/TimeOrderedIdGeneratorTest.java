@@ -0,0 +1,98 @@
+package com.showvault.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    void testIdsAreStrictlyIncreasingAndEncodedOrderMatches() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+
+        long previous = generator.nextId();
+        String previousEncoded = TimeOrderedIdGenerator.encode(previous);
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextId();
+            String nextEncoded = TimeOrderedIdGenerator.encode(next);
+
+            assertTrue(next > previous);
+            assertTrue(nextEncoded.compareTo(previousEncoded) > 0);
+
+            previous = next;
+            previousEncoded = nextEncoded;
+        }
+    }
+
+    @Test
+    void testIdsAreUniqueAcrossThreads() throws Exception {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(400_000, ids.size());
+    }
+
+    @Test
+    void testNodesNeverCollide() {
+        TimeOrderedIdGenerator nodeA = new TimeOrderedIdGenerator(1);
+        TimeOrderedIdGenerator nodeB = new TimeOrderedIdGenerator(2);
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(ids.add(nodeA.nextId()));
+            assertTrue(ids.add(nodeB.nextId()));
+        }
+    }
+
+    @Test
+    void testNodeIdOutOfRangeIsRejected() {
+        assertThrows(IllegalStateException.class, () -> new TimeOrderedIdGenerator(-1));
+        assertThrows(IllegalStateException.class, () -> new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID + 1));
+        assertEquals(TimeOrderedIdGenerator.MAX_NODE_ID, new TimeOrderedIdGenerator(TimeOrderedIdGenerator.MAX_NODE_ID).getNodeId());
+    }
+
+    @Test
+    void testBookingNumberFormat() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3);
+
+        String bookingNumber = generator.nextId("BK");
+
+        assertEquals(15, bookingNumber.length());
+        assertTrue(bookingNumber.matches("BK[0-9A-HJKMNP-TV-Z]{13}"));
+    }
+
+    @Test
+    void testTimestampIsEmbedded() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3);
+
+        Instant created = TimeOrderedIdGenerator.timestampOf(generator.nextId());
+
+        assertTrue(Duration.between(created, Instant.now()).abs().toSeconds() < 5);
+    }
+}
@@ -0,0 +1,74 @@
+package com.showvault.websocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundMessageCoalescerTest {
+
+    private final OutboundMessageCoalescer coalescer = new OutboundMessageCoalescer("/topic/organizer-dashboard");
+
+    @Test
+    void testOnlyLatestQueuedMessageIsDelivered() {
+        Message<?> first = message("s1", "/topic/organizer-dashboard", "v1");
+        Message<?> second = message("s1", "/topic/organizer-dashboard", "v2");
+
+        coalescer.preSend(first, null);
+        coalescer.preSend(second, null);
+
+        assertNull(coalescer.beforeHandle(first, null, null));
+        assertSame(second, coalescer.beforeHandle(second, null, null));
+        coalescer.afterMessageHandled(second, null, null, null);
+
+        assertEquals(1L, coalescer.getMetrics().get("coalescedMessages"));
+        assertEquals(1L, coalescer.getMetrics().get("sentMessages"));
+        assertEquals(0, coalescer.getMetrics().get("pendingCoalescibleMessages"));
+    }
+
+    @Test
+    void testSessionsAreCoalescedIndependently() {
+        Message<?> a = message("s1", "/topic/organizer-dashboard", "v1");
+        Message<?> b = message("s2", "/topic/organizer-dashboard", "v1");
+
+        coalescer.preSend(a, null);
+        coalescer.preSend(b, null);
+
+        assertSame(a, coalescer.beforeHandle(a, null, null));
+        assertSame(b, coalescer.beforeHandle(b, null, null));
+    }
+
+    @Test
+    void testOtherDestinationsAreNeverCoalesced() {
+        Message<?> first = message("s1", "/user/queue/notifications", "n1");
+        Message<?> second = message("s1", "/user/queue/notifications", "n2");
+
+        coalescer.preSend(first, null);
+        coalescer.preSend(second, null);
+
+        assertSame(first, coalescer.beforeHandle(first, null, null));
+        assertSame(second, coalescer.beforeHandle(second, null, null));
+    }
+
+    @Test
+    void testRejectedSendIsCountedAsDropped() {
+        Message<?> message = message("s1", "/topic/organizer-dashboard", "v1");
+
+        coalescer.preSend(message, null);
+        coalescer.afterSendCompletion(message, null, false, new IllegalStateException("queue full"));
+
+        assertEquals(1L, coalescer.getMetrics().get("droppedMessages"));
+        assertEquals(0, coalescer.getMetrics().get("pendingCoalescibleMessages"));
+    }
+
+    private static Message<?> message(String sessionId, String destination, String payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}